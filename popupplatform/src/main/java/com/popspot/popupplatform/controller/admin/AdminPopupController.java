@@ -3,25 +3,35 @@ package com.popspot.popupplatform.controller.admin;
 import com.popspot.popupplatform.dto.admin.AdminPopupDetailResponseDTO;
 import com.popspot.popupplatform.dto.admin.ModerationUpdateRequestDTO;
 import com.popspot.popupplatform.dto.admin.PopupStoreListDTO;
+import com.popspot.popupplatform.dto.chat.enums.ChatAiDocumentType;
 import com.popspot.popupplatform.dto.common.PageDTO;
 import com.popspot.popupplatform.dto.common.PageRequestDTO;
+import com.popspot.popupplatform.dto.popup.request.PopupCreateRequest;
 import com.popspot.popupplatform.dto.popup.response.ManagerPopupDetailResponse;
 import com.popspot.popupplatform.service.admin.AdminPopupService;
+import com.popspot.popupplatform.service.chat.ai.ChatAiVectorStore;
+import com.popspot.popupplatform.service.popup.PopupBulkImportService;
+import jakarta.validation.Valid;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import io.swagger.v3.oas.annotations.Operation;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
+@Validated // List<@Valid ...> 요소 검증 (메서드 검증 → 실패 시 ConstraintViolationException)
 @RequestMapping("/api/admin/popups")
 @RequiredArgsConstructor
 public class AdminPopupController {
 
     private final AdminPopupService popupService;
+    private final PopupBulkImportService popupBulkImportService;
+    private final ChatAiVectorStore chatAiVectorStore;
 
     /**
      * 팝업스토어 전체 통계 조회
@@ -103,6 +113,18 @@ public class AdminPopupController {
         return success ? ResponseEntity.ok("rejected") : ResponseEntity.badRequest().body("fail");
     }
 
+    /**
+     * 팝업스토어 일괄 등록 (지정한 매니저 소유로 등록)
+     */
+    @Operation(summary = "팝업 일괄 등록",
+            description = "관리자용 대량 등록. JDBC batch 로 한 트랜잭션에서 저장하고 등록된 popId 목록을 반환.")
+    @PostMapping("/bulk")
+    public ResponseEntity<List<Long>> importPopups(
+            @RequestParam Long managerId,
+            @RequestBody List<@Valid PopupCreateRequest> requests) {
+        return ResponseEntity.ok(popupBulkImportService.importPopups(managerId, requests));
+    }
+
     /**
      * 팝업스토어 운영 상태 변경
      */
@@ -134,6 +156,21 @@ public class AdminPopupController {
         boolean success = popupService.restorePopup(popId);
         return success ? ResponseEntity.ok("restored") : ResponseEntity.badRequest().body("fail");
     }
+
+    /**
+     * 챗봇 문서 벡터 검색 점검 (HNSW ef_search 별 recall / 지연시간 vs 전체 비교)
+     */
+    @Operation(summary = "챗봇 벡터 검색 벤치마크",
+            description = "저장된 문서 벡터를 질의로 사용해 ef_search 별 recall@k 와 평균/p95 지연을 전체 비교와 대조. "
+                    + "질의 문서 자신은 결과에서 제외. samples 최대 200, k 최대 50, ef_search 최대 8개(각 1~1000).")
+    @GetMapping("/ai-documents/vector-benchmark")
+    public ResponseEntity<List<Map<String, Object>>> benchmarkVectorSearch(
+            @RequestParam(required = false, defaultValue = "popup") String type,
+            @RequestParam(required = false, defaultValue = "50") int samples,
+            @RequestParam(required = false, defaultValue = "5") int k,
+            @RequestParam(required = false, defaultValue = "20,40,80,160") List<Integer> efSearch) {
+        return ResponseEntity.ok(chatAiVectorStore.benchmark(ChatAiDocumentType.from(type), samples, k, efSearch));
+    }
 }
 
 /**
@@ -13,6 +13,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -32,15 +33,18 @@ public class ChatQueryController {
                 내가 참여한 1:1 + 그룹 채팅방 목록을 모두 가져옵니다.
                 - 숨김 처리된 방은 포함되지 않습니다.
                 - 1:1 채팅에서 '나만 삭제'된 방도 포함되지 않습니다.
-                - 정렬 기준: created_at DESC (추후 최근 메시지 기준으로 변경 예정)
+                - 정렬 기준: 최근 메시지 시간 DESC (메시지가 없으면 방 생성 시간)
+                - size 를 주면 page(0부터) 단위로 잘라서 반환, 없으면 전체
                 """
     )
     public ResponseEntity<List<ChatRoomSummaryResponse>> getMyRooms(
-            @AuthenticationPrincipal CustomUserDetails user
+            @AuthenticationPrincipal CustomUserDetails user,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size
     ) {
         Long userId = user.getUserId(); //로그인한 userId를 가져오기
         //서비스에서 내채팅방목록 불러오기
-        List<ChatRoomSummaryResponse> rooms = chatRoomQueryService.getMyChatRooms(userId);
+        List<ChatRoomSummaryResponse> rooms = chatRoomQueryService.getMyChatRooms(userId, page, size);
         return ResponseEntity.ok(rooms);
     }
 
@@ -5,13 +5,15 @@ import com.popspot.popupplatform.dto.chat.request.ChatMessageRequest;
 import com.popspot.popupplatform.dto.chat.request.ChatReadRequest;
 import com.popspot.popupplatform.global.security.CustomUserDetails;
 import com.popspot.popupplatform.global.redis.RedisPublisher;
-import com.popspot.popupplatform.mapper.chat.ChatMessageMapper;
 import com.popspot.popupplatform.mapper.chat.ChatParticipantMapper;
 import com.popspot.popupplatform.service.chat.ChatMessageService;
 import com.popspot.popupplatform.service.chat.ChatReadService;
+import com.popspot.popupplatform.service.chat.ai.ChatAiStreamPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 
@@ -26,7 +28,7 @@ public class ChatStompController {
     private final ObjectMapper objectMapper;
     private final ChatMessageService chatMessageService;
     private final ChatReadService chatReadService;
-    private final ChatMessageMapper chatMessageMapper;
+    private final ChatAiStreamPublisher chatAiStreamPublisher;
     private final ChatParticipantMapper participantMapper;
 
     @MessageMapping("/chat/message")
@@ -34,38 +36,39 @@ public class ChatStompController {
         chatMessageService.saveMessage(request);
     }
 
+    // 읽음 처리는 워터마크가 올라갈 때만 반영, READ 브로드캐스트는 방별로 묶어서 발행 (ChatReadReceiptBuffer)
     @MessageMapping("/chat/read")
-    public void readMessage(ChatReadRequest req) throws Exception {
+    public void readMessage(ChatReadRequest req) {
 
         Long userId = req.getSenderId();
         if (userId == null) return;
         if (userId.equals(20251212L)) return;
 
-        Long messageSenderId =
-                chatMessageMapper.getSenderIdByMessageId(req.getLastReadMessageId());
-
-        // 자기 메시지 읽음 방지
-        if (userId.equals(messageSenderId)) return;
-
-        chatReadService.updateLastRead(
+        chatReadService.markRead(
                 req.getRoomType(),
                 req.getRoomId(),
                 userId,
                 req.getLastReadMessageId()
         );
+    }
 
-        redisPublisher.publish(
-                "chat-room-" + req.getRoomType() + "-" + req.getRoomId(),
-                objectMapper.writeValueAsString(
-                        Map.of(
-                                "type", "READ",
-                                "readerUserId", userId,
-                                "lastReadMessageId", req.getLastReadMessageId()
-                        )
-                )
-        );
+    // POPBOT 스트리밍 답변 취소 (streamId = MESSAGE_DELTA 의 streamId, 질문한 본인만)
+    @MessageMapping("/chat/ai/cancel")
+    public void cancelAiStream(ChatAiCancelPayload payload, SimpMessageHeaderAccessor headerAccessor) {
+        // 세션 user = handshake 때 JWT 로 인증된 사용자 (비로그인 연결이면 null → 취소 불가)
+        Long userId = null;
+        if (headerAccessor.getUser() instanceof Authentication auth
+                && auth.getPrincipal() instanceof CustomUserDetails user) {
+            userId = user.getUserId();
+        }
+        chatAiStreamPublisher.cancel(payload.streamId(), userId);
     }
 
+    public record ChatAiCancelPayload(
+            Long roomId,
+            String streamId
+    ) {}
+
     // 읽음 이벤트 response DTO
     record ReadReceiptPayload(
             String type,
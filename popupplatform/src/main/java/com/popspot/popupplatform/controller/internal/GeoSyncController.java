@@ -11,8 +11,12 @@ public class GeoSyncController {
 
     private final PopupGeoSyncService popupGeoSyncService;
 
+    /**
+     * 전체 재동기화 요청 (outbox 에 적재만 하고 반영은 PopupGeoOutboxRelay 가 처리)
+     * @return 적재된 이벤트 수
+     */
     @PostMapping("/sync-all")
     public long syncAll() {
-        return popupGeoSyncService.syncAllFromMySqlToPostgres();
+        return popupGeoSyncService.requestFullResync();
     }
 }
@@ -0,0 +1,22 @@
+package com.popspot.popupplatform.controller.internal;
+
+import com.popspot.popupplatform.service.reservation.ReservationInventoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/internal/reservation/inventory")
+public class ReservationInventoryController {
+
+    private final ReservationInventoryService reservationInventoryService;
+
+    /**
+     * Redis 유실 후 즉시 재구성 (주기 실행은 ReservationInventoryReconcileScheduler)
+     * @return 새로 만든 재고 키 수
+     */
+    @PostMapping("/reconcile")
+    public long reconcile() {
+        return reservationInventoryService.reconcileActive();
+    }
+}
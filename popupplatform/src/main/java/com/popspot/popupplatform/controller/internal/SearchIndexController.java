@@ -0,0 +1,18 @@
+package com.popspot.popupplatform.controller.internal;
+
+import com.popspot.popupplatform.service.popup.PopupSearchIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/internal/search")
+public class SearchIndexController {
+
+    private final PopupSearchIndexService popupSearchIndexService;
+
+    @PostMapping("/rebuild-all")
+    public long rebuildAll() {
+        return popupSearchIndexService.rebuildAll();
+    }
+}
@@ -4,6 +4,7 @@ import com.popspot.popupplatform.dto.popup.request.PopupCreateRequest;
 import com.popspot.popupplatform.dto.popup.request.PopupListRequest;
 import com.popspot.popupplatform.dto.popup.response.PopupDetailResponse;
 import com.popspot.popupplatform.dto.popup.response.PopupListResponse;
+import com.popspot.popupplatform.dto.popup.response.PopupNearbyClusterResponse;
 import com.popspot.popupplatform.dto.popup.response.PopupNearbyItemResponse;
 import com.popspot.popupplatform.dto.popup.response.PopupWishlistToggleResponse;
 import com.popspot.popupplatform.service.popup.PopupService;
@@ -206,6 +207,19 @@ public class PopupController {
         return ResponseEntity.ok(items);
     }
 
+    @Operation(
+            summary = "내 주변 팝업 클러스터 조회",
+            description = "넓은 반경에서 팝업 위치를 geohash 셀 단위로 묶어 셀별 개수와 평균 좌표를 반환합니다."
+    )
+    @GetMapping("/nearby/clusters")
+    public ResponseEntity<List<PopupNearbyClusterResponse>> getNearbyClusters(
+            @RequestParam("latitude") Double latitude,
+            @RequestParam("longitude") Double longitude,
+            @RequestParam(value = "radiusKm", required = false) Double radiusKm
+    ) {
+        return ResponseEntity.ok(popupService.getNearbyClusters(latitude, longitude, radiusKm));
+    }
+
 
 
 
@@ -0,0 +1,28 @@
+package com.popspot.popupplatform.domain.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * CHAT_MESSAGE 저장 단위 (cm_id / created_at 을 애플리케이션에서 미리 정해서 배치 INSERT)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessage {
+    private Long cmId;
+    private String roomType;
+    private Long roomId;
+    private Long senderId;
+    private String messageType;
+    private String content;
+    private String aiMode;
+    private LocalDateTime createdAt;
+    private List<String> imageUrls;
+}
@@ -0,0 +1,14 @@
+package com.popspot.popupplatform.domain.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageImage {
+    private Long cmId;
+    private Integer cmiOrder;
+    private String cmiUrl;
+}
@@ -0,0 +1,15 @@
+package com.popspot.popupplatform.domain.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// (방, 유저) 마지막 읽은 메시지 ID (읽음 배치 반영용)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatReadWatermark {
+    private Long roomId;
+    private Long userId;
+    private Long lastReadId;
+}
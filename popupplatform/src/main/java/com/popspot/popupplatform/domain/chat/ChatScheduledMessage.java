@@ -13,7 +13,8 @@ public class ChatScheduledMessage {
     private String content;
     private String csmType; // TEXT / IMAGE
     private LocalDateTime scheduledAt; // 전송예정 시각
-    private String csmStatus; // PENDING / SENT / CANCELED
+    private String csmStatus; // PENDING / CLAIMED / SENT / CANCELED / FAILED
     private LocalDateTime createdAt; // 예약한 시간
     private LocalDateTime updatedAt;
+    private Integer attempts; // 발송 시도 횟수
 }
\ No newline at end of file
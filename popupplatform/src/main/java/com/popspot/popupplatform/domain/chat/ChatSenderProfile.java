@@ -0,0 +1,14 @@
+package com.popspot.popupplatform.domain.chat;
+
+import lombok.Data;
+
+/**
+ * 채팅 메시지 렌더링용 보낸 사람 정보 (USER 일부 컬럼)
+ */
+@Data
+public class ChatSenderProfile {
+    private Long userId;
+    private String nickname;
+    private String profileUrl;
+    private String status;
+}
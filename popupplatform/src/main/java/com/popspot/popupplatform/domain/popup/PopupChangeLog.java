@@ -0,0 +1,24 @@
+package com.popspot.popupplatform.domain.popup;
+
+import com.popspot.popupplatform.dto.popup.enums.PopupGeoChangeType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * POPUP_CHANGE_LOG 행 (팝업 변경 이력, 선점 → 재색인 후 삭제)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class PopupChangeLog {
+    private Long pclId;
+    private Long popId;
+    private PopupGeoChangeType eventType;
+    private LocalDateTime createdAt;
+    private Integer attempts;
+}
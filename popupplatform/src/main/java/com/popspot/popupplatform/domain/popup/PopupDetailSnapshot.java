@@ -0,0 +1,48 @@
+package com.popspot.popupplatform.domain.popup;
+
+import com.popspot.popupplatform.dto.popup.enums.PopupPriceType;
+import com.popspot.popupplatform.dto.popup.enums.PopupStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 팝업 상세의 유저 무관 부분 (상세 캐시 단위)
+ *
+ * - POPUPSTORE + POPUP_RESERVATION + POPUP_IMG + HASHTAG 를 한 번의 쿼리로 조립
+ * - 찜 여부 / 예약 상태(현재 시각 기준)는 요청마다 별도 계산
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class PopupDetailSnapshot {
+    private Long popId;
+    private Long popOwnerId;
+    private String popName;
+    private String popDescription;
+    private String popThumbnail;
+    private String popLocation;
+    private LocalDateTime popStartDate;
+    private LocalDateTime popEndDate;
+    private String popInstaUrl;
+    private Boolean popIsReservation;
+    private PopupPriceType popPriceType;
+    private Integer popPrice;
+    private PopupStatus popStatus;
+    private Long popViewCount;
+    private String popAiSummary;
+
+    // POPUP_RESERVATION (예약 설정이 없으면 null)
+    private LocalDateTime reservationStartTime;
+    private LocalDateTime reservationEndTime;
+    private Integer maxPeoplePerReservation;
+
+    private List<String> images = new ArrayList<>();
+    private List<String> hashtags = new ArrayList<>();
+}
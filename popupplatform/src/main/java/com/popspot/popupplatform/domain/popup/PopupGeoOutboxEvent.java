@@ -0,0 +1,24 @@
+package com.popspot.popupplatform.domain.popup;
+
+import com.popspot.popupplatform.dto.popup.enums.PopupGeoChangeType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * POPUP_GEO_OUTBOX 행 (MySQL → Postgres geo 동기화 대기 이벤트)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class PopupGeoOutboxEvent {
+    private Long goId;
+    private Long popId;
+    private PopupGeoChangeType eventType;
+    private LocalDateTime createdAt;
+    private Integer attempts;
+}
@@ -0,0 +1,28 @@
+package com.popspot.popupplatform.domain.popup;
+
+import com.popspot.popupplatform.dto.popup.enums.PopupPriceType;
+import com.popspot.popupplatform.dto.popup.enums.PopupStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * nearby 타일 캐시에 들어가는 팝업 요약 (유저/기준점 무관 부분)
+ * - 거리 / 찜 여부는 요청마다 계산해서 PopupNearbyItemResponse 로 변환
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class PopupGeoTileItem {
+    private Long popId;
+    private String popName;
+    private String popThumbnail;
+    private String popLocation;
+    private Double popLatitude;
+    private Double popLongitude;
+    private PopupPriceType popPriceType;
+    private Integer popPrice;
+    private PopupStatus popStatus;
+}
@@ -35,5 +35,7 @@ public class PopupStore {
     private String popAiSummary;            // AI 요약 내용
 
     private Long popPopularityScore;        // 인기 점수: 최근 7일 조회수 + 찜 * 3
+    private Integer popPopularityStatusGroup; // 인기순 정렬 그룹 (0: 진행/예정, 1: 종료)
+    private Long popRelevanceScore;         // 검색 정확도 점수 (RELEVANCE 정렬 시)
 
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.popspot.popupplatform.domain.popup;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * POPUP_VIEWED 배치 INSERT 용 조회 이벤트 (로그인 유저만)
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class PopupViewEvent {
+    private Long popId;
+    private Long userId;
+    private LocalDateTime viewedAt;
+}
@@ -0,0 +1,16 @@
+package com.popspot.popupplatform.domain.reservation;
+
+import lombok.Data;
+
+/**
+ * 만료 HOLD 정리용 결제 행 상태 (merchant_uid 기준)
+ */
+@Data
+public class ReservationPaymentState {
+
+    private String merchantUid;
+    private String status;
+
+    // created_at 이 정리 기준 시각(cutoff) 이전인지
+    private boolean expired;
+}
@@ -0,0 +1,16 @@
+package com.popspot.popupplatform.domain.reservation;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 슬롯/날짜별 확정 예약 인원 합계 (USER_RESERVATION 집계, Redis 재고 재구성용)
+ */
+@Data
+public class SlotReservedCount {
+
+    private Long ptsId;
+    private LocalDate urDate;
+    private Integer reservedCnt;
+}
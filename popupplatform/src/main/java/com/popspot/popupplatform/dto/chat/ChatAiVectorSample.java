@@ -0,0 +1,14 @@
+package com.popspot.popupplatform.dto.chat;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 벡터 벤치마크 질의 표본 (문서 id + pgvector 텍스트 '[0.1,0.2,...]')
+ */
+@Data
+@NoArgsConstructor
+public class ChatAiVectorSample {
+    private Long id;
+    private String embedding;
+}
@@ -0,0 +1,24 @@
+package com.popspot.popupplatform.dto.chat.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * chat_ai_documents 문서 타입 (metadata.type / doc_type 컬럼 값)
+ * - 검색 SQL 에 리터럴로 들어감 (타입별 부분 HNSW 인덱스 조건과 맞추기 위해) → 여기 있는 값만 허용
+ * - 새 타입을 추가하면 ChatAiDocumentMapper.xml 의 부분 인덱스도 같이 추가
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ChatAiDocumentType {
+    POPUP("popup");
+
+    private final String value;
+
+    public static ChatAiDocumentType from(String value) {
+        for (ChatAiDocumentType type : values()) {
+            if (type.value.equals(value)) return type;
+        }
+        throw new IllegalArgumentException("unknown document type: " + value);
+    }
+}
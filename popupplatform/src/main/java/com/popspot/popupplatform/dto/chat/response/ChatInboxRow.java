@@ -0,0 +1,16 @@
+package com.popspot.popupplatform.dto.chat.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅 목록 인덱스 재구성용 방별 집계 (최근 메시지 + 안 읽은 수)
+ */
+@Data
+public class ChatInboxRow {
+    private Long roomId;
+    private Long lastMessageId;
+    private LocalDateTime lastMessageAt;
+    private Integer unreadCount;
+}
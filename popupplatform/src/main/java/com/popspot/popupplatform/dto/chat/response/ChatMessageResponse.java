@@ -33,4 +33,5 @@ public class ChatMessageResponse {
     private Boolean isRead; // 현재 유저 기준 읽음 여부
     private String clientMessageKey;
     private Integer totalUserCount;
+    private Integer unreadCount; // 이 메시지를 아직 안 읽은 참여자 수 (보낸 사람 제외)
 }
@@ -0,0 +1,11 @@
+package com.popspot.popupplatform.dto.popup.enums;
+
+public enum PopupGeoChangeType {
+    INSERT,      //신규 등록
+    UPDATE,      //매니저 수정
+    DELETE,      //삭제 (soft delete)
+    RESTORE,     //삭제 복구
+    MODERATION,  //승인/반려
+    STATUS,      //운영 상태 변경
+    RESYNC       //전체 재동기화
+}
@@ -12,6 +12,9 @@ public enum PopupSortOption {
     VIEW,
 
     //인기순
-    POPULAR
+    POPULAR,
+
+    //검색 정확도순 (키워드 검색 시)
+    RELEVANCE
 }
 
@@ -44,7 +44,7 @@ public class PopupListRequest {
     @Schema(description = "최대 가격 필터", example = "20000")
     private Integer maxPrice;
 
-    @Schema(description = "정렬 옵션 (DEADLINE / CREATED / VIEW / POPULAR)", example = "DEADLINE")
+    @Schema(description = "정렬 옵션 (DEADLINE / CREATED / VIEW / POPULAR / RELEVANCE)", example = "DEADLINE")
     private PopupSortOption sort;
 
     /**
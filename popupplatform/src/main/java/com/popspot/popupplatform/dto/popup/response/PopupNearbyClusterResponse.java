@@ -0,0 +1,24 @@
+package com.popspot.popupplatform.dto.popup.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "내 주변 팝업 클러스터 (넓은 반경용, 셀별 개수)")
+public class PopupNearbyClusterResponse {
+
+    @Schema(description = "셀 geohash")
+    private String geohash;
+
+    @Schema(description = "셀 안 팝업들의 평균 위도")
+    private Double latitude;
+
+    @Schema(description = "셀 안 팝업들의 평균 경도")
+    private Double longitude;
+
+    @Schema(description = "셀 안 팝업 수")
+    private Long count;
+}
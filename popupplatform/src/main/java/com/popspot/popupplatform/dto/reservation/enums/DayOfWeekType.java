@@ -2,6 +2,8 @@ package com.popspot.popupplatform.dto.reservation.enums;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.time.DayOfWeek;
+
 @Schema(description = "요일 타입 (월~일)")
 public enum DayOfWeekType {
 
@@ -24,5 +26,18 @@ public enum DayOfWeekType {
     SAT,
 
     @Schema(description = "일요일")
-    SUN
+    SUN;
+
+    // DayOfWeek → DayOfWeekType 변환
+    public static DayOfWeekType from(DayOfWeek dayOfWeek) {
+        return switch (dayOfWeek) {
+            case MONDAY -> MON;
+            case TUESDAY -> TUE;
+            case WEDNESDAY -> WED;
+            case THURSDAY -> THU;
+            case FRIDAY -> FRI;
+            case SATURDAY -> SAT;
+            case SUNDAY -> SUN;
+        };
+    }
 }
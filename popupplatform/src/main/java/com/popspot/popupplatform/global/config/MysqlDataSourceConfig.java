@@ -1,8 +1,10 @@
 package com.popspot.popupplatform.global.config;
 
 import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -58,6 +60,18 @@ public class MysqlDataSourceConfig {
         return factory.getObject();
     }
 
+    /**
+     * JDBC batch 용 SqlSessionTemplate (ExecutorType.BATCH)
+     * - 관리자 대량 등록처럼 같은 INSERT 를 수백 번 반복하는 경로 전용
+     * - 같은 트랜잭션 안에서 기본(SIMPLE) 매퍼와 섞어 쓰면 안 됨 (ExecutorType 변경 불가)
+     */
+    @Bean
+    public SqlSessionTemplate mysqlBatchSqlSessionTemplate(
+            @Qualifier("mysqlSqlSessionFactory") SqlSessionFactory sqlSessionFactory
+    ) {
+        return new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    }
+
     @Primary
     @Bean
     public DataSourceTransactionManager mysqlTxManager(
@@ -1,13 +1,13 @@
 package com.popspot.popupplatform.global.config;
 
-import com.popspot.popupplatform.global.redis.RedisSubscriber;
+import com.popspot.popupplatform.service.chat.ChatSenderProfileService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -36,16 +36,18 @@ public class RedisConfig {
     }
     // Redis pub/sub 메시지를 받는 Listener Container
     //Redis Listener 등록
+    // 채팅방 채널(chat-room-*)은 여기서 등록하지 않음
+    // → ChatRoomSubscriptionRegistry 가 이 노드에 STOMP 구독자가 있는 방만 구독/해제
     @Bean
     public RedisMessageListenerContainer redisContainer(
             RedisConnectionFactory connectionFactory,
-            RedisSubscriber subscriber) {
+            ChatSenderProfileService chatSenderProfileService) {
 
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
 
-        // 모든 채팅 채널 listen
-        container.addMessageListener(subscriber, new PatternTopic("chat-room-*"));
+        // 채팅 보낸 사람 프로필 캐시 무효화
+        container.addMessageListener(chatSenderProfileService, new ChannelTopic(ChatSenderProfileService.EVICT_CHANNEL));
 
         return container;
     }
@@ -1,15 +1,98 @@
 package com.popspot.popupplatform.global.config;
 
+import com.popspot.popupplatform.global.websocket.ChatBrokerMode;
+import com.popspot.popupplatform.global.websocket.WebSocketSessionMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.SimpleBrokerRegistration;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+/**
+ * STOMP 브로커 설정
+ *
+ * chat.broker.mode (ChatBrokerMode, 그 외 값은 기동 실패)
+ * - simple (기본) : 노드 내 SimpleBroker + Redis pub/sub 로 노드 간 전달
+ *                   (Redis 채널 구독은 ChatRoomSubscriptionRegistry 가 로컬 구독자 기준으로 관리)
+ * - relay         : 외부 STOMP 브로커(RabbitMQ/ActiveMQ 등)로 relay, 노드 간 전달은 브로커가 담당
+ *                   → RedisPublisher 는 Redis 대신 브로커로 바로 보냄, 노드 메모리에 구독 상태를 들지 않음
+ *
+ * 공통
+ * - inbound/outbound 채널 스레드 풀 크기/큐 상한
+ * - 느린 소비자 보호: 세션별 송신 버퍼/시간 한도 초과 시 세션 종료 (WebSocketSessionMetrics 에서 집계)
+ * - STOMP heart-beat
+ */
+@Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketSessionMetrics webSocketSessionMetrics;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.broker.mode:simple}")
+    private String brokerMode;
+
+    // relay 모드 외부 브로커
+    @Value("${chat.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${chat.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${chat.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${chat.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${chat.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    // heart-beat (서버 송신, 클라이언트 수신 기대) ms, 0 이면 끔
+    @Value("${chat.broker.heartbeat-ms:10000}")
+    private long heartbeatMillis;
+
+    @Value("${chat.ws.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${chat.ws.inbound.max-pool-size:32}")
+    private int inboundMaxPoolSize;
+
+    @Value("${chat.ws.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${chat.ws.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${chat.ws.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${chat.ws.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    // 세션별 송신 한도 (넘으면 해당 세션만 끊고 다른 세션 송신은 계속)
+    @Value("${chat.ws.send-time-limit-ms:10000}")
+    private int sendTimeLimitMillis;
+
+    @Value("${chat.ws.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${chat.ws.message-size-limit:65536}")
+    private int messageSizeLimit;
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws-stomp")
@@ -20,8 +103,80 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // 클라이언트가 SUBSCRIBE 하는 prefix
-        registry.enableSimpleBroker("/sub");
+        if (ChatBrokerMode.from(brokerMode) == ChatBrokerMode.RELAY) {
+            StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay("/sub")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setSystemHeartbeatSendInterval(heartbeatMillis)
+                    .setSystemHeartbeatReceiveInterval(heartbeatMillis);
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+            log.info("[WebSocket] STOMP broker relay mode. relay={}:{}", relayHost, relayPort);
+        } else {
+            SimpleBrokerRegistration simple = registry.enableSimpleBroker("/sub");
+            if (heartbeatMillis > 0) {
+                simple.setHeartbeatValue(new long[]{heartbeatMillis, heartbeatMillis})
+                        .setTaskScheduler(heartbeatScheduler());
+            }
+        }
         // 클라이언트가 SEND 할 때 사용하는 prefix
         registry.setApplicationDestinationPrefixes("/pub");
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutor("ws-inbound-", "inbound",
+                inboundCorePoolSize, inboundMaxPoolSize, inboundQueueCapacity));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutor("ws-outbound-", "outbound",
+                outboundCorePoolSize, outboundMaxPoolSize, outboundQueueCapacity));
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMillis)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(webSocketSessionMetrics);
+    }
+
+    /**
+     * 채널 스레드 풀 + 큐 적체 메트릭 (chat.ws.channel.queue{channel=inbound|outbound})
+     * 초기화는 Spring 이 채널 executor 빈으로 등록하면서 수행
+     */
+    private ThreadPoolTaskExecutor channelExecutor(String threadPrefix, String channel,
+                                                   int corePoolSize, int maxPoolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadPrefix);
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+
+        Gauge.builder("chat.ws.channel.queue", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .tag("channel", channel)
+                .register(meterRegistry);
+        Gauge.builder("chat.ws.channel.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("channel", channel)
+                .register(meterRegistry);
+        return executor;
+    }
+
+    // SimpleBroker heart-beat 전용 (빈으로 등록하지 않음 → @Scheduled 용 스케줄러 선택에 영향 없음)
+    private ThreadPoolTaskScheduler heartbeatScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("ws-heartbeat-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        return scheduler;
+    }
 }
@@ -1,10 +1,14 @@
 package com.popspot.popupplatform.global.exception;
 
 import com.popspot.popupplatform.global.exception.code.BaseErrorCode;
+import com.popspot.popupplatform.global.exception.code.CommonErrorCode;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.stream.Collectors;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -14,5 +18,16 @@ public class GlobalExceptionHandler {
         ErrorResponse response = new ErrorResponse(errorCode.getCode(), errorCode.getMessage());
         return ResponseEntity.status(errorCode.getHttpStatus()).body(response);
     }
-}
 
+    // @Validated 컨트롤러의 메서드 검증 실패 (예: List<@Valid ...> 요소) → 400
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolation(ConstraintViolationException ex) {
+        CommonErrorCode errorCode = CommonErrorCode.INVALID_REQUEST;
+        String message = ex.getConstraintViolations().stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        ErrorResponse response = new ErrorResponse(errorCode.getCode(), message);
+        return ResponseEntity.status(errorCode.getHttpStatus()).body(response);
+    }
+}
@@ -0,0 +1,155 @@
+package com.popspot.popupplatform.global.geo;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * geohash 인코딩 / 타일 커버링 유틸 (base32, 외부 의존성 없음)
+ *
+ * - 정밀도별 셀 크기 (적도 기준 대략)
+ *   4 : 39.1km x 19.5km
+ *   5 :  4.9km x  4.9km
+ *   6 :  1.2km x  0.6km
+ */
+public final class GeoHash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEG_LAT = 111.32;
+
+    private GeoHash() {
+    }
+
+    /**
+     * 위경도 → geohash (precision 글자)
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+
+        StringBuilder sb = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (sb.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                sb.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 정밀도별 셀 높이 (위도 degree)
+     */
+    public static double cellHeightDeg(int precision) {
+        int latBits = (precision * 5) / 2;
+        return 180.0 / Math.pow(2, latBits);
+    }
+
+    /**
+     * 정밀도별 셀 너비 (경도 degree)
+     */
+    public static double cellWidthDeg(int precision) {
+        int lngBits = (precision * 5 + 1) / 2;
+        return 360.0 / Math.pow(2, lngBits);
+    }
+
+    /**
+     * 중심 + 반경(km) 원을 덮는 geohash 셀 목록
+     * - 원의 bounding box 를 셀 크기 간격으로 훑어서 수집 (경계 셀 포함)
+     */
+    public static Set<String> coveringCells(double latitude, double longitude, double radiusKm, int precision) {
+        double dLat = radiusKm / KM_PER_DEG_LAT;
+        double dLng = radiusKm / (KM_PER_DEG_LAT * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+
+        double minLat = Math.max(latitude - dLat, -90);
+        double maxLat = Math.min(latitude + dLat, 90);
+        double minLng = Math.max(longitude - dLng, -180);
+        double maxLng = Math.min(longitude + dLng, 180);
+
+        double stepLat = cellHeightDeg(precision);
+        double stepLng = cellWidthDeg(precision);
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (double lat = minLat; ; lat += stepLat) {
+            double la = Math.min(lat, maxLat);
+            for (double lng = minLng; ; lng += stepLng) {
+                double ln = Math.min(lng, maxLng);
+                cells.add(encode(la, ln, precision));
+                if (ln >= maxLng) break;
+            }
+            if (la >= maxLat) break;
+        }
+        return cells;
+    }
+
+    /**
+     * geohash 셀의 bounding box [minLat, minLng, maxLat, maxLng]
+     */
+    public static double[] bounds(String geohash) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        boolean evenBit = true;
+
+        for (int i = 0; i < geohash.length(); i++) {
+            int idx = indexOf(geohash.charAt(i));
+            for (int n = 4; n >= 0; n--) {
+                int bitN = (idx >> n) & 1;
+                if (evenBit) {
+                    double mid = (minLng + maxLng) / 2;
+                    if (bitN == 1) minLng = mid; else maxLng = mid;
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (bitN == 1) minLat = mid; else maxLat = mid;
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new double[]{minLat, minLng, maxLat, maxLng};
+    }
+
+    /**
+     * 두 좌표 간 거리 (km, haversine)
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < BASE32.length; i++) {
+            if (BASE32[i] == c) return i;
+        }
+        throw new IllegalArgumentException("invalid geohash char: " + c);
+    }
+}
@@ -0,0 +1,117 @@
+package com.popspot.popupplatform.global.redis;
+
+import com.popspot.popupplatform.global.websocket.ChatBrokerMode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 로컬 STOMP 구독 기준 Redis 채널 구독 관리
+ *
+ * - /sub/chat-room-{TYPE}-{ID} 구독자가 이 노드에 처음 생기면 Redis 채널 chat-room-{TYPE}-{ID} 구독
+ * - 마지막 구독자가 나가면(UNSUBSCRIBE/DISCONNECT) Redis 채널 구독 해제
+ * → 노드 간 트래픽이 "전체 메시지" 가 아니라 "이 노드에 열린 방" 에 비례
+ *
+ * 주의: Redis SUBSCRIBE 가 붙기 전(수 ms) 에 발행된 메시지는 이 노드로 오지 않음.
+ * 방 입장 시 클라이언트가 메시지 목록 API 로 이력을 받으므로 허용.
+ *
+ * relay 모드(chat.broker.mode=relay)에서는 외부 브로커가 노드 간 전달을 하므로 등록하지 않음 (판단은 ChatBrokerMode).
+ */
+@Slf4j
+@Component
+@Conditional(ChatBrokerMode.SimpleModeCondition.class)
+@RequiredArgsConstructor
+public class ChatRoomSubscriptionRegistry {
+
+    static final String DESTINATION_PREFIX = "/sub/";
+    static final String CHANNEL_PREFIX = "chat-room-";
+
+    private final RedisMessageListenerContainer redisContainer;
+    private final RedisSubscriber redisSubscriber;
+    private final MeterRegistry meterRegistry;
+
+    // 채널별 로컬 구독 수
+    private final Map<String, Integer> channelRefs = new HashMap<>();
+    // sessionId → (subscriptionId → 채널), UNSUBSCRIBE 는 subscriptionId 만 오므로 기록해 둠
+    private final Map<String, Map<String, String>> sessionSubs = new HashMap<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("chat.redis.subscribed-channels", this, r -> r.channelCount())
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public synchronized void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String channel = toChannel(accessor.getDestination());
+        if (channel == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) return;
+
+        String previous = sessionSubs
+                .computeIfAbsent(accessor.getSessionId(), k -> new HashMap<>())
+                .put(accessor.getSubscriptionId(), channel);
+        if (channel.equals(previous)) return;
+        if (previous != null) release(previous);
+
+        if (channelRefs.merge(channel, 1, Integer::sum) == 1) {
+            redisContainer.addMessageListener(redisSubscriber, new ChannelTopic(channel));
+            log.debug("[ChatRoomSubscription] redis subscribe {}", channel);
+        }
+    }
+
+    @EventListener
+    public synchronized void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subs = sessionSubs.get(accessor.getSessionId());
+        if (subs == null) return;
+
+        String channel = subs.remove(accessor.getSubscriptionId());
+        if (subs.isEmpty()) sessionSubs.remove(accessor.getSessionId());
+        if (channel != null) release(channel);
+    }
+
+    @EventListener
+    public synchronized void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subs = sessionSubs.remove(event.getSessionId());
+        if (subs == null) return;
+        subs.values().forEach(this::release);
+    }
+
+    /**
+     * 로컬 구독 수 감소, 마지막 구독자가 나가면 Redis 구독 해제
+     * (구독/해제를 같은 lock 안에서 처리해야 순서가 뒤집혀 구독이 사라지는 일이 없음)
+     */
+    private void release(String channel) {
+        Integer left = channelRefs.computeIfPresent(channel, (k, v) -> v > 1 ? v - 1 : null);
+        if (left == null) {
+            redisContainer.removeMessageListener(redisSubscriber, new ChannelTopic(channel));
+            log.debug("[ChatRoomSubscription] redis unsubscribe {}", channel);
+        }
+    }
+
+    private synchronized int channelCount() {
+        return channelRefs.size();
+    }
+
+    /**
+     * /sub/chat-room-GROUP-3 → chat-room-GROUP-3 (채팅방 구독이 아니면 null)
+     */
+    static String toChannel(String destination) {
+        if (destination == null || !destination.startsWith(DESTINATION_PREFIX + CHANNEL_PREFIX)) return null;
+        return destination.substring(DESTINATION_PREFIX.length());
+    }
+}
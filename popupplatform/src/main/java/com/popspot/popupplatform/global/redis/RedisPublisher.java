@@ -1,20 +1,45 @@
 package com.popspot.popupplatform.global.redis;
 
+import com.popspot.popupplatform.global.websocket.ChatBrokerMode;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 채팅방 이벤트 발행 (channel = chat-room-{TYPE}-{ID})
+ *
+ * - simple 모드: Redis pub/sub → 각 노드 RedisSubscriber 가 로컬 STOMP 로 전달
+ * - relay 모드 : Redis 를 거치지 않고 외부 STOMP 브로커로 바로 전달 (브로커가 모든 노드 구독자에게 fan-out)
+ */
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class RedisPublisher {
 
     private final StringRedisTemplate redisTemplate;
+    private final RedisSubscriber redisSubscriber;
+
+    @Value("${chat.broker.mode:simple}")
+    private String brokerMode;
+
+    private boolean relay;
+
+    @PostConstruct
+    void init() {
+        relay = ChatBrokerMode.from(brokerMode) == ChatBrokerMode.RELAY;
+    }
 
     public void publish(String channel, String message) {
-        log.info("📤 Redis Publish ({}) : {}", channel, message);
+        log.debug("📤 Publish ({}) : {}", channel, message);
+        if (relay) {
+            redisSubscriber.forward(channel, message.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
         redisTemplate.convertAndSend(channel, message);
     }
-}
\ No newline at end of file
+}
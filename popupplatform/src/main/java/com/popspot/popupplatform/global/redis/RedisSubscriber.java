@@ -1,46 +1,55 @@
 package com.popspot.popupplatform.global.redis;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
 
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Redis 채널(chat-room-{TYPE}-{ID}) → STOMP /sub/chat-room-{TYPE}-{ID}
+ *
+ * - 구독 채널은 ChatRoomSubscriptionRegistry 가 로컬 STOMP 구독 기준으로 관리
+ * - 본문은 이미 JSON 이므로 다시 파싱하지 않고 바이트 그대로 전달 (content-type 만 지정)
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class RedisSubscriber implements MessageListener {
 
     private final SimpMessagingTemplate template;
-    private final ObjectMapper objectMapper;
 
     @Override
     public void onMessage(Message message, byte[] pattern) {
+        forward(new String(message.getChannel(), StandardCharsets.UTF_8), message.getBody());
+    }
 
-        try {
-            String channel = new String(message.getChannel());
-            String body = new String(message.getBody());
-
-            // chat-room-PRIVATE-7
-            String[] parts = channel.split("-");
-            String roomType = parts[2];
-            String roomId = parts[3];
+    /**
+     * chat-room-{TYPE}-{ID} 채널 본문(JSON 바이트) → /sub/chat-room-{TYPE}-{ID}
+     * (relay 모드에서는 RedisPublisher 가 직접 호출)
+     */
+    public void forward(String channel, byte[] body) {
 
-            Object payload = objectMapper.readTree(body);
+        try {
+            String destination = ChatRoomSubscriptionRegistry.DESTINATION_PREFIX + channel;
 
-            String destination =
-                    "/sub/chat-room-" + roomType + "-" + roomId;
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            accessor.setLeaveMutable(true);
 
-            template.convertAndSend(destination, payload);
+            template.send(destination, MessageBuilder.createMessage(body, accessor.getMessageHeaders()));
 
-            log.info("🚀 STOMP PUSH {}", destination);
+            log.debug("🚀 STOMP PUSH {}", destination);
 
         } catch (Exception e) {
             log.error("RedisSubscriber ERROR", e);
         }
     }
 }
-
-
@@ -32,9 +32,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String uri = request.getRequestURI();
 
-        // WebSocket handshake 경로 완전 제외
-        return uri.startsWith("/ws-stomp") ||
-                uri.startsWith("/pub") ||
+        // /ws-stomp handshake 는 통과 (토큰이 있으면 인증 → STOMP 세션 user 로 전달, 없어도 permitAll 이라 연결은 됨)
+        return uri.startsWith("/pub") ||
                 uri.startsWith("/sub");
     }
 
@@ -0,0 +1,41 @@
+package com.popspot.popupplatform.global.websocket;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * chat.broker.mode 값 (WebSocketConfig / RedisPublisher / ChatRoomSubscriptionRegistry 가 같은 판단을 쓰도록 한 곳에서 해석)
+ *
+ * - 비어 있으면 SIMPLE, 대소문자 무시
+ * - 그 외 값은 기동 실패 (오타로 SimpleBroker 가 뜨는데 Redis 방 구독이 없어 노드 간 전달이 끊기는 상태 방지)
+ */
+public enum ChatBrokerMode {
+    SIMPLE,
+    RELAY;
+
+    public static final String PROPERTY = "chat.broker.mode";
+
+    public static ChatBrokerMode from(String value) {
+        if (value == null || value.isBlank()) return SIMPLE;
+        for (ChatBrokerMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) return mode;
+        }
+        throw new IllegalStateException("지원하지 않는 " + PROPERTY + ": " + value + " (simple | relay)");
+    }
+
+    public static ChatBrokerMode resolve(Environment environment) {
+        return from(environment.getProperty(PROPERTY));
+    }
+
+    /**
+     * SIMPLE 모드에서만 등록할 빈 (@Conditional)
+     */
+    public static class SimpleModeCondition implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return resolve(context.getEnvironment()) == SIMPLE;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.popspot.popupplatform.global.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket 세션 단위 송신 메트릭
+ *
+ * Spring 은 세션마다 ConcurrentWebSocketSessionDecorator 로 송신을 직렬화하고,
+ * 한 번의 send 가 늦어지는 동안 뒤 메시지는 세션 버퍼에 쌓인다 (한도 초과 시 SESSION_NOT_RELIABLE 로 종료).
+ * 여기서는 그 안쪽 세션을 감싸서 "지금 진행 중인 send 가 얼마나 오래 걸리고 있는지" 를 세션별로 기록한다.
+ *
+ * 세션 id 를 태그로 쓰면 카디널리티가 폭발하므로 노드 단위로 집계해서 노출
+ * - chat.ws.sessions             : 현재 연결 수
+ * - chat.ws.session.stalled      : send 가 stall-threshold 이상 진행 중인 세션 수 (느린 소비자)
+ * - chat.ws.session.stall.max    : 가장 오래 진행 중인 send 경과 시간(ms)
+ * - chat.ws.session.send         : send 1회 소요 시간
+ * - chat.ws.session.send.bytes   : send 1회 크기
+ * - chat.ws.session.closed{reason=slow|other} : 종료 사유 (slow = 버퍼/시간 한도 초과)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebSocketSessionMetrics implements WebSocketHandlerDecoratorFactory {
+
+    private final MeterRegistry meterRegistry;
+
+    // sessionId → 진행 중인 send 시작 시각(ms), 0 이면 진행 중인 send 없음
+    private final Map<String, AtomicLong> sendingSince = new ConcurrentHashMap<>();
+
+    @Value("${chat.ws.stall-threshold-ms:1000}")
+    private long stallThresholdMillis;
+
+    private Timer sendTimer;
+    private DistributionSummary sendBytes;
+    private Counter slowClosedCounter;
+    private Counter otherClosedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("chat.ws.sessions", sendingSince, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("chat.ws.session.stalled", this, m -> m.countStalled())
+                .register(meterRegistry);
+        Gauge.builder("chat.ws.session.stall.max", this, m -> m.maxStallMillis())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        sendTimer = meterRegistry.timer("chat.ws.session.send");
+        sendBytes = DistributionSummary.builder("chat.ws.session.send.bytes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        slowClosedCounter = meterRegistry.counter("chat.ws.session.closed", "reason", "slow");
+        otherClosedCounter = meterRegistry.counter("chat.ws.session.closed", "reason", "other");
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                AtomicLong since = new AtomicLong();
+                sendingSince.put(session.getId(), since);
+                super.afterConnectionEstablished(new MeteredSession(session, since));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sendingSince.remove(session.getId());
+                if (CloseStatus.SESSION_NOT_RELIABLE.equals(closeStatus)) {
+                    slowClosedCounter.increment();
+                    log.warn("[WebSocket] 느린 소비자 세션 종료. sessionId={}", session.getId());
+                } else {
+                    otherClosedCounter.increment();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    private int countStalled() {
+        long now = System.currentTimeMillis();
+        int stalled = 0;
+        for (AtomicLong since : sendingSince.values()) {
+            long start = since.get();
+            if (start > 0 && now - start >= stallThresholdMillis) stalled++;
+        }
+        return stalled;
+    }
+
+    private long maxStallMillis() {
+        long now = System.currentTimeMillis();
+        long max = 0;
+        for (AtomicLong since : sendingSince.values()) {
+            long start = since.get();
+            if (start > 0) max = Math.max(max, now - start);
+        }
+        return max;
+    }
+
+    /**
+     * send 진행 시간 기록용 세션 래퍼
+     * (바깥의 ConcurrentWebSocketSessionDecorator 가 세션당 send 를 1개씩만 호출하므로 단일 슬롯으로 충분)
+     */
+    private class MeteredSession extends WebSocketSessionDecorator {
+
+        private final AtomicLong since;
+
+        MeteredSession(WebSocketSession delegate, AtomicLong since) {
+            super(delegate);
+            this.since = since;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            long start = System.currentTimeMillis();
+            since.set(start);
+            try {
+                super.sendMessage(message);
+            } finally {
+                since.set(0);
+                sendTimer.record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+                sendBytes.record(message.getPayloadLength());
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.popspot.popupplatform.mapper.chat;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface ChatMessageArchiveMapper {
+
+    //보관 대상 그룹방 (종료 팝업, 기준 시각 이전 메시지가 남아 있는 방)
+    List<Long> selectArchivableGroupRooms(@Param("cutoff") LocalDateTime cutoff,
+                                          @Param("limit") int limit);
+
+    //방에서 옮길 마지막 메시지 ID (기준 시각 이전, 방의 최근 메시지는 제외)
+    Long selectArchiveUntilId(@Param("roomType") String roomType,
+                              @Param("roomId") Long roomId,
+                              @Param("cutoff") LocalDateTime cutoff);
+
+    //다음 묶음의 마지막 메시지 ID (없으면 null)
+    Long selectChunkUpperId(@Param("roomType") String roomType,
+                            @Param("roomId") Long roomId,
+                            @Param("untilId") Long untilId,
+                            @Param("chunkSize") int chunkSize);
+
+    //보관 테이블로 복사 (cm_id <= upperId)
+    int copyMessages(@Param("roomType") String roomType,
+                     @Param("roomId") Long roomId,
+                     @Param("upperId") Long upperId);
+
+    int copyImages(@Param("roomType") String roomType,
+                   @Param("roomId") Long roomId,
+                   @Param("upperId") Long upperId);
+
+    //원본 삭제 (이미지 먼저)
+    int deleteImages(@Param("roomType") String roomType,
+                     @Param("roomId") Long roomId,
+                     @Param("upperId") Long upperId);
+
+    int deleteMessages(@Param("roomType") String roomType,
+                       @Param("roomId") Long roomId,
+                       @Param("upperId") Long upperId);
+}
@@ -1,6 +1,9 @@
 package com.popspot.popupplatform.mapper.chat;
 
 
+import com.popspot.popupplatform.domain.chat.ChatMessage;
+import com.popspot.popupplatform.domain.chat.ChatMessageImage;
+import com.popspot.popupplatform.dto.chat.response.ChatInboxRow;
 import com.popspot.popupplatform.dto.chat.response.ChatMessageImageRow;
 import com.popspot.popupplatform.dto.chat.request.ChatMessageRequest;
 import com.popspot.popupplatform.dto.chat.response.ChatMessageResponse;
@@ -15,6 +18,14 @@ public interface ChatMessageMapper {
 
     void insertMessage(ChatMessageRequest request);
 
+    // 배치 저장 (cm_id 지정)
+    int insertMessages(@Param("messages") List<ChatMessage> messages);
+
+    int insertMessageImages(@Param("images") List<ChatMessageImage> images);
+
+    long selectMaxMessageId();
+
+    // GROUP 은 보관 테이블(CHAT_MESSAGE_ARCHIVE)까지 이어서 조회
     List<ChatMessageResponse> getMessagesByRoom(
             @Param("roomType") String roomType,
             @Param("roomId") Long roomId,
@@ -23,23 +34,22 @@ public interface ChatMessageMapper {
             @Param("lastDeletedAt") LocalDateTime lastDeletedAt
     );
 
-    ChatMessageResponse getLatestMessage(
-            @Param("roomType") String roomType,
-            @Param("roomId") Long roomId
-    );
-
-    ChatMessageResponse getMessageById(
-            @Param("roomType") String roomType,
-            @Param("cmId") Long cmId
-    );
-
+    // 안 읽은 메시지 수 (내가 보낸 메시지 제외, selectInboxRows 와 같은 기준)
     int countUnreadMessages(
             @Param("roomType") String roomType,
             @Param("roomId") Long roomId,
+            @Param("userId") Long userId,
             @Param("lastReadId") Long lastReadId
     );
     Long getSenderIdByMessageId(@Param("cmId") Long cmId);
 
+    // 채팅 목록 인덱스 재구성: 방별 최근 메시지 + 안 읽은 수
+    List<ChatInboxRow> selectInboxRows(
+            @Param("userId") Long userId,
+            @Param("roomType") String roomType,
+            @Param("roomIds") List<Long> roomIds
+    );
+
     void insertImages(
             @Param("cmId") Long cmId,
             @Param("urls") List<String> urls
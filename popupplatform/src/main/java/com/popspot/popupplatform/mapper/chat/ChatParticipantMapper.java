@@ -1,6 +1,7 @@
 package com.popspot.popupplatform.mapper.chat;
 
 import com.popspot.popupplatform.domain.chat.ChatParticipant;
+import com.popspot.popupplatform.domain.chat.ChatReadWatermark;
 import com.popspot.popupplatform.dto.chat.response.GroupChatParticipantResponse;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -15,6 +16,8 @@ public interface ChatParticipantMapper {
     Integer exists(@Param("gcrId") Long gcrId, @Param("userId") Long userId);
     //현재참여자인원
     Integer countParticipants(Long gcrId);
+    //채팅방 참여자 userId 목록
+    List<Long> findParticipantUserIds(@Param("gcrId") Long gcrId);
     //채팅방 참여자목록
     List<GroupChatParticipantResponse> findParticipants(
             @Param("gcrId") Long gcrId,
@@ -28,6 +31,10 @@ public interface ChatParticipantMapper {
             @Param("userId") Long userId,
             @Param("cmId") Long cmId
     );
+    //읽음표시 배치 업데이트 (더 큰 값만 반영)
+    int updateLastReads(@Param("reads") List<ChatReadWatermark> reads);
+    //방 전체 참여자 읽음 위치 (읽음 워터마크 인덱스 재구성)
+    List<ChatReadWatermark> selectReadWatermarks(@Param("gcrId") Long gcrId);
     //마지막읽음유저 찾기
     Long findLastRead(
             @Param("gcrId") Long gcrId,
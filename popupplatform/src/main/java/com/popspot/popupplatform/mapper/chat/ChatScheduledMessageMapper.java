@@ -11,18 +11,35 @@ import java.util.List;
 public interface ChatScheduledMessageMapper {
 
     void insert(ChatScheduledMessage msg); // 예약 메시지 저장
-    List<ChatScheduledMessage> findExecutableMessages( //전송 가능한 예약 메시지 조회
-            @Param("now") LocalDateTime now
+    int claimExecutableMessages( //전송 가능한 예약 메시지 선점 (DB 시계 기준)
+            @Param("owner") String owner,
+            @Param("leaseSeconds") int leaseSeconds,
+            @Param("limit") int limit
     );
-    void markAsSent(@Param("csmId") Long csmId); // 예약 메시지 전송 완료 처리
-    void markAsCanceled(@Param("csmId") Long csmId); // 예약 메시지 취소 처리
+    List<ChatScheduledMessage> findClaimedMessages(@Param("owner") String owner); // 선점한 예약 메시지 조회
+    int markAsSent(@Param("csmId") Long csmId, @Param("owner") String owner); // 예약 메시지 전송 완료 처리
+    int markAsFailed( // 예약 메시지 전송 실패 (재시도 예약 / FAILED)
+            @Param("csmId") Long csmId,
+            @Param("owner") String owner,
+            @Param("error") String error,
+            @Param("maxAttempts") int maxAttempts,
+            @Param("maxBackoffSeconds") int maxBackoffSeconds
+    );
+    int deferClaimed( // 같은 방 앞 메시지 실패 → 뒤 메시지를 같은 재시도 시각으로 미룸
+            @Param("owner") String owner,
+            @Param("csmIds") List<Long> csmIds,
+            @Param("failedAttempts") int failedAttempts,
+            @Param("maxBackoffSeconds") int maxBackoffSeconds
+    );
+    int markAsCanceled(@Param("csmId") Long csmId, @Param("senderId") Long senderId); // 예약 메시지 취소 처리 (수정 가능 상태일 때만)
     ChatScheduledMessage findById(@Param("csmId") Long csmId); // 권한체크용 조회
     List<ChatScheduledMessage> findMySchedules( // 예약 목록 조회
             @Param("senderId") Long senderId,
             @Param("status") String status
     );
-    void updateSchedule( // 예약 메세지 수정
+    int updateSchedule( // 예약 메세지 수정 (수정 가능 상태일 때만)
             @Param("csmId") Long csmId,
+            @Param("senderId") Long senderId,
             @Param("content") String content,
             @Param("scheduledAt") LocalDateTime scheduledAt
     );
@@ -1,10 +1,17 @@
 package com.popspot.popupplatform.mapper.chat;
 
+import com.popspot.popupplatform.domain.chat.ChatSenderProfile;
 import com.popspot.popupplatform.dto.chat.response.ChatUserProfileResponse;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 @Mapper
 public interface ChatUserMapper {
     //유저프로필
     ChatUserProfileResponse getChatUserProfile(Long userId);
+    //메시지 보낸 사람 정보 (여러 명)
+    List<ChatSenderProfile> selectSenderProfiles(@Param("userIds") Collection<Long> userIds);
 }
@@ -26,4 +26,7 @@ public interface GroupChatRoomMapper {
     GroupChatRoomDetailResponse findRoomDetail(@Param("gcrId") Long gcrId);
     //내가참여한그룹채팅방목록조회
     List<ChatRoomSummaryResponse> findGroupRoomsForUser(@Param("userId") Long userId);
+    //내가참여한그룹채팅방중 지정한 방만 (채팅 목록 페이지)
+    List<ChatRoomSummaryResponse> findGroupRoomsForUserByIds(@Param("userId") Long userId,
+                                                             @Param("roomIds") List<Long> roomIds);
 }
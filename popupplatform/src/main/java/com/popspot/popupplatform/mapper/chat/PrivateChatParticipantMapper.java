@@ -1,8 +1,11 @@
 package com.popspot.popupplatform.mapper.chat;
 
+import com.popspot.popupplatform.domain.chat.ChatReadWatermark;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.List;
+
 @Mapper
 public interface PrivateChatParticipantMapper {
     void insertParticipant(
@@ -16,6 +19,12 @@ public interface PrivateChatParticipantMapper {
             @Param("lastReadMessageId") Long lastReadMessageId
     );
 
+    // 읽음 배치 반영 (없으면 참여자 생성, 있으면 더 큰 값만 반영)
+    int upsertLastReads(@Param("reads") List<ChatReadWatermark> reads);
+
+    // 방 참여자 읽음 위치 (읽음 워터마크 인덱스 재구성)
+    List<ChatReadWatermark> selectReadWatermarks(@Param("pcrId") Long pcrId);
+
     Long findLastRead(
             @Param("pcrId") Long pcrId,
             @Param("userId") Long userId
@@ -4,6 +4,8 @@ import com.popspot.popupplatform.domain.chat.PrivateChatRoomDelete;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
+
 @Mapper
 public interface PrivateChatRoomDeleteMapper {
     //특정유저userId가 특정1대1방pcrId에 대한 삭제 기록 조회
@@ -24,4 +26,6 @@ public interface PrivateChatRoomDeleteMapper {
             @Param("pcrId") Long pcrId,
             @Param("userId") Long userId
     );
+    //새 메시지가 온 방들의 삭제상태 일괄 해제
+    int restoreDeletedRooms(@Param("pcrIds") Collection<Long> pcrIds);
 }
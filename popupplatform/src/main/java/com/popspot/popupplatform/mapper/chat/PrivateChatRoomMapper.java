@@ -20,4 +20,7 @@ public interface PrivateChatRoomMapper {
     );
     //내가참여한1:1채팅방목록조회
     List<ChatRoomSummaryResponse> findPrivateRoomsForUser(@Param("userId") Long userId);
+    //내가참여한1:1채팅방중 지정한 방만 (채팅 목록 페이지)
+    List<ChatRoomSummaryResponse> findPrivateRoomsForUserByIds(@Param("userId") Long userId,
+                                                               @Param("roomIds") List<Long> roomIds);
 }
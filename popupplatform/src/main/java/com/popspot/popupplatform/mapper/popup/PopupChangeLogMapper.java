@@ -0,0 +1,62 @@
+package com.popspot.popupplatform.mapper.popup;
+
+import com.popspot.popupplatform.domain.popup.PopupChangeLog;
+import com.popspot.popupplatform.dto.popup.enums.PopupGeoChangeType;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface PopupChangeLogMapper {
+
+    //변경 이력 적재 (POPUPSTORE 변경 트랜잭션 안에서)
+    void insertEvent(@Param("popId") Long popId,
+                     @Param("eventType") PopupGeoChangeType eventType);
+
+    //변경 이력 일괄 적재
+    void insertEvents(@Param("popIds") Collection<Long> popIds,
+                      @Param("eventType") PopupGeoChangeType eventType);
+
+    //전체 팝업 재처리 이력 적재
+    int insertAllPopups();
+
+    //소비자 행 생성 (없을 때만, 새로 만들었으면 1)
+    int insertCheckpointIfAbsent(@Param("consumer") String consumer);
+
+    //소비자 lease 선점 (다른 노드가 처리 중이면 0)
+    int claimCheckpoint(@Param("consumer") String consumer,
+                        @Param("owner") String owner,
+                        @Param("leaseSeconds") int leaseSeconds);
+
+    //소비자 lease 반납 (선점한 owner 만)
+    int releaseCheckpoint(@Param("consumer") String consumer,
+                          @Param("owner") String owner);
+
+    //처리 가능한 이력 선점 (debounce 보다 오래된 것만, owner + lease, 단건 UPDATE)
+    int claimReady(@Param("owner") String owner,
+                   @Param("leaseSeconds") int leaseSeconds,
+                   @Param("debounceSeconds") long debounceSeconds,
+                   @Param("limit") int limit);
+
+    //선점한 이력 (pcl_id 순)
+    List<PopupChangeLog> selectClaimed(@Param("owner") String owner);
+
+    //재색인 완료 이력 삭제 (선점한 owner 만)
+    int deleteByIds(@Param("owner") String owner,
+                    @Param("ids") List<Long> ids);
+
+    //재색인 실패 이력 재시도 예약 (지수 백오프, 선점한 owner 만)
+    int markFailed(@Param("owner") String owner,
+                   @Param("ids") List<Long> ids,
+                   @Param("error") String error,
+                   @Param("maxBackoffSeconds") int maxBackoffSeconds);
+
+    //미처리 이력 수
+    long countPending();
+
+    //가장 오래된 미처리 이력 생성 시각 (없으면 null)
+    LocalDateTime selectOldestCreatedAt();
+}
@@ -0,0 +1,49 @@
+package com.popspot.popupplatform.mapper.popup;
+
+import com.popspot.popupplatform.domain.popup.PopupGeoOutboxEvent;
+import com.popspot.popupplatform.dto.popup.enums.PopupGeoChangeType;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface PopupGeoOutboxMapper {
+
+    //변경 이벤트 적재 (POPUPSTORE 변경 트랜잭션 안에서)
+    void insertEvent(@Param("popId") Long popId,
+                     @Param("eventType") PopupGeoChangeType eventType);
+
+    //변경 이벤트 일괄 적재
+    void insertEvents(@Param("popIds") Collection<Long> popIds,
+                      @Param("eventType") PopupGeoChangeType eventType);
+
+    //전체 팝업 재동기화 이벤트 적재
+    int insertAllPopups();
+
+    //처리 가능한 이벤트 선점 (owner + lease, 단건 UPDATE)
+    int claimReady(@Param("owner") String owner,
+                   @Param("leaseSeconds") int leaseSeconds,
+                   @Param("limit") int limit);
+
+    //선점한 이벤트 (go_id 순)
+    List<PopupGeoOutboxEvent> selectClaimed(@Param("owner") String owner);
+
+    //반영 완료 이벤트 삭제 (선점한 owner 만)
+    int deleteByIds(@Param("owner") String owner,
+                    @Param("ids") List<Long> ids);
+
+    //반영 실패 이벤트 재시도 예약 (지수 백오프, 선점한 owner 만)
+    int markFailed(@Param("owner") String owner,
+                   @Param("ids") List<Long> ids,
+                   @Param("error") String error,
+                   @Param("maxBackoffSeconds") int maxBackoffSeconds);
+
+    //미처리 이벤트 수
+    long countPending();
+
+    //가장 오래된 미처리 이벤트 생성 시각 (없으면 null)
+    LocalDateTime selectOldestCreatedAt();
+}
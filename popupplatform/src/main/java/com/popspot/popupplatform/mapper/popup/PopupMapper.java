@@ -1,6 +1,8 @@
 package com.popspot.popupplatform.mapper.popup;
 
+import com.popspot.popupplatform.domain.popup.PopupDetailSnapshot;
 import com.popspot.popupplatform.domain.popup.PopupStore;
+import com.popspot.popupplatform.domain.popup.PopupViewEvent;
 import com.popspot.popupplatform.dto.popup.response.PopupNearbyItemResponse;
 import com.popspot.popupplatform.dto.user.report.UserPersonaPopupCard;
 import com.popspot.popupplatform.dto.user.report.UserPopupEventDto;
@@ -8,9 +10,11 @@ import com.popspot.popupplatform.dto.user.report.UserRecommendationCandidateDto;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 @Mapper
@@ -34,6 +38,17 @@ public interface PopupMapper {
                           @Param("imageUrl") String imageUrl,
                           @Param("order") int order);
 
+    //해시태그 일괄 저장 (INSERT IGNORE, multi-row)
+    int insertHashtags(@Param("hashNames") Collection<String> hashNames);
+
+    //팝업-해시태그 일괄 연결 (태그명 IN 조회 + multi-row INSERT)
+    int insertPopupHashtagsByNames(@Param("popId") Long popId,
+                                   @Param("hashNames") Collection<String> hashNames);
+
+    //상세 이미지 일괄 저장 (pi_order = 목록 순서)
+    int insertPopupImages(@Param("popId") Long popId,
+                          @Param("imageUrls") List<String> imageUrls);
+
 
     //팝업 목록 기본 조회 (커서 + 개수 기반)
     List<PopupStore> selectPopupList(
@@ -49,7 +64,8 @@ public interface PopupMapper {
             @Param("status") String status,
             @Param("minPrice") Integer minPrice,
             @Param("maxPrice") Integer maxPrice,
-            @Param("sort") String sort
+            @Param("sort") String sort,
+            @Param("fullTextQuery") String fullTextQuery
     );
 
     //팝업 존재 여부 확인 (삭제되지 않은 것만)
@@ -61,18 +77,18 @@ public interface PopupMapper {
     //진행 중/오픈 예정 -> 종료 상태 변경
     int updateStatusToEnded(@Param("now") LocalDateTime now);
 
-    //조회수 1 증가
-    void updateViewCount(@Param("popId") Long popId);
-
-    //유저가 해당 팝업을 최근 1시간 내에 조회했는지 확인
-    boolean existsViewHistoryRecent(@Param("popId") Long popId, @Param("userId") Long userId);
+    //조회수 배치 증가 (pop_id -> 증가량)
+    int increaseViewCounts(@Param("deltas") Map<Long, Long> deltas);
 
-    //조회 기록 저장 (POPUP_VIEWED 테이블)
-    void insertViewHistory(@Param("popId") Long popId, @Param("userId") Long userId);
+    //조회 기록 배치 저장 (POPUP_VIEWED 테이블)
+    int insertViewHistories(@Param("views") List<PopupViewEvent> views);
 
     //팝업 단건 상세 조회
     Optional<PopupStore> selectPopupDetail(@Param("popId") Long popId);
 
+    //팝업 상세 한 번에 조립 (기본 정보 + 예약 설정 + 이미지 + 해시태그)
+    Optional<PopupDetailSnapshot> selectPopupDetailSnapshot(@Param("popId") Long popId);
+
     //팝업 상세 이미지 리스트 조회
     List<String> selectPopupImages(@Param("popId") Long popId);
 
@@ -128,8 +144,6 @@ public interface PopupMapper {
             @Param("limit") Integer limit
     );
 
-    List<PopupStore> selectPopupsForGeoSync(Long lastId, int limit);
-
 
     // 오픈 예정 -> 진행 중으로 바뀔 대상 pop_id들
     List<Long> selectPopupIdsToOngoing(@Param("now") LocalDateTime now);
@@ -140,6 +154,9 @@ public interface PopupMapper {
     // Postgres geo upsert에 필요한 칼럼만 POPUPSTORE에서 조회
     List<PopupStore> selectPopupStoresForGeoByIds(@Param("ids") List<Long> ids);
 
+    // POPBOT 문서 재색인에 필요한 칼럼만 POPUPSTORE에서 조회
+    List<PopupStore> selectPopupStoresForAiDocByIds(@Param("ids") List<Long> ids);
+
 
     int selectPriceByPopId(@Param("popId")  Long popId);
 
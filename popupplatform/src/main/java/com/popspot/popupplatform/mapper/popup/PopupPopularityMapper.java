@@ -0,0 +1,30 @@
+package com.popspot.popupplatform.mapper.popup;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
+
+@Mapper
+public interface PopupPopularityMapper {
+
+    //신규 팝업 점수 행 생성
+    void insertInitial(@Param("popId") Long popId);
+
+    //최근 7일 조회수 증분 배치 반영 (pop_id -> 증가량)
+    void incrementViewsBatch(@Param("deltas") Map<Long, Long> deltas);
+
+    //찜 증감 반영 (+1 / -1)
+    void incrementWishes(@Param("popId") Long popId,
+                         @Param("delta") int delta);
+
+    //상태 변경된 팝업의 정렬 그룹(0: 진행/예정, 1: 종료) 동기화
+    int updateStatusGroupByIds(@Param("ids") List<Long> ids);
+
+    //7일 윈도우 기준 전체 재계산 (decay)
+    int refreshAll();
+
+    //점수 행이 없는 팝업 채우기 (배포 전 등록분)
+    int insertMissing();
+}
@@ -0,0 +1,20 @@
+package com.popspot.popupplatform.mapper.popup;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface PopupSearchMapper {
+
+    //검색 문서 upsert (이름 + 장소 + 해시태그 + 설명)
+    int upsertDocuments(@Param("ids") List<Long> ids);
+
+    //전체 재색인용 pop_id 페이지 조회
+    List<Long> selectPopupIdsAfter(@Param("lastId") long lastId,
+                                   @Param("limit") int limit);
+
+    //검색 문서가 없는 pop_id 조회 (backfill)
+    List<Long> selectUnindexedPopupIds(@Param("limit") int limit);
+}
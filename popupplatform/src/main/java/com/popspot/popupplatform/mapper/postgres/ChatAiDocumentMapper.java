@@ -1,18 +1,43 @@
 package com.popspot.popupplatform.mapper.postgres;
 
 import com.popspot.popupplatform.dto.chat.ChatAiDocument;
+import com.popspot.popupplatform.dto.chat.ChatAiVectorSample;
+import com.popspot.popupplatform.dto.chat.enums.ChatAiDocumentType;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
 public interface ChatAiDocumentMapper {
     void insertDocument(ChatAiDocument doc);
+    void insertDocuments(@Param("docs") List<ChatAiDocument> docs);
+    // 트랜잭션 범위 설정 (hnsw.ef_search 등)
+    String setLocalConfig(@Param("name") String name, @Param("value") String value);
     List<ChatAiDocument> searchSimilar(
             @Param("embedding") float[] embedding,
             @Param("limit") int limit,
-            @Param("type") String type
+            @Param("type") ChatAiDocumentType type,
+            @Param("status") String status,
+            @Param("region") String region
     );
+    // 벤치마크용 (ANN / 전체 비교)
+    List<Long> searchSimilarIds(
+            @Param("embedding") float[] embedding,
+            @Param("limit") int limit,
+            @Param("type") ChatAiDocumentType type,
+            @Param("status") String status,
+            @Param("region") String region
+    );
+    List<Long> searchExactIds(
+            @Param("embedding") float[] embedding,
+            @Param("limit") int limit,
+            @Param("type") ChatAiDocumentType type,
+            @Param("status") String status,
+            @Param("region") String region
+    );
+    List<ChatAiVectorSample> selectSampleEmbeddings(@Param("type") ChatAiDocumentType type, @Param("limit") int limit);
     void deleteByPopupId(@Param("popupId") Long popupId);
+    int deleteByPopupIds(@Param("popupIds") Collection<Long> popupIds);
 }
@@ -1,6 +1,8 @@
 package com.popspot.popupplatform.mapper.postgres;
 
+import com.popspot.popupplatform.domain.popup.PopupGeoTileItem;
 import com.popspot.popupplatform.domain.popup.PopupStore;
+import com.popspot.popupplatform.dto.popup.response.PopupNearbyClusterResponse;
 import com.popspot.popupplatform.dto.popup.response.PopupNearbyItemResponse;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -17,6 +19,26 @@ public interface PopupGeoMapper {
             @Param("limit") int limit
     );
 
+    //nearby 타일 적재용 (bounding box 안의 노출 대상 팝업)
+    List<PopupGeoTileItem> selectPopupsInBox(
+            @Param("minLat") double minLat,
+            @Param("minLng") double minLng,
+            @Param("maxLat") double maxLat,
+            @Param("maxLng") double maxLng
+    );
+
+    //넓은 반경용 geohash 셀별 개수
+    List<PopupNearbyClusterResponse> selectNearbyClusters(
+            @Param("latitude") Double latitude,
+            @Param("longitude") Double longitude,
+            @Param("radiusKm") Double radiusKm,
+            @Param("precision") int precision,
+            @Param("limit") int limit
+    );
+
+    //타일 무효화용 현재 좌표
+    List<PopupGeoTileItem> selectGeoPointsByIds(@Param("ids") List<Long> ids);
+
     void upsertPopupGeo(@Param("p") PopupStore popup);
 
 
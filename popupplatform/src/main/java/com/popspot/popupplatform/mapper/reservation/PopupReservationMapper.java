@@ -2,6 +2,10 @@ package com.popspot.popupplatform.mapper.reservation;
 
 import com.popspot.popupplatform.domain.reservation.PopupReservation;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
 
 @Mapper
 public interface PopupReservationMapper {
@@ -17,4 +21,9 @@ public interface PopupReservationMapper {
      * 팝업별 예약 설정 조회
      */
     PopupReservation findByPopId(Long popId);
+
+    /**
+     * 예약 설정이 있고 종료일이 지나지 않은 팝업 ID 목록
+     */
+    List<Long> selectActivePopIds(@Param("today") LocalDate today);
 }
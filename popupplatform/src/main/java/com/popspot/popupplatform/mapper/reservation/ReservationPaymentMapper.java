@@ -1,8 +1,13 @@
 package com.popspot.popupplatform.mapper.reservation;
 
+import com.popspot.popupplatform.domain.reservation.ReservationPaymentState;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
 @Mapper
 public interface ReservationPaymentMapper {
 
@@ -37,6 +42,15 @@ public interface ReservationPaymentMapper {
 
     String selectPaymentIdByReservationId(@Param("reservationId") Long reservationId);
 
-    int deleteExpiredPendingByMerchantUid(String merchantUid, java.sql.Timestamp cutoff);
+    // 만료 HOLD 배치 정리: 상태 잠금 조회 / 만료 PENDING·FAILED 일괄 삭제
+    List<ReservationPaymentState> selectStatesForUpdate(
+            @Param("merchantUids") Collection<String> merchantUids,
+            @Param("cutoff") Timestamp cutoff
+    );
+
+    int deleteExpiredByMerchantUids(
+            @Param("merchantUids") Collection<String> merchantUids,
+            @Param("cutoff") Timestamp cutoff
+    );
 
 }
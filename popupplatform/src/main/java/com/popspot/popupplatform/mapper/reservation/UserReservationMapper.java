@@ -1,9 +1,11 @@
 package com.popspot.popupplatform.mapper.reservation;
 
+import com.popspot.popupplatform.domain.reservation.SlotReservedCount;
 import com.popspot.popupplatform.domain.reservation.UserReservation;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Mapper
 public interface UserReservationMapper {
@@ -15,4 +17,11 @@ public interface UserReservationMapper {
 
     int cancelById(@Param("urId") Long urId);
 
+    // [from, to) 기간 슬롯/날짜별 확정 인원 합계
+    List<SlotReservedCount> sumReservedByPopIdAndDateRange(
+            @Param("popId") Long popId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
 }
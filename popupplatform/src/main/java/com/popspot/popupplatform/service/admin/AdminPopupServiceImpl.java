@@ -1,15 +1,16 @@
 package com.popspot.popupplatform.service.admin;
 
 import com.popspot.popupplatform.domain.admin.PopupModerationStatus;
-import com.popspot.popupplatform.domain.popup.PopupStore;
 import com.popspot.popupplatform.dto.admin.AdminPopupDetailResponseDTO;
 import com.popspot.popupplatform.dto.admin.PopupStoreListDTO;
 import com.popspot.popupplatform.dto.common.PageDTO;
 import com.popspot.popupplatform.dto.common.PageRequestDTO;
+import com.popspot.popupplatform.dto.popup.enums.PopupGeoChangeType;
 import com.popspot.popupplatform.dto.popup.response.ManagerPopupDetailResponse;  // ✅ import 추가
 import com.popspot.popupplatform.mapper.admin.AdminPopupMapper;
-import com.popspot.popupplatform.service.chat.ai.AiChatDocumentService;
+import com.popspot.popupplatform.service.popup.PopupDetailCacheService;
 import com.popspot.popupplatform.service.popup.PopupGeoSyncService;
+import com.popspot.popupplatform.service.popup.PopupPopularityService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -25,11 +26,13 @@ public class AdminPopupServiceImpl implements AdminPopupService {
 
     private final AdminPopupMapper adminPopupMapper;
 
-    private final AiChatDocumentService aiChatDocumentService;
-
 
     // Postgres Geo 동기화 서비스
     private final PopupGeoSyncService popupGeoSyncService;
+    private final PopupPopularityService popupPopularityService;
+
+    // 팝업 상세 캐시 무효화
+    private final PopupDetailCacheService popupDetailCacheService;
 
 
     private String moderationMessage(PopupModerationStatus status) {
@@ -95,19 +98,6 @@ public class AdminPopupServiceImpl implements AdminPopupService {
 
         if (updated == 0) return false;
 
-        // 승인 / 반려 공통 처리
-        if (Boolean.TRUE.equals(status)) {
-            // 승인 → 기존 AI 문서 삭제 후 재생성
-            PopupStore popup = adminPopupMapper.findPopupEntityById(popId);
-
-            aiChatDocumentService.deleteByPopupId(popId);
-            savePopupAsAiDocument(popup);
-
-        } else {
-            // 반려 → AI 문서 제거
-            aiChatDocumentService.deleteByPopupId(popId);
-        }
-
         if (updated > 0) {
             PopupModerationStatus pmStatus =
                     status == null ? PopupModerationStatus.PENDING :
@@ -136,7 +126,9 @@ public class AdminPopupServiceImpl implements AdminPopupService {
 
 
 
-            popupGeoSyncService.syncPopup(popId);
+            // geo 동기화 + POPBOT 문서 재색인 (승인 → 색인, 반려 → 제거는 ChatAiDocumentIndexer 가 처리)
+            popupGeoSyncService.enqueue(popId, PopupGeoChangeType.MODERATION);
+            popupDetailCacheService.evictAfterCommit(popId);
 
 
 
@@ -150,7 +142,13 @@ public class AdminPopupServiceImpl implements AdminPopupService {
     @Transactional
     public boolean updatePopupStatus(Long popId, String status) {
         log.info("팝업 상태 변경: popId={}, status={}", popId, status);
-        return adminPopupMapper.updatePopupStatus(popId, status) > 0;
+        boolean updated = adminPopupMapper.updatePopupStatus(popId, status) > 0;
+        if (updated) {
+            popupGeoSyncService.enqueue(popId, PopupGeoChangeType.STATUS);
+            popupPopularityService.syncStatusGroups(List.of(popId));
+            popupDetailCacheService.evictAfterCommit(popId);
+        }
+        return updated;
     }
 
     @Override
@@ -159,6 +157,10 @@ public class AdminPopupServiceImpl implements AdminPopupService {
         log.info("팝업 삭제: popId={}, reason={}", popId, reason);
 
         int deleted = adminPopupMapper.deletePopup(popId);
+        if (deleted > 0) {
+            popupGeoSyncService.enqueue(popId, PopupGeoChangeType.DELETE);
+            popupDetailCacheService.evictAfterCommit(popId);
+        }
 
         if (deleted > 0 && reason != null) {
             // TODO: 삭제 이력 저장 로직
@@ -171,60 +173,16 @@ public class AdminPopupServiceImpl implements AdminPopupService {
     @Transactional
     public boolean restorePopup(Long popId) {
         log.info("팝업 복구: popId={}", popId);
-        return adminPopupMapper.restorePopup(popId) > 0;
+        boolean restored = adminPopupMapper.restorePopup(popId) > 0;
+        if (restored) {
+            popupGeoSyncService.enqueue(popId, PopupGeoChangeType.RESTORE);
+            popupDetailCacheService.evictAfterCommit(popId);
+        }
+        return restored;
     }
 
     @Override
     public Map<String, Object> getPopupStats() {
         return adminPopupMapper.getPopupStats();
     }
-
-    /* =====================================================
-    팝업 → AI 문서 변환
-     ===================================================== */
-
-    private void savePopupAsAiDocument(PopupStore popup) {
-
-        if (popup == null) return;
-
-        String content = """
-            팝업스토어 이름: %s
-        
-            요약:
-            %s
-        
-            운영 기간:
-            %s ~ %s
-        
-            장소:
-            %s
-        
-            가격:
-            %s (%s원)
-        
-            상태:
-            %s
-        """.formatted(
-                popup.getPopName(),
-                popup.getPopAiSummary() != null
-                        ? popup.getPopAiSummary()
-                        : popup.getPopDescription(),
-                popup.getPopStartDate(),
-                popup.getPopEndDate(),
-                popup.getPopLocation(),
-                popup.getPopPriceType(),
-                popup.getPopPrice(),
-                popup.getPopStatus()
-        );
-
-        Map<String, Object> metadata = Map.of(
-                "type", "popup",
-                "popupId", popup.getPopId(),
-                "name", popup.getPopName(),
-                "status", popup.getPopStatus().name(),
-                "priceType", popup.getPopPriceType().name()
-        );
-
-        aiChatDocumentService.save(content, metadata);
-    }
 }
\ No newline at end of file
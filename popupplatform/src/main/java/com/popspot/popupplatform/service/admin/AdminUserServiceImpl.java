@@ -4,6 +4,7 @@ import com.popspot.popupplatform.dto.admin.AdminUserDTO;
 import com.popspot.popupplatform.dto.common.PageDTO;
 import com.popspot.popupplatform.dto.common.PageRequestDTO;
 import com.popspot.popupplatform.mapper.admin.AdminUserMapper;
+import com.popspot.popupplatform.service.chat.ChatSenderProfileService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +19,7 @@ import java.util.List;
 public class AdminUserServiceImpl implements AdminUserService {
 
     private final AdminUserMapper adminUserMapper;
+    private final ChatSenderProfileService chatSenderProfileService;
 
     @Override
     public PageDTO<AdminUserDTO> getUserList(String status, PageRequestDTO pageRequest) {
@@ -78,6 +80,8 @@ public class AdminUserServiceImpl implements AdminUserService {
         if (result == 0) {
             throw new IllegalArgumentException("존재하지 않는 유저입니다: " + userId);
         }
+        // 채팅 메시지의 보낸 사람 상태(탈퇴 표시) 갱신
+        chatSenderProfileService.evictAfterCommit(userId);
     }
 
     @Override
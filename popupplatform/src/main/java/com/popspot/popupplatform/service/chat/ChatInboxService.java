@@ -0,0 +1,496 @@
+package com.popspot.popupplatform.service.chat;
+
+import com.popspot.popupplatform.dto.chat.response.ChatInboxRow;
+import com.popspot.popupplatform.dto.chat.response.ChatRoomSummaryResponse;
+import com.popspot.popupplatform.mapper.chat.ChatMessageMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 유저별 채팅 목록 인덱스 (Redis)
+ *
+ * - chat:inbox:{userId}        ZSET  member = {roomType}:{roomId}, score = 최근 메시지 시각(ms)
+ * - chat:inbox:unread:{userId} HASH  field  = {roomType}:{roomId}, value = 안 읽은 메시지 수
+ * - chat:inbox:ready:{userId}  '1' = DB 기준으로 채워짐 (TTL 동안만 유지) / 'B:{token}' = 재구성 중 (짧은 TTL, 1명만)
+ * - chat:inbox:touched:{userId} SET 재구성 중에 메시지/읽음이 들어온 방 (ready 전환 전에 DB 로 다시 계산)
+ * - chat:inbox:room-last:{roomType}:{roomId} STRING 방의 최근 메시지 ID (INBOX_TTL, 메시지마다 연장)
+ *   → 메시지가 끊긴 방은 사라지고, 없을 때 읽음 처리는 DB COUNT 로 계산
+ *
+ * 갱신
+ * - 메시지 저장: 방 참여자 전원 인덱스를 Lua 1번으로 갱신 (ready 인 유저만, 보낸 사람은 unread 증가 없음)
+ *   ChatMessageWriter 가 배치 저장 직후 방 단위로 묶어서 호출
+ * - 읽음 처리 : 방의 최근 메시지까지 읽었으면 unread = 0, 중간까지만 읽었으면(또는 room-last 없음) DB COUNT 1번
+ *   unread 는 재구성/COUNT 모두 "내가 보낸 메시지 제외" 로 같은 기준
+ *
+ * ready 가 없는 유저(처음/오래 안 들어온 유저)는 목록 조회 시 방 타입별 집계 쿼리 1번씩으로 재구성.
+ * - 집계 전에 재구성 표시를 걸어 두고, 그 사이 들어온 메시지/읽음은 touched 에 방만 기록
+ *   → 집계 결과를 쓴 뒤 touched 가 빌 때까지 해당 방만 다시 집계하고, 비었을 때 원자적으로 '1' 전환
+ *   (집계 쿼리와 ready 전환 사이에 저장된 메시지가 빠지지 않음)
+ * 참여/숨김/삭제 여부는 여전히 DB 방 목록이 기준이고, 인덱스는 정렬 + unread 만 담당.
+ * - 목록 페이지는 인덱스 ZSET 순서로 잘라 그 방들만 DB 에서 확인 (숨김/나감 등 안 보이는 방은 인덱스에서 제거)
+ * - 인덱스에 없는 방이 생기는 변경(방 생성/입장/숨김 해제)은 커밋 후 ready 삭제 → 다음 조회 때 재구성
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatInboxService {
+
+    private static final String INBOX_KEY_PREFIX = "chat:inbox:";
+    private static final String UNREAD_KEY_PREFIX = "chat:inbox:unread:";
+    private static final String READY_KEY_PREFIX = "chat:inbox:ready:";
+    private static final String ROOM_LAST_KEY_PREFIX = "chat:inbox:room-last:";
+    private static final String TOUCHED_KEY_PREFIX = "chat:inbox:touched:";
+
+    private static final String READY = "1";
+    private static final String BUILDING_PREFIX = "B:";
+
+    // 안 쓰는 유저 인덱스는 이 기간 뒤 사라지고, 다음 조회 때 재구성
+    private static final Duration INBOX_TTL = Duration.ofDays(7);
+
+    // 재구성 중 표시 TTL (재구성 노드가 죽어도 이 시간 뒤 다른 조회가 다시 재구성)
+    private static final Duration BUILDING_TTL = Duration.ofSeconds(30);
+
+    // touched 재집계 최대 반복 (수렴하지 않으면 재구성 표시가 만료된 뒤 다시 재구성)
+    private static final int MAX_RECOUNT_PASSES = 3;
+
+    /**
+     * KEYS[1]=room-last, 이후 유저별 [ready, inbox, unread, touched]
+     * ARGV[1]=room field, ARGV[2]=cmId, ARGV[3]=score(ms), ARGV[4]=room-last TTL(초), ARGV[5..]=유저별 unread 증가량
+     * ready='1' 이면 반영, 'B:'(재구성 중)면 touched 에 방만 기록
+     */
+    private static final DefaultRedisScript<Long> ON_MESSAGE_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local cur = tonumber(redis.call('GET', KEYS[1]) or '0')
+                    if (tonumber(ARGV[2]) > cur) then
+                      redis.call('SET', KEYS[1], ARGV[2], 'EX', tonumber(ARGV[4]))
+                    else
+                      redis.call('EXPIRE', KEYS[1], tonumber(ARGV[4]))
+                    end
+
+                    local touched = 0
+                    for i = 2, #KEYS, 4 do
+                      local state = redis.call('GET', KEYS[i])
+                      if (state == '1') then
+                        local score = redis.call('ZSCORE', KEYS[i + 1], ARGV[1])
+                        if ((not score) or tonumber(score) < tonumber(ARGV[3])) then
+                          redis.call('ZADD', KEYS[i + 1], ARGV[3], ARGV[1])
+                        end
+                        local n = (i - 2) / 4
+                        local inc = tonumber(ARGV[5 + n])
+                        if (inc > 0) then
+                          redis.call('HINCRBY', KEYS[i + 2], ARGV[1], inc)
+                        end
+                        touched = touched + 1
+                      elseif (state and string.sub(state, 1, 2) == 'B:') then
+                        redis.call('SADD', KEYS[i + 3], ARGV[1])
+                        redis.call('EXPIRE', KEYS[i + 3], tonumber(ARGV[4]))
+                        touched = touched + 1
+                      end
+                    end
+                    return touched
+                    """,
+                    Long.class
+            );
+
+    /**
+     * KEYS[1]=room-last, KEYS[2]=ready, KEYS[3]=unread, KEYS[4]=touched
+     * ARGV[1]=room field, ARGV[2]=읽은 메시지 ID, ARGV[3]=touched TTL(초)
+     * return 1: 0으로 초기화 / 0: 인덱스 없음(재구성 중이면 touched 기록) / -1: 중간까지만 읽음 또는 room-last 없음 (DB 로 다시 계산 필요)
+     */
+    private static final DefaultRedisScript<Long> ON_READ_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local state = redis.call('GET', KEYS[2])
+                    if (state and string.sub(state, 1, 2) == 'B:') then
+                      redis.call('SADD', KEYS[4], ARGV[1])
+                      redis.call('EXPIRE', KEYS[4], tonumber(ARGV[3]))
+                      return 0
+                    end
+                    if (state ~= '1') then
+                      return 0
+                    end
+                    local last = redis.call('GET', KEYS[1])
+                    if (last and tonumber(ARGV[2]) >= tonumber(last)) then
+                      redis.call('HSET', KEYS[3], ARGV[1], '0')
+                      return 1
+                    end
+                    return -1
+                    """,
+                    Long.class
+            );
+
+    /**
+     * KEYS[1]=ready, KEYS[2]=touched
+     * ARGV[1]=ready TTL(초), ARGV[2]=재구성 토큰
+     * return nil: 내 재구성 표시가 아님(무효화됨, 중단) / {}: '1' 로 전환 / {field...}: 다시 집계할 방 (touched 비움)
+     */
+    private static final DefaultRedisScript<List> FINISH_REBUILD_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    if (redis.call('GET', KEYS[1]) ~= ARGV[2]) then
+                      return nil
+                    end
+                    local fields = redis.call('SMEMBERS', KEYS[2])
+                    if (#fields > 0) then
+                      redis.call('DEL', KEYS[2])
+                      return fields
+                    end
+                    redis.call('SET', KEYS[1], '1', 'EX', tonumber(ARGV[1]))
+                    return {}
+                    """,
+                    List.class
+            );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ChatMessageMapper chatMessageMapper;
+
+    /**
+     * 메시지 저장 후 참여자 인덱스 갱신
+     * @param unreadIncrements 참여자별 unread 증가량 (보낸 사람은 0)
+     */
+    public void onMessages(String roomType, Long roomId, Long lastCmId, LocalDateTime lastCreatedAt,
+                           Map<Long, Integer> unreadIncrements) {
+        if (lastCmId == null || unreadIncrements == null || unreadIncrements.isEmpty()) return;
+
+        String field = roomField(roomType, roomId);
+        List<String> keys = new ArrayList<>(1 + unreadIncrements.size() * 4);
+        List<String> args = new ArrayList<>(4 + unreadIncrements.size());
+        keys.add(ROOM_LAST_KEY_PREFIX + field);
+        args.add(field);
+        args.add(String.valueOf(lastCmId));
+        args.add(String.valueOf(toMillis(lastCreatedAt)));
+        args.add(String.valueOf(INBOX_TTL.getSeconds()));
+
+        for (Map.Entry<Long, Integer> e : unreadIncrements.entrySet()) {
+            if (e.getKey() == null) continue;
+            keys.add(READY_KEY_PREFIX + e.getKey());
+            keys.add(INBOX_KEY_PREFIX + e.getKey());
+            keys.add(UNREAD_KEY_PREFIX + e.getKey());
+            keys.add(TOUCHED_KEY_PREFIX + e.getKey());
+            args.add(String.valueOf(e.getValue() == null ? 0 : e.getValue()));
+        }
+
+        try {
+            stringRedisTemplate.execute(ON_MESSAGE_SCRIPT, keys, args.toArray());
+        } catch (Exception e) {
+            // 인덱스가 틀어질 수 있으므로 참여자 인덱스를 버리고 다음 조회 때 재구성
+            log.warn("[ChatInbox] 메시지 반영 실패, 인덱스 무효화. room={}, cmId={}", field, lastCmId, e);
+            invalidate(unreadIncrements.keySet());
+        }
+    }
+
+    /**
+     * 읽음 처리 후 unread 갱신
+     */
+    public void onRead(String roomType, Long roomId, Long userId, Long lastReadId) {
+        if (userId == null || lastReadId == null) return;
+
+        String field = roomField(roomType, roomId);
+        try {
+            Long result = stringRedisTemplate.execute(
+                    ON_READ_SCRIPT,
+                    List.of(ROOM_LAST_KEY_PREFIX + field, READY_KEY_PREFIX + userId, UNREAD_KEY_PREFIX + userId,
+                            TOUCHED_KEY_PREFIX + userId),
+                    field,
+                    String.valueOf(lastReadId),
+                    String.valueOf(BUILDING_TTL.getSeconds() * 2)
+            );
+            if (result != null && result == -1L) {
+                int unread = chatMessageMapper.countUnreadMessages(roomType, roomId, userId, lastReadId);
+                stringRedisTemplate.opsForHash().put(UNREAD_KEY_PREFIX + userId, field, String.valueOf(unread));
+            }
+        } catch (Exception e) {
+            log.warn("[ChatInbox] 읽음 반영 실패, 인덱스 무효화. room={}, userId={}", field, userId, e);
+            invalidate(List.of(userId));
+        }
+    }
+
+    /**
+     * 방 목록에 정렬 기준(최근 메시지 시각)과 unread 를 채우고 최근 메시지 순으로 정렬
+     * - 인덱스가 없으면 DB 집계로 재구성
+     */
+    public List<ChatRoomSummaryResponse> sort(Long userId, List<ChatRoomSummaryResponse> rooms) {
+        if (rooms.isEmpty()) return rooms;
+
+        boolean filled = false;
+        try {
+            if (isReady(userId)) {
+                fill(userId, rooms);
+                filled = true;
+            }
+        } catch (Exception e) {
+            log.warn("[ChatInbox] 인덱스 조회 실패, DB로 재구성. userId={}", userId, e);
+        }
+
+        if (!filled) {
+            rebuild(userId, rooms);
+        }
+
+        List<ChatRoomSummaryResponse> sorted = new ArrayList<>(rooms);
+        sorted.sort((a, b) -> b.getLatestMessageTime().compareTo(a.getLatestMessageTime()));
+        return sorted;
+    }
+
+    /**
+     * 인덱스 순서(최근 메시지 순)로 [start, end] 구간의 방 field({roomType}:{roomId}) 목록
+     * @return 인덱스가 준비되지 않았으면 null
+     */
+    public List<String> range(Long userId, long start, long end) {
+        try {
+            if (!isReady(userId)) return null;
+            Set<String> fields = stringRedisTemplate.opsForZSet().reverseRange(INBOX_KEY_PREFIX + userId, start, end);
+            return fields == null ? List.of() : new ArrayList<>(fields);
+        } catch (Exception e) {
+            log.warn("[ChatInbox] 인덱스 범위 조회 실패. userId={}", userId, e);
+            return null;
+        }
+    }
+
+    /**
+     * 주어진 방들만 인덱스에서 최근 메시지 시각 + unread 채움 (ZMSCORE + HMGET)
+     */
+    public void fill(Long userId, List<ChatRoomSummaryResponse> rooms) {
+        if (rooms.isEmpty()) return;
+
+        List<Object> fields = new ArrayList<>(rooms.size());
+        for (ChatRoomSummaryResponse room : rooms) {
+            fields.add(roomField(room.getRoomType(), room.getRoomId()));
+        }
+        List<Double> scores = stringRedisTemplate.opsForZSet().score(INBOX_KEY_PREFIX + userId, fields.toArray());
+        List<Object> unread = stringRedisTemplate.opsForHash().multiGet(UNREAD_KEY_PREFIX + userId, fields);
+
+        for (int i = 0; i < rooms.size(); i++) {
+            ChatRoomSummaryResponse room = rooms.get(i);
+            Double score = scores == null ? null : scores.get(i);
+            Object count = unread == null ? null : unread.get(i);
+
+            room.setLatestMessageTime(score == null ? room.getCreatedAt() : toDateTime(score.longValue()));
+            room.setUnreadCount(count == null ? 0 : Integer.parseInt(count.toString()));
+        }
+    }
+
+    /**
+     * 더 이상 목록에 보이지 않는 방(숨김/나감/삭제)을 인덱스에서 제거
+     * @return 제거했으면 true (없으면 true, 실패하면 false)
+     */
+    public boolean removeRooms(Long userId, Collection<String> fields) {
+        if (fields.isEmpty()) return true;
+        try {
+            stringRedisTemplate.opsForZSet().remove(INBOX_KEY_PREFIX + userId, fields.toArray());
+            stringRedisTemplate.opsForHash().delete(UNREAD_KEY_PREFIX + userId, fields.toArray());
+            return true;
+        } catch (Exception e) {
+            log.warn("[ChatInbox] 인덱스 방 제거 실패. userId={}", userId, e);
+            return false;
+        }
+    }
+
+    /**
+     * 인덱스에 없는 방이 생기는 변경(방 생성/입장/숨김 해제) 후 무효화 (커밋 후, 트랜잭션 밖이면 즉시)
+     */
+    public void invalidateAfterCommit(Collection<Long> userIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userIds);
+                }
+            });
+        } else {
+            invalidate(userIds);
+        }
+    }
+
+    private boolean isReady(Long userId) {
+        return READY.equals(stringRedisTemplate.opsForValue().get(READY_KEY_PREFIX + userId));
+    }
+
+    /**
+     * DB 집계로 방 정보 채우고 인덱스 재적재
+     * - 재구성 표시(SET NX) 선점에 성공한 1명만 인덱스에 씀 (나머지는 집계 결과로 응답만)
+     */
+    private void rebuild(Long userId, List<ChatRoomSummaryResponse> rooms) {
+        String token = BUILDING_PREFIX + UUID.randomUUID();
+        boolean builder = false;
+        try {
+            builder = Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                    .setIfAbsent(READY_KEY_PREFIX + userId, token, BUILDING_TTL));
+        } catch (Exception e) {
+            log.warn("[ChatInbox] 재구성 선점 실패, 집계만 사용. userId={}", userId, e);
+        }
+
+        // 재구성 표시를 건 뒤에 집계해야 그 사이 메시지가 touched 에 남음
+        Map<String, ChatInboxRow> rows = loadRows(userId, rooms);
+
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        Map<String, String> unread = new HashMap<>();
+        Map<String, String> roomLast = new HashMap<>();
+
+        for (ChatRoomSummaryResponse room : rooms) {
+            String field = roomField(room.getRoomType(), room.getRoomId());
+            ChatInboxRow row = rows.get(field);
+
+            LocalDateTime latest = (row == null || row.getLastMessageAt() == null)
+                    ? room.getCreatedAt() : row.getLastMessageAt();
+            int count = (row == null || row.getUnreadCount() == null) ? 0 : row.getUnreadCount();
+
+            room.setLatestMessageTime(latest);
+            room.setUnreadCount(count);
+
+            tuples.add(ZSetOperations.TypedTuple.of(field, (double) toMillis(latest)));
+            unread.put(field, String.valueOf(count));
+            if (row != null && row.getLastMessageId() != null) {
+                roomLast.put(field, String.valueOf(row.getLastMessageId()));
+            }
+        }
+
+        if (!builder) return;
+
+        try {
+            String inboxKey = INBOX_KEY_PREFIX + userId;
+            String unreadKey = UNREAD_KEY_PREFIX + userId;
+
+            stringRedisTemplate.delete(List.of(inboxKey, unreadKey));
+            stringRedisTemplate.opsForZSet().add(inboxKey, tuples);
+            stringRedisTemplate.opsForHash().putAll(unreadKey, unread);
+            writeRoomLast(roomLast);
+            stringRedisTemplate.expire(inboxKey, INBOX_TTL);
+            stringRedisTemplate.expire(unreadKey, INBOX_TTL);
+
+            // ready 는 마지막에 (중간 실패 시 재구성 표시 만료 후 다음 조회에서 다시 재구성)
+            finishRebuild(userId, token, rooms);
+        } catch (Exception e) {
+            log.warn("[ChatInbox] 인덱스 재적재 실패. userId={}", userId, e);
+        }
+    }
+
+    /**
+     * touched 가 빌 때까지 해당 방만 다시 집계한 뒤 '1' 로 전환
+     * - touched 를 꺼낸 뒤 저장된 메시지는 다시 touched 에 쌓이므로 다음 반복에서 처리됨
+     */
+    @SuppressWarnings("unchecked")
+    private void finishRebuild(Long userId, String token, List<ChatRoomSummaryResponse> rooms) {
+        List<String> keys = List.of(READY_KEY_PREFIX + userId, TOUCHED_KEY_PREFIX + userId);
+
+        for (int pass = 0; pass < MAX_RECOUNT_PASSES; pass++) {
+            List<Object> result = stringRedisTemplate.execute(
+                    FINISH_REBUILD_SCRIPT, keys, String.valueOf(INBOX_TTL.getSeconds()), token);
+            if (result == null) {
+                log.info("[ChatInbox] 재구성 중 무효화됨, 다음 조회에서 다시 재구성. userId={}", userId);
+                return;
+            }
+            if (result.isEmpty()) return;
+
+            Set<String> touched = new HashSet<>();
+            result.forEach(f -> touched.add(String.valueOf(f)));
+            recount(userId, rooms, touched);
+        }
+        log.warn("[ChatInbox] 재구성 중 변경이 계속되어 ready 전환 보류. userId={}", userId);
+    }
+
+    /**
+     * touched 방만 DB 로 다시 집계해 인덱스/응답에 반영
+     */
+    private void recount(Long userId, List<ChatRoomSummaryResponse> rooms, Set<String> touched) {
+        List<ChatRoomSummaryResponse> targets = rooms.stream()
+                .filter(r -> touched.contains(roomField(r.getRoomType(), r.getRoomId())))
+                .toList();
+        if (targets.isEmpty()) return;
+
+        Map<String, ChatInboxRow> rows = loadRows(userId, targets);
+        Map<String, String> roomLast = new HashMap<>();
+
+        for (ChatRoomSummaryResponse room : targets) {
+            String field = roomField(room.getRoomType(), room.getRoomId());
+            ChatInboxRow row = rows.get(field);
+            if (row == null) continue;
+
+            int count = row.getUnreadCount() == null ? 0 : row.getUnreadCount();
+            if (row.getLastMessageAt() != null) {
+                room.setLatestMessageTime(row.getLastMessageAt());
+                stringRedisTemplate.opsForZSet().add(INBOX_KEY_PREFIX + userId, field, toMillis(row.getLastMessageAt()));
+            }
+            room.setUnreadCount(count);
+            stringRedisTemplate.opsForHash().put(UNREAD_KEY_PREFIX + userId, field, String.valueOf(count));
+            if (row.getLastMessageId() != null) {
+                roomLast.put(field, String.valueOf(row.getLastMessageId()));
+            }
+        }
+        writeRoomLast(roomLast);
+    }
+
+    private Map<String, ChatInboxRow> loadRows(Long userId, List<ChatRoomSummaryResponse> rooms) {
+        Map<String, ChatInboxRow> rows = new HashMap<>();
+        for (String roomType : List.of("GROUP", "PRIVATE")) {
+            List<Long> ids = rooms.stream()
+                    .filter(r -> roomType.equals(r.getRoomType()))
+                    .map(ChatRoomSummaryResponse::getRoomId)
+                    .toList();
+            if (ids.isEmpty()) continue;
+
+            for (ChatInboxRow row : chatMessageMapper.selectInboxRows(userId, roomType, ids)) {
+                rows.put(roomField(roomType, row.getRoomId()), row);
+            }
+        }
+        return rows;
+    }
+
+    private void writeRoomLast(Map<String, String> roomLast) {
+        if (roomLast.isEmpty()) return;
+        Expiration roomLastTtl = Expiration.from(INBOX_TTL);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            roomLast.forEach((field, cmId) -> connection.stringCommands().set(
+                    (ROOM_LAST_KEY_PREFIX + field).getBytes(StandardCharsets.UTF_8),
+                    cmId.getBytes(StandardCharsets.UTF_8),
+                    roomLastTtl,
+                    RedisStringCommands.SetOption.upsert()
+            ));
+            return null;
+        });
+    }
+
+    private void invalidate(Collection<Long> userIds) {
+        try {
+            stringRedisTemplate.delete(userIds.stream().map(id -> READY_KEY_PREFIX + id).toList());
+        } catch (Exception e) {
+            log.error("[ChatInbox] 인덱스 무효화 실패. userIds={}", userIds, e);
+        }
+    }
+
+    private String roomField(String roomType, Long roomId) {
+        return roomType + ":" + roomId;
+    }
+
+    private long toMillis(LocalDateTime time) {
+        LocalDateTime t = (time == null) ? LocalDateTime.now() : time;
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,126 @@
+package com.popspot.popupplatform.service.chat;
+
+import com.popspot.popupplatform.mapper.chat.ChatMessageArchiveMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 종료된 팝업 그룹방 메시지 보관 (CHAT_MESSAGE → CHAT_MESSAGE_ARCHIVE)
+ *
+ * - 대상: 팝업 ENDED(PopupStatusScheduler) 후 grace-days 가 지난 그룹방의, 그 시점 이전 메시지
+ *   (방의 최근 메시지 1건은 남김 → 목록 정렬/최근 메시지 조회는 그대로)
+ * - 방마다 오래된 것부터 chunk-size 개씩, 묶음마다 한 트랜잭션에서 복사 → 삭제
+ *   → 락/언두 로그를 짧게 유지, 중간에 죽어도 묶음 단위로 원자적
+ * - 조회는 ChatMessageMapper 가 보관 테이블까지 이어서 읽으므로 호출 측 변경 없음
+ *   (메시지 내용/ID 가 그대로라 최근 메시지 캐시, 읽음 워터마크도 무효화 불필요)
+ *
+ * 여러 노드에서 동시에 돌아도 같은 묶음은 cm_id PK 충돌로 한쪽만 커밋됨.
+ *
+ * 메트릭: chat.archive.messages, chat.archive.rooms, chat.archive.run
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageArchiver {
+
+    private static final String ROOM_TYPE = "GROUP";
+
+    private final ChatMessageArchiveMapper chatMessageArchiveMapper;
+    private final PlatformTransactionManager transactionManager; // @Primary = mysqlTxManager
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.archive.enabled:true}")
+    private boolean enabled;
+
+    // 팝업 종료 후 이 기간이 지난 메시지부터 보관
+    @Value("${chat.archive.grace-days:30}")
+    private int graceDays;
+
+    @Value("${chat.archive.rooms-per-run:200}")
+    private int roomsPerRun;
+
+    @Value("${chat.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Counter messagesCounter;
+    private Counter roomsCounter;
+    private Timer runTimer;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        messagesCounter = meterRegistry.counter("chat.archive.messages");
+        roomsCounter = meterRegistry.counter("chat.archive.rooms");
+        runTimer = meterRegistry.timer("chat.archive.run");
+    }
+
+    @Scheduled(cron = "${chat.archive.cron:0 30 4 * * *}") // 매일 04:30
+    public void archive() {
+        if (!enabled) return;
+
+        runTimer.record(() -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(graceDays);
+            List<Long> roomIds;
+            try {
+                roomIds = chatMessageArchiveMapper.selectArchivableGroupRooms(cutoff, roomsPerRun);
+            } catch (Exception e) {
+                log.warn("[ChatArchive] 대상 방 조회 실패", e);
+                return;
+            }
+
+            long moved = 0;
+            for (Long roomId : roomIds) {
+                try {
+                    moved += archiveRoom(roomId, cutoff);
+                    roomsCounter.increment();
+                } catch (Exception e) {
+                    // 커밋된 묶음은 유지, 나머지는 다음 실행에서 이어서
+                    log.warn("[ChatArchive] 방 보관 실패, 다음 실행에 재시도. room={}-{}", ROOM_TYPE, roomId, e);
+                }
+            }
+
+            if (!roomIds.isEmpty()) {
+                log.info("[ChatArchive] 보관 완료. rooms={}, messages={}, cutoff={}", roomIds.size(), moved, cutoff);
+            }
+        });
+    }
+
+    private long archiveRoom(Long roomId, LocalDateTime cutoff) {
+        Long untilId = chatMessageArchiveMapper.selectArchiveUntilId(ROOM_TYPE, roomId, cutoff);
+        if (untilId == null) return 0;
+
+        long moved = 0;
+        while (true) {
+            Long upperId = chatMessageArchiveMapper.selectChunkUpperId(ROOM_TYPE, roomId, untilId, chunkSize);
+            if (upperId == null) break;
+
+            Integer count = transactionTemplate.execute(status -> {
+                chatMessageArchiveMapper.copyMessages(ROOM_TYPE, roomId, upperId);
+                chatMessageArchiveMapper.copyImages(ROOM_TYPE, roomId, upperId);
+                chatMessageArchiveMapper.deleteImages(ROOM_TYPE, roomId, upperId);
+                return chatMessageArchiveMapper.deleteMessages(ROOM_TYPE, roomId, upperId);
+            });
+
+            int n = count == null ? 0 : count;
+            messagesCounter.increment(n);
+            moved += n;
+            if (n == 0) break;
+        }
+        return moved;
+    }
+}
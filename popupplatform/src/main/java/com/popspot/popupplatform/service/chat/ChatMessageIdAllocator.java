@@ -0,0 +1,74 @@
+package com.popspot.popupplatform.service.chat;
+
+import com.popspot.popupplatform.mapper.chat.ChatMessageMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 채팅 메시지 ID(cm_id) 발급 (Redis INCR)
+ *
+ * - 저장 전에 ID 를 정해야 바로 publish 할 수 있으므로 AUTO_INCREMENT 대신 사용
+ * - 전역 단조 증가 → 같은 방 안에서도 단조 증가 (cm_id 기준 페이징/읽음 비교 그대로 사용)
+ * - 노드별 블록 할당은 하지 않음 (노드 간 순서가 뒤집히면 읽음/페이징이 깨짐)
+ *
+ * 카운터 키가 없으면(최초/Redis 유실) DB MAX(cm_id) + 여유분으로 초기화.
+ * 여유분은 아직 배치 저장 전인(큐에 있는) 메시지 ID 와 겹치지 않게 하기 위함.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageIdAllocator {
+
+    private static final String SEQ_KEY = "chat:message:seq";
+    private static final long SEED_MARGIN = 100_000L;
+
+    // 키가 없으면 -1 (초기화 필요)
+    private static final DefaultRedisScript<Long> NEXT_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    if (redis.call('EXISTS', KEYS[1]) == 0) then
+                      return -1
+                    end
+                    return redis.call('INCR', KEYS[1])
+                    """,
+                    Long.class
+            );
+
+    // 현재 값보다 클 때만 설정 (여러 노드가 동시에 초기화해도 안전)
+    private static final DefaultRedisScript<Long> SEED_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local cur = tonumber(redis.call('GET', KEYS[1]) or '0')
+                    local seed = tonumber(ARGV[1])
+                    if (seed > cur) then
+                      redis.call('SET', KEYS[1], ARGV[1])
+                      return seed
+                    end
+                    return cur
+                    """,
+                    Long.class
+            );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ChatMessageMapper chatMessageMapper;
+
+    public long next() {
+        Long id = stringRedisTemplate.execute(NEXT_SCRIPT, List.of(SEQ_KEY));
+        if (id != null && id > 0) return id;
+
+        long seed = chatMessageMapper.selectMaxMessageId() + SEED_MARGIN;
+        Long applied = stringRedisTemplate.execute(SEED_SCRIPT, List.of(SEQ_KEY), String.valueOf(seed));
+        log.warn("[ChatMessageId] 발급 카운터 초기화. seed={}, applied={}", seed, applied);
+
+        id = stringRedisTemplate.execute(NEXT_SCRIPT, List.of(SEQ_KEY));
+        if (id == null || id <= 0) {
+            throw new IllegalStateException("채팅 메시지 ID 발급 실패");
+        }
+        return id;
+    }
+}
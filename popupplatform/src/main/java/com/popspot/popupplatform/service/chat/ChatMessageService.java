@@ -2,6 +2,8 @@ package com.popspot.popupplatform.service.chat;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popspot.popupplatform.domain.chat.ChatMessage;
+import com.popspot.popupplatform.domain.chat.ChatSenderProfile;
 import com.popspot.popupplatform.dto.admin.PopupStoreListDTO;
 import com.popspot.popupplatform.dto.chat.enums.AiAnswerMode;
 import com.popspot.popupplatform.dto.chat.request.ChatMessageRequest;
@@ -11,25 +13,28 @@ import com.popspot.popupplatform.dto.global.UploadResultDto;
 import com.popspot.popupplatform.global.redis.RedisPublisher;
 import com.popspot.popupplatform.mapper.admin.AdminPopupMapper;
 import com.popspot.popupplatform.mapper.chat.ChatMessageMapper;
-import com.popspot.popupplatform.mapper.chat.ChatParticipantMapper;
 import com.popspot.popupplatform.service.chat.ai.AiChatService;
 import com.popspot.popupplatform.service.chat.ai.ChatAiRagService;
+import com.popspot.popupplatform.service.chat.ai.ChatAiReplyEngine;
+import com.popspot.popupplatform.service.chat.ai.ChatAiStreamPublisher;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Async;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatMessageService {
-    private final ChatParticipantMapper participantMapper;
     private final ChatMessageMapper chatMessageMapper;
     private final AdminPopupMapper adminPopupMapper;
     private final PrivateChatRoomService privateChatRoomService;
@@ -38,139 +43,255 @@ public class ChatMessageService {
     private final RedisPublisher redisPublisher;
     private final ObjectMapper objectMapper;
     private final ChatAiRagService chatAiRagService;
+    private final ChatMessageIdAllocator chatMessageIdAllocator;
+    private final ChatMessageWriter chatMessageWriter;
+    private final ChatSenderProfileService chatSenderProfileService;
+    private final ChatReadWatermarkIndex chatReadWatermarkIndex;
+    private final ChatRecentMessageCache chatRecentMessageCache;
+    private final ChatAiReplyEngine chatAiReplyEngine;
+    private final ChatAiStreamPublisher chatAiStreamPublisher;
 
     // ===============================
     // 🔥 일반 메시지 저장 → Redis publish
     // ===============================
-    @Transactional
+    /**
+     * 1) cm_id 발급 + 응답 조립 (보낸 사람 정보는 캐시, DB 재조회 없음)
+     * 2) 배치 저장 요청 (ChatMessageWriter, 이미지/1:1 방 복구/채팅 목록 인덱스도 저장 시점에 처리)
+     * 3) 바로 publish → 저장 완료는 방 채널의 PERSISTED 프레임, 최종 저장 실패는 FAILED 프레임으로 알림
+     */
     public ChatMessageResponse saveMessage(ChatMessageRequest req) {
+        return send(req).response();
+    }
 
-        // 1) DB 저장
-        chatMessageMapper.insertMessage(req);
+    /**
+     * saveMessage + 저장 완료(durability ack) 대기용 future (예약 메시지 발송처럼 저장 확인 후 상태를 바꾸는 호출 측)
+     * @return 배치 저장이 끝나면 cmId 로 완료, 최종 저장 실패면 예외로 완료
+     */
+    public CompletableFuture<Long> saveMessageDurably(ChatMessageRequest req) {
+        return send(req).ack();
+    }
 
-        Long cmId = req.getCmId();
-        if (cmId == null) {
-            throw new RuntimeException("cmId 생성 실패");
-        }
+    // 발급한 응답 + 저장 완료 future
+    private record Ingested(ChatMessageResponse response, CompletableFuture<Long> ack) {}
 
-        // 2) 저장된 메시지 조회
-        ChatMessageResponse saved =
-                chatMessageMapper.getMessageById(req.getRoomType(), req.getCmId());
+    private Ingested send(ChatMessageRequest req) {
 
-        if (saved == null) {
-            throw new RuntimeException("메시지 조회 실패");
+        // PRIVATE 채팅이면 상대방 확인 (채팅 목록 인덱스 대상 + AI 여부)
+        List<Long> memberIds = null;
+        Long otherUserId = null;
+        if ("PRIVATE".equals(req.getRoomType())) {
+            otherUserId = privateChatRoomService.getOtherUserId(req.getRoomId(), req.getSenderId());
+            memberIds = List.of(req.getSenderId(), otherUserId);
         }
 
-        saved.setClientMessageKey(req.getClientMessageKey());
+        // 1) ID 발급 + 저장 요청
+        Ingested ingested = ingest(req, memberIds);
 
-        if (req.getImageUrls() != null && !req.getImageUrls().isEmpty()) {
-            chatMessageMapper.insertImages(req.getCmId(), req.getImageUrls());
-            saved.setImageUrls(req.getImageUrls());
-        }
+        // 2) Redis publish (⭐ 단일 출구 ⭐)
+        publishMessage(ingested.response());
 
-        // 3) PRIVATE 채팅이면 방 복구 + AI 여부 확인
-        if ("PRIVATE".equals(req.getRoomType())) {
+        // 3) AI 챗봇 방이면 응답 생성
+        if (otherUserId != null && otherUserId.equals(20251212L)) {
+            submitAiReply(req);
+        }
 
-            Long senderId = req.getSenderId();
-            Long otherUserId = privateChatRoomService.getOtherUserId(req.getRoomId(), senderId);
+        return ingested;
+    }
 
-            privateChatRoomService.restorePrivateRoomOnNewMessage(senderId, req.getRoomId()); //AI 챗봇 삭제시 필요
-            privateChatRoomService.restorePrivateRoomOnNewMessage(otherUserId, req.getRoomId());
+    /**
+     * cm_id/created_at 발급 → 배치 저장 큐에 넣고 publish 할 응답을 만든다
+     * - 재시도 끝에 저장이 최종 실패하면 최근 메시지 창에서 빼고 FAILED 프레임 (이미 publish 된 메시지 철회)
+     * @param memberIds 채팅 목록 인덱스 대상 (GROUP 은 null → 저장 시점에 참여자 조회)
+     */
+    private Ingested ingest(ChatMessageRequest req, List<Long> memberIds) {
+        ChatMessage message = ChatMessage.builder()
+                .cmId(chatMessageIdAllocator.next())
+                .roomType(req.getRoomType())
+                .roomId(req.getRoomId())
+                .senderId(req.getSenderId())
+                .messageType(req.getMessageType())
+                .content(req.getContent())
+                .aiMode(req.getAiMode())
+                // DATETIME(초) 컬럼과 같은 값이 되도록 초 단위로 자름
+                .createdAt(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))
+                .imageUrls(req.getImageUrls() == null || req.getImageUrls().isEmpty() ? null : req.getImageUrls())
+                .build();
+        req.setCmId(message.getCmId());
+
+        // 최근 메시지 창에 먼저 추가 (배치 저장 전에도 첫 페이지에 보이도록)
+        chatRecentMessageCache.append(message);
+        String clientMessageKey = req.getClientMessageKey();
+        CompletableFuture<Long> ack = chatMessageWriter.submit(message, memberIds);
+        ack.whenComplete((cmId, e) -> {
+            if (e != null) onPersistFailed(message, clientMessageKey);
+        });
+
+        ChatSenderProfile sender = chatSenderProfileService.get(message.getSenderId());
+
+        ChatMessageResponse response = ChatMessageResponse.builder()
+                .cmId(message.getCmId())
+                .roomId(message.getRoomId())
+                .roomType(message.getRoomType())
+                .senderId(message.getSenderId())
+                .senderNickname(sender == null ? null : sender.getNickname())
+                .senderProfileUrl(sender == null ? null : sender.getProfileUrl())
+                .senderStatus(sender == null ? null : sender.getStatus())
+                .content(message.getContent())
+                .messageType(message.getMessageType())
+                .aiMode(message.getAiMode())
+                .imageUrls(message.getImageUrls())
+                .createdAt(message.getCreatedAt())
+                .clientMessageKey(req.getClientMessageKey())
+                .build();
+        return new Ingested(response, ack);
+    }
 
-            if (otherUserId.equals(20251212L)) {
-                asyncAiReply(req);
-            }
+    /**
+     * 최종 저장 실패: 다른 사용자가 유령 메시지를 계속 보지 않도록 창에서 제거 + 보낸 사람에게 FAILED 프레임
+     */
+    private void onPersistFailed(ChatMessage message, String clientMessageKey) {
+        chatRecentMessageCache.remove(message.getRoomType(), message.getRoomId(), message.getCmId());
+        try {
+            Map<String, Object> frame = new HashMap<>();
+            frame.put("type", "FAILED");
+            frame.put("roomType", message.getRoomType());
+            frame.put("roomId", message.getRoomId());
+            frame.put("cmId", message.getCmId());
+            frame.put("senderId", message.getSenderId());
+            frame.put("clientMessageKey", clientMessageKey); // 클라이언트 키가 없는 메시지는 null
+            redisPublisher.publish(
+                    "chat-room-" + message.getRoomType() + "-" + message.getRoomId(),
+                    objectMapper.writeValueAsString(frame)
+            );
+        } catch (Exception e) {
+            log.warn("[ChatMessage] FAILED 프레임 publish 실패. cmId={}", message.getCmId(), e);
         }
-
-        // 4) Redis publish (⭐ 단일 출구 ⭐)
-        publishMessage(saved);
-
-        return saved;
     }
 
     // ===============================
     // 🔥 AI 응답 비동기 처리 (Redis로만 publish)
     // ===============================
-    @Async
-    public void asyncAiReply(ChatMessageRequest userMsg) {
-        // AI 타이핑 시작
-        publishTyping(
-                "TYPING_START",
-                "PRIVATE",
+    /**
+     * ChatAiReplyEngine 전용 풀에서 방별 순서대로 처리 (호출 스레드는 바로 반환)
+     * - 생성: 타이핑 시작 → 이미지/LLM/RAG 답변 생성 (LLM/RAG 안내는 MESSAGE_DELTA 스트리밍, ChatAiStreamPublisher)
+     * - 전송: 타이핑 지연 뒤 저장 + publish
+     * - 종료: 성공/실패/타임아웃 모두 타이핑 종료
+     */
+    private void submitAiReply(ChatMessageRequest userMsg) {
+        boolean accepted = chatAiReplyEngine.submit(
                 userMsg.getRoomId(),
-                20251212L,
-                "POPBOT"
+                () -> {
+                    // AI 타이핑 시작
+                    publishTyping("TYPING_START", "PRIVATE", userMsg.getRoomId(), 20251212L, "POPBOT");
+                    return generateAiReply(userMsg);
+                },
+                // AI 타이핑 종료
+                () -> publishTyping("TYPING_STOP", "PRIVATE", userMsg.getRoomId(), 20251212L, "POPBOT"),
+                // 대기 초과 / 실행기 포화로 거절 → 바쁘다는 안내 메시지
+                () -> publishBusyReply(userMsg)
         );
-        try {
-            // 🖼 AI 이미지 생성
-            if (aiChatService.isImageRequest(userMsg.getContent())) {
-                UploadResultDto image =
-                        aiChatService.generateImage(userMsg.getContent());
+        if (!accepted) {
+            log.warn("[ChatAi] POPBOT 답변 대기 초과로 건너뜀. roomId={}, userId={}",
+                    userMsg.getRoomId(), userMsg.getSenderId());
+        }
+    }
+
+    // 답변 작업이 거절됐을 때 질문이 묻히지 않도록 POPBOT 안내 메시지 (일반 메시지처럼 저장 + publish)
+    private void publishBusyReply(ChatMessageRequest userMsg) {
+        ChatMessageRequest busy = new ChatMessageRequest();
+        busy.setRoomType("PRIVATE");
+        busy.setRoomId(userMsg.getRoomId());
+        busy.setSenderId(20251212L);
+        busy.setMessageType("TEXT");
+        busy.setContent("지금 질문이 많아 답변을 준비하지 못했어요. 잠시 후 다시 물어봐 주세요.");
+        busy.setClientMessageKey(UUID.randomUUID().toString());
+
+        ChatMessageResponse saved = ingest(busy, List.of(userMsg.getSenderId(), 20251212L)).response();
+        saved.setAiMode(null);
+        publishMessage(saved);
+    }
 
-                ChatMessageRequest aiImageMsg = new ChatMessageRequest();
-                aiImageMsg.setRoomType("PRIVATE");
-                aiImageMsg.setRoomId(userMsg.getRoomId());
-                aiImageMsg.setSenderId(20251212L);
-                aiImageMsg.setMessageType("IMAGE");
-                aiImageMsg.setContent(image.getUrl());
-                aiImageMsg.setClientMessageKey(UUID.randomUUID().toString());
+    private ChatAiReplyEngine.Reply generateAiReply(ChatMessageRequest userMsg) throws Exception {
+        List<Long> memberIds = List.of(userMsg.getSenderId(), 20251212L);
 
-                chatMessageMapper.insertMessage(aiImageMsg);
+        // 🖼 AI 이미지 생성
+        if (aiChatService.isImageRequest(userMsg.getContent())) {
+            UploadResultDto image =
+                    aiChatService.generateImage(userMsg.getContent());
 
-                ChatMessageResponse saved =
-                        chatMessageMapper.getMessageById("PRIVATE", aiImageMsg.getCmId());
+            ChatMessageRequest aiImageMsg = new ChatMessageRequest();
+            aiImageMsg.setRoomType("PRIVATE");
+            aiImageMsg.setRoomId(userMsg.getRoomId());
+            aiImageMsg.setSenderId(20251212L);
+            aiImageMsg.setMessageType("IMAGE");
+            aiImageMsg.setContent(image.getUrl());
+            aiImageMsg.setClientMessageKey(UUID.randomUUID().toString());
 
-                saved.setClientMessageKey(aiImageMsg.getClientMessageKey());
+            return new ChatAiReplyEngine.Reply(Duration.ZERO, () -> {
+                ChatMessageResponse saved = ingest(aiImageMsg, memberIds).response();
                 saved.setAiMode(null);
                 publishMessage(saved);
-                return;
-            }
-
-            AiAnswerMode mode =
-                    userMsg.getAiMode() != null
-                            ? AiAnswerMode.valueOf(userMsg.getAiMode())
-                            : AiAnswerMode.RAG; // 기본값
-
-            String aiReply = null;
+            });
+        }
 
-            if (mode == AiAnswerMode.PURE_LLM) {
+        AiAnswerMode mode =
+                userMsg.getAiMode() != null
+                        ? AiAnswerMode.valueOf(userMsg.getAiMode())
+                        : AiAnswerMode.RAG; // 기본값
+
+        String aiReply = null;
+        // 스트리밍 답변은 델타 프레임과 최종 메시지를 같은 키로 묶음
+        String clientMessageKey = UUID.randomUUID().toString();
+        boolean streamed = false;
+
+        if (mode == AiAnswerMode.PURE_LLM) {
+            if (chatAiStreamPublisher.isEnabled()) {
+                aiReply = chatAiStreamPublisher.relay(userMsg.getRoomId(), userMsg.getSenderId(), clientMessageKey,
+                        aiChatService.streamPureLlmReply(userMsg.getContent()));
+                streamed = true;
+            } else {
                 aiReply = aiChatService.getPureLlmReply(userMsg.getContent());
+            }
 
-            } else if (mode == AiAnswerMode.RAG) {
+        } else if (mode == AiAnswerMode.RAG) {
 
-                String context = chatAiRagService.buildContext(userMsg.getContent());
+            String context = chatAiRagService.buildContext(userMsg.getContent());
 
-                if (context == null || context.isBlank()) {
-                    aiReply = aiChatService.needConfirmResponse();
-                    mode = AiAnswerMode.NEED_CONFIRM;
+            if (context == null || context.isBlank()) {
+                aiReply = aiChatService.needConfirmResponse();
+                mode = AiAnswerMode.NEED_CONFIRM;
+            } else {
+                boolean isRecommend =
+                        userMsg.getContent().contains("추천")
+                                || userMsg.getContent().contains("갈만")
+                                || userMsg.getContent().contains("골라")
+                                || userMsg.getContent().contains("인기");
+
+                if (isRecommend) {
+                    aiReply =
+                            aiChatService.getAiRecommendReply(
+                                    userMsg.getContent(),
+                                    context
+                            );
+                    mode = AiAnswerMode.RAG_RECOMMEND;
+                } else if (chatAiStreamPublisher.isEnabled()) {
+                    aiReply = chatAiStreamPublisher.relay(userMsg.getRoomId(), userMsg.getSenderId(), clientMessageKey,
+                            aiChatService.streamAiReplyWithContext(userMsg.getContent(), context));
+                    streamed = true;
+                    mode = AiAnswerMode.RAG;
                 } else {
-                    boolean isRecommend =
-                            userMsg.getContent().contains("추천")
-                                    || userMsg.getContent().contains("갈만")
-                                    || userMsg.getContent().contains("골라")
-                                    || userMsg.getContent().contains("인기");
-
-                    if (isRecommend) {
-                        aiReply =
-                                aiChatService.getAiRecommendReply(
-                                        userMsg.getContent(),
-                                        context
-                                );
-                        mode = AiAnswerMode.RAG_RECOMMEND;
-                    } else {
-                        aiReply =
-                                aiChatService.getAiReplyWithContext(
-                                        userMsg.getContent(),
-                                        context
-                                );
-                        mode = AiAnswerMode.RAG;
-                    }
+                    aiReply =
+                            aiChatService.getAiReplyWithContext(
+                                    userMsg.getContent(),
+                                    context
+                            );
+                    mode = AiAnswerMode.RAG;
                 }
             }
-            // 타이핑 시간 보장
-        try {
-            Thread.sleep(Math.min(1500, aiReply.length() * 30L));
-        } catch (InterruptedException ignored) {}
+        }
+
+        // 첫 토큰 전에 취소된 스트림은 보낼 메시지 없음
+        if (streamed && aiReply.isBlank()) return null;
 
         ChatMessageRequest aiMessage = new ChatMessageRequest();
         aiMessage.setRoomType("PRIVATE");
@@ -178,92 +299,80 @@ public class ChatMessageService {
         aiMessage.setSenderId(20251212L);
         aiMessage.setMessageType("TEXT");
         aiMessage.setContent(aiReply);
-        aiMessage.setClientMessageKey(UUID.randomUUID().toString());
+        aiMessage.setClientMessageKey(clientMessageKey);
         aiMessage.setAiMode(mode.name());
 
+        if (mode == AiAnswerMode.RAG_RECOMMEND && aiReply.trim().startsWith("{")) {
 
-            if (mode == AiAnswerMode.RAG_RECOMMEND && aiReply.trim().startsWith("{")) {
-
-                Map<String, Object> parsed =
-                        objectMapper.readValue(aiReply, new TypeReference<>() {});
-
-                List<Map<String, Object>> items =
-                        (List<Map<String, Object>>) parsed.get("items");
-
-                List<Long> popIds = items.stream()
-                        .map(i -> Long.valueOf(i.get("popId").toString()))
-                        .toList();
-
-                // 👉 팝업 상세 조회 (새 Mapper 메서드 필요)
-                List<PopupStoreListDTO> popups =
-                        adminPopupMapper.findPopupsByIds(popIds);
-
-                Map<Long, String> reasonMap =
-                        items.stream().collect(Collectors.toMap(
-                                i -> Long.valueOf(i.get("popId").toString()),
-                                i -> i.get("reason").toString()
-                        ));
+            Map<String, Object> parsed =
+                    objectMapper.readValue(aiReply, new TypeReference<>() {});
+
+            List<Map<String, Object>> items =
+                    (List<Map<String, Object>>) parsed.get("items");
+
+            List<Long> popIds = items.stream()
+                    .map(i -> Long.valueOf(i.get("popId").toString()))
+                    .toList();
+
+            // 👉 팝업 상세 조회 (새 Mapper 메서드 필요)
+            List<PopupStoreListDTO> popups =
+                    adminPopupMapper.findPopupsByIds(popIds);
+
+            Map<Long, String> reasonMap =
+                    items.stream().collect(Collectors.toMap(
+                            i -> Long.valueOf(i.get("popId").toString()),
+                            i -> i.get("reason").toString()
+                    ));
+
+            List<Map<String, Object>> finalItems =
+                    popups.stream().map(p -> {
+                        Map<String, Object> m = new java.util.HashMap<>();
+                        m.put("popId", p.getPopId());
+                        m.put("popName", p.getPopName());
+                        m.put("popThumbnail", p.getPopThumbnail());
+                        m.put("popLocation", p.getPopLocation());
+                        m.put("reason", reasonMap.get(p.getPopId()));
+                        return m;
+                    }).toList();
+
+            Map<String, Object> finalPayload = Map.of(
+                    "type", "POPUP_RECOMMEND",
+                    "items", finalItems
+            );
 
-                List<Map<String, Object>> finalItems =
-                        popups.stream().map(p -> {
-                            Map<String, Object> m = new java.util.HashMap<>();
-                            m.put("popId", p.getPopId());
-                            m.put("popName", p.getPopName());
-                            m.put("popThumbnail", p.getPopThumbnail());
-                            m.put("popLocation", p.getPopLocation());
-                            m.put("reason", reasonMap.get(p.getPopId()));
-                            return m;
-                        }).toList();
-
-                Map<String, Object> finalPayload = Map.of(
-                        "type", "POPUP_RECOMMEND",
-                        "items", finalItems
-                );
-
-                aiMessage.setMessageType("POPUP");
-                aiMessage.setContent(objectMapper.writeValueAsString(finalPayload));
-            } else {
+            aiMessage.setMessageType("POPUP");
+            aiMessage.setContent(objectMapper.writeValueAsString(finalPayload));
+        } else {
             aiMessage.setMessageType("TEXT");
             aiMessage.setContent(aiReply);
         }
 
-        // DB 저장
-        chatMessageMapper.insertMessage(aiMessage);
-
-        // 저장된 AI 메시지 조회
-        ChatMessageResponse saved =
-                chatMessageMapper.getMessageById("PRIVATE", aiMessage.getCmId());
-
-        saved.setClientMessageKey(aiMessage.getClientMessageKey());
-        saved.setAiMode(mode.name());
-
-       if (AiAnswerMode.NEED_CONFIRM.name().equals(mode.name())
-                    && aiReply.trim().startsWith("{")) {
-            Map<String, Object> parsed =
-                    objectMapper.readValue(
-                            aiReply,
-                            new com.fasterxml.jackson.core.type.TypeReference<Map<String, Object>>() {}
-                    );
-            saved.setAiMode("NEED_CONFIRM");
-            saved.setNeedConfirm(parsed);
-            saved.setContent(null); // 선택
+        Map<String, Object> needConfirm = null;
+        if (mode == AiAnswerMode.NEED_CONFIRM && aiReply.trim().startsWith("{")) {
+            needConfirm = objectMapper.readValue(aiReply, new TypeReference<Map<String, Object>>() {});
         }
 
+        // 타이핑 시간 보장 (스레드를 잡지 않고 전송만 미룸, 스트리밍은 이미 델타로 보였으므로 바로 전송)
+        Duration typingDelay = streamed
+                ? Duration.ZERO
+                : Duration.ofMillis(Math.min(1500, aiReply.length() * 30L));
+
+        String aiMode = mode.name();
+        Map<String, Object> confirm = needConfirm;
+        return new ChatAiReplyEngine.Reply(typingDelay, () -> {
+            // DB 저장 (배치) + 응답 조립
+            ChatMessageResponse saved = ingest(aiMessage, memberIds).response();
+            saved.setAiMode(aiMode);
+
+            if (confirm != null) {
+                saved.setAiMode("NEED_CONFIRM");
+                saved.setNeedConfirm(confirm);
+                saved.setContent(null); // 선택
+            }
 
             // Redis publish AI 메시지 publish
-        publishMessage(saved);
-
-        } catch (Exception e) {
-        e.printStackTrace();
-    } finally { // AI 타이핑 종료
-            publishTyping(
-                    "TYPING_STOP",
-                    "PRIVATE",
-                    userMsg.getRoomId(),
-                    20251212L,
-                    "POPBOT"
-            );
-        }
+            publishMessage(saved);
+        });
     }
 
     // ===============================
@@ -324,49 +433,52 @@ public class ChatMessageService {
             lastDeletedAt = privateChatRoomService.getLastDeletedAt(userId, roomId);
         }
 
-        Integer totalUserCount = null;
-
-        if ("GROUP".equals(roomType)) {
-            totalUserCount = participantMapper.countParticipants(roomId);
+        // 최근 메시지 창 (첫 페이지 / 창 안의 이전 페이지), 없으면 DB
+        List<ChatMessageResponse> messages =
+                chatRecentMessageCache.find(roomType, roomId, lastMessageId, limit, lastDeletedAt);
+
+        if (messages == null) {
+            messages =
+                    chatMessageMapper.getMessagesByRoom(
+                            roomType,
+                            roomId,
+                            lastMessageId,
+                            limit,
+                            lastDeletedAt
+                    );
+            attachImages(messages);
         }
 
-        List<ChatMessageResponse> messages =
-                chatMessageMapper.getMessagesByRoom(
-                        roomType,
-                        roomId,
-                        lastMessageId,
-                        limit,
-                        lastDeletedAt
-                );
+        chatSenderProfileService.fillSenders(messages);
 
-        Long lastReadId = chatReadService.getLastRead(roomType, roomId, userId);
+        if (messages.isEmpty()) return messages;
 
-        List<Long> cmIds = messages.stream()
-                .map(ChatMessageResponse::getCmId)
-                .toList();
+        // 참여자 읽음 위치 (참여자 수 + 메시지별 안 읽은 인원), 이 페이지의 메시지 ID 범위만 조회
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        for (ChatMessageResponse msg : messages) {
+            minId = Math.min(minId, msg.getCmId());
+            maxId = Math.max(maxId, msg.getCmId());
+        }
+        ChatReadWatermarkIndex.Snapshot watermarks = chatReadWatermarkIndex.snapshot(
+                roomType, roomId, minId, maxId,
+                messages.stream().map(ChatMessageResponse::getSenderId).toList());
 
-        Map<Long, List<String>> imageMap = Collections.emptyMap();
+        Integer totalUserCount = null;
 
-        if (!cmIds.isEmpty()) {
-            imageMap =
-                    chatMessageMapper.selectImagesByCmIds(cmIds)
-                            .stream()
-                            .collect(Collectors.groupingBy(
-                                    ChatMessageImageRow::getCmId,
-                                    Collectors.mapping(ChatMessageImageRow::getUrl, Collectors.toList())
-                            ));
+        if ("GROUP".equals(roomType)) {
+            totalUserCount = watermarks.memberCount();
         }
 
+        Long lastReadId = chatReadService.getLastRead(roomType, roomId, userId);
+
         for (ChatMessageResponse msg : messages) {
             msg.setIsRead(msg.getCmId() <= lastReadId);
 
-            if (imageMap.containsKey(msg.getCmId())) {
-                msg.setImageUrls(imageMap.get(msg.getCmId()));
-            }
-
             if ("GROUP".equals(roomType)) {
                 msg.setTotalUserCount(totalUserCount);
             }
+            msg.setUnreadCount(watermarks.unreadMembers(msg.getCmId(), msg.getSenderId()));
 
             if (msg.getSenderId() != null && msg.getSenderId().equals(20251212L)) {
                 if (msg.getAiMode() == null && !"POPUP".equals(msg.getMessageType())) {
@@ -384,6 +496,28 @@ public class ChatMessageService {
         return messages;
     }
 
+    private void attachImages(List<ChatMessageResponse> messages) {
+        List<Long> cmIds = messages.stream()
+                .map(ChatMessageResponse::getCmId)
+                .toList();
+
+        if (cmIds.isEmpty()) return;
+
+        Map<Long, List<String>> imageMap =
+                chatMessageMapper.selectImagesByCmIds(cmIds)
+                        .stream()
+                        .collect(Collectors.groupingBy(
+                                ChatMessageImageRow::getCmId,
+                                Collectors.mapping(ChatMessageImageRow::getUrl, Collectors.toList())
+                        ));
+
+        for (ChatMessageResponse msg : messages) {
+            if (imageMap.containsKey(msg.getCmId())) {
+                msg.setImageUrls(imageMap.get(msg.getCmId()));
+            }
+        }
+    }
+
     private Long getMessageSenderId(Long messageId) {
         return chatMessageMapper.getSenderIdByMessageId(messageId);
     }
@@ -0,0 +1,318 @@
+package com.popspot.popupplatform.service.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popspot.popupplatform.domain.chat.ChatMessage;
+import com.popspot.popupplatform.domain.chat.ChatMessageImage;
+import com.popspot.popupplatform.global.redis.RedisPublisher;
+import com.popspot.popupplatform.mapper.chat.ChatMessageMapper;
+import com.popspot.popupplatform.mapper.chat.ChatParticipantMapper;
+import com.popspot.popupplatform.mapper.chat.PrivateChatRoomDeleteMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 메시지 배치 저장 (group commit)
+ *
+ * - saveMessage 는 ID 발급 + publish 까지만 하고 여기 큐에 넣음 → STOMP 스레드가 MySQL 을 기다리지 않음
+ * - 전용 스레드 1개가 최대 batch-size 개 / linger-ms 동안 모아서 트랜잭션 1번으로 저장
+ *   (CHAT_MESSAGE multi-row INSERT + CHAT_MESSAGE_IMG multi-row INSERT + 1:1 방 삭제상태 해제)
+ * - 저장 이후: 채팅 목록 인덱스 갱신 + 방별 PERSISTED 프레임 publish (클라이언트 durability ack)
+ *
+ * 백프레셔: 큐가 가득 차면 offer-timeout-ms 만큼 기다리고, 그래도 자리가 없으면 호출 스레드에서 바로 저장
+ * 실패: 배치 재시도(지수 백오프) → 그래도 실패하면 1건씩 저장해서 문제 메시지만 격리
+ *
+ * 메트릭
+ * - chat.ingest.queue          : 저장 대기 메시지 수
+ * - chat.ingest.persisted      : 저장 완료 수
+ * - chat.ingest.failed         : 최종 저장 실패 수
+ * - chat.ingest.sync-fallback  : 큐 포화로 호출 스레드에서 저장한 수
+ * - chat.ingest.batch.size     : 배치 크기 분포
+ * - chat.ingest.flush          : 배치 저장 소요 시간
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageWriter {
+
+    private final ChatMessageMapper chatMessageMapper;
+    private final ChatParticipantMapper participantMapper;
+    private final PrivateChatRoomDeleteMapper privateChatRoomDeleteMapper;
+    private final ChatInboxService chatInboxService;
+    private final RedisPublisher redisPublisher;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager; // @Primary = mysqlTxManager
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${chat.ingest.batch-size:200}")
+    private int batchSize;
+
+    @Value("${chat.ingest.linger-ms:10}")
+    private long lingerMillis;
+
+    @Value("${chat.ingest.offer-timeout-ms:200}")
+    private long offerTimeoutMillis;
+
+    @Value("${chat.ingest.max-retries:3}")
+    private int maxRetries;
+
+    /**
+     * @param memberIds 채팅 목록 인덱스 갱신 대상 (null 이면 GROUP 참여자를 저장 시점에 조회)
+     */
+    private record Pending(ChatMessage message, List<Long> memberIds, CompletableFuture<Long> ack) {}
+
+    private BlockingQueue<Pending> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread worker;
+    private volatile boolean running;
+
+    private Counter persistedCounter;
+    private Counter failedCounter;
+    private Counter syncFallbackCounter;
+    private DistributionSummary batchSizeSummary;
+    private Timer flushTimer;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("chat.ingest.queue", queue, BlockingQueue::size).register(meterRegistry);
+        persistedCounter = meterRegistry.counter("chat.ingest.persisted");
+        failedCounter = meterRegistry.counter("chat.ingest.failed");
+        syncFallbackCounter = meterRegistry.counter("chat.ingest.sync-fallback");
+        batchSizeSummary = meterRegistry.summary("chat.ingest.batch.size");
+        flushTimer = meterRegistry.timer("chat.ingest.flush");
+
+        running = true;
+        worker = new Thread(this::runLoop, "chat-message-writer");
+        worker.start();
+    }
+
+    /**
+     * 종료 시 큐에 남은 메시지까지 저장
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        if (!queue.isEmpty()) {
+            log.error("[ChatWriter] 종료 시 미저장 메시지 남음. remaining={}", queue.size());
+        }
+    }
+
+    /**
+     * 저장 요청
+     * @return 저장 완료 시 cmId 로 완료되는 future
+     */
+    public CompletableFuture<Long> submit(ChatMessage message, List<Long> memberIds) {
+        Pending pending = new Pending(message, memberIds, new CompletableFuture<>());
+
+        boolean queued;
+        try {
+            queued = running && queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+
+        if (!queued) {
+            // 큐 포화/종료 중 → 호출 스레드에서 바로 저장 (유실 대신 느려짐)
+            syncFallbackCounter.increment();
+            flush(List.of(pending));
+        }
+        return pending.ack();
+    }
+
+    private void runLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                List<Pending> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+
+                // linger 동안 더 모아서 한 번에 커밋
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    if (batch.size() >= batchSize) break;
+
+                    long remain = deadline - System.nanoTime();
+                    if (remain <= 0) break;
+
+                    Pending next = queue.poll(remain, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!running) break;
+            } catch (Exception e) {
+                log.error("[ChatWriter] writer loop 오류", e);
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        List<Pending> sorted = new ArrayList<>(batch);
+        sorted.sort(Comparator.comparing(p -> p.message().getCmId()));
+
+        batchSizeSummary.record(sorted.size());
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                flushTimer.record(() -> persist(sorted));
+                afterPersist(sorted);
+                return;
+            } catch (Exception e) {
+                if (attempt >= maxRetries) {
+                    log.warn("[ChatWriter] 배치 저장 실패, 1건씩 재시도. size={}", sorted.size(), e);
+                    break;
+                }
+                sleepQuietly(50L << attempt);
+            }
+        }
+
+        // 문제 메시지 격리
+        for (Pending p : sorted) {
+            try {
+                persist(List.of(p));
+                afterPersist(List.of(p));
+            } catch (DuplicateKeyException e) {
+                // 이전 시도에서 커밋은 됐는데 응답만 못 받은 경우
+                afterPersist(List.of(p));
+            } catch (Exception e) {
+                failedCounter.increment();
+                p.ack().completeExceptionally(e);
+                log.error("[ChatWriter] 메시지 저장 실패. cmId={}, room={}-{}",
+                        p.message().getCmId(), p.message().getRoomType(), p.message().getRoomId(), e);
+            }
+        }
+    }
+
+    private void persist(List<Pending> batch) {
+        List<ChatMessage> messages = new ArrayList<>(batch.size());
+        List<ChatMessageImage> images = new ArrayList<>();
+        Set<Long> privateRoomIds = new LinkedHashSet<>();
+
+        for (Pending p : batch) {
+            ChatMessage m = p.message();
+            messages.add(m);
+
+            if (m.getImageUrls() != null) {
+                for (int i = 0; i < m.getImageUrls().size(); i++) {
+                    images.add(new ChatMessageImage(m.getCmId(), i, m.getImageUrls().get(i)));
+                }
+            }
+            if ("PRIVATE".equals(m.getRoomType())) {
+                privateRoomIds.add(m.getRoomId());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            chatMessageMapper.insertMessages(messages);
+            if (!images.isEmpty()) {
+                chatMessageMapper.insertMessageImages(images);
+            }
+            // '나만 삭제'한 1:1 방은 새 메시지가 오면 다시 보이게
+            if (!privateRoomIds.isEmpty()) {
+                privateChatRoomDeleteMapper.restoreDeletedRooms(privateRoomIds);
+            }
+        });
+    }
+
+    /**
+     * 저장 완료 처리: ack + 채팅 목록 인덱스 + PERSISTED 프레임 (방 단위로 묶어서)
+     */
+    private void afterPersist(List<Pending> batch) {
+        Map<String, List<Pending>> byRoom = new LinkedHashMap<>();
+        for (Pending p : batch) {
+            p.ack().complete(p.message().getCmId());
+            byRoom.computeIfAbsent(p.message().getRoomType() + "-" + p.message().getRoomId(), k -> new ArrayList<>()).add(p);
+        }
+        persistedCounter.increment(batch.size());
+
+        for (List<Pending> roomBatch : byRoom.values()) {
+            ChatMessage last = roomBatch.get(roomBatch.size() - 1).message();
+            try {
+                updateInbox(roomBatch, last);
+                publishPersisted(last);
+            } catch (Exception e) {
+                log.warn("[ChatWriter] 저장 후 처리 실패. room={}-{}", last.getRoomType(), last.getRoomId(), e);
+            }
+        }
+    }
+
+    private void updateInbox(List<Pending> roomBatch, ChatMessage last) {
+        List<Long> memberIds = roomBatch.get(0).memberIds();
+        if (memberIds == null) {
+            memberIds = participantMapper.findParticipantUserIds(last.getRoomId());
+        }
+
+        Map<Long, Integer> increments = new HashMap<>();
+        for (Long memberId : memberIds) {
+            int count = 0;
+            for (Pending p : roomBatch) {
+                if (!memberId.equals(p.message().getSenderId())) count++;
+            }
+            increments.put(memberId, count);
+        }
+
+        LocalDateTime lastAt = last.getCreatedAt();
+        chatInboxService.onMessages(last.getRoomType(), last.getRoomId(), last.getCmId(), lastAt, increments);
+    }
+
+    private void publishPersisted(ChatMessage last) throws Exception {
+        redisPublisher.publish(
+                "chat-room-" + last.getRoomType() + "-" + last.getRoomId(),
+                objectMapper.writeValueAsString(
+                        Map.of(
+                                "type", "PERSISTED",
+                                "roomType", last.getRoomType(),
+                                "roomId", last.getRoomId(),
+                                "lastMessageId", last.getCmId()
+                        )
+                )
+        );
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
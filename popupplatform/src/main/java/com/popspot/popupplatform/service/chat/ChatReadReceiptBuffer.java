@@ -0,0 +1,176 @@
+package com.popspot.popupplatform.service.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popspot.popupplatform.domain.chat.ChatReadWatermark;
+import com.popspot.popupplatform.global.redis.RedisPublisher;
+import com.popspot.popupplatform.mapper.chat.ChatParticipantMapper;
+import com.popspot.popupplatform.mapper.chat.PrivateChatParticipantMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 읽음 처리 묶음 (ChatReadService 가 Redis 워터마크를 올린 뒤 호출)
+ *
+ * - DB 반영: (방, 유저) 별 최대값만 모아서 flush 주기마다 방 타입별 배치 UPDATE/UPSERT 1번
+ * - 브로드캐스트: 방별로 모아서 tick 마다 READ_WATERMARKS 프레임 1개
+ *   {"type":"READ_WATERMARKS","roomType","roomId","watermarks":[{"readerUserId","lastReadMessageId"}]}
+ *   → 300명 방에서 스크롤마다 READ 를 뿌리던 O(members²) 를 tick 당 방 1프레임으로
+ *
+ * DB 반영 전에 노드가 죽으면 그 구간 DB 값은 뒤처질 수 있음.
+ * 조회(getLastRead)는 Redis 를 먼저 보고, 다음 읽음 때 더 큰 값으로 다시 반영되므로 허용.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatReadReceiptBuffer {
+
+    private final ChatParticipantMapper chatParticipantMapper;
+    private final PrivateChatParticipantMapper privateChatParticipantMapper;
+    private final RedisPublisher redisPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.read.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    private record RoomKey(String roomType, Long roomId) {}
+
+    // DB 반영 대기: 방 → (유저 → 최대 읽은 ID)
+    private Map<RoomKey, Map<Long, Long>> pendingWrites = new HashMap<>();
+    // 브로드캐스트 대기: 방 → (유저 → 최대 읽은 ID), 유저 순서 유지
+    private Map<RoomKey, Map<Long, Long>> pendingBroadcasts = new HashMap<>();
+
+    private Counter acceptedCounter;
+    private Counter writtenCounter;
+    private Counter framesCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("chat.read.pending", this, b -> b.pendingWriteCount())
+                .register(meterRegistry);
+
+        acceptedCounter = meterRegistry.counter("chat.read.accepted");
+        writtenCounter = meterRegistry.counter("chat.read.written");
+        framesCounter = meterRegistry.counter("chat.read.frames");
+    }
+
+    public synchronized void add(String roomType, Long roomId, Long userId, Long lastReadId) {
+        RoomKey key = new RoomKey(roomType, roomId);
+        pendingWrites.computeIfAbsent(key, k -> new HashMap<>()).merge(userId, lastReadId, Math::max);
+        pendingBroadcasts.computeIfAbsent(key, k -> new LinkedHashMap<>()).merge(userId, lastReadId, Math::max);
+        acceptedCounter.increment();
+    }
+
+    /**
+     * 방별 READ_WATERMARKS 프레임 발행
+     */
+    @Scheduled(fixedDelayString = "${chat.read.broadcast-interval-ms:300}")
+    public void broadcast() {
+        Map<RoomKey, Map<Long, Long>> rooms;
+        synchronized (this) {
+            if (pendingBroadcasts.isEmpty()) return;
+            rooms = pendingBroadcasts;
+            pendingBroadcasts = new HashMap<>();
+        }
+
+        rooms.forEach((room, readers) -> {
+            List<Map<String, Object>> watermarks = new ArrayList<>(readers.size());
+            readers.forEach((userId, lastReadId) -> watermarks.add(Map.of(
+                    "readerUserId", userId,
+                    "lastReadMessageId", lastReadId
+            )));
+
+            try {
+                redisPublisher.publish(
+                        "chat-room-" + room.roomType() + "-" + room.roomId(),
+                        objectMapper.writeValueAsString(Map.of(
+                                "type", "READ_WATERMARKS",
+                                "roomType", room.roomType(),
+                                "roomId", room.roomId(),
+                                "watermarks", watermarks
+                        ))
+                );
+                framesCounter.increment();
+            } catch (Exception e) {
+                log.warn("[ChatRead] READ_WATERMARKS publish 실패. room={}-{}", room.roomType(), room.roomId(), e);
+            }
+        });
+    }
+
+    /**
+     * 읽음 DB 반영 (실패분은 다음 flush 로 되돌림)
+     */
+    @Scheduled(fixedDelayString = "${chat.read.flush-interval-ms:1000}")
+    public void flush() {
+        Map<RoomKey, Map<Long, Long>> rooms;
+        synchronized (this) {
+            if (pendingWrites.isEmpty()) return;
+            rooms = pendingWrites;
+            pendingWrites = new HashMap<>();
+        }
+
+        List<ChatReadWatermark> group = new ArrayList<>();
+        List<ChatReadWatermark> priv = new ArrayList<>();
+        rooms.forEach((room, readers) -> readers.forEach((userId, lastReadId) -> {
+            ChatReadWatermark w = new ChatReadWatermark(room.roomId(), userId, lastReadId);
+            if ("GROUP".equals(room.roomType())) {
+                group.add(w);
+            } else {
+                priv.add(w);
+            }
+        }));
+
+        write("GROUP", group);
+        write("PRIVATE", priv);
+    }
+
+    private void write(String roomType, List<ChatReadWatermark> reads) {
+        for (int from = 0; from < reads.size(); from += flushBatchSize) {
+            List<ChatReadWatermark> chunk = reads.subList(from, Math.min(from + flushBatchSize, reads.size()));
+            try {
+                if ("GROUP".equals(roomType)) {
+                    chatParticipantMapper.updateLastReads(chunk);
+                } else {
+                    privateChatParticipantMapper.upsertLastReads(chunk);
+                }
+                writtenCounter.increment(chunk.size());
+            } catch (Exception e) {
+                log.warn("[ChatRead] 읽음 DB 반영 실패, 다음 주기에 재시도. roomType={}, size={}", roomType, chunk.size(), e);
+                synchronized (this) {
+                    for (ChatReadWatermark w : chunk) {
+                        pendingWrites.computeIfAbsent(new RoomKey(roomType, w.getRoomId()), k -> new HashMap<>())
+                                .merge(w.getUserId(), w.getLastReadId(), Math::max);
+                    }
+                }
+            }
+        }
+    }
+
+    private synchronized int pendingWriteCount() {
+        int count = 0;
+        for (Map<Long, Long> readers : pendingWrites.values()) {
+            count += readers.size();
+        }
+        return count;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        broadcast();
+        flush();
+    }
+}
@@ -1,12 +1,16 @@
 package com.popspot.popupplatform.service.chat;
 
 import com.popspot.popupplatform.dto.chat.response.GroupChatParticipantResponse;
+import com.popspot.popupplatform.mapper.chat.ChatMessageMapper;
 import com.popspot.popupplatform.mapper.chat.ChatParticipantMapper;
 import com.popspot.popupplatform.mapper.chat.PrivateChatParticipantMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class ChatReadService {
@@ -14,26 +18,69 @@ public class ChatReadService {
     private final RedisTemplate<String, Object> redisTemplate;
     private final ChatParticipantMapper chatParticipantMapper;
     private final PrivateChatParticipantMapper privateChatParticipantMapper;
+    private final ChatInboxService chatInboxService;
+    private final ChatMessageMapper chatMessageMapper;
+    private final ChatReadReceiptBuffer chatReadReceiptBuffer;
+    private final ChatReadWatermarkIndex chatReadWatermarkIndex;
+    private final ChatRecentMessageCache chatRecentMessageCache;
+
+    // 더 큰 값일 때만 SET (스크롤/포커스마다 오는 읽음이 순서가 뒤집혀도 뒤로 가지 않음)
+    // return 1: 갱신 / 0: 이미 같거나 큰 값
+    private static final DefaultRedisScript<Long> SET_IF_GREATER_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local cur = tonumber(redis.call('GET', KEYS[1]) or '0')
+                    if (tonumber(ARGV[1]) > cur) then
+                      redis.call('SET', KEYS[1], ARGV[1])
+                      return 1
+                    end
+                    return 0
+                    """,
+                    Long.class
+            );
 
-    private String userLastReadKey(String roomType, Long roomId, Long userId) {
+    static String userLastReadKey(String roomType, Long roomId, Long userId) {
         return "chat:read:" + roomType + ":" + roomId + ":" + userId;
     }
 
-    // 마지막 읽은 메시지 ID 저장
-    public void updateLastRead(String roomType, Long roomId, Long userId, Long messageId) {
+    /**
+     * 읽음 처리 (/chat/read)
+     * - 현재 워터마크보다 작거나 같으면 아무것도 안 함 (스크롤/포커스 중복 이벤트 대부분이 여기서 끝)
+     * - 자기 메시지까지 읽음은 무시 (보낸 사람은 최근 메시지 창 → DB 순으로 확인, 배치 저장 전 메시지도 창에 있음)
+     * - Redis 워터마크/채팅 목록은 즉시, DB 반영과 READ 브로드캐스트는 ChatReadReceiptBuffer 가 묶어서 처리
+     */
+    public void markRead(String roomType, Long roomId, Long userId, Long messageId) {
+        if (messageId == null) return;
+        if (messageId <= getLastRead(roomType, roomId, userId)) return;
 
-        if ("GROUP".equals(roomType)) {
-            chatParticipantMapper.updateLastRead(roomId, userId, messageId);
-        } else {
-            privateChatParticipantMapper.insertParticipant(roomId, userId);
-            privateChatParticipantMapper.updateLastRead(roomId, userId, messageId);
+        // 자기 메시지 읽음 방지
+        Long senderId = chatRecentMessageCache.findSenderId(roomType, roomId, messageId);
+        if (senderId == null) {
+            senderId = chatMessageMapper.getSenderIdByMessageId(messageId);
         }
+        // 창에도 DB 에도 아직 없음 (저장 대기 + 창 추가 실패) → 보낸 사람을 모르므로 다음 읽음 이벤트에 맡김
+        if (senderId == null) return;
+        if (userId.equals(senderId)) return;
 
-        // Redis는 캐시
-        redisTemplate.opsForValue().set(
-                userLastReadKey(roomType, roomId, userId),
+        updateLastRead(roomType, roomId, userId, messageId);
+    }
+
+    // 마지막 읽은 메시지 ID 저장 (Redis 는 즉시, DB 는 배치)
+    public void updateLastRead(String roomType, Long roomId, Long userId, Long messageId) {
+
+        Long advanced = redisTemplate.execute(
+                SET_IF_GREATER_SCRIPT,
+                List.of(userLastReadKey(roomType, roomId, userId)),
                 messageId.toString()
         );
+        if (advanced == null || advanced == 0L) return;
+
+        // 채팅 목록 unread 갱신
+        chatInboxService.onRead(roomType, roomId, userId, messageId);
+        // 메시지별 안 읽은 인원 인덱스
+        chatReadWatermarkIndex.advance(roomType, roomId, userId, messageId);
+
+        chatReadReceiptBuffer.add(roomType, roomId, userId, messageId);
     }
 
     // 유저의 마지막 읽은 메시지 ID 조회
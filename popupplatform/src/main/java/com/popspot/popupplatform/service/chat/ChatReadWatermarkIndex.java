@@ -0,0 +1,326 @@
+package com.popspot.popupplatform.service.chat;
+
+import com.popspot.popupplatform.domain.chat.ChatReadWatermark;
+import com.popspot.popupplatform.mapper.chat.ChatParticipantMapper;
+import com.popspot.popupplatform.mapper.chat.PrivateChatParticipantMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 방별 참여자 읽음 위치 인덱스 (Redis)
+ *
+ * - chat:watermarks:v2:{roomType}:{roomId}  ZSET member = userId, score = 마지막 읽은 메시지 ID
+ *   + 센티널 멤버 '~' (score +inf) : 재구성된 인덱스 표시 → 참여자가 없는 방도 키가 남아 매 페이지 재구성하지 않음
+ * - 봇(POPBOT)은 읽지 않으므로 참여자에서 제외
+ *
+ * 조회 시 페이지의 메시지 ID 범위 [minId, maxId] 만 읽음 (스크립트 1번)
+ * - 워터마크 < minId 인 참여자 수 = ZCOUNT (페이지 전체를 안 읽음)
+ * - minId <= 워터마크 < maxId 인 참여자만 ZRANGEBYSCORE 로 가져와 메시지마다 이진 탐색
+ * - 메시지 X 를 안 읽은 참여자 수 = 워터마크 < X 인 참여자 수 (보낸 사람 제외)
+ * - 참여자 수 = ZSET 크기 - 센티널 (countParticipants 대체)
+ * → 페이지 로딩에 CHAT_MESSAGE / COUNT 쿼리 없음, 큰 방에서도 전체 ZSET 을 읽지 않음
+ *
+ * 갱신
+ * - 읽음: ChatReadService 가 Redis 워터마크를 올린 직후 advance (더 큰 값만)
+ * - 입장/퇴장: 커밋 후 키 삭제 → 다음 조회 때 재구성
+ * - 재구성: DB 참여자 읽음 위치 + chat:read:* (DB 배치 반영 전 값) 중 큰 값
+ *
+ * 유저별 안 읽은 메시지 수는 ChatInboxService 의 unread 해시가 담당.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatReadWatermarkIndex {
+
+    private static final String KEY_PREFIX = "chat:watermarks:v2:";
+    private static final Duration TTL = Duration.ofDays(7);
+
+    private static final Long BOT_USER_ID = 20251212L;
+
+    /**
+     * KEYS[1]=watermarks, ARGV[1]=userId, ARGV[2]=lastReadId, ARGV[3]=없는 멤버 추가 여부(1/0)
+     * 인덱스가 없으면 무시 (다음 조회 때 재구성)
+     */
+    private static final DefaultRedisScript<Long> ADVANCE_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    if (redis.call('EXISTS', KEYS[1]) == 0) then
+                      return 0
+                    end
+                    local cur = redis.call('ZSCORE', KEYS[1], ARGV[1])
+                    if (not cur) then
+                      if (ARGV[3] ~= '1') then
+                        return 0
+                      end
+                    elseif (tonumber(cur) >= tonumber(ARGV[2])) then
+                      return 0
+                    end
+                    redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+                    return 1
+                    """,
+                    Long.class
+            );
+
+    /**
+     * KEYS[1]=watermarks, ARGV[1]=ttlSec, ARGV[2..]=score, userId 쌍
+     * 참여자가 없어도 센티널은 남김
+     */
+    private static final DefaultRedisScript<Long> REBUILD_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    redis.call('DEL', KEYS[1])
+                    redis.call('ZADD', KEYS[1], '+inf', '~')
+                    for i = 2, #ARGV, 2 do
+                      redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])
+                    end
+                    redis.call('EXPIRE', KEYS[1], tonumber(ARGV[1]))
+                    return (#ARGV - 1) / 2
+                    """,
+                    Long.class
+            );
+
+    /**
+     * KEYS[1]=watermarks, ARGV[1]=minId, ARGV[2]=maxId, ARGV[3..]=보낸 사람 userId
+     * return nil (인덱스 없음) 또는
+     *        {참여자 수, 워터마크 < minId 인 수, 범위 안 개수 n, member1, score1, ..., 보낸 사람 score ('' = 없음) ...}
+     */
+    private static final DefaultRedisScript<List> SNAPSHOT_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    if (redis.call('EXISTS', KEYS[1]) == 0) then
+                      return nil
+                    end
+                    local card = redis.call('ZCARD', KEYS[1]) - 1
+                    local below = redis.call('ZCOUNT', KEYS[1], '-inf', '(' .. ARGV[1])
+                    local mid = redis.call('ZRANGEBYSCORE', KEYS[1], ARGV[1], '(' .. ARGV[2], 'WITHSCORES')
+                    local out = {card, below, #mid / 2}
+                    for i = 1, #mid do
+                      out[#out + 1] = mid[i]
+                    end
+                    for i = 3, #ARGV do
+                      out[#out + 1] = redis.call('ZSCORE', KEYS[1], ARGV[i]) or ''
+                    end
+                    return out
+                    """,
+                    List.class
+            );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ChatParticipantMapper chatParticipantMapper;
+    private final PrivateChatParticipantMapper privateChatParticipantMapper;
+
+    /**
+     * 방 참여자 읽음 위치 스냅샷 (조회한 메시지 ID 범위 기준)
+     */
+    public static final class Snapshot {
+
+        private final int memberCount;
+        // 워터마크 < minId 인 참여자 수
+        private final int below;
+        // minId <= 워터마크 < maxId 인 워터마크 (정렬)
+        private final long[] sorted;
+        // 페이지 메시지를 보낸 사람의 워터마크
+        private final Map<Long, Long> senderRead;
+
+        Snapshot(int memberCount, int below, long[] sorted, Map<Long, Long> senderRead) {
+            this.memberCount = memberCount;
+            this.below = below;
+            this.sorted = sorted;
+            this.senderRead = senderRead;
+            Arrays.sort(this.sorted);
+        }
+
+        // 전체 워터마크로 만든 스냅샷 (재구성 / DB 대체)
+        static Snapshot of(Map<Long, Long> byUser) {
+            long[] all = byUser.values().stream().mapToLong(Long::longValue).toArray();
+            return new Snapshot(byUser.size(), 0, all, byUser);
+        }
+
+        public int memberCount() {
+            return memberCount;
+        }
+
+        /**
+         * 메시지 cmId 를 아직 안 읽은 참여자 수 (보낸 사람은 제외)
+         */
+        public int unreadMembers(long cmId, Long senderId) {
+            int unread = below + lowerBound(cmId);
+            Long senderReadId = senderId == null ? null : senderRead.get(senderId);
+            if (senderReadId != null && senderReadId < cmId) unread--;
+            return Math.max(unread, 0);
+        }
+
+        // 워터마크 < value 인 개수
+        private int lowerBound(long value) {
+            int lo = 0, hi = sorted.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sorted[mid] < value) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * 메시지 ID 범위 [minId, maxId] 페이지용 스냅샷
+     * @param senderIds 페이지 메시지를 보낸 사람 (보낸 사람 제외 계산용)
+     */
+    @SuppressWarnings("unchecked")
+    public Snapshot snapshot(String roomType, Long roomId, long minId, long maxId, Collection<Long> senderIds) {
+        List<Long> senders = senderIds.stream().filter(Objects::nonNull).distinct().toList();
+
+        List<String> args = new ArrayList<>(senders.size() + 2);
+        args.add(String.valueOf(minId));
+        args.add(String.valueOf(maxId));
+        senders.forEach(id -> args.add(String.valueOf(id)));
+
+        try {
+            List<Object> out = stringRedisTemplate.execute(SNAPSHOT_SCRIPT, List.of(key(roomType, roomId)), args.toArray());
+            if (out != null && !out.isEmpty()) {
+                return parse(out, senders);
+            }
+        } catch (Exception e) {
+            log.warn("[ChatReadWatermark] 인덱스 조회 실패, DB로 대체. room={}-{}", roomType, roomId, e);
+            return Snapshot.of(load(roomType, roomId));
+        }
+        return rebuild(roomType, roomId);
+    }
+
+    private Snapshot parse(List<Object> out, List<Long> senders) {
+        int memberCount = (int) Math.max(toLong(out.get(0)), 0);
+        int below = (int) toLong(out.get(1));
+        int n = (int) toLong(out.get(2));
+
+        long[] sorted = new long[n];
+        int idx = 3;
+        for (int i = 0; i < n; i++) {
+            idx++; // member
+            sorted[i] = (long) Double.parseDouble(String.valueOf(out.get(idx++)));
+        }
+
+        Map<Long, Long> senderRead = new HashMap<>();
+        for (Long senderId : senders) {
+            String score = String.valueOf(out.get(idx++));
+            if (!score.isEmpty()) {
+                senderRead.put(senderId, (long) Double.parseDouble(score));
+            }
+        }
+        return new Snapshot(memberCount, below, sorted, senderRead);
+    }
+
+    private static long toLong(Object v) {
+        return v instanceof Number n ? n.longValue() : Long.parseLong(String.valueOf(v));
+    }
+
+    /**
+     * 읽음 위치 전진 (더 큰 값만)
+     */
+    public void advance(String roomType, Long roomId, Long userId, Long lastReadId) {
+        if (BOT_USER_ID.equals(userId)) return;
+        try {
+            stringRedisTemplate.execute(
+                    ADVANCE_SCRIPT,
+                    List.of(key(roomType, roomId)),
+                    String.valueOf(userId),
+                    String.valueOf(lastReadId),
+                    // 1:1 방은 참여자 행이 읽음 시점에 생기기도 하므로 추가 허용
+                    "PRIVATE".equals(roomType) ? "1" : "0"
+            );
+        } catch (Exception e) {
+            log.warn("[ChatReadWatermark] advance 실패, 인덱스 삭제. room={}-{}", roomType, roomId, e);
+            invalidate(roomType, roomId);
+        }
+    }
+
+    /**
+     * 참여자 변경 (커밋 후 삭제, 트랜잭션 밖이면 즉시)
+     */
+    public void invalidateAfterCommit(String roomType, Long roomId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(roomType, roomId);
+                }
+            });
+        } else {
+            invalidate(roomType, roomId);
+        }
+    }
+
+    private void invalidate(String roomType, Long roomId) {
+        try {
+            stringRedisTemplate.delete(key(roomType, roomId));
+        } catch (Exception e) {
+            log.warn("[ChatReadWatermark] 인덱스 삭제 실패 (TTL 까지 유지). room={}-{}", roomType, roomId, e);
+        }
+    }
+
+    private Snapshot rebuild(String roomType, Long roomId) {
+        Map<Long, Long> byUser = load(roomType, roomId);
+
+        List<String> args = new ArrayList<>(byUser.size() * 2 + 1);
+        args.add(String.valueOf(TTL.getSeconds()));
+        byUser.forEach((userId, lastReadId) -> {
+            args.add(String.valueOf(lastReadId));
+            args.add(String.valueOf(userId));
+        });
+
+        try {
+            stringRedisTemplate.execute(REBUILD_SCRIPT, List.of(key(roomType, roomId)), args.toArray());
+        } catch (Exception e) {
+            log.warn("[ChatReadWatermark] 인덱스 재구성 실패. room={}-{}", roomType, roomId, e);
+        }
+        return Snapshot.of(byUser);
+    }
+
+    /**
+     * DB 참여자 읽음 위치 + Redis 읽음 키(DB 배치 반영 전 값) 중 큰 값 (봇 제외)
+     */
+    private Map<Long, Long> load(String roomType, Long roomId) {
+        List<ChatReadWatermark> rows = ("GROUP".equals(roomType)
+                ? chatParticipantMapper.selectReadWatermarks(roomId)
+                : privateChatParticipantMapper.selectReadWatermarks(roomId))
+                .stream()
+                .filter(r -> !BOT_USER_ID.equals(r.getUserId()))
+                .toList();
+
+        Map<Long, Long> byUser = new HashMap<>();
+        if (rows.isEmpty()) return byUser;
+
+        List<String> readKeys = new ArrayList<>(rows.size());
+        for (ChatReadWatermark r : rows) {
+            readKeys.add(ChatReadService.userLastReadKey(roomType, roomId, r.getUserId()));
+        }
+        List<String> cached = stringRedisTemplate.opsForValue().multiGet(readKeys);
+
+        for (int i = 0; i < rows.size(); i++) {
+            ChatReadWatermark r = rows.get(i);
+            long lastRead = r.getLastReadId() == null ? 0L : r.getLastReadId();
+            String c = (cached == null) ? null : cached.get(i);
+            if (c != null) {
+                lastRead = Math.max(lastRead, Long.parseLong(c));
+            }
+            byUser.put(r.getUserId(), lastRead);
+        }
+        return byUser;
+    }
+
+    private String key(String roomType, Long roomId) {
+        return KEY_PREFIX + roomType + ":" + roomId;
+    }
+}
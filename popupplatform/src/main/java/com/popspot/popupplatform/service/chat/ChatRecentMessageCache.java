@@ -0,0 +1,305 @@
+package com.popspot.popupplatform.service.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popspot.popupplatform.domain.chat.ChatMessage;
+import com.popspot.popupplatform.dto.chat.response.ChatMessageImageRow;
+import com.popspot.popupplatform.dto.chat.response.ChatMessageResponse;
+import com.popspot.popupplatform.mapper.chat.ChatMessageMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 방별 최근 메시지 캐시 (Redis)
+ *
+ * - chat:recent:{roomType}:{roomId}       ZSET member = 메시지 JSON, score = cm_id (최근 N개로 유지)
+ * - chat:recent:floor:{roomType}:{roomId} 이 ID 이상 메시지는 ZSET 에 빠짐없이 있음 (0 = 방 전체)
+ *
+ * 발행 시(ChatMessageService.ingest) 바로 추가하므로 배치 저장 전 메시지도 첫 페이지에 보임.
+ * 노드와 무관하게 같은 창을 보도록 JVM 이 아니라 Redis 에 둠.
+ *
+ * 조회
+ * - floor 가 없으면(처음/만료/무효화) 첫 페이지 요청 때 DB 최근 N개로 채움 (이미 추가된 발행분과 합침)
+ * - lastMessageId 아래로 limit 개가 창 안에 다 있거나, 창이 방 전체면 캐시 응답
+ * - 그 외(깊은 과거)는 null → 호출 측이 DB 조회
+ *
+ * SYSTEM 메시지(입장/퇴장)는 DB 에 바로 쓰므로 커밋 후 무효화로 처리.
+ *
+ * 메트릭: chat.recent.requests{roomType, result=hit|warm|miss}
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatRecentMessageCache {
+
+    private static final String KEY_PREFIX = "chat:recent:";
+    private static final String FLOOR_KEY_PREFIX = "chat:recent:floor:";
+
+    /**
+     * KEYS[1]=recent, KEYS[2]=floor
+     * ARGV[1]=cmId, ARGV[2]=json, ARGV[3]=capacity, ARGV[4]=ttlSec
+     * 창을 넘친 오래된 항목을 자르면 floor 를 남은 최소 ID 로 올림
+     */
+    private static final DefaultRedisScript<Long> APPEND_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+                    local cap = tonumber(ARGV[3])
+                    if (redis.call('ZCARD', KEYS[1]) > cap) then
+                      redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(cap + 1))
+                      if (redis.call('EXISTS', KEYS[2]) == 1) then
+                        local first = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+                        redis.call('SET', KEYS[2], first[2], 'EX', tonumber(ARGV[4]))
+                      end
+                    end
+                    redis.call('EXPIRE', KEYS[1], tonumber(ARGV[4]))
+                    return 1
+                    """,
+                    Long.class
+            );
+
+    /**
+     * KEYS[1]=recent, KEYS[2]=floor
+     * ARGV[1]=capacity, ARGV[2]=ttlSec, ARGV[3]=floor, ARGV[4..]=cmId, json 쌍
+     */
+    private static final DefaultRedisScript<Long> WARM_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    for i = 4, #ARGV, 2 do
+                      redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])
+                    end
+                    local cap = tonumber(ARGV[1])
+                    local floor = ARGV[3]
+                    if (redis.call('ZCARD', KEYS[1]) > cap) then
+                      redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(cap + 1))
+                      floor = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')[2]
+                    end
+                    redis.call('EXPIRE', KEYS[1], tonumber(ARGV[2]))
+                    redis.call('SET', KEYS[2], floor, 'EX', tonumber(ARGV[2]))
+                    return 1
+                    """,
+                    Long.class
+            );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChatMessageMapper chatMessageMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.recent.capacity:100}")
+    private int capacity;
+
+    @Value("${chat.recent.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    /**
+     * 발행 직후 추가 (실패해도 메시지 전송에는 영향 없음 → 창 무효화)
+     */
+    public void append(ChatMessage message) {
+        try {
+            stringRedisTemplate.execute(
+                    APPEND_SCRIPT,
+                    List.of(key(message.getRoomType(), message.getRoomId()), floorKey(message.getRoomType(), message.getRoomId())),
+                    String.valueOf(message.getCmId()),
+                    objectMapper.writeValueAsString(message),
+                    String.valueOf(capacity),
+                    String.valueOf(ttlSeconds)
+            );
+        } catch (Exception e) {
+            log.warn("[ChatRecent] append 실패, 창 무효화. room={}-{}", message.getRoomType(), message.getRoomId(), e);
+            invalidate(message.getRoomType(), message.getRoomId());
+        }
+    }
+
+    /**
+     * 최근 메시지 조회 (cm_id 내림차순)
+     * @return null 이면 캐시로 답할 수 없음 (DB 조회)
+     */
+    public List<ChatMessageResponse> find(String roomType, Long roomId, Long lastMessageId, int limit,
+                                          LocalDateTime lastDeletedAt) {
+        try {
+            String floor = stringRedisTemplate.opsForValue().get(floorKey(roomType, roomId));
+            String result = "hit";
+            if (floor == null) {
+                // 첫 페이지만 채움 (과거 페이지 요청으로 창을 만들지는 않음)
+                if (lastMessageId != null) {
+                    record(roomType, "miss");
+                    return null;
+                }
+                floor = warm(roomType, roomId);
+                result = "warm";
+            }
+
+            List<ChatMessageResponse> page = read(roomType, roomId, lastMessageId, limit, lastDeletedAt, Long.parseLong(floor));
+            record(roomType, page == null ? "miss" : result);
+            return page;
+        } catch (Exception e) {
+            log.warn("[ChatRecent] 조회 실패, DB로 대체. room={}-{}", roomType, roomId, e);
+            record(roomType, "miss");
+            return null;
+        }
+    }
+
+    /**
+     * 창 안의 메시지 보낸 사람 (배치 저장 전 메시지도 발행 시 추가돼 있음)
+     * @return null 이면 창에 없음 (DB 조회)
+     */
+    public Long findSenderId(String roomType, Long roomId, Long cmId) {
+        try {
+            Set<String> jsons = stringRedisTemplate.opsForZSet().rangeByScore(key(roomType, roomId), cmId, cmId);
+            if (jsons == null || jsons.isEmpty()) return null;
+            return objectMapper.readValue(jsons.iterator().next(), ChatMessage.class).getSenderId();
+        } catch (Exception e) {
+            log.warn("[ChatRecent] 보낸 사람 조회 실패. room={}-{}, cmId={}", roomType, roomId, cmId, e);
+            return null;
+        }
+    }
+
+    /**
+     * 저장이 최종 실패한 메시지를 창에서 제거 (실패하면 창 무효화 → DB 로 다시 채움)
+     */
+    public void remove(String roomType, Long roomId, Long cmId) {
+        try {
+            stringRedisTemplate.opsForZSet().removeRangeByScore(key(roomType, roomId), cmId, cmId);
+        } catch (Exception e) {
+            log.warn("[ChatRecent] 제거 실패, 창 무효화. room={}-{}, cmId={}", roomType, roomId, cmId, e);
+            invalidate(roomType, roomId);
+        }
+    }
+
+    public void invalidateAfterCommit(String roomType, Long roomId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(roomType, roomId);
+                }
+            });
+        } else {
+            invalidate(roomType, roomId);
+        }
+    }
+
+    /**
+     * floor 만 삭제 → 다음 첫 페이지 조회 때 DB 로 다시 채움
+     * (ZSET 은 남겨 둠: 아직 배치 저장 전인 발행분이 DB 재적재에서 빠지지 않도록)
+     */
+    private void invalidate(String roomType, Long roomId) {
+        try {
+            stringRedisTemplate.delete(floorKey(roomType, roomId));
+        } catch (Exception e) {
+            log.warn("[ChatRecent] 무효화 실패. room={}-{}", roomType, roomId, e);
+        }
+    }
+
+    private List<ChatMessageResponse> read(String roomType, Long roomId, Long lastMessageId, int limit,
+                                           LocalDateTime lastDeletedAt, long floor) throws Exception {
+        double max = lastMessageId == null ? Double.POSITIVE_INFINITY : lastMessageId - 1;
+        Set<String> jsons = stringRedisTemplate.opsForZSet()
+                .reverseRangeByScore(key(roomType, roomId), floor, max, 0, limit);
+        if (jsons == null) return null;
+
+        List<ChatMessageResponse> page = new ArrayList<>(jsons.size());
+        boolean reachedDeleted = false;
+        Long prevCmId = null;
+        for (String json : jsons) {
+            ChatMessage m = objectMapper.readValue(json, ChatMessage.class);
+            // 발행분과 DB 적재분이 같은 메시지로 두 번 들어간 경우 (JSON 이 미세하게 다를 수 있음)
+            if (m.getCmId().equals(prevCmId)) continue;
+            prevCmId = m.getCmId();
+            // 1:1 방 나가기 이전 메시지부터는 이력 끝
+            if (lastDeletedAt != null && !m.getCreatedAt().isAfter(lastDeletedAt)) {
+                reachedDeleted = true;
+                break;
+            }
+            page.add(toResponse(m));
+        }
+
+        // limit 개를 채웠거나, 창이 방 전체(floor 0)거나, 나가기 시점에 닿았으면 완결
+        if (page.size() >= limit || floor == 0 || reachedDeleted) return page;
+        return null;
+    }
+
+    /**
+     * DB 최근 N개로 창 채우기 (이미 발행으로 추가된 항목과 합침)
+     * @return floor
+     */
+    private String warm(String roomType, Long roomId) throws Exception {
+        List<ChatMessageResponse> rows = chatMessageMapper.getMessagesByRoom(roomType, roomId, null, capacity, null);
+
+        Map<Long, List<String>> imageMap = Map.of();
+        if (!rows.isEmpty()) {
+            imageMap = chatMessageMapper.selectImagesByCmIds(rows.stream().map(ChatMessageResponse::getCmId).toList())
+                    .stream()
+                    .collect(Collectors.groupingBy(
+                            ChatMessageImageRow::getCmId,
+                            Collectors.mapping(ChatMessageImageRow::getUrl, Collectors.toList())
+                    ));
+        }
+
+        // N개 미만이면 방 전체가 창 안에 있음
+        String floor = rows.size() < capacity ? "0" : String.valueOf(rows.get(rows.size() - 1).getCmId());
+
+        List<String> args = new ArrayList<>(rows.size() * 2 + 3);
+        args.add(String.valueOf(capacity));
+        args.add(String.valueOf(ttlSeconds));
+        args.add(floor);
+        for (ChatMessageResponse r : rows) {
+            ChatMessage m = ChatMessage.builder()
+                    .cmId(r.getCmId())
+                    .roomType(r.getRoomType())
+                    .roomId(r.getRoomId())
+                    .senderId(r.getSenderId())
+                    .messageType(r.getMessageType())
+                    .content(r.getContent())
+                    .aiMode(r.getAiMode())
+                    .createdAt(r.getCreatedAt())
+                    .imageUrls(imageMap.get(r.getCmId()))
+                    .build();
+            args.add(String.valueOf(m.getCmId()));
+            args.add(objectMapper.writeValueAsString(m));
+        }
+
+        stringRedisTemplate.execute(WARM_SCRIPT, List.of(key(roomType, roomId), floorKey(roomType, roomId)), args.toArray());
+        return floor;
+    }
+
+    private ChatMessageResponse toResponse(ChatMessage m) {
+        return ChatMessageResponse.builder()
+                .cmId(m.getCmId())
+                .roomId(m.getRoomId())
+                .roomType(m.getRoomType())
+                .senderId(m.getSenderId())
+                .content(m.getContent())
+                .messageType(m.getMessageType())
+                .aiMode(m.getAiMode())
+                .imageUrls(m.getImageUrls())
+                .createdAt(m.getCreatedAt())
+                .build();
+    }
+
+    private void record(String roomType, String result) {
+        meterRegistry.counter("chat.recent.requests", "roomType", roomType, "result", result).increment();
+    }
+
+    private String key(String roomType, Long roomId) {
+        return KEY_PREFIX + roomType + ":" + roomId;
+    }
+
+    private String floorKey(String roomType, Long roomId) {
+        return FLOOR_KEY_PREFIX + roomType + ":" + roomId;
+    }
+}
@@ -25,6 +25,7 @@ public class ChatRoomHiddenService {
     private final GroupChatRoomMapper groupChatRoomMapper;
     private final PrivateChatRoomMapper privateChatRoomMapper;
     private final UserMapper userMapper;
+    private final ChatInboxService chatInboxService;
 
     //채팅방 숨김처리
     @Transactional
@@ -55,6 +56,8 @@ public class ChatRoomHiddenService {
             throw new CustomException(ChatErrorCode.HIDDEN_RECORD_NOT_FOUND);
         }
         hiddenMapper.updateHiddenFlag(type,roomId,userId,false);
+        // 숨김 중 목록 인덱스에서 빠졌을 수 있으므로 커밋 후 재구성
+        chatInboxService.invalidateAfterCommit(List.of(userId));
     }
     //숨김여부체크 (숨김했는지안했는지만)
     @Transactional(readOnly = true)
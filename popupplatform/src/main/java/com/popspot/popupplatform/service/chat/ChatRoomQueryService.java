@@ -1,72 +1,116 @@
 package com.popspot.popupplatform.service.chat;
 
-import com.popspot.popupplatform.dto.chat.response.ChatMessageResponse;
 import com.popspot.popupplatform.dto.chat.response.ChatRoomSummaryResponse;
-import com.popspot.popupplatform.mapper.chat.ChatMessageMapper;
 import com.popspot.popupplatform.mapper.chat.GroupChatRoomMapper;
 import com.popspot.popupplatform.mapper.chat.PrivateChatRoomMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class ChatRoomQueryService {
     private final GroupChatRoomMapper groupChatRoomMapper;
     private final PrivateChatRoomMapper privateChatRoomMapper;
-    private final ChatReadService chatReadService;
-    private final ChatMessageMapper chatMessageMapper;
+    private final ChatInboxService chatInboxService;
 
     //내가참여한방(1:1,그룹) 가져오기
     @Transactional(readOnly = true)
     public List<ChatRoomSummaryResponse> getMyChatRooms(Long userId) {
-        List<ChatRoomSummaryResponse> groupRooms = groupChatRoomMapper.findGroupRoomsForUser(userId);
-        List<ChatRoomSummaryResponse> privateRooms = privateChatRoomMapper.findPrivateRoomsForUser(userId);
-
-        // 방마다 unreadCount 계산해서 추가
-        groupRooms.forEach(room -> enrichRoom(room, userId));
-        privateRooms.forEach(room -> enrichRoom(room, userId));
-
-        //두 리스트 합쳐서 최신 메시지 시간 기준 내림차순 정렬
-        return Stream.concat(groupRooms.stream(), privateRooms.stream()) //두개의 List를 스트림으로 변환 후 새로운 스트림 생성
-                //내림차순(객체의createdAt기준으로비교-오름차순)으로 정렬
-                .sorted(Comparator.comparing(ChatRoomSummaryResponse::getLatestMessageTime).reversed())
-                .toList(); //정렬된 스트림을 리스트로 변환
+        return getMyChatRooms(userId, 0, null);
     }
 
-    // 특정 방의 unreadCount 계산
-    private void addUnreadCount(ChatRoomSummaryResponse room, Long userId) {
+    /**
+     * 내가 참여한 방 목록 (최근 메시지 시간 내림차순, size 가 없으면 전체)
+     * - 참여/숨김/삭제 여부는 DB 방 목록 기준
+     * - 최근 메시지 시간 + unreadCount 는 채팅 목록 인덱스(ChatInboxService)에서 채움
+     * - 페이지 조회는 인덱스 순서로 잘라 그 방들만 DB 에서 확인 (인덱스가 없으면 전체 조회 + 재구성)
+     */
+    @Transactional(readOnly = true)
+    public List<ChatRoomSummaryResponse> getMyChatRooms(Long userId, int page, Integer size) {
+        if (size != null && size > 0) {
+            List<ChatRoomSummaryResponse> paged = pageFromInbox(userId, Math.max(page, 0), size);
+            if (paged != null) return paged;
+        }
+
+        List<ChatRoomSummaryResponse> rooms = new ArrayList<>(groupChatRoomMapper.findGroupRoomsForUser(userId));
+        rooms.addAll(privateChatRoomMapper.findPrivateRoomsForUser(userId));
+
+        List<ChatRoomSummaryResponse> sorted = chatInboxService.sort(userId, rooms);
+
+        if (size == null || size <= 0) return sorted;
+
+        int from = Math.max(page, 0) * size;
+        if (from >= sorted.size()) return List.of();
+        return sorted.subList(from, Math.min(from + size, sorted.size()));
+    }
+
+    /**
+     * 인덱스 순서대로 (page + 1) * size 개의 보이는 방이 모일 때까지 구간 단위로 확인
+     * - 보이지 않는 방(숨김/나감/삭제)은 건너뛰고 인덱스에서 제거 → 다음 조회부터는 구간 1번으로 끝남
+     * @return 인덱스가 준비되지 않았으면 null
+     */
+    private List<ChatRoomSummaryResponse> pageFromInbox(Long userId, int page, int size) {
+        int from = page * size;
+        int want = from + size;
 
-        String roomType = room.getRoomType();   // "GROUP" / "PRIVATE"
-        Long roomId = room.getRoomId();
+        List<ChatRoomSummaryResponse> visible = new ArrayList<>(want);
+        long cursor = 0;
+        while (visible.size() < want) {
+            int need = want - visible.size();
+            List<String> fields = chatInboxService.range(userId, cursor, cursor + need - 1);
+            if (fields == null) return null;
+            if (fields.isEmpty()) break;
 
-        // Redis에서 마지막 읽은 메시지 ID 가져오기
-        Long lastReadId = chatReadService.getLastRead(roomType, roomId, userId);
+            List<String> stale = new ArrayList<>();
+            visible.addAll(findVisible(userId, fields, stale));
+            // 제거에 성공하면 뒤 순위가 당겨지므로 그만큼 덜 이동
+            boolean removed = chatInboxService.removeRooms(userId, stale);
+            cursor += removed ? fields.size() - stale.size() : fields.size();
 
-        // 해당 방에서 lastRead보다 큰 메시지 개수 조회
-        int unreadCount = chatMessageMapper.countUnreadMessages(roomType, roomId, lastReadId);
+            if (fields.size() < need) break;
+        }
 
-        room.setUnreadCount(unreadCount); // DTO 설정
+        if (from >= visible.size()) return List.of();
+        List<ChatRoomSummaryResponse> result = new ArrayList<>(visible.subList(from, Math.min(want, visible.size())));
+        chatInboxService.fill(userId, result);
+        return result;
     }
 
-    //최신 메세지 시간 조회 후 DTO 삽입
-    private void enrichRoom(ChatRoomSummaryResponse room, Long userId) {
-        addUnreadCount(room, userId);
+    /**
+     * field({roomType}:{roomId}) 순서를 유지한 채 보이는 방만 조회, 안 보이는 field 는 stale 에 담음
+     */
+    private List<ChatRoomSummaryResponse> findVisible(Long userId, List<String> fields, List<String> stale) {
+        List<Long> groupIds = new ArrayList<>();
+        List<Long> privateIds = new ArrayList<>();
+        for (String field : fields) {
+            int sep = field.indexOf(':');
+            Long roomId = Long.valueOf(field.substring(sep + 1));
+            if ("GROUP".equals(field.substring(0, sep))) groupIds.add(roomId); else privateIds.add(roomId);
+        }
 
-        ChatMessageResponse lastest = chatMessageMapper.getLatestMessage(
-                room.getRoomType(),
-                room.getRoomId()
-        );
+        Map<String, ChatRoomSummaryResponse> byField = new HashMap<>();
+        if (!groupIds.isEmpty()) {
+            for (ChatRoomSummaryResponse r : groupChatRoomMapper.findGroupRoomsForUserByIds(userId, groupIds)) {
+                byField.put("GROUP:" + r.getRoomId(), r);
+            }
+        }
+        if (!privateIds.isEmpty()) {
+            for (ChatRoomSummaryResponse r : privateChatRoomMapper.findPrivateRoomsForUserByIds(userId, privateIds)) {
+                byField.put("PRIVATE:" + r.getRoomId(), r);
+            }
+        }
 
-        if(lastest != null) {
-            room.setLatestMessageTime(lastest.getCreatedAt());
-        } else  {
-            //최근메세지 없으면 채팅방 생성기준
-            room.setLatestMessageTime(room.getCreatedAt());
+        List<ChatRoomSummaryResponse> rooms = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            ChatRoomSummaryResponse r = byField.get(field);
+            if (r == null) stale.add(field); else rooms.add(r);
         }
+        return rooms;
     }
-}
\ No newline at end of file
+}
@@ -3,53 +3,194 @@ package com.popspot.popupplatform.service.chat;
 import com.popspot.popupplatform.domain.chat.ChatScheduledMessage;
 import com.popspot.popupplatform.dto.chat.request.ChatMessageRequest;
 import com.popspot.popupplatform.mapper.chat.ChatScheduledMessageMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 예약 메시지 실행 스케줄러 (노드 여러 대에서 동시에 돌아도 메시지당 1번 발송)
+ *
+ * 동작 흐름:
+ * 1. 전송 시각이 된 예약 메시지를 배치 토큰(owner)으로 선점 (UPDATE ... LIMIT n, lease 부여)
+ * 2. 선점한 메시지를 방별로 묶어 방끼리는 병렬, 같은 방 안에서는 예약 시각 순서대로 발송
+ *    (한 건이 실패하면 그 방의 남은 메시지는 같은 재시도 시각으로 미뤄 순서 유지)
+ * 3. 기존 saveMessage 경로 호출 → 일반 메시지처럼 처리 (Redis publish / WebSocket / 읽음 처리)
+ * 4. 배치 저장 완료(durability ack)를 기다린 뒤 SENT, 저장 실패/ack 타임아웃 → 지수 백오프 후 재시도 (max-attempts 초과 시 FAILED)
+ *
+ * 발송 후 SENT 반영 전에 노드가 죽으면 lease 만료 후 다시 발송될 수 있음 (at-least-once).
+ * 같은 예약 메시지는 clientMessageKey 가 고정이라 클라이언트에서 중복 제거 가능.
+ *
+ * 메트릭: chat.scheduled.lag (예약 시각 → 발송), chat.scheduled.sent / failed, chat.scheduled.claimed
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class ChatScheduledExecutor {
     private final ChatScheduledMessageMapper scheduledMapper;
     private final ChatScheduledMessageService scheduledService;
     private final ChatMessageService chatMessageService;
+    private final MeterRegistry meterRegistry;
 
+    @Value("${chat.scheduled.batch-size:200}")
+    private int batchSize;
 
-    // 예약 메시지 실행 스케줄러
-    /** 동작 흐름:
-     * 1. 현재 시각 기준으로 전송 가능한 예약 메시지 조회
-     * 2. 예약 메시지를 ChatMessageRequest 로 변환
-     * 3. 기존 saveMessage() 호출 → 일반 메시지처럼 처리
-     * 4. 예약 메시지 상태를 SENT 로 변경
-     */
-    @Scheduled(fixedDelay = 5000) // 5초
-    @Transactional
+    // 선점 유지 시간: 한 배치 발송이 이 안에 끝나야 다른 노드가 다시 가져가지 않음
+    @Value("${chat.scheduled.lease-seconds:60}")
+    private int leaseSeconds;
+
+    @Value("${chat.scheduled.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${chat.scheduled.max-backoff-seconds:300}")
+    private int maxBackoffSeconds;
+
+    @Value("${chat.scheduled.dispatch-threads:8}")
+    private int dispatchThreads;
+
+    // 배치 저장 완료 대기 상한 (lease 보다 충분히 짧게)
+    @Value("${chat.scheduled.ack-timeout-ms:10000}")
+    private long ackTimeoutMillis;
+
+    // 노드 식별자 + 배치 순번 → 배치 토큰
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong batchSeq = new AtomicLong();
+
+    private ThreadPoolTaskExecutor dispatchExecutor;
+
+    private Counter claimedCounter;
+    private Counter sentCounter;
+    private Counter failedCounter;
+    private Timer lagTimer;
+
+    @PostConstruct
+    void init() {
+        dispatchExecutor = new ThreadPoolTaskExecutor();
+        dispatchExecutor.setThreadNamePrefix("chat-scheduled-");
+        dispatchExecutor.setCorePoolSize(dispatchThreads);
+        dispatchExecutor.setMaxPoolSize(dispatchThreads);
+        dispatchExecutor.setAllowCoreThreadTimeOut(true);
+        dispatchExecutor.initialize();
+
+        claimedCounter = meterRegistry.counter("chat.scheduled.claimed");
+        sentCounter = meterRegistry.counter("chat.scheduled.sent");
+        failedCounter = meterRegistry.counter("chat.scheduled.failed");
+        lagTimer = meterRegistry.timer("chat.scheduled.lag");
+    }
+
+    @Scheduled(fixedDelayString = "${chat.scheduled.poll-interval-ms:5000}") // 기본 5초
     public void execute() {
-        //현재 시각 이전이며 PENDING 상태인 예약 메시지 조회
-        List<ChatScheduledMessage> targets =
-                scheduledMapper.findExecutableMessages(LocalDateTime.now());
+        // 배치가 가득 찼으면 밀린 예약이 남은 것 → 기다리지 않고 바로 다음 배치
+        int claimed;
+        do {
+            claimed = dispatchBatch();
+        } while (claimed >= batchSize);
+    }
+
+    /**
+     * 1배치 선점 + 발송
+     * @return 선점한 건수
+     */
+    private int dispatchBatch() {
+        String owner = nodeId + "-" + batchSeq.incrementAndGet();
 
+        int claimed;
+        List<ChatScheduledMessage> targets;
+        try {
+            claimed = scheduledMapper.claimExecutableMessages(owner, leaseSeconds, batchSize);
+            if (claimed == 0) return 0;
+            targets = scheduledMapper.findClaimedMessages(owner);
+        } catch (Exception e) {
+            log.warn("[ChatScheduled] 예약 메시지 선점 실패", e);
+            return 0;
+        }
+        claimedCounter.increment(targets.size());
 
+        // 방별 묶음 (예약 시각 순서 유지)
+        Map<String, List<ChatScheduledMessage>> byRoom = new LinkedHashMap<>();
         for (ChatScheduledMessage s : targets) {
-            try {
-                // 조회된 예약 메시지들을 하나씩 처리
-                ChatMessageRequest req =
-                        scheduledService.toChatMessage(s);
+            byRoom.computeIfAbsent(s.getRoomType() + ":" + s.getRoomId(), k -> new ArrayList<>()).add(s);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(byRoom.size());
+        for (List<ChatScheduledMessage> roomMessages : byRoom.values()) {
+            futures.add(CompletableFuture.runAsync(() -> dispatchRoom(owner, roomMessages), dispatchExecutor));
+        }
+        // lease 안에 끝내고 다음 배치로 (방마다 예외는 dispatchRoom 안에서 처리)
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
 
-                // 기존 메시지 저장 로직 재사용
-                // → Redis publish / WebSocket / 읽음 처리 자동 수행
-                chatMessageService.saveMessage(req);
-                // 예약 메시지를 전송 완료 상태로 변경
-                scheduledMapper.markAsSent(s.getCsmId());
+        return claimed;
+    }
+
+    /**
+     * 같은 방 메시지를 예약 시각 순서대로 발송
+     * - 한 건이 실패하면(재시도 예정) 거기서 멈추고 남은 메시지는 같은 재시도 시각으로 미룸 → 뒤 메시지가 앞지르지 않음
+     * - 최종 실패(FAILED)면 더 기다릴 메시지가 없으므로 다음 메시지 계속 발송
+     */
+    void dispatchRoom(String owner, List<ChatScheduledMessage> roomMessages) {
+        for (int i = 0; i < roomMessages.size(); i++) {
+            ChatScheduledMessage s = roomMessages.get(i);
+            try {
+                // 예약 메시지를 ChatMessageRequest 로 변환 → 기존 메시지 저장 로직 재사용
+                ChatMessageRequest req = scheduledService.toChatMessage(s);
+                // DB 에 저장된 것을 확인한 뒤에만 SENT (저장 실패 시 예외 → 재시도)
+                chatMessageService.saveMessageDurably(req).get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
 
+                scheduledMapper.markAsSent(s.getCsmId(), owner);
+                sentCounter.increment();
+                lagTimer.record(Duration.between(s.getScheduledAt(), LocalDateTime.now()));
             } catch (Exception e) {
-                // 한 건 실패해도 다른 예약 메시지 처리에 영향 없도록 처리
-                e.printStackTrace();
+                failedCounter.increment();
+                int attempts = s.getAttempts() == null ? 1 : s.getAttempts();
+                log.warn("[ChatScheduled] 예약 메시지 발송 실패. csmId={}, attempts={}", s.getCsmId(), attempts, e);
+                try {
+                    scheduledMapper.markAsFailed(s.getCsmId(), owner, String.valueOf(e.getMessage()),
+                            maxAttempts, maxBackoffSeconds);
+                } catch (Exception markError) {
+                    // lease 만료 후 다시 선점됨
+                    log.warn("[ChatScheduled] 실패 상태 반영 실패. csmId={}", s.getCsmId(), markError);
+                }
+
+                if (attempts >= maxAttempts) continue;
+
+                deferRemaining(owner, roomMessages.subList(i + 1, roomMessages.size()), attempts);
+                return;
             }
         }
     }
+
+    private void deferRemaining(String owner, List<ChatScheduledMessage> remaining, int failedAttempts) {
+        if (remaining.isEmpty()) return;
+
+        List<Long> csmIds = remaining.stream().map(ChatScheduledMessage::getCsmId).toList();
+        try {
+            scheduledMapper.deferClaimed(owner, csmIds, failedAttempts, maxBackoffSeconds);
+        } catch (Exception e) {
+            // lease 만료 후 다시 선점됨 (그때도 예약 시각 순서대로)
+            log.warn("[ChatScheduled] 뒤 메시지 미루기 실패. csmIds={}", csmIds, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatchExecutor.shutdown();
+    }
 }
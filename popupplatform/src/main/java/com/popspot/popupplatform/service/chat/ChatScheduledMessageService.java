@@ -54,6 +54,8 @@ public class ChatScheduledMessageService {
         req.setSenderId(s.getSenderId());
         req.setMessageType(s.getCsmType());
         req.setContent(s.getContent());
+        // 재발송(lease 만료)되더라도 클라이언트가 같은 메시지로 묶을 수 있도록 고정 키
+        req.setClientMessageKey("scheduled-" + s.getCsmId());
         return req;
     }
 
@@ -88,7 +90,7 @@ public class ChatScheduledMessageService {
             LocalDateTime scheduledAt
     ) {
         // 공통 검증
-        validatePendingScheduleOrThrow(csmId, userId);
+        validateScheduleOwnerOrThrow(csmId, userId);
 
         // 수정할 내용이 없는 경우
         if (content == null && scheduledAt == null) {
@@ -101,24 +103,32 @@ public class ChatScheduledMessageService {
             throw new CustomException(ChatErrorCode.SCHEDULE_TIME_INVALID);
         }
 
-        chatScheduledMessageMapper.updateSchedule(
+        int updated = chatScheduledMessageMapper.updateSchedule(
                 csmId,
+                userId,
                 content,
                 scheduledAt
         );
+        // 검증 이후 발송이 시작됐거나 이미 처리된 경우
+        if (updated == 0) {
+            throw new CustomException(ChatErrorCode.SCHEDULE_ALREADY_PROCESSED);
+        }
     }
 
     //예약 취소
     @Transactional
     public void cancelSchedule(Long csmId, Long userId) {
         // 공통 검증
-        validatePendingScheduleOrThrow(csmId, userId);
+        validateScheduleOwnerOrThrow(csmId, userId);
 
-        chatScheduledMessageMapper.markAsCanceled(csmId);
+        // 상태 판정은 조건부 UPDATE 로 (검증과 UPDATE 사이에 선점되면 0건)
+        if (chatScheduledMessageMapper.markAsCanceled(csmId, userId) == 0) {
+            throw new CustomException(ChatErrorCode.SCHEDULE_ALREADY_PROCESSED);
+        }
     }
 
-    //공통 검증 로직
-    private void validatePendingScheduleOrThrow(
+    //공통 검증 로직 (상태는 수정/취소 UPDATE 조건으로 판정)
+    private void validateScheduleOwnerOrThrow(
             Long csmId,
             Long userId
     ) {
@@ -133,10 +143,5 @@ public class ChatScheduledMessageService {
         if (!msg.getSenderId().equals(userId)) {
             throw new CustomException(ChatErrorCode.SCHEDULE_CANCEL_FORBIDDEN);
         }
-
-        // 이미 처리된 예약은 불가
-        if (!"PENDING".equals(msg.getCsmStatus())) {
-            throw new CustomException(ChatErrorCode.SCHEDULE_ALREADY_PROCESSED);
-        }
     }
 }
\ No newline at end of file
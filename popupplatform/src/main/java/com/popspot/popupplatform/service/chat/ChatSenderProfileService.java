@@ -0,0 +1,195 @@
+package com.popspot.popupplatform.service.chat;
+
+import com.popspot.popupplatform.domain.chat.ChatSenderProfile;
+import com.popspot.popupplatform.dto.chat.response.ChatMessageResponse;
+import com.popspot.popupplatform.mapper.chat.ChatUserMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 채팅 메시지 보낸 사람 정보 캐시 (JVM 내 LRU + TTL)
+ *
+ * - 메시지 조회 쿼리는 user_id 만 내려주고, 닉네임/사진/상태는 여기서 채움 (USER JOIN 제거)
+ * - 없는 유저는 캐시하지 않음
+ *
+ * 무효화
+ * - 프로필/상태 변경 커밋 후 evictAfterCommit → Redis 채널(chat-profile-evict)로 userId 발행
+ * - 모든 노드가 채널을 구독해서 자기 캐시에서 제거 (RedisConfig 에 리스너 등록)
+ * - 발행이 유실돼도 TTL 이 지나면 다시 조회
+ * - 무효화마다 세대(generation) 증가, 조회 시작 후 세대가 바뀌었으면 조회 결과를 캐시하지 않음
+ *   → 무효화 전에 시작한 조회가 변경 전 값을 무효화 뒤에 다시 넣는 경우 차단 (프로필 변경은 드물어서 놓치는 캐시는 적음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatSenderProfileService implements MessageListener {
+
+    public static final String EVICT_CHANNEL = "chat-profile-evict";
+
+    private final ChatUserMapper chatUserMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.profile-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${chat.profile-cache.ttl-ms:600000}")
+    private long ttlMillis;
+
+    private record Entry(ChatSenderProfile profile, long loadedAt) {}
+
+    // 무효화 세대 (cache 와 같은 락으로 읽고 씀)
+    private long generation;
+
+    // access-order LinkedHashMap = LRU (동시 접근은 synchronized 로 보호)
+    private final LinkedHashMap<Long, Entry> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("chat.profile-cache.size", cache, c -> {
+            synchronized (c) {
+                return c.size();
+            }
+        }).register(meterRegistry);
+
+        hitCounter = meterRegistry.counter("chat.profile-cache.requests", "result", "hit");
+        missCounter = meterRegistry.counter("chat.profile-cache.requests", "result", "miss");
+    }
+
+    public ChatSenderProfile get(Long userId) {
+        if (userId == null) return null;
+        return getAll(Set.of(userId)).get(userId);
+    }
+
+    /**
+     * 여러 명 조회 (캐시에 없는 유저만 IN 쿼리 1번)
+     */
+    public Map<Long, ChatSenderProfile> getAll(Collection<Long> userIds) {
+        Map<Long, ChatSenderProfile> result = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+
+        synchronized (cache) {
+            loadGeneration = generation;
+            for (Long id : userIds) {
+                if (id == null) continue;
+                Entry e = cache.get(id);
+                if (e != null && now - e.loadedAt() < ttlMillis) {
+                    result.put(id, e.profile());
+                } else {
+                    missing.add(id);
+                }
+            }
+        }
+
+        hitCounter.increment(result.size());
+        if (!missing.isEmpty()) {
+            missCounter.increment(missing.size());
+            List<ChatSenderProfile> loaded = chatUserMapper.selectSenderProfiles(missing);
+            synchronized (cache) {
+                // 조회 중 무효화가 있었으면 결과만 쓰고 캐시하지 않음 (변경 전 값일 수 있음)
+                boolean cacheable = loadGeneration == generation;
+                for (ChatSenderProfile p : loaded) {
+                    result.put(p.getUserId(), p);
+                    if (cacheable) cache.put(p.getUserId(), new Entry(p, now));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 메시지 목록에 보낸 사람 닉네임/사진/상태 채우기
+     */
+    public void fillSenders(Collection<ChatMessageResponse> messages) {
+        if (messages.isEmpty()) return;
+
+        Set<Long> senderIds = new LinkedHashSet<>();
+        for (ChatMessageResponse m : messages) {
+            senderIds.add(m.getSenderId());
+        }
+
+        Map<Long, ChatSenderProfile> profiles = getAll(senderIds);
+        for (ChatMessageResponse m : messages) {
+            ChatSenderProfile p = profiles.get(m.getSenderId());
+            if (p == null) continue;
+            m.setSenderNickname(p.getNickname());
+            m.setSenderProfileUrl(p.getProfileUrl());
+            m.setSenderStatus(p.getStatus());
+        }
+    }
+
+    public void evict(Long userId) {
+        synchronized (cache) {
+            generation++;
+            cache.remove(userId);
+        }
+    }
+
+    /**
+     * 모든 노드 캐시에서 제거 (트랜잭션 안이면 커밋 후, 아니면 즉시)
+     * - 커밋 전에 지우면 다른 요청이 변경 전 값을 다시 캐시할 수 있음
+     */
+    public void evictAfterCommit(Long userId) {
+        if (userId == null) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    broadcastEvict(userId);
+                }
+            });
+        } else {
+            broadcastEvict(userId);
+        }
+    }
+
+    private void broadcastEvict(Long userId) {
+        evict(userId);
+        try {
+            stringRedisTemplate.convertAndSend(EVICT_CHANNEL, String.valueOf(userId));
+        } catch (Exception e) {
+            log.warn("[ChatSenderProfile] 무효화 발행 실패 (다른 노드는 TTL 까지 유지). userId={}", userId, e);
+        }
+    }
+
+    // 다른 노드(자기 자신 포함)의 무효화 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            evict(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.warn("[ChatSenderProfile] 잘못된 무효화 메시지. body={}", new String(message.getBody(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -34,6 +34,10 @@ public class GroupChatRoomService {
     private final GroupChatRoomMapper roomMapper;
     private final ChatParticipantMapper participantMapper;
     private final ChatMessageMapper chatMessageMapper;
+    private final ChatMessageIdAllocator chatMessageIdAllocator;
+    private final ChatReadWatermarkIndex chatReadWatermarkIndex;
+    private final ChatInboxService chatInboxService;
+    private final ChatRecentMessageCache chatRecentMessageCache;
     private final UserMapper userMapper;
     private final RedisPublisher redisPublisher;
     private final ObjectMapper objectMapper;
@@ -91,6 +95,8 @@ public class GroupChatRoomService {
                 .cmId(0L)
                 .build();
         participantMapper.insertParticipant(cp);
+        // 새 방은 채팅 목록 인덱스에 없으므로 커밋 후 재구성
+        chatInboxService.invalidateAfterCommit(List.of(userId));
 
         //생성된 채팅방 객체 ID 반환
         return room.getGcrId();
@@ -151,6 +157,8 @@ public class GroupChatRoomService {
                 .build();
         //참여자저장
         participantMapper.insertParticipant(participant);
+        chatReadWatermarkIndex.invalidateAfterCommit("GROUP", gcrId);
+        chatInboxService.invalidateAfterCommit(List.of(userId));
 
         try {
             UserDto userDto = userMapper.findById(userId)
@@ -164,8 +172,11 @@ public class GroupChatRoomService {
             systemMsg.setSenderId(userId); //  SYSTEM은 유저 아님
             systemMsg.setMessageType("SYSTEM");
             systemMsg.setContent(userDto.getNickname() + "님이 채팅방에 입장했습니다");
+            // cm_id 는 발급기 기준 (AUTO_INCREMENT 로 넣으면 배치 저장 대기 중인 ID 와 충돌)
+            systemMsg.setCmId(chatMessageIdAllocator.next());
 
             chatMessageMapper.insertMessage(systemMsg);
+            chatRecentMessageCache.invalidateAfterCommit("GROUP", gcrId);
 
             Map<String, Object> payload = Map.of(
                     "userId", userId,
@@ -268,6 +279,7 @@ public class GroupChatRoomService {
             throw new CustomException(ChatErrorCode.NOT_JOINED_ROOM);
         }
         participantMapper.deleteParticipant(gcrId, userId);
+        chatReadWatermarkIndex.invalidateAfterCommit("GROUP", gcrId);
 
         try {
             UserDto userDto = userMapper.findById(userId)
@@ -282,8 +294,10 @@ public class GroupChatRoomService {
             systemMsg.setSenderId(userId); //  SYSTEM은 유저 아님
             systemMsg.setMessageType("SYSTEM");
             systemMsg.setContent(userDto.getNickname() + "님이 채팅방을 나갔습니다");
+            systemMsg.setCmId(chatMessageIdAllocator.next());
 
             chatMessageMapper.insertMessage(systemMsg);
+            chatRecentMessageCache.invalidateAfterCommit("GROUP", gcrId);
 
             Map<String, Object> payload = Map.of(
                     "userId", userId,
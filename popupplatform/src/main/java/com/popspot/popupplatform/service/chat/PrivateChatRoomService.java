@@ -12,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +20,7 @@ public class PrivateChatRoomService {
     private final PrivateChatRoomMapper privateChatRoomMapper;
     private final PrivateChatRoomDeleteMapper privateChatRoomDeleteMapper;
     private final PrivateChatParticipantMapper privateChatParticipantMapper;
+    private final ChatInboxService chatInboxService;
 
     //1:1채팅시작
     //현재로그인유저currentUserId, 채팅하는상대방targetUserId
@@ -44,6 +46,8 @@ public class PrivateChatRoomService {
 
         privateChatParticipantMapper.insertParticipant(newRoom.getPcrId(), currentUserId);
         privateChatParticipantMapper.insertParticipant(newRoom.getPcrId(), targetUserId);
+        // 새 방은 두 사람의 채팅 목록 인덱스에 없으므로 재구성
+        chatInboxService.invalidateAfterCommit(List.of(currentUserId, targetUserId));
 
         return newRoom.getPcrId();
     }
@@ -78,16 +82,6 @@ public class PrivateChatRoomService {
         privateChatRoomDeleteMapper.updateDeleteFlag(pcrId, userId, true);
         privateChatRoomDeleteMapper.updateLastDeletedAt(pcrId, userId);
     }
-    //1대1채팅삭제했는데, 새 메시지가 도착했을 때 (삭제상태해제 후, 방 재등장)
-    @Transactional
-    public void restorePrivateRoomOnNewMessage(Long userId, Long pcrId) {
-        PrivateChatRoomDelete deleteRecord = privateChatRoomDeleteMapper.findDeleteRecord(pcrId, userId);
-        //삭제 기록이 있고, 삭제여부가 true라면
-        if(deleteRecord != null && Boolean.TRUE.equals(deleteRecord.getPcrdIsDeleted())) {
-            //삭제여부만false, last_deleted_at은 유지
-            privateChatRoomDeleteMapper.updateDeleteFlag(pcrId, userId, false);
-        }
-    }
     // 상대방 userId 조회 (메시지 전송 전 필수)
     public Long getOtherUserId(Long pcrId, Long senderId) {
         PrivateChatRoom room = privateChatRoomMapper.findById(pcrId);
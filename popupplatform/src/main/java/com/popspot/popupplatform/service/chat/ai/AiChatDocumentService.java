@@ -2,11 +2,14 @@ package com.popspot.popupplatform.service.chat.ai;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.popspot.popupplatform.dto.chat.ChatAiDocument;
+import com.popspot.popupplatform.dto.chat.enums.ChatAiDocumentType;
 import com.popspot.popupplatform.mapper.postgres.ChatAiDocumentMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -16,35 +19,86 @@ public class AiChatDocumentService {
 
     private final ChatAiDocumentMapper mapper;
     private final AiEmbeddingService embeddingService;
+    private final ChatAiVectorStore vectorStore;
     private final ObjectMapper objectMapper;
 
+    private static final int INSERT_BATCH_SIZE = 200;
+
+    // 재색인 입력 (문서 내용 + 메타데이터)
+    public record Source(String content, Map<String, Object> metadata) {}
+
     @Transactional
     public void save(String content, Map<String, Object> metadata) {
         float[] embedding = embeddingService.embed(content);
 
-        String metadataJson;
-        try {
-            metadataJson = objectMapper.writeValueAsString(metadata);
-        } catch (Exception e) {
-            throw new RuntimeException("metadata JSON 변환 실패", e);
-        }
-
         ChatAiDocument doc = ChatAiDocument.builder()
                 .content(content)
                 .embedding(embedding)
-                .metadata(metadataJson)
+                .metadata(toJson(metadata))
                 .build();
 
         mapper.insertDocument(doc);
     }
 
+    /**
+     * 여러 문서 저장 (재색인용): 임베딩은 묶어서 원격 호출, INSERT 는 batch-size 개씩 multi-row
+     */
+    @Transactional
+    public void saveAll(List<Source> sources) {
+        if (sources.isEmpty()) return;
+        insertAll(toDocuments(sources));
+    }
+
+    /**
+     * 팝업 문서 교체 (ChatAiDocumentIndexer): popupIds 의 기존 문서 삭제 + sources INSERT 를 한 트랜잭션으로
+     * - 임베딩을 먼저 계산하고 나서 DELETE → 원격 호출 동안 행 잠금 없음
+     * - sources 가 비어 있으면 삭제만 (종료/반려/삭제된 팝업)
+     */
+    @Transactional(transactionManager = "postgresTxManager")
+    public void replacePopupDocuments(Collection<Long> popupIds, List<Source> sources) {
+        if (popupIds.isEmpty()) return;
+        List<ChatAiDocument> docs = sources.isEmpty() ? List.of() : toDocuments(sources);
+
+        mapper.deleteByPopupIds(popupIds);
+        insertAll(docs);
+    }
+
     public List<ChatAiDocument> search(String query, int limit, String type) {
         float[] embedding = embeddingService.embed(query);
-        return mapper.searchSimilar(embedding, limit, type);
+        return vectorStore.search(embedding, ChatAiDocumentType.from(type), limit, null, null);
     }
 
     @Transactional
     public void deleteByPopupId(Long popupId) {
         mapper.deleteByPopupId(popupId);
     }
+
+    private List<ChatAiDocument> toDocuments(List<Source> sources) {
+        List<float[]> embeddings = embeddingService.embedAll(
+                sources.stream().map(Source::content).toList());
+
+        List<ChatAiDocument> docs = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            docs.add(ChatAiDocument.builder()
+                    .content(sources.get(i).content())
+                    .embedding(embeddings.get(i))
+                    .metadata(toJson(sources.get(i).metadata()))
+                    .build());
+        }
+        return docs;
+    }
+
+    private void insertAll(List<ChatAiDocument> docs) {
+        for (int from = 0; from < docs.size(); from += INSERT_BATCH_SIZE) {
+            mapper.insertDocuments(docs.subList(from, Math.min(from + INSERT_BATCH_SIZE, docs.size())));
+        }
+    }
+
+    private String toJson(Map<String, Object> metadata) {
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (Exception e) {
+            throw new RuntimeException("metadata JSON 변환 실패", e);
+        }
+    }
 }
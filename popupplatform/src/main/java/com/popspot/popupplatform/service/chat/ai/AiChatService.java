@@ -8,6 +8,7 @@ import org.springframework.ai.image.ImageModel;
 import org.springframework.ai.image.ImagePrompt;
 import org.springframework.ai.image.ImageResponse;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.net.URL;
 
@@ -50,6 +51,14 @@ public class AiChatService {
                 .content();
     }
 
+    //AI응답 스트리밍 (토큰 단위)
+    public Flux<String> streamPureLlmReply(String userText) {
+        return pureClient.prompt()
+                .user(userText)
+                .stream()
+                .content();
+    }
+
     public boolean isImageRequest(String text) {
         if (text == null) return false;
 
@@ -69,8 +78,22 @@ public class AiChatService {
        일반 안내 답변 (Q&A)
        =============================== */
     public String getAiReplyWithContext(String userText, String context) {
+        return ragClient.prompt()
+                .user(contextPrompt(userText, context))
+                .call()
+                .content();
+    }
 
-        String prompt = """
+    //일반 안내 답변 스트리밍 (토큰 단위)
+    public Flux<String> streamAiReplyWithContext(String userText, String context) {
+        return ragClient.prompt()
+                .user(contextPrompt(userText, context))
+                .stream()
+                .content();
+    }
+
+    private String contextPrompt(String userText, String context) {
+        return """
     너는 팝스팟(Popspot)의 공식 안내 AI 'POPBOT'이야.
     너의 역할은 '정보를 전달하는 직원'처럼 친절하게 안내하는 거야.
 
@@ -100,11 +123,6 @@ public class AiChatService {
     예시 톤:
     "현재 팝스팟에 등록된 정보 기준으로 안내드릴게요 🙂"
     """.formatted(context, userText);
-
-        return ragClient.prompt()
-                .user(prompt)
-                .call()
-                .content();
     }
 
     /* ===============================
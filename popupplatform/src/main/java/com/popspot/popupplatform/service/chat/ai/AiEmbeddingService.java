@@ -1,22 +1,231 @@
 package com.popspot.popupplatform.service.chat.ai;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.Embedding;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * 임베딩 생성 + 캐시
+ *
+ * - 키: 모델명 + 원문 SHA-256 (같은 질문/문서는 다시 호출하지 않음)
+ * - L1: JVM LRU (l1-capacity 개)
+ * - L2: Redis ai:embedding:{model}:{sha256} = float32 little-endian 바이트 (1536차원 ≈ 6KB)
+ * - 원격 호출: 캐시에 없는 것만 batch-size 개씩 묶어서 1번 (embedAll)
+ *
+ * 메트릭: ai.embedding.lookups{result=l1|l2|miss}, ai.embedding.remote
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AiEmbeddingService {
 
+    private static final String KEY_PREFIX = "ai:embedding:";
+
     private final EmbeddingModel embeddingModel;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // 모델이 바뀌면 다른 키 → 이전 벡터와 섞이지 않음
+    @Value("${spring.ai.openai.embedding.options.model:text-embedding-ada-002}")
+    private String model;
+
+    @Value("${ai.embedding.cache.l1-capacity:2000}")
+    private int l1Capacity;
+
+    @Value("${ai.embedding.cache.ttl-days:30}")
+    private long ttlDays;
+
+    // 원격 호출 1번에 보내는 최대 텍스트 수
+    @Value("${ai.embedding.batch-size:100}")
+    private int batchSize;
+
+    private Map<String, float[]> l1;
+    private Timer remoteTimer;
+
+    @PostConstruct
+    void init() {
+        l1 = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+                return size() > l1Capacity;
+            }
+        };
+        remoteTimer = meterRegistry.timer("ai.embedding.remote");
+    }
 
     public float[] embed(String text) {
-        return embeddingModel
-                .call(new EmbeddingRequest(List.of(text), null))
-                .getResult()
-                .getOutput();
+        return embedAll(List.of(text)).get(0);
+    }
+
+    /**
+     * 여러 텍스트 임베딩 (입력 순서대로 반환, 중복 텍스트는 1번만 계산)
+     */
+    public List<float[]> embedAll(List<String> texts) {
+        List<String> keys = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            keys.add(key(text));
+        }
+
+        Map<String, float[]> found = new LinkedHashMap<>();
+        Map<String, String> missing = new LinkedHashMap<>(); // key → text
+
+        // 1) L1
+        synchronized (l1) {
+            for (int i = 0; i < texts.size(); i++) {
+                String key = keys.get(i);
+                if (found.containsKey(key) || missing.containsKey(key)) continue;
+                float[] v = l1.get(key);
+                if (v != null) {
+                    found.put(key, v);
+                } else {
+                    missing.put(key, texts.get(i));
+                }
+            }
+        }
+        record("l1", found.size());
+
+        // 2) L2 (Redis)
+        if (!missing.isEmpty()) {
+            Map<String, float[]> l2 = readL2(new ArrayList<>(missing.keySet()));
+            l2.forEach((key, v) -> {
+                missing.remove(key);
+                found.put(key, v);
+            });
+            putL1(l2);
+            record("l2", l2.size());
+        }
+
+        // 3) 원격 (batch-size 개씩)
+        if (!missing.isEmpty()) {
+            record("miss", missing.size());
+            List<String> missKeys = new ArrayList<>(missing.keySet());
+            for (int from = 0; from < missKeys.size(); from += batchSize) {
+                List<String> chunkKeys = missKeys.subList(from, Math.min(from + batchSize, missKeys.size()));
+                List<String> chunkTexts = chunkKeys.stream().map(missing::get).toList();
+
+                List<float[]> vectors = callRemote(chunkTexts);
+
+                Map<String, float[]> computed = new LinkedHashMap<>();
+                for (int i = 0; i < chunkKeys.size(); i++) {
+                    computed.put(chunkKeys.get(i), vectors.get(i));
+                }
+                found.putAll(computed);
+                putL1(computed);
+                writeL2(computed);
+            }
+        }
+
+        List<float[]> result = new ArrayList<>(texts.size());
+        for (String key : keys) {
+            result.add(found.get(key));
+        }
+        return result;
+    }
+
+    private List<float[]> callRemote(List<String> texts) {
+        List<Embedding> results = remoteTimer.record(() ->
+                embeddingModel.call(new EmbeddingRequest(texts, null)).getResults());
+
+        // 응답 순서가 아니라 index 기준으로 맞춤
+        float[][] vectors = new float[texts.size()][];
+        for (Embedding e : results) {
+            vectors[e.getIndex()] = e.getOutput();
+        }
+        return Arrays.asList(vectors);
+    }
+
+    private Map<String, float[]> readL2(List<String> keys) {
+        Map<String, float[]> hits = new LinkedHashMap<>();
+        try {
+            byte[][] rawKeys = keys.stream()
+                    .map(k -> k.getBytes(StandardCharsets.UTF_8))
+                    .toArray(byte[][]::new);
+            List<byte[]> values = stringRedisTemplate.execute(
+                    (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(rawKeys));
+            if (values == null) return hits;
+
+            for (int i = 0; i < keys.size(); i++) {
+                byte[] v = values.get(i);
+                if (v != null) {
+                    hits.put(keys.get(i), fromBytes(v));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("[AiEmbedding] 캐시 조회 실패, 원격 호출로 대체. size={}", keys.size(), e);
+        }
+        return hits;
+    }
+
+    private void writeL2(Map<String, float[]> vectors) {
+        Expiration ttl = Expiration.from(Duration.ofDays(ttlDays));
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                vectors.forEach((key, v) -> connection.stringCommands().set(
+                        key.getBytes(StandardCharsets.UTF_8),
+                        toBytes(v),
+                        ttl,
+                        RedisStringCommands.SetOption.upsert()
+                ));
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("[AiEmbedding] 캐시 저장 실패. size={}", vectors.size(), e);
+        }
+    }
+
+    private void putL1(Map<String, float[]> vectors) {
+        synchronized (l1) {
+            l1.putAll(vectors);
+        }
+    }
+
+    private void record(String result, int count) {
+        if (count > 0) {
+            meterRegistry.counter("ai.embedding.lookups", "result", result).increment(count);
+        }
+    }
+
+    private String key(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return KEY_PREFIX + model + ":" + HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 사용 불가", e);
+        }
+    }
+
+    private static byte[] toBytes(float[] v) {
+        ByteBuffer buf = ByteBuffer.allocate(v.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buf.asFloatBuffer().put(v);
+        return buf.array();
+    }
+
+    private static float[] fromBytes(byte[] bytes) {
+        float[] v = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(v);
+        return v;
     }
 }
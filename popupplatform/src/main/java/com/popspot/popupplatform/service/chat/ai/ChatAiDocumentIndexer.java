@@ -0,0 +1,320 @@
+package com.popspot.popupplatform.service.chat.ai;
+
+import com.popspot.popupplatform.domain.popup.PopupChangeLog;
+import com.popspot.popupplatform.domain.popup.PopupStore;
+import com.popspot.popupplatform.dto.chat.enums.ChatAiDocumentType;
+import com.popspot.popupplatform.dto.popup.enums.PopupStatus;
+import com.popspot.popupplatform.mapper.popup.PopupChangeLogMapper; // MySQL
+import com.popspot.popupplatform.mapper.popup.PopupMapper; // MySQL
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * POPUP_CHANGE_LOG → chat_ai_documents 증분 재색인 (POPBOT RAG 문서)
+ *
+ * - 소비자 행(POPUP_CHANGE_CHECKPOINT)의 lease 를 선점한 노드 1곳만 처리 (같은 팝업 문서를 두 노드가 동시에 교체하지 않도록)
+ *   → 선점 / 반납은 짧은 UPDATE 1번씩, 임베딩 원격 호출과 Postgres 쓰기 동안 MySQL 커넥션/행 잠금을 잡지 않음
+ *   → lease 가 지나면(처리 중 노드 장애) 다른 노드가 이어서 처리
+ * - 소비자 행을 처음 만들 때 전체 팝업 이력을 같은 트랜잭션에서 적재 (1번만)
+ *   → 배포 전에 종료된 팝업 문서 제거 + 기존 문서에 chunk/region 메타데이터 반영
+ * - 이력은 geo outbox 와 같은 큐 방식 (행 단위 선점 → 성공하면 삭제, 실패하면 지수 백오프로 재시도 예약)
+ *   → pcl_id 체크포인트가 아니라서 늦게 커밋된 낮은 pcl_id (전체 재동기화 / 상태 스케줄러의 긴 트랜잭션)도 건너뛰지 않음
+ * - debounce: 최근 debounce-seconds 안에 쌓인 이력은 다음 회차로 미룸 (짧은 시간의 연속 수정이 1번으로 합쳐짐)
+ * - 배치 안의 pop_id 를 중복 제거 후 현재 MySQL 상태로 문서를 다시 만듦 (이벤트 종류와 무관, 재처리해도 결과 동일)
+ *   → 승인 + 미삭제 + 종료 전 팝업만 색인, 나머지는 문서 제거
+ * - 문서 교체(삭제 + INSERT)는 Postgres 트랜잭션 1번
+ * - 본문(요약/설명)이 길면 chunk-chars 단위로 나누고, 조각마다 이름/기간/장소/가격/상태를 붙여 단독 검색 가능하게
+ *
+ * 메트릭
+ * - ai.rag.indexer.pending : 미처리 이력 수
+ * - ai.rag.indexer.lag     : 가장 오래된 미처리 이력 이후 경과 시간(ms)
+ * - ai.rag.indexer.indexed / removed : 색인 / 제거한 팝업 수
+ * - ai.rag.indexer.failed  : 실패한 배치 수 (재시도 예약)
+ * - ai.rag.indexer.batch   : 배치 1회 소요 시간
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatAiDocumentIndexer {
+
+    private static final String CONSUMER = "chat-ai-document";
+
+    private final PopupChangeLogMapper popupChangeLogMapper; // MySQL
+    private final PopupMapper popupMapper;                   // MySQL
+    private final AiChatDocumentService aiChatDocumentService;
+    private final PlatformTransactionManager transactionManager; // @Primary = mysqlTxManager
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ai.rag.indexer.enabled:true}")
+    private boolean enabled;
+
+    // 1회 처리할 최대 이력 수
+    @Value("${ai.rag.indexer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ai.rag.indexer.debounce-seconds:10}")
+    private long debounceSeconds;
+
+    // 본문 조각 최대 길이 (문자)
+    @Value("${ai.rag.indexer.chunk-chars:1000}")
+    private int chunkChars;
+
+    // 재시도 간격 상한 (초)
+    @Value("${ai.rag.indexer.max-backoff-seconds:300}")
+    private int maxBackoffSeconds;
+
+    // 1배치 처리(임베딩 + 문서 교체) 최대 시간보다 넉넉하게
+    @Value("${ai.rag.indexer.lease-seconds:300}")
+    private int leaseSeconds;
+
+    private TransactionTemplate transactionTemplate;
+    private volatile boolean checkpointReady;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong batchSeq = new AtomicLong();
+
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private Counter indexedCounter;
+    private Counter removedCounter;
+    private Counter failedCounter;
+    private Timer batchTimer;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("ai.rag.indexer.pending", pendingCount, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("ai.rag.indexer.lag", lagMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        indexedCounter = meterRegistry.counter("ai.rag.indexer.indexed");
+        removedCounter = meterRegistry.counter("ai.rag.indexer.removed");
+        failedCounter = meterRegistry.counter("ai.rag.indexer.failed");
+        batchTimer = meterRegistry.timer("ai.rag.indexer.batch");
+    }
+
+    /**
+     * 주기적 재색인 (기본 5초, 1회 1배치)
+     */
+    @Scheduled(fixedDelayString = "${ai.rag.indexer.interval-ms:5000}")
+    public void index() {
+        if (!enabled) return;
+
+        try {
+            if (!checkpointReady) {
+                transactionTemplate.executeWithoutResult(status -> initCheckpoint());
+                checkpointReady = true;
+            }
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("[ChatAiIndexer] 체크포인트 초기화 실패, 다음 회차에 재시도", e);
+            return;
+        }
+
+        String owner = nodeId + "-" + batchSeq.incrementAndGet();
+        try {
+            if (popupChangeLogMapper.claimCheckpoint(CONSUMER, owner, leaseSeconds) == 0) return;
+
+            indexBatch(owner);
+            popupChangeLogMapper.releaseCheckpoint(CONSUMER, owner);
+            refreshMetrics();
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("[ChatAiIndexer] 재색인 실패, 다음 회차에 재시도", e);
+            releaseQuietly(owner);
+        }
+    }
+
+    /**
+     * 소비자 행 생성, 처음 만든 경우에만 전체 팝업 이력 적재 (같은 트랜잭션 → 1번만)
+     */
+    private void initCheckpoint() {
+        if (popupChangeLogMapper.insertCheckpointIfAbsent(CONSUMER) == 0) return;
+
+        int seeded = popupChangeLogMapper.insertAllPopups();
+        log.info("[ChatAiIndexer] 소비자 생성, 전체 팝업 재색인 이력 적재. popups={}", seeded);
+    }
+
+    /**
+     * lease 를 잡은 상태에서 1배치 (트랜잭션 밖, 문서 교체만 Postgres 트랜잭션)
+     * - 성공: 선점한 이력 삭제 / 실패: 선점한 이력 전체 재시도 예약 (행은 남음)
+     */
+    void indexBatch(String owner) {
+        List<PopupChangeLog> events = List.of();
+        if (popupChangeLogMapper.claimReady(owner, leaseSeconds, debounceSeconds, batchSize) > 0) {
+            events = popupChangeLogMapper.selectClaimed(owner);
+        }
+        if (events.isEmpty()) return;
+
+        Set<Long> popIds = new LinkedHashSet<>();
+        List<Long> eventIds = new ArrayList<>(events.size());
+        for (PopupChangeLog e : events) {
+            popIds.add(e.getPopId());
+            eventIds.add(e.getPclId());
+        }
+
+        try {
+            batchTimer.record(() -> reindex(popIds));
+        } catch (Exception e) {
+            failedCounter.increment();
+            popupChangeLogMapper.markFailed(owner, eventIds, String.valueOf(e.getMessage()), maxBackoffSeconds);
+            log.warn("[ChatAiIndexer] 재색인 실패, 재시도 예약. events={}, popups={}", events.size(), popIds.size(), e);
+            return;
+        }
+
+        popupChangeLogMapper.deleteByIds(owner, eventIds);
+        log.debug("[ChatAiIndexer] reindexed. events={}, popups={}", events.size(), popIds.size());
+    }
+
+    private void reindex(Set<Long> popIds) {
+        List<PopupStore> popups = popupMapper.selectPopupStoresForAiDocByIds(new ArrayList<>(popIds));
+
+        List<AiChatDocumentService.Source> sources = new ArrayList<>();
+        int indexed = 0;
+        for (PopupStore p : popups) {
+            if (!isIndexable(p)) continue;
+            sources.addAll(toSources(p));
+            indexed++;
+        }
+
+        // 대상 팝업 전체 문서 삭제 후 색인 대상만 다시 INSERT (행이 사라진 팝업도 삭제됨)
+        aiChatDocumentService.replacePopupDocuments(popIds, sources);
+
+        indexedCounter.increment(indexed);
+        removedCounter.increment(popIds.size() - indexed);
+    }
+
+    // 승인 + 미삭제 + 종료 전
+    private boolean isIndexable(PopupStore p) {
+        return Boolean.TRUE.equals(p.getPopModerationStatus())
+                && !Boolean.TRUE.equals(p.getPopIsDeleted())
+                && p.getPopStatus() != PopupStatus.ENDED;
+    }
+
+    /* =====================================================
+    팝업 → AI 문서 변환 (본문 조각마다 1건)
+     ===================================================== */
+
+    private List<AiChatDocumentService.Source> toSources(PopupStore popup) {
+        String body = popup.getPopAiSummary() != null
+                ? popup.getPopAiSummary()
+                : popup.getPopDescription();
+
+        List<String> chunks = splitBody(body);
+        List<AiChatDocumentService.Source> sources = new ArrayList<>(chunks.size());
+
+        for (int i = 0; i < chunks.size(); i++) {
+            String content = """
+                    팝업스토어 이름: %s
+
+                    요약:
+                    %s
+
+                    운영 기간:
+                    %s ~ %s
+
+                    장소:
+                    %s
+
+                    가격:
+                    %s (%s원)
+
+                    상태:
+                    %s
+                    """.formatted(
+                    popup.getPopName(),
+                    chunks.get(i),
+                    popup.getPopStartDate(),
+                    popup.getPopEndDate(),
+                    popup.getPopLocation(),
+                    popup.getPopPriceType(),
+                    popup.getPopPrice(),
+                    popup.getPopStatus()
+            );
+
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("type", ChatAiDocumentType.POPUP.getValue());
+            metadata.put("popupId", popup.getPopId());
+            metadata.put("name", popup.getPopName());
+            metadata.put("status", popup.getPopStatus() != null ? popup.getPopStatus().name() : null);
+            metadata.put("priceType", popup.getPopPriceType() != null ? popup.getPopPriceType().name() : null);
+            metadata.put("chunk", i);
+            // 지역 필터용 (주소 첫 단어: 서울특별시 / 경기도 ...)
+            if (popup.getPopLocation() != null && !popup.getPopLocation().isBlank()) {
+                metadata.put("region", popup.getPopLocation().trim().split("\\s+")[0]);
+            }
+
+            sources.add(new AiChatDocumentService.Source(content, metadata));
+        }
+        return sources;
+    }
+
+    /**
+     * 문단 단위로 chunk-chars 까지 묶음 (한 문단이 더 길면 잘라서 나눔)
+     */
+    private List<String> splitBody(String body) {
+        if (body == null || body.isBlank()) return List.of("");
+
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+
+        for (String paragraph : body.strip().split("\\n\\s*\\n")) {
+            String p = paragraph.strip();
+            if (p.isEmpty()) continue;
+
+            if (!current.isEmpty() && current.length() + 2 + p.length() > chunkChars) {
+                chunks.add(current.toString());
+                current.setLength(0);
+            }
+            while (p.length() > chunkChars) {
+                chunks.add(p.substring(0, chunkChars));
+                p = p.substring(chunkChars);
+            }
+            if (!current.isEmpty()) current.append("\n\n");
+            current.append(p);
+        }
+        if (!current.isEmpty()) chunks.add(current.toString());
+
+        return chunks;
+    }
+
+    private void releaseQuietly(String owner) {
+        try {
+            popupChangeLogMapper.releaseCheckpoint(CONSUMER, owner);
+        } catch (Exception e) {
+            log.warn("[ChatAiIndexer] lease 반납 실패, 만료 후 재시도. owner={}", owner, e);
+        }
+    }
+
+    private void refreshMetrics() {
+        pendingCount.set(popupChangeLogMapper.countPending());
+
+        LocalDateTime oldest = popupChangeLogMapper.selectOldestCreatedAt();
+        lagMillis.set(oldest == null ? 0L : Math.max(0L, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+    }
+}
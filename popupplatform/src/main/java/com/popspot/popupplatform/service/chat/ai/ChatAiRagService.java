@@ -3,7 +3,7 @@ package com.popspot.popupplatform.service.chat.ai;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.popspot.popupplatform.dto.chat.ChatAiDocument;
-import com.popspot.popupplatform.mapper.postgres.ChatAiDocumentMapper;
+import com.popspot.popupplatform.dto.chat.enums.ChatAiDocumentType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -15,14 +15,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ChatAiRagService {
 
-    private final ChatAiDocumentMapper documentMapper;
+    private final ChatAiVectorStore vectorStore;
     private final AiEmbeddingService embeddingService;
     private final ObjectMapper objectMapper;
 
     /** 질문과 가장 유사한 문서 N개 검색 */
     public List<ChatAiDocument> searchRelevantDocs(String question, int limit) {
         float[] embedding = embeddingService.embed(question);
-        return documentMapper.searchSimilar(embedding, limit, "popup");
+        return vectorStore.search(embedding, ChatAiDocumentType.POPUP, limit, null, null);
     }
 
     /** AI 프롬프트에 넣을 Context 문자열 생성 */
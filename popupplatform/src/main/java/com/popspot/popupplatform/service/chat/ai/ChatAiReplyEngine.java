@@ -0,0 +1,254 @@
+package com.popspot.popupplatform.service.chat.ai;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * POPBOT 응답 실행기 (사람 채팅과 스레드 분리)
+ *
+ * - 전용 고정 크기 풀 + 큐 상한: OpenAI 호출이 느려져도 STOMP inbound 스레드는 바로 반환
+ * - 방(= 유저와 POPBOT 의 1:1 방)별 순서 보장 큐: 앞 답변이 끝나야 다음 질문 처리, 방당 대기 상한
+ * - 타임아웃: 큐 대기 + 생성 시간이 넘으면 작업 취소(interrupt), 늦게 끝난 답변은 보내지 않음
+ * - 타이핑 지연: 생성 스레드에서 sleep 하지 않고 스케줄러로 전송만 미룸
+ * - 거절(방 대기 상한 / 실행기 큐 가득): onRejected 로 알림 → 호출 측이 사용자에게 안내
+ *
+ * 메트릭
+ * - chat.ai.reply.pending            방 큐에 쌓인 전체 작업 수
+ * - chat.ai.reply.executor.queue     실행기 큐 길이
+ * - chat.ai.reply.wait / generate    큐 대기 / 답변 생성 시간
+ * - chat.ai.reply.result{result=ok|rejected|timeout|error}
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatAiReplyEngine {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.ai.reply.threads:8}")
+    private int threads;
+
+    @Value("${chat.ai.reply.queue-capacity:200}")
+    private int queueCapacity;
+
+    // 방당 대기(처리 중 포함) 상한, 넘으면 새 질문은 거절
+    @Value("${chat.ai.reply.max-pending-per-room:3}")
+    private int maxPendingPerRoom;
+
+    @Value("${chat.ai.reply.timeout-ms:60000}")
+    private long timeoutMillis;
+
+    /**
+     * 생성된 답변: typingDelay 뒤에 deliver 실행 (저장 + publish)
+     */
+    public record Reply(Duration typingDelay, Runnable deliver) {}
+
+    private static final class Lane {
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+        private int pending;
+    }
+
+    private final Map<Long, Lane> lanes = new HashMap<>();
+    private int pendingTotal;
+
+    private ThreadPoolTaskExecutor executor;
+    private ThreadPoolTaskScheduler scheduler;
+
+    private Timer waitTimer;
+    private Timer generateTimer;
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("chat-ai-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.initialize();
+
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("chat-ai-timer-");
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.initialize();
+
+        Gauge.builder("chat.ai.reply.pending", this, e -> e.pendingTotal())
+                .register(meterRegistry);
+        Gauge.builder("chat.ai.reply.executor.queue", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .register(meterRegistry);
+
+        waitTimer = meterRegistry.timer("chat.ai.reply.wait");
+        generateTimer = meterRegistry.timer("chat.ai.reply.generate");
+    }
+
+    /**
+     * 방 큐 뒤에 답변 작업 추가 (호출 스레드는 바로 반환)
+     *
+     * @param generator 실행기 스레드에서 답변 생성 (null 반환 시 보낼 답변 없음)
+     * @param onDone    성공/실패/타임아웃과 무관하게 마지막에 1번 (타이핑 종료 등)
+     * @param onRejected 방 대기 상한 초과 / 실행기 큐 가득으로 거절됐을 때 1번 (잠금 밖에서 호출)
+     * @return 방 대기 상한을 넘어 거절되면 false
+     */
+    public boolean submit(Long roomId, Callable<Reply> generator, Runnable onDone, Runnable onRejected) {
+        long enqueuedAt = System.nanoTime();
+        CompletableFuture<Void> next;
+        boolean overLimit = false;
+        synchronized (this) {
+            Lane lane = lanes.computeIfAbsent(roomId, k -> new Lane());
+            if (lane.pending >= maxPendingPerRoom) {
+                record("rejected");
+                log.warn("[ChatAiReply] 방 대기 상한 초과, 거절. roomId={}, pending={}", roomId, lane.pending);
+                overLimit = true;
+                next = null;
+            } else {
+                lane.pending++;
+                pendingTotal++;
+
+                // 앞 작업 결과와 무관하게 순서대로 이어서 실행
+                next = lane.tail
+                        .handle((r, e) -> null)
+                        .thenCompose(ignored -> run(generator, enqueuedAt));
+                lane.tail = next;
+            }
+        }
+        if (overLimit) {
+            notifyRejected(roomId, onRejected);
+            return false;
+        }
+
+        CompletableFuture<Void> self = next;
+        self.whenComplete((r, e) -> {
+            try {
+                onDone.run();
+            } catch (Exception ex) {
+                log.warn("[ChatAiReply] 종료 처리 실패. roomId={}", roomId, ex);
+            }
+            // 실행기 큐가 가득 차서 거절된 경우
+            if (e != null && (e instanceof TaskRejectedException || e.getCause() instanceof TaskRejectedException)) {
+                notifyRejected(roomId, onRejected);
+            }
+            synchronized (this) {
+                Lane lane = lanes.get(roomId);
+                if (lane != null) {
+                    lane.pending--;
+                    pendingTotal--;
+                    if (lane.pending == 0 && lane.tail == self) {
+                        lanes.remove(roomId);
+                    }
+                }
+            }
+        });
+        return true;
+    }
+
+    private CompletableFuture<Void> run(Callable<Reply> generator, long enqueuedAt) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        Future<?> job;
+        try {
+            job = executor.submit(() -> {
+                if (result.isDone()) return;
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+
+                long start = System.nanoTime();
+                Reply reply;
+                try {
+                    reply = generator.call();
+                } catch (Exception e) {
+                    fail(result, "error", e);
+                    return;
+                } finally {
+                    generateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+
+                if (reply == null) {
+                    complete(result);
+                    return;
+                }
+                scheduler.schedule(() -> deliver(result, reply), Instant.now().plus(reply.typingDelay()));
+            });
+        } catch (TaskRejectedException e) {
+            fail(result, "rejected", e);
+            return result;
+        }
+
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+            if (result.completeExceptionally(new TimeoutException())) {
+                record("timeout");
+                log.warn("[ChatAiReply] 답변 타임아웃, 작업 취소. timeoutMs={}", timeoutMillis);
+                job.cancel(true);
+            }
+        }, Instant.now().plusMillis(timeoutMillis));
+        result.whenComplete((r, e) -> timeout.cancel(false));
+
+        return result;
+    }
+
+    private void notifyRejected(Long roomId, Runnable onRejected) {
+        try {
+            onRejected.run();
+        } catch (Exception e) {
+            log.warn("[ChatAiReply] 거절 안내 실패. roomId={}", roomId, e);
+        }
+    }
+
+    private void deliver(CompletableFuture<Void> result, Reply reply) {
+        // 타임아웃으로 이미 끝난 작업은 보내지 않음
+        if (result.isDone()) return;
+        try {
+            reply.deliver().run();
+            complete(result);
+        } catch (Exception e) {
+            fail(result, "error", e);
+        }
+    }
+
+    private void complete(CompletableFuture<Void> result) {
+        if (result.complete(null)) {
+            record("ok");
+        }
+    }
+
+    private void fail(CompletableFuture<Void> result, String reason, Exception e) {
+        if (result.completeExceptionally(e)) {
+            record(reason);
+            log.warn("[ChatAiReply] 답변 실패. result={}", reason, e);
+        }
+    }
+
+    private void record(String result) {
+        meterRegistry.counter("chat.ai.reply.result", "result", result).increment();
+    }
+
+    private synchronized int pendingTotal() {
+        return pendingTotal;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,179 @@
+package com.popspot.popupplatform.service.chat.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popspot.popupplatform.global.redis.RedisPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * POPBOT 스트리밍 답변 중계 (ChatAiReplyEngine 실행기 스레드에서 호출)
+ *
+ * - 토큰을 모아 flush 간격마다 방 채널로 MESSAGE_DELTA 프레임 발행
+ *   {"type":"MESSAGE_DELTA","roomType":"PRIVATE","roomId","streamId","seq","delta"}
+ * - 스트림이 끝나면 모은 전체 텍스트를 반환 → 호출 측이 1번 저장 + MESSAGE 발행
+ *   (최종 메시지의 clientMessageKey = streamId 라서 클라이언트가 델타 말풍선을 교체)
+ * - 취소: 클라이언트가 /pub/chat/ai/cancel 로 streamId 전달 → Redis 키 표시
+ *   → 어느 노드에서 생성 중이든 다음 확인 때 구독 해제, 그때까지 받은 텍스트만 반환
+ *   → 스트림 시작 때 요청한 유저를 Redis 에 기록, 취소는 그 유저(STOMP 세션 user)만 가능
+ *
+ * 메트릭: chat.ai.stream.first-token (첫 토큰까지), chat.ai.stream.canceled
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatAiStreamPublisher {
+
+    private static final String CANCEL_KEY_PREFIX = "chat:ai:stream-cancel:";
+    private static final String OWNER_KEY_PREFIX = "chat:ai:stream-owner:";
+    private static final Duration CANCEL_TTL = Duration.ofMinutes(5);
+
+    private final RedisPublisher redisPublisher;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.ai.stream.enabled:true}")
+    private boolean enabled;
+
+    // 델타 프레임 묶음 간격 (토큰마다 프레임을 보내지 않음)
+    @Value("${chat.ai.stream.flush-interval-ms:50}")
+    private long flushIntervalMillis;
+
+    // 취소 표시 확인 간격 (토큰마다 Redis 조회하지 않음)
+    @Value("${chat.ai.stream.cancel-check-interval-ms:250}")
+    private long cancelCheckIntervalMillis;
+
+    private Timer firstTokenTimer;
+    private Counter canceledCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        firstTokenTimer = meterRegistry.timer("chat.ai.stream.first-token");
+        canceledCounter = meterRegistry.counter("chat.ai.stream.canceled");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 토큰 스트림을 델타 프레임으로 중계하고 전체 텍스트 반환 (취소되면 그때까지의 텍스트)
+     */
+    public String relay(Long roomId, Long ownerUserId, String streamId, Flux<String> tokens) {
+        markOwner(streamId, ownerUserId);
+
+        long start = System.nanoTime();
+        long lastFlush = start;
+        long lastCancelCheck = start;
+        boolean firstToken = true;
+        int seq = 0;
+
+        StringBuilder full = new StringBuilder();
+        StringBuilder pending = new StringBuilder();
+
+        // 스트림을 닫으면 업스트림 구독도 해제 (취소/타임아웃 interrupt 시 OpenAI 연결 정리)
+        try (Stream<String> stream = tokens.toStream()) {
+            Iterator<String> it = stream.iterator();
+            while (it.hasNext()) {
+                String token = it.next();
+                if (token == null || token.isEmpty()) continue;
+
+                long now = System.nanoTime();
+                if (firstToken) {
+                    firstTokenTimer.record(now - start, TimeUnit.NANOSECONDS);
+                    firstToken = false;
+                }
+                full.append(token);
+                pending.append(token);
+
+                if (now - lastFlush >= TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis)) {
+                    publishDelta(roomId, streamId, seq++, pending.toString());
+                    pending.setLength(0);
+                    lastFlush = now;
+                }
+
+                if (now - lastCancelCheck >= TimeUnit.MILLISECONDS.toNanos(cancelCheckIntervalMillis)) {
+                    lastCancelCheck = now;
+                    if (isCanceled(streamId)) {
+                        canceledCounter.increment();
+                        log.info("[ChatAiStream] 클라이언트 취소. roomId={}, streamId={}", roomId, streamId);
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            publishDelta(roomId, streamId, seq, pending.toString());
+        }
+        return full.toString();
+    }
+
+    /**
+     * 스트림 취소 표시 (생성 중인 노드가 확인 후 중단)
+     * @return 스트림을 요청한 유저가 아니면(또는 이미 끝난 스트림이면) false
+     */
+    public boolean cancel(String streamId, Long userId) {
+        if (streamId == null || streamId.isBlank() || userId == null) return false;
+
+        String owner = stringRedisTemplate.opsForValue().get(OWNER_KEY_PREFIX + streamId);
+        if (!String.valueOf(userId).equals(owner)) {
+            log.warn("[ChatAiStream] 소유자가 아닌 취소 요청 무시. streamId={}, userId={}", streamId, userId);
+            return false;
+        }
+        stringRedisTemplate.opsForValue().set(CANCEL_KEY_PREFIX + streamId, "1", CANCEL_TTL);
+        return true;
+    }
+
+    // 취소 권한 확인용 (스트림 최대 길이보다 넉넉하게, 기록 실패 시 그 스트림은 취소 불가)
+    private void markOwner(String streamId, Long ownerUserId) {
+        if (ownerUserId == null) return;
+        try {
+            stringRedisTemplate.opsForValue().set(OWNER_KEY_PREFIX + streamId, String.valueOf(ownerUserId), CANCEL_TTL);
+        } catch (Exception e) {
+            log.warn("[ChatAiStream] 스트림 소유자 기록 실패. streamId={}", streamId, e);
+        }
+    }
+
+    private boolean isCanceled(String streamId) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.hasKey(CANCEL_KEY_PREFIX + streamId));
+        } catch (Exception e) {
+            log.warn("[ChatAiStream] 취소 확인 실패. streamId={}", streamId, e);
+            return false;
+        }
+    }
+
+    private void publishDelta(Long roomId, String streamId, int seq, String delta) {
+        try {
+            redisPublisher.publish(
+                    "chat-room-PRIVATE-" + roomId,
+                    objectMapper.writeValueAsString(Map.of(
+                            "type", "MESSAGE_DELTA",
+                            "roomType", "PRIVATE",
+                            "roomId", roomId,
+                            "streamId", streamId,
+                            "seq", seq,
+                            "delta", delta
+                    ))
+            );
+        } catch (Exception e) {
+            // 델타는 최종 MESSAGE 로 덮이므로 유실돼도 계속 진행
+            log.warn("[ChatAiStream] MESSAGE_DELTA publish 실패. roomId={}, streamId={}", roomId, streamId, e);
+        }
+    }
+}
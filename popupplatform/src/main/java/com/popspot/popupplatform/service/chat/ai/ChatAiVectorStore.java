@@ -0,0 +1,160 @@
+package com.popspot.popupplatform.service.chat.ai;
+
+import com.popspot.popupplatform.dto.chat.ChatAiDocument;
+import com.popspot.popupplatform.dto.chat.ChatAiVectorSample;
+import com.popspot.popupplatform.dto.chat.enums.ChatAiDocumentType;
+import com.popspot.popupplatform.mapper.postgres.ChatAiDocumentMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * chat_ai_documents 벡터 검색 (pgvector HNSW)
+ *
+ * - 타입(doc_type, ChatAiDocumentType)별 부분 HNSW 인덱스 + status/region 컬럼 필터 (ChatAiDocumentMapper.xml 참고)
+ * - 검색마다 트랜잭션 범위로 hnsw.ef_search 설정 (클수록 정확, 느림)
+ * - 필터가 좁으면 HNSW 후보가 걸러져 limit 보다 적게 나올 수 있음
+ *   → pgvector 0.8+ 이면 ai.vector.iterative-scan=relaxed_order 로 부족분을 이어서 탐색
+ *
+ * benchmark(): 저장된 문서 벡터를 질의로 써서 ef_search 별 recall@k / 지연시간을 전체 비교와 대조
+ *   → 질의 문서 자신은 양쪽 결과에서 빼고 비교 (자기 자신은 항상 1위라 recall 이 부풀려짐)
+ *   → samples / k / ef_search 는 상한으로 자름 (관리자 호출 1번이 DB 를 오래 잡지 않도록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatAiVectorStore {
+
+    private static final int MAX_BENCHMARK_SAMPLES = 200;
+    private static final int MAX_BENCHMARK_K = 50;
+    private static final int MAX_BENCHMARK_EF_VALUES = 8;
+    private static final int MAX_EF_SEARCH = 1000; // pgvector hnsw.ef_search 상한
+
+    private final ChatAiDocumentMapper documentMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ai.vector.ef-search:40}")
+    private int efSearch;
+
+    // 비어 있으면 설정하지 않음 (pgvector 0.8 미만은 없는 설정)
+    @Value("${ai.vector.iterative-scan:}")
+    private String iterativeScan;
+
+    /**
+     * 유사 문서 검색 (status/region 은 null 이면 필터 없음)
+     */
+    @Transactional(transactionManager = "postgresTxManager", readOnly = true)
+    public List<ChatAiDocument> search(float[] embedding, ChatAiDocumentType type, int limit, String status, String region) {
+        applySearchConfig(efSearch, status != null || region != null);
+        return meterRegistry.timer("ai.vector.search", "type", type.getValue())
+                .record(() -> documentMapper.searchSimilar(embedding, limit, type, status, region));
+    }
+
+    /**
+     * ef_search 별 recall@k / 평균·p95 지연(ms) (관리자 점검용, 운영 트래픽 없을 때 실행)
+     */
+    @Transactional(transactionManager = "postgresTxManager", readOnly = true)
+    public List<Map<String, Object>> benchmark(ChatAiDocumentType type, int samples, int k, List<Integer> efSearches) {
+        samples = Math.max(1, Math.min(samples, MAX_BENCHMARK_SAMPLES));
+        k = Math.max(1, Math.min(k, MAX_BENCHMARK_K));
+        List<Integer> efs = efSearches.stream()
+                .map(ef -> Math.max(1, Math.min(ef, MAX_EF_SEARCH)))
+                .distinct()
+                .limit(MAX_BENCHMARK_EF_VALUES)
+                .toList();
+
+        List<Long> queryIds = new ArrayList<>();
+        List<float[]> queries = new ArrayList<>();
+        for (ChatAiVectorSample sample : documentMapper.selectSampleEmbeddings(type, samples)) {
+            queryIds.add(sample.getId());
+            queries.add(parseVector(sample.getEmbedding()));
+        }
+        if (queries.isEmpty()) return List.of();
+
+        // 기준값: 전체 비교
+        List<Set<Long>> truth = new ArrayList<>(queries.size());
+        long[] exactNanos = new long[queries.size()];
+        for (int i = 0; i < queries.size(); i++) {
+            long start = System.nanoTime();
+            List<Long> ids = documentMapper.searchExactIds(queries.get(i), k + 1, type, null, null);
+            truth.add(new HashSet<>(excludeSelf(ids, queryIds.get(i), k)));
+            exactNanos[i] = System.nanoTime() - start;
+        }
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        report.add(row("exact", 1.0, exactNanos));
+
+        for (int ef : efs) {
+            applySearchConfig(ef, false);
+            long[] annNanos = new long[queries.size()];
+            double recallSum = 0;
+            for (int i = 0; i < queries.size(); i++) {
+                long start = System.nanoTime();
+                List<Long> ids = excludeSelf(
+                        documentMapper.searchSimilarIds(queries.get(i), k + 1, type, null, null), queryIds.get(i), k);
+                annNanos[i] = System.nanoTime() - start;
+
+                Set<Long> expected = truth.get(i);
+                if (expected.isEmpty()) {
+                    recallSum += 1.0;
+                    continue;
+                }
+                long hit = ids.stream().filter(expected::contains).count();
+                recallSum += (double) hit / expected.size();
+            }
+            report.add(row("hnsw ef_search=" + ef, recallSum / queries.size(), annNanos));
+        }
+
+        log.info("[ChatAiVector] 벤치마크 type={}, samples={}, k={} → {}", type, queries.size(), k, report);
+        return report;
+    }
+
+    // 질의 문서 자신을 빼고 앞에서 k 개 (자기 자신이 없으면 그냥 k 개)
+    private List<Long> excludeSelf(List<Long> ids, Long selfId, int k) {
+        return ids.stream()
+                .filter(id -> !id.equals(selfId))
+                .limit(k)
+                .toList();
+    }
+
+    private void applySearchConfig(int ef, boolean filtered) {
+        documentMapper.setLocalConfig("hnsw.ef_search", String.valueOf(ef));
+        if (filtered && !iterativeScan.isBlank()) {
+            documentMapper.setLocalConfig("hnsw.iterative_scan", iterativeScan);
+        }
+    }
+
+    private Map<String, Object> row(String mode, double recall, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        double avgMs = Arrays.stream(sorted).average().orElse(0) / 1_000_000.0;
+        double p95Ms = sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.95) - 1)] / 1_000_000.0;
+        return Map.of(
+                "mode", mode,
+                "recall", Math.round(recall * 1000) / 1000.0,
+                "avgMs", Math.round(avgMs * 100) / 100.0,
+                "p95Ms", Math.round(p95Ms * 100) / 100.0
+        );
+    }
+
+    // pgvector 텍스트 표현 '[0.1,0.2,...]'
+    private float[] parseVector(String text) {
+        String body = text.substring(1, text.length() - 1);
+        String[] parts = body.split(",");
+        float[] v = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            v[i] = Float.parseFloat(parts[i]);
+        }
+        return v;
+    }
+}
@@ -1,29 +1,30 @@
 package com.popspot.popupplatform.service.manager;
 
-import com.popspot.popupplatform.domain.popup.PopupStore;
 import com.popspot.popupplatform.dto.common.PageDTO;
 import com.popspot.popupplatform.dto.common.PageRequestDTO;
 import com.popspot.popupplatform.dto.global.JwtUserDto;
+import com.popspot.popupplatform.dto.popup.enums.PopupGeoChangeType;
 import com.popspot.popupplatform.dto.popup.request.ManagerPopupUpdateRequest;
 import com.popspot.popupplatform.dto.popup.response.ManagerPopupDetailResponse;
 import com.popspot.popupplatform.dto.user.response.ManagerReservationResponse;
 import com.popspot.popupplatform.global.exception.CustomException;
 import com.popspot.popupplatform.global.exception.code.AuthErrorCode;
-import com.popspot.popupplatform.global.exception.code.CommonErrorCode;
 import com.popspot.popupplatform.global.exception.code.PopupErrorCode;
 import com.popspot.popupplatform.global.exception.code.UserErrorCode;
 import com.popspot.popupplatform.global.geo.GeoCodingService;
 import com.popspot.popupplatform.mapper.manager.ManagerPopupMapper;
 import com.popspot.popupplatform.mapper.popup.PopupMapper;
-import com.popspot.popupplatform.mapper.postgres.PopupGeoMapper;
 import com.popspot.popupplatform.mapper.user.UserMapper;
 import com.popspot.popupplatform.service.popup.PopupAiSummaryService;
+import com.popspot.popupplatform.service.popup.PopupContentWriter;
+import com.popspot.popupplatform.service.popup.PopupDetailCacheService;
+import com.popspot.popupplatform.service.popup.PopupGeoSyncService;
+import com.popspot.popupplatform.service.popup.PopupPopularityService;
+import com.popspot.popupplatform.service.popup.PopupSearchIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -41,27 +42,14 @@ public class ManagerPopupService {
     private final PopupMapper popupMapper;
     private final PopupAiSummaryService popupAiSummaryService;
 
-    private final PopupGeoMapper popupGeoMapper;
+    private final PopupDetailCacheService popupDetailCacheService;
+    private final PopupSearchIndexService popupSearchIndexService;
+    private final PopupContentWriter popupContentWriter;
+    private final PopupGeoSyncService popupGeoSyncService;
+    private final PopupPopularityService popupPopularityService;
 
     private String format;
 
-    /**
-     * 트랜잭션 커밋 후 실행 유틸 (MySQL 롤백 시 Postgres만 반영되는 사고 방지)
-     */
-    private void runAfterCommit(Runnable task) {
-        if (TransactionSynchronizationManager.isSynchronizationActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    task.run();
-                }
-            });
-        } else {
-            // 혹시라도 트랜잭션 밖에서 호출되는 경우
-            task.run();
-        }
-    }
-
     /**
      * 1. 팝업 상세 정보 조회
      */
@@ -175,56 +163,32 @@ public class ManagerPopupService {
         // 이미지 수정
         if (request.getPopImages() != null) {
             managerPopupMapper.deletePopupImages(popId);
-            for (int i = 0; i < request.getPopImages().size(); i++) {
-                String imageUrl = request.getPopImages().get(i);
-                if (imageUrl != null && !imageUrl.isBlank()) {
-                    popupMapper.insertPopupImage(popId, imageUrl, i + 1);
-                }
-            }
+            popupContentWriter.saveImages(popId, request.getPopImages());
         }
 
         // 해시태그 수정
         if (request.getHashtags() != null) {
             managerPopupMapper.deletePopupHashtags(popId);
-
-            request.getHashtags().forEach(rawTag -> {
-                String tagName = normalizeTag(rawTag);
-                if (tagName != null && !tagName.isEmpty()) {
-                    popupMapper.insertHashtag(tagName);
-                    Long hashId = popupMapper.findHashtagIdByName(tagName)
-                            .orElseThrow(() -> new CustomException(CommonErrorCode.INTERNAL_SERVER_ERROR));
-                    popupMapper.insertPopupHashtag(popId, hashId);
-                }
-            });
+            popupContentWriter.saveHashtags(popId, request.getHashtags());
         }
 
+        // 키워드 검색 문서 갱신 (같은 트랜잭션)
+        popupSearchIndexService.index(popId);
+
+        // 인기순 정렬 그룹을 현재 상태로 (같은 트랜잭션)
+        popupPopularityService.syncStatusGroups(List.of(popId));
+
         // AI 요약 갱신
         String targetName = (request.getPopName() != null) ? request.getPopName() : currentInfo.getPopName();
         String targetDesc = (request.getPopDescription() != null) ? request.getPopDescription() : currentInfo.getPopDescription();
         List<String> targetTags = (request.getHashtags() != null) ? request.getHashtags() : List.of();
         popupAiSummaryService.generateAndUpdateSummaryAsync(popId, targetName, targetDesc, targetTags);
 
+        // 상세 캐시 무효화 (커밋 이후)
+        popupDetailCacheService.evictAfterCommit(popId);
 
-        runAfterCommit(() -> {
-            try {
-                PopupStore latest = popupMapper.selectPopupDetail(popId).orElse(null);
-                if (latest == null) {
-                    log.warn("[PopupGeoSync] update 이후 MySQL popup 조회 실패. popId={}", popId);
-                    return;
-                }
-                popupGeoMapper.upsertPopupGeo(latest);
-                log.info("[PopupGeoSync] update 반영 완료. popId={}", popId);
-            } catch (Exception e) {
-                log.error("[PopupGeoSync] update 반영 실패. popId={}", popId, e);
-            }
-        });
-    }
-
-    private String normalizeTag(String raw) {
-        if (raw == null) return null;
-        String trimmed = raw.trim();
-        if (trimmed.isEmpty()) return "";
-        return trimmed.startsWith("#") ? trimmed.substring(1) : trimmed;
+        // Postgres(nearby) 동기화 예약 (outbox, 같은 트랜잭션)
+        popupGeoSyncService.enqueue(popId, PopupGeoChangeType.UPDATE);
     }
 
     /**
@@ -244,14 +208,8 @@ public class ManagerPopupService {
             throw new CustomException(PopupErrorCode.POPUP_NOT_FOUND);
         }
 
+        popupDetailCacheService.evictAfterCommit(popId);
 
-        runAfterCommit(() -> {
-            try {
-                popupGeoMapper.softDeletePopupGeo(popId);
-                log.info("[PopupGeoSync] delete(soft) 반영 완료. popId={}", popId);
-            } catch (Exception e) {
-                log.error("[PopupGeoSync] delete(soft) 반영 실패. popId={}", popId, e);
-            }
-        });
+        popupGeoSyncService.enqueue(popId, PopupGeoChangeType.DELETE);
     }
 }
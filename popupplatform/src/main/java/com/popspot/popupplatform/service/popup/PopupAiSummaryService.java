@@ -18,9 +18,14 @@ public class PopupAiSummaryService {
     // DB 업데이트용 매퍼
     private final PopupMapper popupMapper;
 
+    // 요약 반영 후 상세 캐시 무효화
+    private final PopupDetailCacheService popupDetailCacheService;
+
     public PopupAiSummaryService(ChatClient.Builder builder,
-                                 PopupMapper popupMapper) {
+                                 PopupMapper popupMapper,
+                                 PopupDetailCacheService popupDetailCacheService) {
         this.popupMapper = popupMapper;
+        this.popupDetailCacheService = popupDetailCacheService;
 
         // 기본 시스템 프롬프트 설정
         this.chatClient = builder
@@ -54,6 +59,7 @@ public class PopupAiSummaryService {
 
             // DB에 요약 업데이트
             popupMapper.updatePopupAiSummary(popId, summary);
+            popupDetailCacheService.evict(popId);
 
             log.info("AI 요약 업데이트 완료: popId={}, summary={}", popId, summary);
         } catch (Exception e) {
@@ -0,0 +1,121 @@
+package com.popspot.popupplatform.service.popup;
+
+import com.popspot.popupplatform.domain.popup.PopupStore;
+import com.popspot.popupplatform.dto.global.JwtUserDto;
+import com.popspot.popupplatform.dto.popup.enums.PopupGeoChangeType;
+import com.popspot.popupplatform.dto.popup.request.PopupCreateRequest;
+import com.popspot.popupplatform.global.exception.CustomException;
+import com.popspot.popupplatform.global.exception.code.AuthErrorCode;
+import com.popspot.popupplatform.global.exception.code.CommonErrorCode;
+import com.popspot.popupplatform.global.exception.code.UserErrorCode;
+import com.popspot.popupplatform.mapper.popup.PopupGeoOutboxMapper;
+import com.popspot.popupplatform.mapper.popup.PopupMapper;
+import com.popspot.popupplatform.mapper.popup.PopupPopularityMapper;
+import com.popspot.popupplatform.mapper.popup.PopupSearchMapper;
+import com.popspot.popupplatform.mapper.user.UserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 관리자 팝업 일괄 등록 (JDBC batch)
+ *
+ * - MySQL 쓰기는 전부 mysqlBatchSqlSessionTemplate(ExecutorType.BATCH) 매퍼로 수행
+ *   → 같은 INSERT 가 PreparedStatement.addBatch 로 묶여서 팝업 수와 무관하게 왕복 수가 거의 일정
+ * - POPUPSTORE INSERT 후 flushStatements 로 생성된 pop_id 를 받아서 태그/이미지/점수 행 등록
+ * - 같은 트랜잭션 안에서 기본 매퍼(SIMPLE)를 섞으면 안 되므로 권한 체크 조회도 batch 매퍼 사용
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PopupBulkImportService {
+
+    // MysqlDataSourceConfig 의 BATCH 템플릿 (필드명 = 빈 이름)
+    private final SqlSessionTemplate mysqlBatchSqlSessionTemplate;
+
+    private final PopupService popupService;
+    private final PopupAiSummaryService popupAiSummaryService;
+
+    // 한 번에 받을 수 있는 최대 건수
+    @Value("${popup.bulk-import.max-size:500}")
+    private int maxSize;
+
+    /**
+     * 팝업 일괄 등록
+     * @return 등록된 pop_id 목록 (요청 순서)
+     */
+    @Transactional
+    public List<Long> importPopups(Long managerId, List<PopupCreateRequest> requests) {
+        if (requests == null || requests.isEmpty()) return List.of();
+        if (requests.size() > maxSize) {
+            throw new CustomException(CommonErrorCode.INVALID_REQUEST);
+        }
+
+        UserMapper userMapper = mysqlBatchSqlSessionTemplate.getMapper(UserMapper.class);
+        PopupMapper popupMapper = mysqlBatchSqlSessionTemplate.getMapper(PopupMapper.class);
+        PopupPopularityMapper popularityMapper = mysqlBatchSqlSessionTemplate.getMapper(PopupPopularityMapper.class);
+        PopupSearchMapper searchMapper = mysqlBatchSqlSessionTemplate.getMapper(PopupSearchMapper.class);
+        PopupGeoOutboxMapper outboxMapper = mysqlBatchSqlSessionTemplate.getMapper(PopupGeoOutboxMapper.class);
+
+        // 0. 소유자(매니저) 권한 체크
+        JwtUserDto user = userMapper.findJwtUserByUserId(managerId)
+                .orElseThrow(() -> new CustomException(UserErrorCode.USER_NOT_FOUND));
+        if (!"MANAGER".equals(user.getRole())) {
+            throw new CustomException(AuthErrorCode.ACCESS_DENIED);
+        }
+
+        // 1. 검증 + 지오코딩 + Entity 변환 (단건 등록과 동일 규칙)
+        List<PopupStore> stores = new ArrayList<>(requests.size());
+        for (PopupCreateRequest request : requests) {
+            stores.add(popupService.buildPopupStore(request, managerId));
+        }
+
+        // 2. POPUPSTORE batch INSERT → flush 시점에 useGeneratedKeys 로 pop_id 채워짐
+        for (PopupStore store : stores) {
+            popupMapper.insertPopup(store);
+        }
+        mysqlBatchSqlSessionTemplate.flushStatements();
+
+        List<Long> popIds = new ArrayList<>(stores.size());
+        for (PopupStore store : stores) {
+            popIds.add(store.getPopId());
+        }
+
+        // 3. 점수 행 / 해시태그 / 이미지 (문장별로 batch 묶음)
+        for (int i = 0; i < stores.size(); i++) {
+            Long popId = popIds.get(i);
+            PopupCreateRequest request = requests.get(i);
+
+            popularityMapper.insertInitial(popId);
+            PopupContentWriter.saveHashtags(popupMapper, popId, request.getHashtags());
+            PopupContentWriter.saveImages(popupMapper, popId, request.getPopImages());
+        }
+
+        // 4. 키워드 검색 문서 (해시태그 반영 이후 한 번에)
+        searchMapper.upsertDocuments(popIds);
+
+        // 5. Postgres(nearby) 동기화 예약 (outbox, 같은 트랜잭션)
+        outboxMapper.insertEvents(popIds, PopupGeoChangeType.INSERT);
+        mysqlBatchSqlSessionTemplate.flushStatements();
+
+        // 6. AI 요약은 팝업별 비동기
+        for (int i = 0; i < stores.size(); i++) {
+            PopupCreateRequest request = requests.get(i);
+            popupAiSummaryService.generateAndUpdateSummaryAsync(
+                    popIds.get(i),
+                    request.getPopName(),
+                    request.getPopDescription(),
+                    request.getHashtags()
+            );
+        }
+
+        log.info("[PopupBulkImport] 일괄 등록 완료. managerId={}, count={}", managerId, popIds.size());
+        return popIds;
+    }
+}
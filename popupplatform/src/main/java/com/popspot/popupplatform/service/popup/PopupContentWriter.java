@@ -0,0 +1,86 @@
+package com.popspot.popupplatform.service.popup;
+
+import com.popspot.popupplatform.mapper.popup.PopupMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 팝업 해시태그 / 상세 이미지 저장 (등록 + 매니저 수정 공용)
+ *
+ * - 태그 N개 : HASHTAG INSERT IGNORE 1번 + POPUP_HASHTAG INSERT...SELECT 1번
+ * - 이미지 N개 : POPUP_IMG multi-row INSERT 1번
+ * - 호출자 트랜잭션에 참여
+ */
+@Component
+@RequiredArgsConstructor
+public class PopupContentWriter {
+
+    private final PopupMapper popupMapper;
+
+    /**
+     * 해시태그 저장 (기존 매핑 삭제는 호출자 책임)
+     */
+    public void saveHashtags(Long popId, List<String> rawTags) {
+        saveHashtags(popupMapper, popId, rawTags);
+    }
+
+    /**
+     * 상세 이미지 저장 (기존 이미지 삭제는 호출자 책임)
+     */
+    public void saveImages(Long popId, List<String> imageUrls) {
+        saveImages(popupMapper, popId, imageUrls);
+    }
+
+    /**
+     * 지정한 매퍼로 저장 (BATCH 세션 매퍼로 일괄 등록할 때 사용)
+     */
+    static void saveHashtags(PopupMapper mapper, Long popId, List<String> rawTags) {
+        Set<String> tags = normalizeTags(rawTags);
+        if (tags.isEmpty()) return;
+
+        mapper.insertHashtags(tags);
+        mapper.insertPopupHashtagsByNames(popId, tags);
+    }
+
+    static void saveImages(PopupMapper mapper, Long popId, List<String> imageUrls) {
+        List<String> urls = filterImageUrls(imageUrls);
+        if (urls.isEmpty()) return;
+
+        mapper.insertPopupImages(popId, urls);
+    }
+
+    /**
+     * '#' 제거 + 공백 제거 + 중복 제거 (입력 순서 유지)
+     */
+    static Set<String> normalizeTags(List<String> rawTags) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (rawTags == null) return tags;
+
+        for (String raw : rawTags) {
+            if (raw == null) continue;
+            String trimmed = raw.trim();
+            String tag = trimmed.startsWith("#") ? trimmed.substring(1) : trimmed;
+            if (!tag.isEmpty()) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    private static List<String> filterImageUrls(List<String> imageUrls) {
+        List<String> urls = new ArrayList<>();
+        if (imageUrls == null) return urls;
+
+        for (String url : imageUrls) {
+            if (url != null && !url.isBlank()) {
+                urls.add(url);
+            }
+        }
+        return urls;
+    }
+}
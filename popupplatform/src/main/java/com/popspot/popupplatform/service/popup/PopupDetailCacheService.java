@@ -0,0 +1,147 @@
+package com.popspot.popupplatform.service.popup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popspot.popupplatform.domain.popup.PopupDetailSnapshot;
+import com.popspot.popupplatform.mapper.popup.PopupMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 팝업 상세 read-through 캐시 (Redis)
+ *
+ * - popup:detail:v1:{popId}     → PopupDetailSnapshot JSON (TTL)
+ * - popup:detail:ver:{popId}    → 무효화 버전 카운터
+ *
+ * 캐시 적재는 "조회 시작 시점 버전 == 현재 버전" 일 때만 (Lua) 수행해서,
+ * DB 조회 도중 수정/무효화가 끼어들면 오래된 스냅샷이 다시 올라가지 않게 한다.
+ * 수정 쪽은 커밋 이후 evictAfterCommit 으로 버전 증가 + 데이터 삭제.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PopupDetailCacheService {
+
+    // 스냅샷 구조가 바뀌면 prefix 버전을 올려서 이전 포맷을 무시
+    private static final String DATA_KEY_PREFIX = "popup:detail:v1:";
+    private static final String VERSION_KEY_PREFIX = "popup:detail:ver:";
+
+    // 버전이 그대로일 때만 SET (KEYS[1]=ver, KEYS[2]=data, ARGV[1]=expectedVer, ARGV[2]=json, ARGV[3]=ttlSec)
+    private static final DefaultRedisScript<Long> SET_IF_VERSION_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local cur = redis.call('GET', KEYS[1])
+                    if (not cur) then cur = '0' end
+                    if (cur ~= ARGV[1]) then
+                      return 0
+                    end
+                    redis.call('SET', KEYS[2], ARGV[2], 'EX', tonumber(ARGV[3]))
+                    return 1
+                    """,
+                    Long.class
+            );
+
+    // 버전 증가 + 데이터 삭제 (KEYS[1]=ver, KEYS[2]=data)
+    private static final DefaultRedisScript<Long> INVALIDATE_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local v = redis.call('INCR', KEYS[1])
+                    redis.call('DEL', KEYS[2])
+                    return v
+                    """,
+                    Long.class
+            );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final PopupMapper popupMapper;
+
+    // 조회수 등 잦은 변경분이 너무 오래 고정되지 않도록 짧게 유지
+    @Value("${popup.detail.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    /**
+     * 캐시 조회 → 없으면 DB 조립 쿼리 1번 후 적재
+     */
+    public Optional<PopupDetailSnapshot> get(Long popId) {
+        String dataKey = DATA_KEY_PREFIX + popId;
+        String versionKey = VERSION_KEY_PREFIX + popId;
+
+        try {
+            String cached = stringRedisTemplate.opsForValue().get(dataKey);
+            if (cached != null) {
+                return Optional.of(objectMapper.readValue(cached, PopupDetailSnapshot.class));
+            }
+        } catch (Exception e) {
+            log.warn("[PopupDetailCache] 캐시 조회 실패, DB로 대체. popId={}", popId, e);
+            return popupMapper.selectPopupDetailSnapshot(popId);
+        }
+
+        String version = Optional.ofNullable(stringRedisTemplate.opsForValue().get(versionKey)).orElse("0");
+
+        Optional<PopupDetailSnapshot> loaded = popupMapper.selectPopupDetailSnapshot(popId);
+
+        loaded.ifPresent(snapshot -> {
+            try {
+                stringRedisTemplate.execute(
+                        SET_IF_VERSION_SCRIPT,
+                        List.of(versionKey, dataKey),
+                        version,
+                        objectMapper.writeValueAsString(snapshot),
+                        String.valueOf(ttlSeconds)
+                );
+            } catch (Exception e) {
+                log.warn("[PopupDetailCache] 캐시 적재 실패. popId={}", popId, e);
+            }
+        });
+
+        return loaded;
+    }
+
+    /**
+     * 즉시 무효화
+     */
+    public void evict(Long popId) {
+        if (popId == null) return;
+        try {
+            stringRedisTemplate.execute(
+                    INVALIDATE_SCRIPT,
+                    List.of(VERSION_KEY_PREFIX + popId, DATA_KEY_PREFIX + popId)
+            );
+        } catch (Exception e) {
+            log.warn("[PopupDetailCache] 무효화 실패 (TTL 만료까지 유지). popId={}", popId, e);
+        }
+    }
+
+    /**
+     * 트랜잭션 커밋 이후 무효화 (롤백 시에는 캐시 유지)
+     */
+    public void evictAfterCommit(Long popId) {
+        evictAllAfterCommit(List.of(popId));
+    }
+
+    public void evictAllAfterCommit(Collection<Long> popIds) {
+        if (popIds == null || popIds.isEmpty()) return;
+
+        List<Long> targets = List.copyOf(popIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    targets.forEach(PopupDetailCacheService.this::evict);
+                }
+            });
+        } else {
+            targets.forEach(this::evict);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.popspot.popupplatform.service.popup;
+
+import com.popspot.popupplatform.domain.popup.PopupGeoOutboxEvent;
+import com.popspot.popupplatform.domain.popup.PopupGeoTileItem;
+import com.popspot.popupplatform.domain.popup.PopupStore;
+import com.popspot.popupplatform.mapper.popup.PopupGeoOutboxMapper; // MySQL
+import com.popspot.popupplatform.mapper.popup.PopupMapper; // MySQL
+import com.popspot.popupplatform.mapper.postgres.PopupGeoMapper; // Postgres
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * POPUP_GEO_OUTBOX → Postgres popupstore_geo relay
+ *
+ * - go_id 순서로 배치 선점 (owner + lease 단건 UPDATE, 커밋 후 트랜잭션 밖에서 relay)
+ * - 배치 안의 pop_id 를 중복 제거 후 현재 MySQL 상태를 bulk upsert (최신 스냅샷이라 재시도해도 안전)
+ * - 성공: nearby 타일 캐시 무효화 + outbox 행 삭제
+ * - 배치 실패: pop_id 별로 다시 반영 → 실패한 pop_id 의 이벤트만 지수 백오프로 재시도 예약 (행은 남음)
+ *
+ * 메트릭
+ * - popup.geo.outbox.pending : 미처리 이벤트 수
+ * - popup.geo.outbox.lag     : 가장 오래된 미처리 이벤트 이후 경과 시간(ms)
+ * - popup.geo.outbox.relayed : 반영 완료 이벤트 수
+ * - popup.geo.outbox.failed  : 반영 실패(재시도 예약) 이벤트 수
+ * - popup.geo.outbox.relay   : 배치 1회 소요 시간
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PopupGeoOutboxRelay {
+
+    private final PopupGeoOutboxMapper popupGeoOutboxMapper; // MySQL
+    private final PopupMapper popupMapper;                   // MySQL
+    private final PopupGeoMapper popupGeoMapper;             // Postgres
+    private final PopupNearbyTileService popupNearbyTileService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${popup.geo.outbox.batch-size:500}")
+    private int batchSize;
+
+    // 재시도 간격 상한 (초)
+    @Value("${popup.geo.outbox.max-backoff-seconds:300}")
+    private int maxBackoffSeconds;
+
+    // 이 횟수 이상 실패한 이벤트는 error 로그 (재시도는 계속)
+    @Value("${popup.geo.outbox.alert-attempts:10}")
+    private int alertAttempts;
+
+    // 선점 유지 시간 (배치 1회 relay 보다 넉넉하게, 지나면 다른 노드가 다시 선점)
+    @Value("${popup.geo.outbox.lease-seconds:60}")
+    private int leaseSeconds;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong batchSeq = new AtomicLong();
+
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private Counter relayedCounter;
+    private Counter failedCounter;
+    private Timer relayTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("popup.geo.outbox.pending", pendingCount, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("popup.geo.outbox.lag", lagMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        relayedCounter = meterRegistry.counter("popup.geo.outbox.relayed");
+        failedCounter = meterRegistry.counter("popup.geo.outbox.failed");
+        relayTimer = meterRegistry.timer("popup.geo.outbox.relay");
+    }
+
+    /**
+     * 주기적 relay (기본 1초, 1회 1배치)
+     * - 선점은 단건 UPDATE(자동 커밋), Postgres 반영은 트랜잭션 밖 → MySQL 커넥션/행 잠금을 잡지 않음
+     */
+    @Scheduled(fixedDelayString = "${popup.geo.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        String owner = nodeId + "-" + batchSeq.incrementAndGet();
+
+        List<PopupGeoOutboxEvent> events = List.of();
+        if (popupGeoOutboxMapper.claimReady(owner, leaseSeconds, batchSize) > 0) {
+            events = popupGeoOutboxMapper.selectClaimed(owner);
+        }
+
+        if (!events.isEmpty()) {
+            List<PopupGeoOutboxEvent> claimed = events;
+            relayTimer.record(() -> relayBatch(owner, claimed));
+        }
+
+        refreshMetrics();
+    }
+
+    /**
+     * 배치 전체를 한 번에 반영, 실패하면 pop_id 별로 나눠 다시 반영
+     * → 문제 있는 팝업 1건이 같은 배치의 정상 이벤트를 막지 않음 (실패한 pop_id 의 이벤트만 재시도 예약)
+     */
+    void relayBatch(String owner, List<PopupGeoOutboxEvent> events) {
+        Map<Long, List<Long>> eventIdsByPop = new LinkedHashMap<>();
+        for (PopupGeoOutboxEvent e : events) {
+            eventIdsByPop.computeIfAbsent(e.getPopId(), k -> new ArrayList<>()).add(e.getGoId());
+        }
+
+        try {
+            relayPopups(eventIdsByPop.keySet());
+            complete(owner, eventIdsByPop.values());
+            log.debug("[PopupGeoOutbox] relayed. events={}, popups={}", events.size(), eventIdsByPop.size());
+            return;
+        } catch (Exception e) {
+            log.warn("[PopupGeoOutbox] 배치 relay 실패, pop_id 별로 재시도. events={}, popups={}",
+                    events.size(), eventIdsByPop.size(), e);
+        }
+
+        Map<Long, Integer> attemptsByEvent = new HashMap<>();
+        for (PopupGeoOutboxEvent e : events) {
+            attemptsByEvent.put(e.getGoId(), e.getAttempts() == null ? 0 : e.getAttempts());
+        }
+
+        for (Map.Entry<Long, List<Long>> entry : eventIdsByPop.entrySet()) {
+            List<Long> eventIds = entry.getValue();
+            try {
+                relayPopups(Set.of(entry.getKey()));
+                complete(owner, List.of(eventIds));
+            } catch (Exception e) {
+                popupGeoOutboxMapper.markFailed(owner, eventIds, String.valueOf(e.getMessage()), maxBackoffSeconds);
+                failedCounter.increment(eventIds.size());
+
+                int attempts = eventIds.stream().mapToInt(attemptsByEvent::get).max().orElse(0) + 1;
+                if (attempts >= alertAttempts) {
+                    log.error("[PopupGeoOutbox] relay 반복 실패. popId={}, events={}, attempts={}",
+                            entry.getKey(), eventIds.size(), attempts, e);
+                } else {
+                    log.warn("[PopupGeoOutbox] relay 실패, 재시도 예약. popId={}, events={}, attempts={}",
+                            entry.getKey(), eventIds.size(), attempts, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 현재 MySQL 상태 → Postgres (upsert / 행이 사라진 팝업은 숨김) + nearby 타일 무효화
+     */
+    private void relayPopups(Collection<Long> popIds) {
+        List<Long> idList = new ArrayList<>(popIds);
+        List<PopupStore> popups = popupMapper.selectPopupStoresForGeoByIds(idList);
+
+        // 변경 전 좌표 (위치가 바뀐 팝업의 이전 타일도 무효화)
+        List<PopupGeoTileItem> previousPoints = popupGeoMapper.selectGeoPointsByIds(idList);
+
+        if (!popups.isEmpty()) {
+            popupGeoMapper.bulkUpsertPopupGeo(popups);
+        }
+
+        // MySQL 에서 행 자체가 사라진 팝업은 Postgres 에서도 숨김
+        if (popups.size() < idList.size()) {
+            Set<Long> missing = new LinkedHashSet<>(idList);
+            for (PopupStore p : popups) {
+                missing.remove(p.getPopId());
+            }
+            missing.forEach(popupGeoMapper::softDeletePopupGeo);
+        }
+
+        evictTiles(previousPoints, popups);
+    }
+
+    private void complete(String owner, Collection<List<Long>> eventIdGroups) {
+        List<Long> eventIds = new ArrayList<>();
+        eventIdGroups.forEach(eventIds::addAll);
+
+        popupGeoOutboxMapper.deleteByIds(owner, eventIds);
+        relayedCounter.increment(eventIds.size());
+    }
+
+    /**
+     * nearby 타일 캐시 무효화 (변경 전/후 좌표 모두)
+     */
+    private void evictTiles(List<PopupGeoTileItem> previousPoints, List<PopupStore> popups) {
+        List<PopupGeoTileItem> points = new ArrayList<>(previousPoints);
+        for (PopupStore p : popups) {
+            PopupGeoTileItem point = new PopupGeoTileItem();
+            point.setPopId(p.getPopId());
+            point.setPopLatitude(p.getPopLatitude());
+            point.setPopLongitude(p.getPopLongitude());
+            points.add(point);
+        }
+        popupNearbyTileService.evictPoints(points);
+    }
+
+    private void refreshMetrics() {
+        pendingCount.set(popupGeoOutboxMapper.countPending());
+
+        LocalDateTime oldest = popupGeoOutboxMapper.selectOldestCreatedAt();
+        lagMillis.set(oldest == null ? 0L : Math.max(0L, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+    }
+}
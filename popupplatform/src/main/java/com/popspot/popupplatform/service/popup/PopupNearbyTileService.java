@@ -0,0 +1,258 @@
+package com.popspot.popupplatform.service.popup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popspot.popupplatform.domain.popup.PopupGeoTileItem;
+import com.popspot.popupplatform.dto.popup.response.PopupNearbyItemResponse;
+import com.popspot.popupplatform.global.geo.GeoHash;
+import com.popspot.popupplatform.mapper.postgres.PopupGeoMapper; // Postgres
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 내 주변 팝업 geohash 타일 캐시 (Redis)
+ *
+ * - popup:geo:tile:v1:{precision}:{geohash}  → 타일 안 팝업 요약 목록 JSON (TTL)
+ * - popup:geo:tile:ver:{precision}:{geohash} → 타일 무효화 버전 카운터
+ *
+ * 반경 조회 = 원을 덮는 타일들을 MGET 으로 모으고, 없는 타일만 Postgres bbox 쿼리 1번으로 채운 뒤
+ * 메모리에서 정확한 거리(haversine) 필터 + 정렬 + limit.
+ * 지도 이동처럼 거의 같은 좌표로 몰리는 요청은 같은 타일을 재사용해서 PostGIS 를 거의 타지 않음.
+ *
+ * 무효화는 PopupGeoOutboxRelay 가 Postgres 반영 직후 변경 전/후 좌표의 타일에 대해 수행.
+ * 적재는 "조회 시작 시점 버전 == 현재 버전" 일 때만 (PopupDetailCacheService 와 같은 방식).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PopupNearbyTileService {
+
+    // 타일 포맷이 바뀌면 prefix 버전을 올려서 이전 포맷을 무시
+    private static final String DATA_KEY_PREFIX = "popup:geo:tile:v1:";
+    private static final String VERSION_KEY_PREFIX = "popup:geo:tile:ver:";
+
+    private static final TypeReference<List<PopupGeoTileItem>> TILE_TYPE = new TypeReference<>() {};
+
+    // 타일 여러 개를 버전 확인 후 SET
+    // KEYS = [ver1, data1, ver2, data2, ...], ARGV = [ttlSec, expectedVer1, json1, expectedVer2, json2, ...]
+    private static final DefaultRedisScript<Long> SET_TILES_IF_VERSION_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local ttl = tonumber(ARGV[1])
+                    local stored = 0
+                    for i = 1, #KEYS, 2 do
+                      local n = (i + 1) / 2
+                      local cur = redis.call('GET', KEYS[i])
+                      if (not cur) then cur = '0' end
+                      if (cur == ARGV[n * 2]) then
+                        redis.call('SET', KEYS[i + 1], ARGV[n * 2 + 1], 'EX', ttl)
+                        stored = stored + 1
+                      end
+                    end
+                    return stored
+                    """,
+                    Long.class
+            );
+
+    // 타일 여러 개 버전 증가 + 삭제 (KEYS = [ver1, data1, ver2, data2, ...])
+    private static final DefaultRedisScript<Long> INVALIDATE_TILES_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    for i = 1, #KEYS, 2 do
+                      redis.call('INCR', KEYS[i])
+                      redis.call('DEL', KEYS[i + 1])
+                    end
+                    return #KEYS / 2
+                    """,
+                    Long.class
+            );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final PopupGeoMapper popupGeoMapper;
+
+    // 타일 geohash 정밀도 (5 ≈ 4.9km x 4.9km)
+    @Value("${popup.nearby.tile.precision:5}")
+    private int precision;
+
+    // 이 반경까지만 타일 경로 사용 (넘으면 PostGIS 직접 조회 / 클러스터)
+    @Value("${popup.nearby.tile.max-radius-km:10}")
+    private double maxRadiusKm;
+
+    @Value("${popup.nearby.tile.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    public boolean supports(double radiusKm) {
+        return radiusKm <= maxRadiusKm;
+    }
+
+    /**
+     * 반경 조회 (타일 병합 + 메모리 거리 필터), 거리 오름차순 / pop_id 내림차순
+     */
+    public List<PopupNearbyItemResponse> findNearby(double latitude, double longitude, double radiusKm, int limit) {
+        Set<String> cells = GeoHash.coveringCells(latitude, longitude, radiusKm, precision);
+        Map<String, List<PopupGeoTileItem>> tiles = loadTiles(cells);
+
+        List<PopupNearbyItemResponse> result = new ArrayList<>();
+        for (List<PopupGeoTileItem> tile : tiles.values()) {
+            for (PopupGeoTileItem item : tile) {
+                double distanceKm = GeoHash.distanceKm(latitude, longitude, item.getPopLatitude(), item.getPopLongitude());
+                if (distanceKm <= radiusKm) {
+                    result.add(toResponse(item, distanceKm));
+                }
+            }
+        }
+
+        result.sort(Comparator.comparingDouble(PopupNearbyItemResponse::getDistanceKm)
+                .thenComparing(PopupNearbyItemResponse::getPopId, Comparator.reverseOrder()));
+
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * 좌표가 속한 타일 무효화 (Postgres 반영 이후 호출)
+     */
+    public void evictPoints(List<PopupGeoTileItem> points) {
+        Set<String> cells = new LinkedHashSet<>();
+        for (PopupGeoTileItem p : points) {
+            if (p.getPopLatitude() != null && p.getPopLongitude() != null) {
+                cells.add(GeoHash.encode(p.getPopLatitude(), p.getPopLongitude(), precision));
+            }
+        }
+        if (cells.isEmpty()) return;
+
+        List<String> keys = new ArrayList<>(cells.size() * 2);
+        for (String cell : cells) {
+            keys.add(versionKey(cell));
+            keys.add(dataKey(cell));
+        }
+
+        try {
+            stringRedisTemplate.execute(INVALIDATE_TILES_SCRIPT, keys);
+        } catch (Exception e) {
+            log.warn("[PopupNearbyTile] 타일 무효화 실패 (TTL 만료까지 유지). cells={}", cells, e);
+        }
+    }
+
+    private Map<String, List<PopupGeoTileItem>> loadTiles(Set<String> cells) {
+        List<String> cellList = new ArrayList<>(cells);
+        Map<String, List<PopupGeoTileItem>> tiles = new HashMap<>();
+
+        List<String> cached;
+        List<String> versions;
+        try {
+            cached = stringRedisTemplate.opsForValue().multiGet(cellList.stream().map(this::dataKey).toList());
+            versions = stringRedisTemplate.opsForValue().multiGet(cellList.stream().map(this::versionKey).toList());
+        } catch (Exception e) {
+            log.warn("[PopupNearbyTile] 타일 조회 실패, DB로 대체. cells={}", cells.size(), e);
+            return queryTiles(cells);
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < cellList.size(); i++) {
+            String json = (cached == null) ? null : cached.get(i);
+            List<PopupGeoTileItem> tile = (json == null) ? null : parse(json);
+            if (tile != null) {
+                tiles.put(cellList.get(i), tile);
+            } else {
+                missing.add(cellList.get(i));
+            }
+        }
+
+        if (missing.isEmpty()) return tiles;
+
+        Map<String, List<PopupGeoTileItem>> loaded = queryTiles(missing);
+        tiles.putAll(loaded);
+
+        // 버전 확인 후 적재 (조회 도중 무효화된 타일은 건너뜀)
+        List<String> keys = new ArrayList<>(missing.size() * 2);
+        List<String> args = new ArrayList<>(missing.size() * 2 + 1);
+        args.add(String.valueOf(ttlSeconds));
+        try {
+            for (String cell : missing) {
+                int idx = cellList.indexOf(cell);
+                String version = (versions == null || versions.get(idx) == null) ? "0" : versions.get(idx);
+                keys.add(versionKey(cell));
+                keys.add(dataKey(cell));
+                args.add(version);
+                args.add(objectMapper.writeValueAsString(loaded.get(cell)));
+            }
+            stringRedisTemplate.execute(SET_TILES_IF_VERSION_SCRIPT, keys, args.toArray());
+        } catch (Exception e) {
+            log.warn("[PopupNearbyTile] 타일 적재 실패. cells={}", missing.size(), e);
+        }
+
+        return tiles;
+    }
+
+    /**
+     * 타일들을 덮는 사각형 1번 조회 후 타일별로 분배 (빈 타일도 빈 목록으로 채움)
+     */
+    private Map<String, List<PopupGeoTileItem>> queryTiles(Collection<String> cells) {
+        double minLat = 90, minLng = 180, maxLat = -90, maxLng = -180;
+        Map<String, List<PopupGeoTileItem>> tiles = new HashMap<>();
+        for (String cell : cells) {
+            double[] b = GeoHash.bounds(cell);
+            minLat = Math.min(minLat, b[0]);
+            minLng = Math.min(minLng, b[1]);
+            maxLat = Math.max(maxLat, b[2]);
+            maxLng = Math.max(maxLng, b[3]);
+            tiles.put(cell, new ArrayList<>());
+        }
+
+        List<PopupGeoTileItem> rows = popupGeoMapper.selectPopupsInBox(minLat, minLng, maxLat, maxLng);
+        for (PopupGeoTileItem row : rows) {
+            if (row.getPopLatitude() == null || row.getPopLongitude() == null) continue;
+            List<PopupGeoTileItem> tile = tiles.get(GeoHash.encode(row.getPopLatitude(), row.getPopLongitude(), precision));
+            if (tile != null) {
+                tile.add(row);
+            }
+        }
+        return tiles;
+    }
+
+    private List<PopupGeoTileItem> parse(String json) {
+        try {
+            return objectMapper.readValue(json, TILE_TYPE);
+        } catch (Exception e) {
+            log.warn("[PopupNearbyTile] 타일 파싱 실패, 재적재 대상으로 처리", e);
+            return null;
+        }
+    }
+
+    private PopupNearbyItemResponse toResponse(PopupGeoTileItem item, double distanceKm) {
+        return PopupNearbyItemResponse.builder()
+                .popId(item.getPopId())
+                .popName(item.getPopName())
+                .popThumbnail(item.getPopThumbnail())
+                .popLocation(item.getPopLocation())
+                .popLatitude(item.getPopLatitude())
+                .popLongitude(item.getPopLongitude())
+                .popPriceType(item.getPopPriceType())
+                .popPrice(item.getPopPrice())
+                .popStatus(item.getPopStatus())
+                .distanceKm(distanceKm)
+                .build();
+    }
+
+    private String dataKey(String cell) {
+        return DATA_KEY_PREFIX + precision + ":" + cell;
+    }
+
+    private String versionKey(String cell) {
+        return VERSION_KEY_PREFIX + precision + ":" + cell;
+    }
+}
@@ -0,0 +1,88 @@
+package com.popspot.popupplatform.service.popup;
+
+import com.popspot.popupplatform.mapper.popup.PopupPopularityMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인기순(POPULAR) 정렬용 점수 관리
+ *
+ * - 점수 = 최근 7일 조회수 + 찜 * 3
+ * - 조회/찜 이벤트 시 POPUP_POPULARITY에 증분 반영 (호출자 트랜잭션에 참여)
+ * - 7일이 지난 조회 기록은 주기적 재계산(refreshWindow)으로 빠짐
+ * - 인기순 목록은 POPUP_POPULARITY 를 드라이빙 테이블로 쓰므로 행이 없는 팝업은 빠짐
+ *   → 시작 시 backfillMissing 으로 배포 전 팝업 행을 채움 (멱등, 성공할 때까지 재시도)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PopupPopularityService {
+
+    private final PopupPopularityMapper popupPopularityMapper;
+
+    private volatile boolean backfilled;
+
+    /**
+     * 신규 팝업 등록 시 점수 행 생성
+     */
+    public void initialize(Long popId) {
+        popupPopularityMapper.insertInitial(popId);
+    }
+
+    /**
+     * 조회 기록(POPUP_VIEWED) 배치 저장 시 호출 (pop_id -> 증가량)
+     */
+    public void recordViews(Map<Long, Long> viewDeltas) {
+        if (viewDeltas == null || viewDeltas.isEmpty()) return;
+        popupPopularityMapper.incrementViewsBatch(viewDeltas);
+    }
+
+    /**
+     * 찜 토글 시 호출 (added: true 면 +1, false 면 -1)
+     */
+    public void recordWishlist(Long popId, boolean added) {
+        popupPopularityMapper.incrementWishes(popId, added ? 1 : -1);
+    }
+
+    /**
+     * 상태(ENDED 여부)가 바뀐 팝업의 정렬 그룹 동기화
+     */
+    public void syncStatusGroups(List<Long> popIds) {
+        if (popIds == null || popIds.isEmpty()) return;
+        popupPopularityMapper.updateStatusGroupByIds(popIds);
+    }
+
+    /**
+     * 점수 행이 없는 팝업 채우기 (시작 직후 1번, 실패하면 다음 주기에 재시도)
+     */
+    @Scheduled(initialDelayString = "${popup.popularity.backfill.initial-delay-ms:5000}",
+            fixedDelayString = "${popup.popularity.backfill.interval-ms:60000}")
+    public void backfillMissing() {
+        if (backfilled) return;
+
+        int inserted = popupPopularityMapper.insertMissing();
+        backfilled = true;
+        if (inserted > 0) {
+            log.info("[PopupPopularity] 점수 행 없는 팝업 채움. inserted={}", inserted);
+        }
+    }
+
+    /**
+     * 7일 롤링 윈도우 재계산
+     * - 매 시간 5분 (PopupStatusScheduler 정각 실행 이후)
+     */
+    @Scheduled(cron = "${popup.popularity.refresh-cron:0 5 * * * *}")
+    @Transactional
+    public void refreshWindow() {
+        long start = System.currentTimeMillis();
+        int affected = popupPopularityMapper.refreshAll();
+        log.info("[PopupPopularity] 7일 윈도우 재계산 완료. affected={}, elapsed={}ms",
+                affected, System.currentTimeMillis() - start);
+    }
+}
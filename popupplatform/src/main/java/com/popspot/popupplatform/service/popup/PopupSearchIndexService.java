@@ -0,0 +1,121 @@
+package com.popspot.popupplatform.service.popup;
+
+import com.popspot.popupplatform.mapper.popup.PopupSearchMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 키워드 검색 인덱스(POPUP_SEARCH_DOC) 동기화
+ *
+ * - 같은 MySQL 이라 등록/수정 트랜잭션 안에서 바로 반영 (afterCommit 불필요)
+ * - 검색 쿼리는 PopupMapper.selectPopupList 의 fullTextQuery 경로
+ * - 문서가 없는 팝업(배포 전 데이터 등)은 backfillMissing 이 채움
+ *   → 이 노드에서 빠진 문서가 없다고 확인되기 전까지는 FULLTEXT 대신 LIKE 검색
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PopupSearchIndexService {
+
+    // ngram_token_size (MySQL 기본값 2) 보다 짧은 키워드는 FULLTEXT 로 못 찾음
+    public static final int NGRAM_TOKEN_SIZE = 2;
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final PopupSearchMapper popupSearchMapper;
+
+    // 빠진 검색 문서가 없음을 확인했는지 (재시작하면 다시 확인)
+    private volatile boolean backfilled;
+
+    /**
+     * [단건] 팝업 등록/수정 후 호출 (호출자 트랜잭션에 참여)
+     */
+    public void index(Long popId) {
+        if (popId == null) return;
+        popupSearchMapper.upsertDocuments(Collections.singletonList(popId));
+    }
+
+    /**
+     * [배치] 전체 재색인 (초기 구축 / 복구용)
+     */
+    public long rebuildAll() {
+        long total = 0;
+        long lastId = 0;
+
+        while (true) {
+            List<Long> ids = popupSearchMapper.selectPopupIdsAfter(lastId, PAGE_SIZE);
+            if (ids.isEmpty()) break;
+
+            popupSearchMapper.upsertDocuments(ids);
+
+            lastId = ids.get(ids.size() - 1);
+            total += ids.size();
+
+            log.info("[PopupSearchIndex] indexed batch. lastId={}, batchSize={}, total={}",
+                    lastId, ids.size(), total);
+        }
+
+        log.info("[PopupSearchIndex] DONE. total={}", total);
+        return total;
+    }
+
+    /**
+     * [배치] 검색 문서가 없는 팝업만 색인 (기동 직후 + 완료 전까지 주기적으로)
+     * - 빠진 것만 골라서 upsert 하므로 중간에 끊겨도 다음 회차에 이어서 처리, 여러 노드가 동시에 돌아도 결과 동일
+     */
+    @Scheduled(initialDelayString = "${popup.search.backfill.initial-delay-ms:10000}",
+            fixedDelayString = "${popup.search.backfill.interval-ms:60000}")
+    public void backfillMissing() {
+        if (backfilled) return;
+
+        long total = 0;
+        try {
+            while (true) {
+                List<Long> ids = popupSearchMapper.selectUnindexedPopupIds(PAGE_SIZE);
+                if (ids.isEmpty()) break;
+
+                popupSearchMapper.upsertDocuments(ids);
+                total += ids.size();
+            }
+        } catch (Exception e) {
+            log.warn("[PopupSearchIndex] backfill 실패, 다음 회차에 이어서 처리. indexed={}", total, e);
+            return;
+        }
+
+        backfilled = true;
+        log.info("[PopupSearchIndex] backfill DONE. indexed={}", total);
+    }
+
+    /**
+     * 검색 키워드 → BOOLEAN MODE 쿼리 ("kw1" "kw2" : 구문 단위 OR 검색)
+     *
+     * - ngram 파서에서 구문 검색은 부분 문자열 검색과 같아서 한글 부분 일치 유지
+     * - ngram 최소 길이 미만 키워드가 하나라도 있으면 null (LIKE 검색으로 대체)
+     * - backfill 완료 전에도 null (문서 없는 팝업이 검색에서 빠지지 않게)
+     */
+    public String toFullTextQuery(List<String> keywords) {
+        if (keywords == null || keywords.isEmpty()) return null;
+        if (!backfilled) return null;
+
+        List<String> cleaned = keywords.stream()
+                .map(kw -> kw == null ? "" : kw.replace("\"", " ").trim())
+                .filter(kw -> !kw.isEmpty())
+                .collect(Collectors.toList());
+
+        if (cleaned.isEmpty()) return null;
+
+        boolean hasShortKeyword = cleaned.stream()
+                .anyMatch(kw -> kw.replace(" ", "").length() < NGRAM_TOKEN_SIZE);
+        if (hasShortKeyword) return null;
+
+        return cleaned.stream()
+                .map(kw -> "\"" + kw + "\"")
+                .collect(Collectors.joining(" "));
+    }
+}
@@ -1,8 +1,9 @@
 package com.popspot.popupplatform.service.popup;
 
+import com.popspot.popupplatform.domain.popup.PopupDetailSnapshot;
 import com.popspot.popupplatform.domain.popup.PopupStore;
-import com.popspot.popupplatform.domain.reservation.PopupReservation;
 import com.popspot.popupplatform.dto.global.JwtUserDto;
+import com.popspot.popupplatform.dto.popup.enums.PopupGeoChangeType;
 import com.popspot.popupplatform.dto.popup.enums.PopupPriceType;
 import com.popspot.popupplatform.dto.popup.enums.PopupSortOption;
 import com.popspot.popupplatform.dto.popup.enums.PopupStatus;
@@ -11,6 +12,7 @@ import com.popspot.popupplatform.dto.popup.request.PopupListRequest;
 import com.popspot.popupplatform.dto.popup.response.PopupDetailResponse;
 import com.popspot.popupplatform.dto.popup.response.PopupListItemResponse;
 import com.popspot.popupplatform.dto.popup.response.PopupListResponse;
+import com.popspot.popupplatform.dto.popup.response.PopupNearbyClusterResponse;
 import com.popspot.popupplatform.dto.popup.response.PopupNearbyItemResponse;
 import com.popspot.popupplatform.global.exception.CustomException;
 import com.popspot.popupplatform.global.exception.code.AuthErrorCode;
@@ -21,15 +23,12 @@ import com.popspot.popupplatform.global.geo.GeoCodingService;
 import com.popspot.popupplatform.global.geo.GeoPoint;
 import com.popspot.popupplatform.mapper.popup.PopupMapper;
 import com.popspot.popupplatform.mapper.postgres.PopupGeoMapper;
-import com.popspot.popupplatform.mapper.reservation.PopupReservationMapper;
 import com.popspot.popupplatform.mapper.user.UserMapper;
 import com.popspot.popupplatform.mapper.user.UserWishlistMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -45,10 +44,16 @@ import java.util.stream.Collectors;
 public class PopupService {
 
     private final PopupMapper popupMapper;
-    private final PopupReservationMapper popupReservationMapper;
     private final UserMapper userMapper;
     private final UserWishlistMapper userWishlistMapper;
     private final PopupAiSummaryService popupAiSummaryService;
+    private final PopupPopularityService popupPopularityService;
+    private final PopupViewBuffer popupViewBuffer;
+    private final PopupDetailCacheService popupDetailCacheService;
+    private final PopupSearchIndexService popupSearchIndexService;
+    private final PopupContentWriter popupContentWriter;
+    private final PopupGeoSyncService popupGeoSyncService;
+    private final PopupNearbyTileService popupNearbyTileService;
     private final GeoCodingService geoCodingService;
 
     // Postgres (nearby 전용)
@@ -68,6 +73,46 @@ public class PopupService {
             throw new CustomException(AuthErrorCode.ACCESS_DENIED);
         }
 
+        // 0~3. 날짜 검증 + 지오코딩 + Entity 변환
+        PopupStore popupStore = buildPopupStore(request, managerId);
+
+        // 4. DB 저장 (MySQL)
+        popupMapper.insertPopup(popupStore);
+        Long newPopupId = popupStore.getPopId();
+
+        // 4-0. 인기순 정렬용 점수 행 생성 (같은 트랜잭션)
+        popupPopularityService.initialize(newPopupId);
+
+        // 4-1. Postgres(nearby) 동기화 예약 (outbox, 같은 트랜잭션)
+        popupGeoSyncService.enqueue(newPopupId, PopupGeoChangeType.INSERT);
+
+        log.info("팝업 저장 완료: id={}, title={}", newPopupId, popupStore.getPopName());
+
+        // 5. 해시태그 저장 (multi-row)
+        popupContentWriter.saveHashtags(newPopupId, request.getHashtags());
+
+        // 5-1. 키워드 검색 문서 생성 (이름/장소/해시태그/설명)
+        popupSearchIndexService.index(newPopupId);
+
+        // 6. 상세 이미지 URL 저장 (multi-row)
+        popupContentWriter.saveImages(newPopupId, request.getPopImages());
+
+        // 7. AI 요약은 트랜잭션 이후 비동기로 생성 + 업데이트
+        popupAiSummaryService.generateAndUpdateSummaryAsync(
+                newPopupId,
+                request.getPopName(),
+                request.getPopDescription(),
+                request.getHashtags()
+        );
+
+        return newPopupId;
+    }
+
+    /**
+     * 등록 요청 -> PopupStore (날짜 검증, 가격/현황 타입 계산, 지오코딩)
+     * - 단건 등록과 관리자 일괄 등록(PopupBulkImportService) 공용
+     */
+    PopupStore buildPopupStore(PopupCreateRequest request, Long managerId) {
         // 0. 날짜 유효성 검사 (시작일 > 종료일이면 에러)
         if (request.getPopEndDate().isBefore(request.getPopStartDate())) {
             throw new CustomException(PopupErrorCode.INVALID_DATE_RANGE);
@@ -117,73 +162,7 @@ public class PopupService {
                 .popAiSummary(null)
                 .build();
 
-        // 4. DB 저장 (MySQL)
-        popupMapper.insertPopup(popupStore);
-        Long newPopupId = popupStore.getPopId();
-
-        // 4-1. 커밋 이후 Postgres에 upsert (nearby 분리 핵심)
-        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-            @Override public void suspend() {}
-            @Override public void resume() {}
-            @Override public void flush() {}
-            @Override public void beforeCommit(boolean readOnly) {}
-            @Override public void beforeCompletion() {}
-
-            @Override
-            public void afterCommit() {
-                try {
-                    popupGeoMapper.upsertPopupGeo(popupStore);
-                    log.info("[PopupGeoSync] postgres upsert ok. popId={}", newPopupId);
-                } catch (Exception e) {
-                    // MySQL 등록은 성공했는데 Postgres 동기화만 실패할 수 있으니, 실패는 로깅만
-                    log.warn("[PopupGeoSync] postgres upsert failed. popId={}", newPopupId, e);
-                }
-            }
-
-            @Override public void afterCompletion(int status) {}
-        });
-
-        log.info("팝업 저장 완료: id={}, title={}", newPopupId, popupStore.getPopName());
-
-        // 5. 해시태그 저장
-        if (request.getHashtags() != null) {
-            request.getHashtags().forEach(rawTag -> {
-                String tagName = normalizeTag(rawTag);
-                if (tagName != null && !tagName.isEmpty()) {
-                    popupMapper.insertHashtag(tagName);
-                    Long hashId = popupMapper.findHashtagIdByName(tagName)
-                            .orElseThrow(() -> new CustomException(CommonErrorCode.INTERNAL_SERVER_ERROR));
-                    popupMapper.insertPopupHashtag(newPopupId, hashId);
-                }
-            });
-        }
-
-        // 6. 상세 이미지 URL 저장
-        if (request.getPopImages() != null) {
-            for (int i = 0; i < request.getPopImages().size(); i++) {
-                String imageUrl = request.getPopImages().get(i);
-                if (imageUrl != null && !imageUrl.isBlank()) {
-                    popupMapper.insertPopupImage(newPopupId, imageUrl, i + 1);
-                }
-            }
-        }
-
-        // 7. AI 요약은 트랜잭션 이후 비동기로 생성 + 업데이트
-        popupAiSummaryService.generateAndUpdateSummaryAsync(
-                newPopupId,
-                request.getPopName(),
-                request.getPopDescription(),
-                request.getHashtags()
-        );
-
-        return newPopupId;
-    }
-
-    private String normalizeTag(String raw) {
-        if (raw == null) return null;
-        String trimmed = raw.trim();
-        if (trimmed.isEmpty()) return "";
-        return trimmed.startsWith("#") ? trimmed.substring(1) : trimmed;
+        return popupStore;
     }
 
     /**
@@ -202,6 +181,15 @@ public class PopupService {
 
         PopupSortOption sortOption = request.getSafeSort();
 
+        // 키워드 검색은 FULLTEXT(ngram) 인덱스 우선, 불가능하면(한 글자 키워드 / 인덱스 backfill 전) LIKE 검색
+        List<String> keywords = request.getSafeKeywords();
+        String fullTextQuery = popupSearchIndexService.toFullTextQuery(keywords);
+
+        // 정확도순은 FULLTEXT 검색일 때만 의미가 있음
+        if (sortOption == PopupSortOption.RELEVANCE && fullTextQuery == null) {
+            sortOption = PopupSortOption.DEADLINE;
+        }
+
         if (cursor != null && !cursor.isBlank()) {
             try {
                 String[] parts = cursor.split("_");
@@ -230,6 +218,10 @@ public class PopupService {
                         cursorId = Long.parseLong(parts[1]);
                     }
 
+                } else if (sortOption == PopupSortOption.RELEVANCE) {
+                    cursorViewCount = Long.parseLong(parts[0]); // relevanceScore
+                    cursorId = Long.parseLong(parts[1]);
+
                 } else {
                     cursorId = Long.parseLong(parts[0]);
                 }
@@ -247,7 +239,6 @@ public class PopupService {
         Integer safeMaxPrice = request.getSafeMaxPrice();
 
         String sortStr = (sortOption != null) ? sortOption.name() : null;
-        List<String> keywords = request.getSafeKeywords();
 
         List<PopupStore> popupStores = popupMapper.selectPopupList(
                 cursorId,
@@ -262,7 +253,8 @@ public class PopupService {
                 request.getStatus(),
                 safeMinPrice,
                 safeMaxPrice,
-                sortStr
+                sortStr,
+                fullTextQuery
         );
 
         boolean hasNext = false;
@@ -288,10 +280,17 @@ public class PopupService {
                 nextCursor = statusGroup + "_" + viewCount + "_" + lastItem.getPopId();
 
             } else if (sortOption == PopupSortOption.POPULAR) {
-                int statusGroup = (lastItem.getPopStatus() == PopupStatus.ENDED) ? 1 : 0;
+                // 정렬에 사용된 POPUP_POPULARITY 그룹 값을 그대로 커서에 사용
+                int statusGroup = (lastItem.getPopPopularityStatusGroup() != null)
+                        ? lastItem.getPopPopularityStatusGroup()
+                        : (lastItem.getPopStatus() == PopupStatus.ENDED) ? 1 : 0;
                 long popularityScore = lastItem.getPopPopularityScore() != null ? lastItem.getPopPopularityScore() : 0L;
                 nextCursor = statusGroup + "_" + popularityScore + "_" + lastItem.getPopId();
 
+            } else if (sortOption == PopupSortOption.RELEVANCE) {
+                long relevanceScore = lastItem.getPopRelevanceScore() != null ? lastItem.getPopRelevanceScore() : 0L;
+                nextCursor = relevanceScore + "_" + lastItem.getPopId();
+
             } else {
                 nextCursor = String.valueOf(lastItem.getPopId());
             }
@@ -362,34 +361,28 @@ public class PopupService {
 
         if (Boolean.TRUE.equals(exists)) {
             userWishlistMapper.deleteWishlist(userId, popId);
+            popupPopularityService.recordWishlist(popId, false);
             return false;
         } else {
             userWishlistMapper.insertWishlist(userId, popId);
+            popupPopularityService.recordWishlist(popId, true);
             return true;
         }
     }
 
     /**
      * 팝업 상세 조회
+     * - 유저 무관 부분은 PopupDetailCacheService (캐시 미스 시 조립 쿼리 1번)
+     * - 요청마다 계산하는 것은 찜 여부 / 예약 상태뿐
+     * - 조회수/조회 기록은 PopupViewBuffer 에 적재 후 배치 반영
+     * - 캐시 히트 시 커넥션을 잡지 않도록 트랜잭션 없이 실행
      */
-    @Transactional
     public PopupDetailResponse getPopupDetail(Long popupId, Long userId) {
 
-        if (userId == null) {
-            popupMapper.updateViewCount(popupId);
-        } else {
-            boolean viewedRecently = popupMapper.existsViewHistoryRecent(popupId, userId);
-            if (!viewedRecently) {
-                popupMapper.insertViewHistory(popupId, userId);
-                popupMapper.updateViewCount(popupId);
-            }
-        }
-
-        PopupStore popup = popupMapper.selectPopupDetail(popupId)
+        PopupDetailSnapshot popup = popupDetailCacheService.get(popupId)
                 .orElseThrow(() -> new CustomException(PopupErrorCode.POPUP_NOT_FOUND));
 
-        List<String> images = popupMapper.selectPopupImages(popupId);
-        List<String> hashtags = popupMapper.selectPopupHashtags(popupId);
+        popupViewBuffer.record(popupId, userId);
 
         Boolean isLiked = null;
         if (userId != null) {
@@ -402,8 +395,8 @@ public class PopupService {
         LocalDateTime reservationEndTime = null;
 
         if (Boolean.TRUE.equals(popup.getPopIsReservation())) {
-            reservationStartTime = popupMapper.selectReservationStartTime(popupId);
-            reservationEndTime = popupMapper.selectReservationEndTime(popupId);
+            reservationStartTime = popup.getReservationStartTime();
+            reservationEndTime = popup.getReservationEndTime();
 
             LocalDateTime now = LocalDateTime.now();
             if (now.isAfter(popup.getPopEndDate())) {
@@ -415,10 +408,9 @@ public class PopupService {
             }
         }
 
-        PopupReservation popupReservation = popupReservationMapper.findByPopId(popupId);
         int maxPeoplePerReservation = 0;
-        if (popupReservation != null) {
-            maxPeoplePerReservation = popupReservation.getPrMaxUserCnt();
+        if (popup.getMaxPeoplePerReservation() != null) {
+            maxPeoplePerReservation = popup.getMaxPeoplePerReservation();
         }
 
         return PopupDetailResponse.builder()
@@ -438,8 +430,8 @@ public class PopupService {
                 .popStatus(popup.getPopStatus())
                 .popViewCount(popup.getPopViewCount())
                 .popAiSummary(popup.getPopAiSummary())
-                .images(images)
-                .hashtags(hashtags)
+                .images(popup.getImages())
+                .hashtags(popup.getHashtags())
                 .isLiked(isLiked)
                 .reservationStartTime(reservationStartTime)
                 .reservationEndTime(reservationEndTime)
@@ -466,7 +458,7 @@ public class PopupService {
                 (radiusKm == null || radiusKm <= 0) ? 3.0 : radiusKm;
 
         int defaultLimit = 30;
-        int maxLimit = 500000;
+        int maxLimit = 500;  // 넓은 영역 전체 조회는 getNearbyClusters 사용
 
         int limit = (size == null || size <= 0)
                 ? defaultLimit
@@ -477,13 +469,16 @@ public class PopupService {
         log.info("[PopupNearby] 요청 - lat={}, lng={}, radiusKm={}, limit={}",
                 latitude, longitude, effectiveRadiusKm, limit);
 
-        List<PopupNearbyItemResponse> items =
-                popupGeoMapper.selectNearbyPopups(latitude, longitude, effectiveRadiusKm, limit);
+        // 반경이 타일 범위 안이면 geohash 타일 캐시 + 메모리 거리 필터, 아니면 PostGIS 직접 조회
+        boolean tiled = popupNearbyTileService.supports(effectiveRadiusKm);
+        List<PopupNearbyItemResponse> items = tiled
+                ? popupNearbyTileService.findNearby(latitude, longitude, effectiveRadiusKm, limit)
+                : popupGeoMapper.selectNearbyPopups(latitude, longitude, effectiveRadiusKm, limit);
 
         long elapsed = System.currentTimeMillis() - start;
 
-        log.info("[PopupNearby] 결과 개수 = {}, DB 소요 시간 = {}ms",
-                items.size(), elapsed);
+        log.info("[PopupNearby] 결과 개수 = {}, tiled = {}, 소요 시간 = {}ms",
+                items.size(), tiled, elapsed);
 
         if (userId == null || items.isEmpty()) {
             return items;
@@ -501,4 +496,33 @@ public class PopupService {
 
         return items;
     }
+
+    /**
+     * 내 주변 팝업 클러스터 (넓은 반경용, geohash 셀별 개수)
+     * - 반경에 따라 셀 크기를 키워서 응답 크기를 수백 개 이내로 유지
+     */
+    @Transactional(transactionManager = "postgresTxManager", readOnly = true)
+    public List<PopupNearbyClusterResponse> getNearbyClusters(
+            Double latitude,
+            Double longitude,
+            Double radiusKm
+    ) {
+        if (latitude == null || longitude == null) {
+            throw new CustomException(CommonErrorCode.INVALID_REQUEST);
+        }
+
+        double effectiveRadiusKm =
+                (radiusKm == null || radiusKm <= 0) ? 30.0 : Math.min(radiusKm, 500.0);
+
+        // 6: 1.2km / 5: 4.9km / 4: 39km / 3: 156km 셀
+        int precision;
+        if (effectiveRadiusKm <= 10) precision = 6;
+        else if (effectiveRadiusKm <= 50) precision = 5;
+        else if (effectiveRadiusKm <= 300) precision = 4;
+        else precision = 3;
+
+        int maxCells = 1000;
+
+        return popupGeoMapper.selectNearbyClusters(latitude, longitude, effectiveRadiusKm, precision, maxCells);
+    }
 }
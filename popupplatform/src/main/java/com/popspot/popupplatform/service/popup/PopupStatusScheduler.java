@@ -1,15 +1,12 @@
 package com.popspot.popupplatform.service.popup;
 
-import com.popspot.popupplatform.domain.popup.PopupStore;
+import com.popspot.popupplatform.dto.popup.enums.PopupGeoChangeType;
 import com.popspot.popupplatform.mapper.popup.PopupMapper;
-import com.popspot.popupplatform.mapper.postgres.PopupGeoMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -23,10 +20,12 @@ import java.util.Set;
 public class PopupStatusScheduler {
 
     private final PopupMapper popupMapper;          // MySQL
-    private final PopupGeoMapper popupGeoMapper;    // Postgres
+    private final PopupGeoSyncService popupGeoSyncService;
+    private final PopupPopularityService popupPopularityService;
+    private final PopupDetailCacheService popupDetailCacheService;
 
     /**
-     * 팝업 상태 업데이트 + (커밋 성공 시) Postgres geo 테이블에도 상태 반영
+     * 팝업 상태 업데이트 + Postgres geo 테이블 동기화 예약 (outbox)
      */
     @Scheduled(cron = "0 0 * * * *") // 매 시간 정각 실행
     @Transactional
@@ -62,32 +61,13 @@ public class PopupStatusScheduler {
 
         List<Long> changedIds = new ArrayList<>(changedSet);
 
-        // 4) “커밋 성공 후” Postgres에 반영 (트랜잭션 실패 시 Postgres 건드리면 안됨)
-        Runnable syncPostgres = () -> {
-            try {
-                List<PopupStore> changedPopups = popupMapper.selectPopupStoresForGeoByIds(changedIds);
-                if (changedPopups == null || changedPopups.isEmpty()) {
-                    log.info("[PopupStatusScheduler] Postgres sync skipped. changedPopups empty.");
-                    return;
-                }
+        // 3-1) 인기순 정렬 그룹(ENDED 여부) 동기화 (MySQL, 같은 트랜잭션)
+        popupPopularityService.syncStatusGroups(changedIds);
 
-                popupGeoMapper.bulkUpsertPopupGeo(changedPopups);
-                log.info("[PopupStatusScheduler] Postgres geo sync OK. changed={}", changedPopups.size());
-            } catch (Exception e) {
-                log.warn("[PopupStatusScheduler] Postgres geo sync FAILED. changedIds={}", changedIds, e);
-            }
-        };
+        // 3-2) 상세 캐시 무효화 (커밋 이후)
+        popupDetailCacheService.evictAllAfterCommit(changedIds);
 
-        if (TransactionSynchronizationManager.isSynchronizationActive()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    syncPostgres.run();
-                }
-            });
-        } else {
-            // 혹시 트랜잭션이 안 잡힌 상황이면 즉시 실행(안전장치)
-            syncPostgres.run();
-        }
+        // 4) Postgres(nearby) 동기화 예약 (outbox, 같은 트랜잭션 → 커밋돼야만 반영)
+        popupGeoSyncService.enqueueAll(changedIds, PopupGeoChangeType.STATUS);
     }
 }
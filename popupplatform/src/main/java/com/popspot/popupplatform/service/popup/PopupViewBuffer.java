@@ -0,0 +1,197 @@
+package com.popspot.popupplatform.service.popup;
+
+import com.popspot.popupplatform.domain.popup.PopupViewEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 팝업 상세 조회수 write-behind 버퍼
+ *
+ * - 상세 조회 요청에서는 DB 쓰기 없이 메모리에만 적재 (요청 스레드는 읽기 전용)
+ * - 로그인 유저 1시간 중복 조회 제거: Redis SET NX EX (노드 간 공유)
+ *   → 이벤트가 버려지면(overflow / flush 실패) dedupe 키도 지워서 다음 조회는 다시 집계
+ * - 주기적으로 팝업별 증가량 + 조회 기록을 모아 PopupViewWriter 로 배치 반영
+ *
+ * 메트릭
+ * - popup.view.buffer.pending : flush 대기 중인 이벤트 수
+ * - popup.view.flush.lag      : 가장 오래된 미반영 이벤트 이후 경과 시간(ms)
+ * - popup.view.dropped        : 버려진 이벤트 수 (reason: overflow / dedupe_error / flush_error)
+ * - popup.view.flush          : flush 소요 시간
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PopupViewBuffer {
+
+    private static final String VIEW_DEDUPE_KEY_PREFIX = "popup:viewed:";
+    private static final Duration VIEW_DEDUPE_TTL = Duration.ofHours(1);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final PopupViewWriter popupViewWriter;
+    private final MeterRegistry meterRegistry;
+
+    // 버퍼 최대 크기 (넘치면 드롭 + 메트릭)
+    @Value("${popup.view.buffer.max-pending:50000}")
+    private int maxPending;
+
+    // pop_id -> 누적 조회수 (비로그인 포함)
+    private final ConcurrentHashMap<Long, Long> viewCountDeltas = new ConcurrentHashMap<>();
+
+    // POPUP_VIEWED 로 들어갈 로그인 유저 조회 기록
+    private final ConcurrentLinkedQueue<PopupViewEvent> pendingViews = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    // 가장 오래된 미반영 이벤트 시각 (0 이면 비어있음)
+    private final AtomicLong oldestPendingAtMillis = new AtomicLong();
+
+    private Counter droppedOverflow;
+    private Counter droppedDedupeError;
+    private Counter droppedFlushError;
+    private Timer flushTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("popup.view.buffer.pending", pendingCount, AtomicInteger::get)
+                .register(meterRegistry);
+        Gauge.builder("popup.view.flush.lag", this, PopupViewBuffer::currentLagMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        droppedOverflow = meterRegistry.counter("popup.view.dropped", "reason", "overflow");
+        droppedDedupeError = meterRegistry.counter("popup.view.dropped", "reason", "dedupe_error");
+        droppedFlushError = meterRegistry.counter("popup.view.dropped", "reason", "flush_error");
+        flushTimer = meterRegistry.timer("popup.view.flush");
+    }
+
+    /**
+     * 상세 조회 1건 기록
+     * - userId == null (비로그인) : 조회수만 증가
+     * - userId != null           : 1시간 내 첫 조회일 때만 조회수 + 조회 기록
+     */
+    public void record(Long popId, Long userId) {
+        if (popId == null) return;
+
+        if (userId != null) {
+            Boolean first;
+            try {
+                first = stringRedisTemplate.opsForValue()
+                        .setIfAbsent(dedupeKey(popId, userId), "1", VIEW_DEDUPE_TTL);
+            } catch (Exception e) {
+                // Redis 장애 시 중복 집계보다는 드롭이 안전
+                droppedDedupeError.increment();
+                log.warn("[PopupViewBuffer] dedupe 실패로 조회 이벤트 드롭. popId={}, userId={}", popId, userId, e);
+                return;
+            }
+            if (!Boolean.TRUE.equals(first)) {
+                return;
+            }
+        }
+
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            droppedOverflow.increment();
+            if (userId != null) {
+                releaseDedupe(List.of(dedupeKey(popId, userId)));
+            }
+            return;
+        }
+
+        oldestPendingAtMillis.compareAndSet(0L, System.currentTimeMillis());
+        viewCountDeltas.merge(popId, 1L, Long::sum);
+
+        if (userId != null) {
+            pendingViews.add(new PopupViewEvent(popId, userId, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * 주기적 flush (기본 2초)
+     */
+    @Scheduled(fixedDelayString = "${popup.view.buffer.flush-interval-ms:2000}")
+    public void flush() {
+        if (pendingCount.get() == 0) return;
+
+        oldestPendingAtMillis.set(0L);
+
+        // 1) 팝업별 증가량 drain (remove 는 원자적이라 동시 merge 유실 없음)
+        Map<Long, Long> deltas = new HashMap<>();
+        long drainedEvents = 0;
+        for (Long popId : viewCountDeltas.keySet()) {
+            Long delta = viewCountDeltas.remove(popId);
+            if (delta != null) {
+                deltas.put(popId, delta);
+                drainedEvents += delta;
+            }
+        }
+
+        // 2) 조회 기록 drain
+        List<PopupViewEvent> views = new ArrayList<>();
+        PopupViewEvent v;
+        while ((v = pendingViews.poll()) != null) {
+            views.add(v);
+        }
+
+        pendingCount.addAndGet((int) -drainedEvents);
+
+        if (deltas.isEmpty() && views.isEmpty()) return;
+
+        try {
+            flushTimer.record(() -> popupViewWriter.write(deltas, views));
+            log.debug("[PopupViewBuffer] flush 완료. popups={}, views={}", deltas.size(), views.size());
+        } catch (Exception e) {
+            droppedFlushError.increment(drainedEvents);
+            log.error("[PopupViewBuffer] flush 실패. popups={}, views={} 드롭", deltas.size(), views.size(), e);
+            releaseDedupe(views.stream().map(view -> dedupeKey(view.getPopId(), view.getUserId())).toList());
+        }
+    }
+
+    /**
+     * 버려진 조회의 dedupe 키 삭제 (남아 있으면 TTL 동안 같은 유저 조회가 계속 무시됨)
+     */
+    private void releaseDedupe(List<String> keys) {
+        if (keys.isEmpty()) return;
+        try {
+            stringRedisTemplate.delete(keys);
+        } catch (Exception e) {
+            log.warn("[PopupViewBuffer] dedupe 키 삭제 실패. size={}", keys.size(), e);
+        }
+    }
+
+    /**
+     * 종료 시 남은 이벤트 반영
+     */
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private String dedupeKey(Long popId, Long userId) {
+        return VIEW_DEDUPE_KEY_PREFIX + popId + ":" + userId;
+    }
+
+    private double currentLagMillis() {
+        long oldest = oldestPendingAtMillis.get();
+        return oldest == 0L ? 0 : System.currentTimeMillis() - oldest;
+    }
+}
@@ -0,0 +1,44 @@
+package com.popspot.popupplatform.service.popup;
+
+import com.popspot.popupplatform.domain.popup.PopupViewEvent;
+import com.popspot.popupplatform.mapper.popup.PopupMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PopupViewBuffer 에서 모인 조회 이벤트를 한 트랜잭션으로 MySQL 에 반영
+ *
+ * - POPUPSTORE.pop_view_count : UPDATE 1번 (CASE WHEN)
+ * - POPUP_VIEWED              : multi-row INSERT 1번
+ * - POPUP_POPULARITY          : multi-row upsert 1번
+ */
+@Service
+@RequiredArgsConstructor
+public class PopupViewWriter {
+
+    private final PopupMapper popupMapper;
+    private final PopupPopularityService popupPopularityService;
+
+    @Transactional
+    public void write(Map<Long, Long> viewCountDeltas, List<PopupViewEvent> views) {
+        if (!viewCountDeltas.isEmpty()) {
+            popupMapper.increaseViewCounts(viewCountDeltas);
+        }
+
+        if (!views.isEmpty()) {
+            popupMapper.insertViewHistories(views);
+
+            // 인기 점수는 POPUP_VIEWED 에 남는 조회(로그인 유저)만 반영
+            Map<Long, Long> popularityDeltas = new HashMap<>();
+            for (PopupViewEvent v : views) {
+                popularityDeltas.merge(v.getPopId(), 1L, Long::sum);
+            }
+            popupPopularityService.recordViews(popularityDeltas);
+        }
+    }
+}
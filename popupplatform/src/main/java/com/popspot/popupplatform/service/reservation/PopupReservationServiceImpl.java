@@ -20,6 +20,7 @@ import com.popspot.popupplatform.mapper.reservation.PopupBlockMapper;
 import com.popspot.popupplatform.mapper.reservation.PopupReservationMapper;
 import com.popspot.popupplatform.mapper.reservation.PopupTimeSlotMapper;
 import com.popspot.popupplatform.mapper.reservation.PopupTimetableMapper;
+import com.popspot.popupplatform.service.popup.PopupDetailCacheService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
@@ -39,9 +40,11 @@ public class PopupReservationServiceImpl implements PopupReservationService {
     private final PopupBlockMapper popupBlockMapper;
     private final PopupTimeSlotMapper popupTimeSlotMapper;
     private final PopupMapper popupMapper;
+    private final PopupDetailCacheService popupDetailCacheService;
 
     // ✅ Redis (remain 관리)
     private final StringRedisTemplate stringRedisTemplate;
+    private final ReservationInventoryService reservationInventoryService;
 
     /**
      * Redis remain key 포맷
@@ -52,8 +55,7 @@ public class PopupReservationServiceImpl implements PopupReservationService {
      * ⚠️ 여기서는 slotInventory(DB)를 사용하지 않고 Redis를 “실시간 remain 저장소”로 사용한다.
      */
     private String invKey(Long popId, LocalDate date, Long ptsId) {
-        String ymd = date.toString().replace("-", "");
-        return "inv:" + popId + ":" + ymd + ":" + ptsId;
+        return ReservationInventoryService.invKey(popId, date, ptsId);
     }
 
     /**
@@ -61,7 +63,8 @@ public class PopupReservationServiceImpl implements PopupReservationService {
      *
      * 변경 포인트:
      * 1) 기존에는 SLOT_INVENTORY 테이블에 전기간 remain을 생성했음 :contentReference[oaicite:2]{index=2}
-     * 2) 이제는 “전기간 remain 초기값”을 Redis에 생성한다.
+     * 2) 이제는 remain 초기값을 Redis에 생성한다.
+     *    (오늘부터 일정 기간만 미리 만들고 이후 날짜는 조회/예약 시 lazy 생성, ReservationInventoryService)
      *
      * ⚠️ Redis 초기화는 DB 트랜잭션 커밋 이후(afterCommit)에 수행해야
      * DB 롤백 시 Redis만 남는 불일치가 생기지 않는다.
@@ -74,7 +77,6 @@ public class PopupReservationServiceImpl implements PopupReservationService {
         if (popupStore.isEmpty()) {
             throw new CustomException(PopupErrorCode.POPUP_NOT_FOUND);
         }
-        PopupStore ps = popupStore.get();
 
         PopupReservation existed = popupReservationMapper.findByPopId(popId);
         if (existed != null) {
@@ -114,12 +116,15 @@ public class PopupReservationServiceImpl implements PopupReservationService {
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCommit() {
-                initRedisInventory(popId, req, ps);
+                reservationInventoryService.seedInitial(popId);
             }
         });
 
         popupMapper.updateIsReservation(popId);
 
+        // 상세 화면 예약 정보 반영 (커밋 이후 캐시 무효화)
+        popupDetailCacheService.evictAfterCommit(popId);
+
         return PopupReservationSettingResponse.of(reservation, timetableEntities, blockEntities);
     }
 
@@ -175,7 +180,7 @@ public class PopupReservationServiceImpl implements PopupReservationService {
         List<LocalDate> availableDates = new ArrayList<>();
 
         for (LocalDate d = startDate; !d.isAfter(endDate); d = d.plusDays(1)) {
-            DayOfWeekType dowType = toDayOfWeekType(d.getDayOfWeek());
+            DayOfWeekType dowType = DayOfWeekType.from(d.getDayOfWeek());
             if (!openDays.contains(dowType)) continue;
             if (blockedDates.contains(d)) continue;
             availableDates.add(d);
@@ -204,7 +209,7 @@ public class PopupReservationServiceImpl implements PopupReservationService {
                     .build();
         }
 
-        DayOfWeekType targetDow = toDayOfWeekType(date.getDayOfWeek());
+        DayOfWeekType targetDow = DayOfWeekType.from(date.getDayOfWeek());
 
         // 요일에 해당하는 슬롯 정의(ptsId 목록) 조회 :contentReference[oaicite:5]{index=5} :contentReference[oaicite:6]{index=6}
         List<PopupTimeSlot> slots = popupTimeSlotMapper.findByPopIdAndDayOfWeek(popId, targetDow);
@@ -216,13 +221,23 @@ public class PopupReservationServiceImpl implements PopupReservationService {
         }
 
         // ✅ Redis MGET로 remain을 한 번에 가져온다 (DB IN 조회 대체)
-        List<String> keys = new ArrayList<>(slots.size());
+        // 마지막 키 = 휴무 마커 (같은 MGET 으로 확인)
+        List<String> keys = new ArrayList<>(slots.size() + 1);
         for (PopupTimeSlot s : slots) {
             keys.add(invKey(popId, date, s.getPtsId()));
         }
+        keys.add(ReservationInventoryService.closedKey(popId, date));
 
         List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
 
+        // 아직 만들어지지 않은 날짜(eager 기간 이후)면 지금 적재 후 다시 조회
+        // - 휴무 마커가 있으면(제외일/기간 밖) 적재 시도 없이 0 으로 응답
+        boolean closed = values != null && values.get(slots.size()) != null;
+        if (!closed && (values == null || values.subList(0, slots.size()).contains(null))) {
+            reservationInventoryService.materializeDate(popId, date);
+            values = stringRedisTemplate.opsForValue().multiGet(keys);
+        }
+
         // ptsId -> remain map 구성 (values는 keys와 동일한 순서)
         Map<Long, Integer> remainMap = new HashMap<>();
         for (int i = 0; i < slots.size(); i++) {
@@ -231,7 +246,7 @@ public class PopupReservationServiceImpl implements PopupReservationService {
             int remain = 0;
 
             // Redis에 키가 없다면:
-            // - 아직 초기화가 안 됐거나(설정 직후 레이스),
+            // - 운영일이 아니거나(제외일/기간 밖),
             // - 이미 기간 종료/정리된 상태일 수 있다.
             // 여기서는 안전하게 0으로 보여준다(예약 불가).
             if (v != null) {
@@ -265,82 +280,6 @@ public class PopupReservationServiceImpl implements PopupReservationService {
                 .build();
     }
 
-    // ====================================================
-    // ✅ Redis inventory 초기화 (예약 설정 시 1회)
-    // ====================================================
-    private void initRedisInventory(Long popId, PopupReservationSettingRequest req, PopupStore ps) {
-
-        Set<LocalDate> excluded = new HashSet<>();
-        if (req.getExcludeDates() != null) {
-            for (PopupExcludeDateRequest ex : req.getExcludeDates()) {
-                excluded.add(ex.getDate());
-            }
-        }
-
-        // ✅ openDays(운영 요일) 만들기: timetables 기준
-        Set<DayOfWeekType> openDays = new HashSet<>();
-        if (req.getTimetables() != null) {
-            for (PopupTimetableRequest tt : req.getTimetables()) {
-                openDays.add(tt.getDayOfWeek());
-            }
-        }
-
-        List<PopupTimeSlot> slots = popupTimeSlotMapper.findByPopId(popId);
-        if (slots == null || slots.isEmpty()) return;
-
-        LocalDate start = ps.getPopStartDate().toLocalDate();
-        LocalDate end = ps.getPopEndDate().toLocalDate();
-
-        Map<String, String> kv = new HashMap<>();
-
-        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
-            DayOfWeekType dow = toDayOfWeekType(d.getDayOfWeek());
-
-            // ✅ 요일이 운영 요일이 아니면 skip (캘린더 로직과 동일)
-            if (!openDays.contains(dow)) continue;
-
-            // ✅ 제외일이면 skip
-            if (excluded.contains(d)) continue;
-
-            // ✅ 그 날짜 요일에 해당하는 슬롯만 생성
-            for (PopupTimeSlot s : slots) {
-                if (s.getPtsDayOfWeek() != dow) continue;
-                kv.put(invKey(popId, d, s.getPtsId()), String.valueOf(s.getPtsCapacity()));
-            }
-        }
-
-        if (!kv.isEmpty()) {
-            stringRedisTemplate.opsForValue().multiSet(kv);
-
-            // ✅ 예약 만료일(=팝업 종료일) 기준으로 TTL(EXPIREAT) 설정
-            // - 종료일 다음날 00:00에 일괄 만료(원하면 plusDays(0)로 “종료일 23:59:59” 느낌도 가능)
-            Instant expireAt = ps.getPopEndDate()
-                    .toLocalDate()
-                    .plusDays(1)
-                    .atStartOfDay(ZoneId.systemDefault())
-                    .toInstant();
-
-            for (String k : kv.keySet()) {
-                stringRedisTemplate.expireAt(k, expireAt);
-            }
-        }
-    }
-
-    // ====================================================
-    // DayOfWeek → DayOfWeekType 변환 헬퍼
-    // ====================================================
-    private DayOfWeekType toDayOfWeekType(DayOfWeek dayOfWeek) {
-        return switch (dayOfWeek) {
-            case MONDAY -> DayOfWeekType.MON;
-            case TUESDAY -> DayOfWeekType.TUE;
-            case WEDNESDAY -> DayOfWeekType.WED;
-            case THURSDAY -> DayOfWeekType.THU;
-            case FRIDAY -> DayOfWeekType.FRI;
-            case SATURDAY -> DayOfWeekType.SAT;
-            case SUNDAY -> DayOfWeekType.SUN;
-        };
-    }
-
     // ========================================================
     // Validation
     // ========================================================
@@ -3,18 +3,21 @@ package com.popspot.popupplatform.service.reservation;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.popspot.popupplatform.mapper.reservation.ReservationPaymentMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.util.Map;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PortOnePaymentServiceImpl implements PortOnePaymentService {
 
-    private final StringRedisTemplate stringRedisTemplate;
+    private final ReservationHoldStore reservationHoldStore;
     private final ReservationPaymentMapper reservationPaymentMapper;
 
     // ✅ 기존 예약 확정 서비스 연결
@@ -57,8 +60,7 @@ public class PortOnePaymentServiceImpl implements PortOnePaymentService {
                 throw new IllegalStateException("holdId parse failed");
             }
 
-            String holdKey = "hold:" + holdId;
-            Map<Object, Object> hold = stringRedisTemplate.opsForHash().entries(holdKey);
+            Map<Object, Object> hold = reservationHoldStore.find(holdId);
             if (hold == null || hold.isEmpty()) {
                 reservationPaymentMapper.markFailed(paymentId);
                 throw new IllegalStateException("HOLD not found or expired");
@@ -68,10 +70,8 @@ public class PortOnePaymentServiceImpl implements PortOnePaymentService {
 
             reservationPaymentMapper.updateReservationId(paymentId, reservationId);
 
-            // HOLD 정리(기존 로직 그대로)
-            stringRedisTemplate.delete(holdKey);
-            stringRedisTemplate.delete("holdmeta:" + holdId);
-            stringRedisTemplate.opsForZSet().remove("hold:expiry", holdId);
+            // HOLD 정리 (커밋 이후, 재고 원복 없이)
+            consumeHoldAfterCommit(holdId);
 
             return Map.of(
                     "paymentId", paymentId,
@@ -107,8 +107,7 @@ public class PortOnePaymentServiceImpl implements PortOnePaymentService {
             throw new IllegalStateException("holdId parse failed");
         }
 
-        String holdKey = "hold:" + holdId;
-        Map<Object, Object> hold = stringRedisTemplate.opsForHash().entries(holdKey);
+        Map<Object, Object> hold = reservationHoldStore.find(holdId);
         if (hold == null || hold.isEmpty()) {
             reservationPaymentMapper.markFailed(paymentId);
             throw new IllegalStateException("HOLD not found or expired");
@@ -117,9 +116,7 @@ public class PortOnePaymentServiceImpl implements PortOnePaymentService {
         Long reservationId = confirmReservationFromHold(hold, userId);
         reservationPaymentMapper.updateReservationId(paymentId, reservationId);
 
-        stringRedisTemplate.delete(holdKey);
-        stringRedisTemplate.delete("holdmeta:" + holdId);
-        stringRedisTemplate.opsForZSet().remove("hold:expiry", holdId);
+        consumeHoldAfterCommit(holdId);
 
         return Map.of(
                 "paymentId", paymentId,
@@ -129,6 +126,28 @@ public class PortOnePaymentServiceImpl implements PortOnePaymentService {
     }
 
 
+    /**
+     * 결제 확정 커밋 이후 HOLD 키 정리
+     * - 커밋 전에 지우면 롤백 시 PENDING 행은 남고 원복용 meta 만 사라져서 재고가 새어나감
+     */
+    private void consumeHoldAfterCommit(String holdId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reservationHoldStore.consume(holdId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    reservationHoldStore.consume(holdId);
+                } catch (Exception e) {
+                    // hold/meta 는 TTL 로 사라지고, 인덱스는 cleanup 스케줄러가 정리
+                    log.warn("[ReservationHold] 결제 확정 후 HOLD 정리 실패. holdId={}", holdId, e);
+                }
+            }
+        });
+    }
+
     private String extractPaymentId(String rawBody) {
         // ✅ 기존 로직 유지 (PortOneApiClient로 옮기지 않음: 관련 없는 부분 건드리지 않기)
         try {
@@ -0,0 +1,316 @@
+package com.popspot.popupplatform.service.reservation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 예약 HOLD Redis 저장소 (Lua 원자 처리)
+ *
+ * 키 구조 (기존과 동일)
+ * - inv:{popId}:{yyyyMMdd}:{slotId} : 잔여 재고
+ * - hold:{holdId}                   : 결제 확정용 HOLD 정보 (TTL 10분)
+ * - holdmeta:{holdId}               : 재고 원복용 메타 (TTL 1시간)
+ * - hold:expiry                     : 만료 인덱스 ZSET (score = 만료 시각 ms)
+ *
+ * 생성 = 재고 확인/차감 + hold/meta 저장 + 만료 인덱스 등록을 스크립트 1번으로 처리
+ * → "재고만 빠지고 hold/인덱스가 없는" 중간 상태가 생기지 않음
+ * 해제 = meta 기준 재고 원복(선택) + hold/meta/인덱스 삭제를 스크립트 1번으로 처리
+ * → meta 가 같이 지워지므로 여러 번 호출돼도 원복은 1번만
+ * 원복(INCRBY)은 재고 키가 있을 때만
+ * → flush/evict 등으로 키가 없으면 건드리지 않고, 다음 materialize 가 DB 기준으로 다시 계산
+ *   (없는 키에 INCRBY 하면 people 만 담긴 TTL 없는 키가 생기고, NX 적재로는 고쳐지지 않음)
+ *
+ * 만료 정리(ReservationPaymentCleanupScheduler)
+ * - claim = 만료 인덱스에서 N개를 꺼내면서 score 를 now+lease 로 미룸 → 여러 노드가 같은 holdId 를 동시에 잡지 않음
+ *   (정리 도중 노드가 죽으면 lease 가 지난 뒤 다른 노드가 다시 잡음)
+ * - 배치 해제 = 원복/소진/재시도 결정을 스크립트 1번으로 반영
+ *
+ * 주의: 해제 스크립트는 meta 에 저장된 invKey 를 스크립트 안에서 접근하므로 단일 Redis(비클러스터) 전제
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationHoldStore {
+
+    static final String HOLD_KEY_PREFIX = "hold:";
+    static final String HOLD_META_KEY_PREFIX = "holdmeta:";
+    static final String HOLD_EXPIRY_ZSET = "hold:expiry";
+
+    // HOLD TTL
+    static final Duration HOLD_TTL = Duration.ofMinutes(10);
+
+    // 원복용 meta는 좀 더 길게(hold TTL 지나도 복구 가능하게)
+    static final Duration HOLD_META_TTL = Duration.ofHours(1);
+
+    /**
+     * KEYS[1]=invKey, KEYS[2]=hold, KEYS[3]=holdmeta, KEYS[4]=hold:expiry
+     * ARGV[1]=people, ARGV[2]=holdTtlSec, ARGV[3]=metaTtlSec, ARGV[4]=expireAtMillis, ARGV[5]=holdId
+     * ARGV[6]=popId, ARGV[7]=ptsId, ARGV[8]=date, ARGV[9]=merchantUid, ARGV[10]=paymentId, ARGV[11]=amount
+     * return 1: 성공 / 0: 재고 부족 / -1: 재고 키 없음 (lazy 적재 대상)
+     */
+    private static final DefaultRedisScript<Long> CREATE_HOLD_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local cnt = tonumber(ARGV[1])
+
+                    local v = redis.call('GET', KEYS[1])
+                    if (not v) then
+                      return -1
+                    end
+
+                    local remain = tonumber(v)
+                    if (remain == nil or remain < cnt) then
+                      return 0
+                    end
+
+                    redis.call('DECRBY', KEYS[1], cnt)
+
+                    redis.call('HSET', KEYS[2],
+                      'popId', ARGV[6], 'ptsId', ARGV[7], 'date', ARGV[8], 'people', ARGV[1],
+                      'invKey', KEYS[1], 'merchantUid', ARGV[9], 'paymentId', ARGV[10], 'amount', ARGV[11])
+                    redis.call('EXPIRE', KEYS[2], tonumber(ARGV[2]))
+
+                    redis.call('HSET', KEYS[3],
+                      'invKey', KEYS[1], 'people', ARGV[1], 'paymentId', ARGV[10])
+                    redis.call('EXPIRE', KEYS[3], tonumber(ARGV[3]))
+
+                    redis.call('ZADD', KEYS[4], ARGV[4], ARGV[5])
+                    return 1
+                    """,
+                    Long.class
+            );
+
+    /**
+     * KEYS[1]=holdmeta, KEYS[2]=hold, KEYS[3]=hold:expiry
+     * ARGV[1]=holdId, ARGV[2]=restore(1/0)
+     * return 원복한 인원 수 (원복 안 함/meta 없음이면 0)
+     */
+    private static final DefaultRedisScript<Long> RELEASE_HOLD_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local restored = 0
+                    if (ARGV[2] == '1') then
+                      local meta = redis.call('HMGET', KEYS[1], 'invKey', 'people')
+                      local invKey = meta[1]
+                      local people = tonumber(meta[2])
+                      if (invKey and people and people > 0 and redis.call('EXISTS', invKey) == 1) then
+                        redis.call('INCRBY', invKey, people)
+                        restored = people
+                      end
+                    end
+
+                    redis.call('DEL', KEYS[1], KEYS[2])
+                    redis.call('ZREM', KEYS[3], ARGV[1])
+                    return restored
+                    """,
+                    Long.class
+            );
+
+    /**
+     * KEYS[1]=hold:expiry
+     * ARGV[1]=nowMillis, ARGV[2]=limit, ARGV[3]=leaseUntilMillis
+     * return 선점한 holdId 목록 (score 를 leaseUntil 로 변경)
+     */
+    private static final DefaultRedisScript<List> CLAIM_EXPIRED_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+                    for i = 1, #ids do
+                      redis.call('ZADD', KEYS[1], 'XX', ARGV[3], ids[i])
+                    end
+                    return ids
+                    """,
+                    List.class
+            );
+
+    /**
+     * KEYS[1]=hold:expiry
+     * ARGV[1]=retryAtMillis, ARGV[2..]=holdId, action 쌍 (R: 원복 해제 / C: 소진 / L: 나중에 재시도)
+     * return 원복한 인원 수 합계
+     */
+    private static final DefaultRedisScript<Long> SETTLE_HOLDS_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local restored = 0
+                    for i = 2, #ARGV, 2 do
+                      local holdId = ARGV[i]
+                      local action = ARGV[i + 1]
+                      if (action == 'L') then
+                        redis.call('ZADD', KEYS[1], 'XX', ARGV[1], holdId)
+                      else
+                        local metaKey = 'holdmeta:' .. holdId
+                        if (action == 'R') then
+                          local meta = redis.call('HMGET', metaKey, 'invKey', 'people')
+                          local invKey = meta[1]
+                          local people = tonumber(meta[2])
+                          if (invKey and people and people > 0 and redis.call('EXISTS', invKey) == 1) then
+                            redis.call('INCRBY', invKey, people)
+                            restored = restored + people
+                          end
+                        end
+                        redis.call('DEL', metaKey, 'hold:' .. holdId)
+                        redis.call('ZREM', KEYS[1], holdId)
+                      end
+                    end
+                    return restored
+                    """,
+                    Long.class
+            );
+
+    /**
+     * KEYS[1]=invKey, ARGV[1]=people
+     * return 1: 원복 / 0: 재고 키 없음 (원복 안 함)
+     */
+    private static final DefaultRedisScript<Long> RESTORE_IF_EXISTS_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    if (redis.call('EXISTS', KEYS[1]) == 1) then
+                      redis.call('INCRBY', KEYS[1], tonumber(ARGV[1]))
+                      return 1
+                    end
+                    return 0
+                    """,
+                    Long.class
+            );
+
+    /**
+     * 재고 차감 스크립트 결과
+     * - MISSING 일 때만 적재 후 재시도 (SOLD_OUT 은 키가 있으므로 적재해도 결과가 같음)
+     */
+    public enum Decrement {
+        OK, SOLD_OUT, MISSING;
+
+        public static Decrement of(Long code) {
+            if (code == null) return SOLD_OUT;
+            if (code == 1L) return OK;
+            if (code == -1L) return MISSING;
+            return SOLD_OUT;
+        }
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * HOLD 생성 (재고 차감 포함, 원자적)
+     * @return MISSING 이면 재고 키가 아직 없음, SOLD_OUT 이면 재고 부족
+     */
+    public Decrement create(String holdId, String invKey, int people, Long popupId, Long slotId, String date,
+                          String merchantUid, String paymentId, int amount) {
+        long expireAtMillis = System.currentTimeMillis() + HOLD_TTL.toMillis();
+
+        Long ok = stringRedisTemplate.execute(
+                CREATE_HOLD_SCRIPT,
+                List.of(invKey, HOLD_KEY_PREFIX + holdId, HOLD_META_KEY_PREFIX + holdId, HOLD_EXPIRY_ZSET),
+                String.valueOf(people),
+                String.valueOf(HOLD_TTL.getSeconds()),
+                String.valueOf(HOLD_META_TTL.getSeconds()),
+                String.valueOf(expireAtMillis),
+                holdId,
+                String.valueOf(popupId),
+                String.valueOf(slotId),
+                date,
+                merchantUid,
+                paymentId,
+                String.valueOf(amount)
+        );
+        return Decrement.of(ok);
+    }
+
+    /**
+     * HOLD 조회 (결제 확정용)
+     */
+    public Map<Object, Object> find(String holdId) {
+        return stringRedisTemplate.opsForHash().entries(HOLD_KEY_PREFIX + holdId);
+    }
+
+    /**
+     * HOLD 해제 + 재고 원복 (결제 안 된 HOLD 만료/취소/생성 실패 보상)
+     * @return 원복한 인원 수
+     */
+    public long release(String holdId) {
+        return runRelease(holdId, true);
+    }
+
+    /**
+     * HOLD 소진 (결제 확정으로 예약이 된 경우, 재고 원복 없이 키만 정리)
+     */
+    public void consume(String holdId) {
+        runRelease(holdId, false);
+    }
+
+    /**
+     * 재고 원복 (HOLD 와 무관: 확정 예약 취소 / 즉시 예약 DB 실패 보상)
+     * - 재고 키가 없으면 원복하지 않음 (다음 materialize 가 DB 기준으로 계산)
+     * @return false 면 재고 키 없음
+     */
+    public boolean restoreInventory(String invKey, int people) {
+        if (people <= 0) return false;
+        Long ok = stringRedisTemplate.execute(
+                RESTORE_IF_EXISTS_SCRIPT,
+                List.of(invKey),
+                String.valueOf(people)
+        );
+        return ok != null && ok == 1L;
+    }
+
+    /**
+     * 만료된 holdId 선점 (lease 동안 다른 노드의 claim 에서 제외)
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> claimExpired(long nowMillis, int limit, Duration lease) {
+        List<String> ids = stringRedisTemplate.execute(
+                CLAIM_EXPIRED_SCRIPT,
+                List.of(HOLD_EXPIRY_ZSET),
+                String.valueOf(nowMillis),
+                String.valueOf(limit),
+                String.valueOf(nowMillis + lease.toMillis())
+        );
+        return ids == null ? List.of() : ids;
+    }
+
+    /**
+     * 선점한 HOLD 들의 처리 결과를 한 번에 반영
+     * - release: 재고 원복 + 키/인덱스 삭제
+     * - consume: 키/인덱스만 삭제
+     * - retry  : 인덱스 score 를 retryAt 으로 (다음 정리 때 다시 판단)
+     * @return 원복한 인원 수 합계
+     */
+    public long settle(Collection<String> release, Collection<String> consume, Collection<String> retry, long retryAtMillis) {
+        List<String> args = new ArrayList<>(1 + (release.size() + consume.size() + retry.size()) * 2);
+        args.add(String.valueOf(retryAtMillis));
+        release.forEach(id -> { args.add(id); args.add("R"); });
+        consume.forEach(id -> { args.add(id); args.add("C"); });
+        retry.forEach(id -> { args.add(id); args.add("L"); });
+        if (args.size() == 1) return 0;
+
+        Long restored = stringRedisTemplate.execute(SETTLE_HOLDS_SCRIPT, List.of(HOLD_EXPIRY_ZSET), args.toArray());
+        return restored == null ? 0 : restored;
+    }
+
+    /**
+     * 만료 시각이 지난 인덱스 항목 수 (정리 적체)
+     */
+    public long countExpired(long nowMillis) {
+        Long count = stringRedisTemplate.opsForZSet().count(HOLD_EXPIRY_ZSET, Double.NEGATIVE_INFINITY, nowMillis);
+        return count == null ? 0 : count;
+    }
+
+    private long runRelease(String holdId, boolean restore) {
+        Long restored = stringRedisTemplate.execute(
+                RELEASE_HOLD_SCRIPT,
+                List.of(HOLD_META_KEY_PREFIX + holdId, HOLD_KEY_PREFIX + holdId, HOLD_EXPIRY_ZSET),
+                holdId,
+                restore ? "1" : "0"
+        );
+        return restored == null ? 0 : restored;
+    }
+}
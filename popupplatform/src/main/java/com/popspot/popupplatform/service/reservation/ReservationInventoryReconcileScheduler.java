@@ -0,0 +1,33 @@
+package com.popspot.popupplatform.service.reservation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 재고 재구성 (Redis 유실/flush 대비)
+ *
+ * - 진행 중인 예약 팝업의 가까운 기간 재고 중 빠진 키만 USER_RESERVATION 기준으로 다시 만든다
+ * - 없는 키만 생성(SET NX)하므로 여러 노드에서 동시에 돌아도, 정상 상태에서 돌아도 안전
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationInventoryReconcileScheduler {
+
+    private final ReservationInventoryService reservationInventoryService;
+
+    @Scheduled(fixedDelayString = "${reservation.inventory.reconcile-interval-ms:600000}",
+            initialDelayString = "${reservation.inventory.reconcile-initial-delay-ms:30000}")
+    public void reconcile() {
+        try {
+            long created = reservationInventoryService.reconcileActive();
+            if (created > 0) {
+                log.warn("[ReservationInventory] 누락된 재고 키 재구성. created={}", created);
+            }
+        } catch (Exception e) {
+            log.warn("[ReservationInventory] 재고 재구성 실패", e);
+        }
+    }
+}
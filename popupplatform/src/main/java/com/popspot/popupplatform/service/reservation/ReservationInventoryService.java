@@ -0,0 +1,241 @@
+package com.popspot.popupplatform.service.reservation;
+
+import com.popspot.popupplatform.domain.popup.PopupStore;
+import com.popspot.popupplatform.domain.reservation.PopupBlock;
+import com.popspot.popupplatform.domain.reservation.PopupTimeSlot;
+import com.popspot.popupplatform.domain.reservation.SlotReservedCount;
+import com.popspot.popupplatform.dto.reservation.enums.DayOfWeekType;
+import com.popspot.popupplatform.mapper.popup.PopupMapper;
+import com.popspot.popupplatform.mapper.reservation.PopupBlockMapper;
+import com.popspot.popupplatform.mapper.reservation.PopupReservationMapper;
+import com.popspot.popupplatform.mapper.reservation.PopupTimeSlotMapper;
+import com.popspot.popupplatform.mapper.reservation.UserReservationMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Redis 예약 재고(inv:{popId}:{yyyyMMdd}:{ptsId}) 적재
+ *
+ * - 적재는 "없을 때만 SET + EXPIREAT" 를 Lua 로 묶어 키 여러 개를 한 번에 처리 (키당 왕복 없음)
+ *   → 이미 차감 중인 키를 덮어쓰지 않으므로 여러 노드/경로에서 동시에 호출돼도 안전
+ * - 예약 설정 직후에는 오늘부터 eager-days 일치만 만들고, 그 이후 날짜는 처음 조회/예약될 때 생성 (lazy)
+ * - 값 = 슬롯 정원 - USER_RESERVATION 확정 인원 → Redis 유실 후 재적재해도 판매된 좌석이 반영됨
+ * - TTL 은 팝업 종료일 다음날 00:00 (기존과 동일)
+ * - 적재할 슬롯이 없는 날짜(제외일/기간 밖)는 inv-closed:{popId}:{yyyyMMdd} 마커를 짧게 남겨
+ *   슬롯 조회 때마다 DB 를 다시 읽지 않음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReservationInventoryService {
+
+    private static final String INV_KEY_PREFIX = "inv:";
+    private static final String CLOSED_KEY_PREFIX = "inv-closed:";
+
+    // 스크립트 1회당 키 수
+    private static final int SEED_CHUNK_SIZE = 500;
+
+    /**
+     * KEYS = invKeys
+     * ARGV[1]=expireAtSec, ARGV[2..]=값 (KEYS 와 같은 순서)
+     * return 새로 만든 키 수
+     */
+    private static final DefaultRedisScript<Long> SEED_IF_ABSENT_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local expireAt = tonumber(ARGV[1])
+                    local created = 0
+                    for i = 1, #KEYS do
+                      if (redis.call('SET', KEYS[i], ARGV[i + 1], 'NX')) then
+                        redis.call('EXPIREAT', KEYS[i], expireAt)
+                        created = created + 1
+                      end
+                    end
+                    return created
+                    """,
+                    Long.class
+            );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final PopupMapper popupMapper;
+    private final PopupReservationMapper popupReservationMapper;
+    private final PopupTimeSlotMapper popupTimeSlotMapper;
+    private final PopupBlockMapper popupBlockMapper;
+    private final UserReservationMapper userReservationMapper;
+
+    // 예약 설정 시/재구성 시 미리 만들어 둘 일수 (이후는 lazy)
+    @Value("${reservation.inventory.eager-days:14}")
+    private int eagerDays;
+
+    // 휴무 마커 TTL (기간/제외일 변경이 늦어도 이 시간 안에 반영)
+    @Value("${reservation.inventory.closed-ttl-seconds:600}")
+    private long closedTtlSeconds;
+
+    /**
+     * Redis remain key 포맷
+     * 예) inv:10:20250115:123 = 20
+     */
+    public static String invKey(Long popId, LocalDate date, Long ptsId) {
+        String ymd = date.toString().replace("-", "");
+        return INV_KEY_PREFIX + popId + ":" + ymd + ":" + ptsId;
+    }
+
+    /**
+     * 휴무(적재할 재고 없음) 마커 키
+     * 예) inv-closed:10:20250115 = 1
+     */
+    public static String closedKey(Long popId, LocalDate date) {
+        String ymd = date.toString().replace("-", "");
+        return CLOSED_KEY_PREFIX + popId + ":" + ymd;
+    }
+
+    /**
+     * 예약 설정 직후 초기 적재 (오늘 ~ eager-days)
+     */
+    public long seedInitial(Long popId) {
+        LocalDate today = LocalDate.now();
+        return materialize(popId, today, today.plusDays(eagerDays - 1L)).created();
+    }
+
+    /**
+     * 재고 키가 없으면 해당 날짜를 적재
+     * @return 적재 후 키가 존재하면 true (운영일이 아니거나 기간 밖이면 false)
+     */
+    public boolean materializeIfMissing(Long popId, LocalDate date, String invKey) {
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(invKey))) return true;
+        if (date.isBefore(LocalDate.now())) return false;
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(closedKey(popId, date)))) return false;
+
+        materializeDate(popId, date);
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(invKey));
+    }
+
+    /**
+     * 특정 날짜 적재 (슬롯 목록 조회에서 키가 비어 있을 때)
+     * - 적재할 슬롯이 없으면 휴무 마커를 남김 → 호출 측은 마커가 있으면 이 메서드를 부르지 않음
+     */
+    public void materializeDate(Long popId, LocalDate date) {
+        if (date.isBefore(LocalDate.now())) return;
+        if (materialize(popId, date, date).planned() == 0) {
+            stringRedisTemplate.opsForValue().set(closedKey(popId, date), "1", Duration.ofSeconds(closedTtlSeconds));
+        }
+    }
+
+    /**
+     * 진행 중인 예약 팝업의 오늘 ~ eager-days 재고 중 빠진 키를 재구성 (Redis 유실 대비)
+     * - 있는 키는 건드리지 않으므로 정상 상태에서는 사실상 no-op
+     * @return 새로 만든 키 수
+     */
+    public long reconcileActive() {
+        LocalDate today = LocalDate.now();
+        LocalDate to = today.plusDays(eagerDays - 1L);
+
+        long created = 0;
+        for (Long popId : popupReservationMapper.selectActivePopIds(today)) {
+            try {
+                created += materialize(popId, today, to).created();
+            } catch (Exception e) {
+                log.warn("[ReservationInventory] 재고 재구성 실패. popId={}", popId, e);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * [from, to] 중 운영일(슬롯 요일 + 팝업 기간 + 제외일 아님) 재고를 없을 때만 생성
+     * @return planned = 운영일 재고 키 수(이미 있던 키 포함), created = 새로 만든 키 수
+     */
+    private Seeded materialize(Long popId, LocalDate from, LocalDate to) {
+        Optional<PopupStore> popupStore = popupMapper.selectPopupDetail(popId);
+        if (popupStore.isEmpty()) return Seeded.NONE;
+        PopupStore ps = popupStore.get();
+
+        LocalDate popStart = ps.getPopStartDate().toLocalDate();
+        LocalDate popEnd = ps.getPopEndDate().toLocalDate();
+        LocalDate start = from.isBefore(popStart) ? popStart : from;
+        LocalDate end = to.isAfter(popEnd) ? popEnd : to;
+        if (start.isAfter(end)) return Seeded.NONE;
+
+        List<PopupTimeSlot> slots = popupTimeSlotMapper.findByPopId(popId);
+        if (slots == null || slots.isEmpty()) return Seeded.NONE;
+
+        Set<LocalDate> excluded = new HashSet<>();
+        for (PopupBlock b : popupBlockMapper.findByPopId(popId)) {
+            excluded.add(b.getPbDateTime().toLocalDate());
+        }
+
+        Map<String, Integer> reserved = new HashMap<>();
+        for (SlotReservedCount c : userReservationMapper.sumReservedByPopIdAndDateRange(
+                popId, start.atStartOfDay(), end.plusDays(1).atStartOfDay())) {
+            reserved.put(invKey(popId, c.getUrDate(), c.getPtsId()), c.getReservedCnt());
+        }
+
+        Map<String, String> kv = new LinkedHashMap<>();
+        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+            if (excluded.contains(d)) continue;
+
+            DayOfWeekType dow = DayOfWeekType.from(d.getDayOfWeek());
+            for (PopupTimeSlot s : slots) {
+                if (s.getPtsDayOfWeek() != dow) continue;
+
+                String key = invKey(popId, d, s.getPtsId());
+                int remain = s.getPtsCapacity() - reserved.getOrDefault(key, 0);
+                kv.put(key, String.valueOf(Math.max(remain, 0)));
+            }
+        }
+        if (kv.isEmpty()) return Seeded.NONE;
+
+        // 종료일 다음날 00:00 일괄 만료
+        long expireAtSec = popEnd.plusDays(1)
+                .atStartOfDay(ZoneId.systemDefault())
+                .toEpochSecond();
+
+        long created = seedIfAbsent(kv, expireAtSec);
+        if (created > 0) {
+            log.info("[ReservationInventory] 재고 적재. popId={}, range={}~{}, keys={}, created={}",
+                    popId, start, end, kv.size(), created);
+        }
+        return new Seeded(kv.size(), created);
+    }
+
+    private long seedIfAbsent(Map<String, String> kv, long expireAtSec) {
+        List<Map.Entry<String, String>> entries = new ArrayList<>(kv.entrySet());
+        long created = 0;
+
+        for (int i = 0; i < entries.size(); i += SEED_CHUNK_SIZE) {
+            List<Map.Entry<String, String>> chunk = entries.subList(i, Math.min(i + SEED_CHUNK_SIZE, entries.size()));
+
+            List<String> keys = new ArrayList<>(chunk.size());
+            List<String> args = new ArrayList<>(chunk.size() + 1);
+            args.add(String.valueOf(expireAtSec));
+            for (Map.Entry<String, String> e : chunk) {
+                keys.add(e.getKey());
+                args.add(e.getValue());
+            }
+
+            Long n = stringRedisTemplate.execute(SEED_IF_ABSENT_SCRIPT, keys, args.toArray());
+            created += (n == null ? 0 : n);
+        }
+        return created;
+    }
+
+    private record Seeded(int planned, long created) {
+        static final Seeded NONE = new Seeded(0, 0);
+    }
+}
@@ -1,104 +1,134 @@
 package com.popspot.popupplatform.service.reservation;
 
-import com.popspot.popupplatform.mapper.reservation.ReservationPaymentMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
 import java.time.Duration;
-import java.time.Instant;
-import java.util.Map;
-import java.util.Set;
-
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 만료 HOLD 정리 (배치)
+ *
+ * 1배치 흐름
+ * 1) hold:expiry 에서 만료된 holdId N개 claim (Lua 1번, lease 동안 다른 노드는 못 잡음)
+ * 2) DB 정리 (ReservationPaymentExpiryWriter, 트랜잭션 1번 / SQL 2번)
+ * 3) 커밋 후 재고 원복 + 키 삭제 + 재시도 예약 (Lua 1번)
+ *
+ * 3) 이 실패해도 holdId 는 lease 뒤 다시 claim 되고, 이미 지운 행은 "행 없음 → release" 로 처리됨
+ * (원복은 holdmeta 기준이라 두 번 되지 않음)
+ *
+ * 메트릭
+ * - reservation.hold.expiry.backlog : 만료 시각이 지났는데 아직 정리 안 된 HOLD 수
+ * - reservation.hold.reclaimed      : 처리한 HOLD 수 (result=released|consumed|retried)
+ * - reservation.hold.restored.people: 원복한 인원 수
+ * - reservation.hold.reclaim        : 배치 1회 소요 시간
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ReservationPaymentCleanupScheduler {
 
-    private final StringRedisTemplate stringRedisTemplate;
-    private final ReservationPaymentMapper reservationPaymentMapper;
-
-    // UserReservationServiceImpl과 동일 키 사용 중
-    private static final String HOLD_EXPIRY_ZSET = "hold:expiry";
+    private final ReservationHoldStore reservationHoldStore;
+    private final ReservationPaymentExpiryWriter reservationPaymentExpiryWriter;
+    private final MeterRegistry meterRegistry;
 
     // "10분 안에 결제 안되면" 기준
     private static final Duration EXPIRE_AFTER = Duration.ofMinutes(10);
 
-    // 한 번에 너무 많이 처리하지 않게 배치 제한
-    private static final int BATCH_SIZE = 200;
+    @Value("${reservation.cleanup.batch-size:500}")
+    private int batchSize;
+
+    // 한 번 실행에서 처리할 최대 배치 수 (적체 시 연속 처리)
+    @Value("${reservation.cleanup.max-batches:20}")
+    private int maxBatches;
+
+    // claim 후 이 시간 안에 끝내지 못하면 다른 노드가 다시 잡음
+    @Value("${reservation.cleanup.lease-ms:60000}")
+    private long leaseMillis;
+
+    // 결제 행이 아직 cutoff 전인 HOLD 의 재확인 간격
+    @Value("${reservation.cleanup.retry-delay-ms:5000}")
+    private long retryDelayMillis;
+
+    private final AtomicLong backlog = new AtomicLong();
+
+    private Counter releasedCounter;
+    private Counter consumedCounter;
+    private Counter retriedCounter;
+    private Counter restoredPeopleCounter;
+    private Timer reclaimTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("reservation.hold.expiry.backlog", backlog, AtomicLong::get)
+                .register(meterRegistry);
+
+        releasedCounter = meterRegistry.counter("reservation.hold.reclaimed", "result", "released");
+        consumedCounter = meterRegistry.counter("reservation.hold.reclaimed", "result", "consumed");
+        retriedCounter = meterRegistry.counter("reservation.hold.reclaimed", "result", "retried");
+        restoredPeopleCounter = meterRegistry.counter("reservation.hold.restored.people");
+        reclaimTimer = meterRegistry.timer("reservation.hold.reclaim");
+    }
 
     /**
-     * N초마다 만료 HOLD 정리 + PENDING payment 삭제 + Redis 재고 원복
+     * N초마다 만료 HOLD 정리 + PENDING/FAILED payment 삭제 + Redis 재고 원복
      *
      * fixedDelay: 이전 실행 끝난 뒤 Nms 후 실행
-     * 필요하면 application.yml로 조절 가능하게 바꿔도 됨.
      */
     @Scheduled(fixedDelayString = "${reservation.cleanup.fixedDelayMs:5000}")
     public void cleanupExpiredPendingPayments() {
-        long nowMillis = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < maxBatches; i++) {
+                int claimed = reclaimTimer.record(this::reclaimBatch);
+                if (claimed < batchSize) break;
+            }
+        } catch (Exception e) {
+            // 선점한 holdId 는 lease 뒤 다시 처리됨
+            log.warn("[cleanup] hold 배치 정리 실패", e);
+        } finally {
+            refreshBacklog();
+        }
+    }
 
-        // 1) 만료된 holdId들(= score <= now) 조회
-        Set<String> expiredHoldIds = stringRedisTemplate.opsForZSet()
-                .rangeByScore(HOLD_EXPIRY_ZSET, 0, nowMillis, 0, BATCH_SIZE);
+    private int reclaimBatch() {
+        long nowMillis = System.currentTimeMillis();
 
-        if (expiredHoldIds == null || expiredHoldIds.isEmpty()) return;
+        List<String> holdIds = reservationHoldStore.claimExpired(nowMillis, batchSize, Duration.ofMillis(leaseMillis));
+        if (holdIds.isEmpty()) return 0;
 
-        Instant cutoff = Instant.ofEpochMilli(nowMillis).minus(EXPIRE_AFTER);
+        Timestamp cutoff = new Timestamp(nowMillis - EXPIRE_AFTER.toMillis());
+        ReservationPaymentExpiryWriter.Result result = reservationPaymentExpiryWriter.reclaim(holdIds, cutoff);
 
-        for (String holdId : expiredHoldIds) {
-            try {
-                cleanupOne(holdId, cutoff);
-            } catch (Exception e) {
-                // 한 건 실패로 전체 스케줄러가 죽지 않게
-                log.warn("[cleanup] failed holdId={}", holdId, e);
-            }
-        }
-    }
+        long restored = reservationHoldStore.settle(
+                result.getRelease(), result.getConsume(), result.getRetry(), nowMillis + retryDelayMillis);
 
-    /**
-     * 핵심: DB에서 "PENDING & 10분 지난 건"을 조건부로 삭제(또는 변경)하고,
-     * 삭제가 성공한 경우에만 재고 원복한다. (멱등/중복원복 방지)
-     */
-    @Transactional
-    protected void cleanupOne(String holdId, Instant cutoff) {
-        if (holdId == null || holdId.isBlank()) return;
+        releasedCounter.increment(result.getRelease().size());
+        consumedCounter.increment(result.getConsume().size());
+        retriedCounter.increment(result.getRetry().size());
+        restoredPeopleCounter.increment(restored);
 
-        String merchantUid = "hold-" + holdId;
+        log.info("[cleanup] claimed={}, released={}, consumed={}, retried={}, deletedRows={}, restoredPeople={}",
+                holdIds.size(), result.getRelease().size(), result.getConsume().size(),
+                result.getRetry().size(), result.getDeletedRows(), restored);
 
-        // 2) DB에서 아직 PENDING이고 10분 지난 것만 삭제 (성공하면 1)
-        int deleted = reservationPaymentMapper.deleteExpiredPendingByMerchantUid(
-                merchantUid,
-                Timestamp.from(cutoff)
-        );
+        return holdIds.size();
+    }
 
-        // 3) Redis/인덱스 정리는 어차피 진행 (쓸데없는 zset 적체 방지)
+    private void refreshBacklog() {
         try {
-            if (deleted == 1) {
-                // 삭제 성공한 경우에만 재고 원복
-                String metaKey = "holdmeta:" + holdId;
-                Map<Object, Object> meta = stringRedisTemplate.opsForHash().entries(metaKey);
-
-                if (meta != null && !meta.isEmpty()) {
-                    String invKey = String.valueOf(meta.get("invKey"));
-                    int people = Integer.parseInt(String.valueOf(meta.get("people")));
-
-                    if (invKey != null && !invKey.isBlank() && people > 0) {
-                        stringRedisTemplate.opsForValue().increment(invKey, people);
-                        log.info("[cleanup] restored inventory invKey={}, people={}, holdId={}", invKey, people, holdId);
-                    }
-                }
-
-                // 실제 hold도 같이 삭제
-                stringRedisTemplate.delete("hold:" + holdId);
-                stringRedisTemplate.delete("holdmeta:" + holdId);
-            }
-        } finally {
-            // 4) zset 인덱스에서는 무조건 제거
-            stringRedisTemplate.opsForZSet().remove(HOLD_EXPIRY_ZSET, holdId);
+            backlog.set(reservationHoldStore.countExpired(System.currentTimeMillis()));
+        } catch (Exception e) {
+            log.debug("[cleanup] backlog 조회 실패", e);
         }
     }
 }
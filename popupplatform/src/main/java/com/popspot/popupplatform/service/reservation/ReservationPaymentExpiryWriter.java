@@ -0,0 +1,84 @@
+package com.popspot.popupplatform.service.reservation;
+
+import com.popspot.popupplatform.domain.reservation.ReservationPaymentState;
+import com.popspot.popupplatform.mapper.reservation.ReservationPaymentMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 만료 HOLD 배치의 DB 정리 (스케줄러와 분리된 빈 → @Transactional 프록시 적용)
+ *
+ * 배치당 SQL 2번 (holdId 개수와 무관)
+ * 1) merchant_uid IN (...) FOR UPDATE 로 상태 조회 (결제 확정과 직렬화)
+ * 2) PENDING/FAILED + cutoff 이전 행 일괄 삭제
+ *
+ * 판단
+ * - 삭제된 행      → release (재고 원복)
+ * - 행 자체가 없음 → release (생성 보상/이전 정리 후 Redis 반영 실패 등, meta 기준이라 중복 원복 없음)
+ * - PAID/CANCELLED → consume (예약으로 확정된 좌석, 원복 없음)
+ * - 그 외(아직 cutoff 전) → retry
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationPaymentExpiryWriter {
+
+    private static final String MERCHANT_UID_PREFIX = "hold-";
+
+    private final ReservationPaymentMapper reservationPaymentMapper;
+
+    @Transactional
+    public Result reclaim(List<String> holdIds, Timestamp cutoff) {
+        Map<String, String> holdIdByUid = new LinkedHashMap<>();
+        for (String holdId : holdIds) {
+            if (holdId == null || holdId.isBlank()) continue;
+            holdIdByUid.put(MERCHANT_UID_PREFIX + holdId, holdId);
+        }
+
+        Result result = new Result();
+        if (holdIdByUid.isEmpty()) return result;
+
+        Map<String, ReservationPaymentState> states = new HashMap<>();
+        for (ReservationPaymentState s : reservationPaymentMapper.selectStatesForUpdate(holdIdByUid.keySet(), cutoff)) {
+            states.put(s.getMerchantUid(), s);
+        }
+
+        List<String> expiredUids = new ArrayList<>();
+        for (Map.Entry<String, String> e : holdIdByUid.entrySet()) {
+            ReservationPaymentState state = states.get(e.getKey());
+            String holdId = e.getValue();
+
+            if (state == null) {
+                result.release.add(holdId);
+            } else if ("PAID".equals(state.getStatus()) || "CANCELLED".equals(state.getStatus())) {
+                result.consume.add(holdId);
+            } else if (state.isExpired()) {
+                expiredUids.add(e.getKey());
+                result.release.add(holdId);
+            } else {
+                result.retry.add(holdId);
+            }
+        }
+
+        if (!expiredUids.isEmpty()) {
+            result.deletedRows = reservationPaymentMapper.deleteExpiredByMerchantUids(expiredUids, cutoff);
+        }
+        return result;
+    }
+
+    @Getter
+    public static class Result {
+        private final List<String> release = new ArrayList<>();
+        private final List<String> consume = new ArrayList<>();
+        private final List<String> retry = new ArrayList<>();
+        private int deletedRows;
+    }
+}
@@ -7,17 +7,20 @@ import com.popspot.popupplatform.mapper.reservation.PopupTimeSlotMapper;
 import com.popspot.popupplatform.mapper.reservation.ReservationPaymentMapper;
 import com.popspot.popupplatform.mapper.reservation.UserReservationMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserReservationServiceImpl implements UserReservationService {
@@ -36,15 +39,14 @@ public class UserReservationServiceImpl implements UserReservationService {
     // ✅ 추가: USER_RESERVATION insert용 mapper
     private final UserReservationMapper userReservationMapper;
 
-    // HOLD TTL
-    private static final Duration HOLD_TTL = Duration.ofMinutes(10);
+    // HOLD 생성/해제 (Lua 원자 처리)
+    private final ReservationHoldStore reservationHoldStore;
 
-    // 원복용 meta는 좀 더 길게(hold TTL 지나도 복구 가능하게)
-    private static final Duration HOLD_META_TTL = Duration.ofHours(1);
-
-    private static final String HOLD_EXPIRY_ZSET = "hold:expiry";
+    // 재고 키 lazy 적재
+    private final ReservationInventoryService reservationInventoryService;
 
     // ✅ 원자적 차감을 위한 Lua (remain >= people 이면 DECRBY, 아니면 실패)
+    // return 1: 성공 / 0: 재고 부족 / -1: 재고 키 없음 (lazy 적재 대상)
     private static final DefaultRedisScript<Long> DECR_IF_ENOUGH_SCRIPT =
             new DefaultRedisScript<>(
                     """
@@ -53,7 +55,7 @@ public class UserReservationServiceImpl implements UserReservationService {
 
                     local v = redis.call('GET', key)
                     if (not v) then
-                      return 0
+                      return -1
                     end
 
                     local remain = tonumber(v)
@@ -83,14 +85,14 @@ public class UserReservationServiceImpl implements UserReservationService {
         // 1) 재고 키
         String invKey = buildInventoryKey(popupId, date, slotId);
 
-        // 2) Redis Lua로 원자적 차감
-        Long ok = stringRedisTemplate.execute(
-                DECR_IF_ENOUGH_SCRIPT,
-                Collections.singletonList(invKey),
-                String.valueOf(people)
-        );
+        // 2) Redis Lua로 원자적 차감 (키가 아직 없는 날짜면 적재 후 1번 더, 매진이면 바로 실패)
+        ReservationHoldStore.Decrement decreased = decreaseIfEnough(invKey, people);
+        if (decreased == ReservationHoldStore.Decrement.MISSING
+                && reservationInventoryService.materializeIfMissing(popupId, date, invKey)) {
+            decreased = decreaseIfEnough(invKey, people);
+        }
 
-        if (ok == null || ok != 1L) {
+        if (decreased != ReservationHoldStore.Decrement.OK) {
             throw new IllegalStateException("NOT_ENOUGH_INVENTORY");
         }
 
@@ -116,7 +118,7 @@ public class UserReservationServiceImpl implements UserReservationService {
 
         } catch (Exception e) {
             // 4) DB 실패 시 재고 롤백
-            stringRedisTemplate.opsForValue().increment(invKey, people);
+            reservationHoldStore.restoreInventory(invKey, people);
             throw e;
         }
     }
@@ -165,57 +167,36 @@ public class UserReservationServiceImpl implements UserReservationService {
         // 1) 재고키
         String invKey = buildInventoryKey(popupId, date, slotId);
 
-        // 2) Lua로 원자적 차감
-        Long ok = stringRedisTemplate.execute(
-                DECR_IF_ENOUGH_SCRIPT,
-                Collections.singletonList(invKey),
-                String.valueOf(people)
-        );
-
-        if (ok == null || ok != 1L) {
-            throw new IllegalStateException("NOT_ENOUGH_INVENTORY");
-        }
-
-        // 3) holdId / paymentId
+        // 2) holdId / paymentId
         String holdId = UUID.randomUUID().toString().replace("-", "");
         String merchantUid = "hold-" + holdId;
         String paymentId = merchantUid;
 
-        // 4) amount
+        // 3) amount (Redis 차감 전에 계산해서 차감 이후 실패 구간을 줄임)
         int amount = computeAmountFallback(popupId, people);
 
-        // 5) hold 저장 (TTL)
-        String holdKey = "hold:" + holdId;
-
-        Map<String, String> holdMap = new HashMap<>();
-        holdMap.put("popId", String.valueOf(popupId));
-        holdMap.put("ptsId", String.valueOf(slotId));
-        holdMap.put("date", date.toString());
-        holdMap.put("people", String.valueOf(people));
-        holdMap.put("invKey", invKey);
-
-        holdMap.put("merchantUid", merchantUid);
-        holdMap.put("paymentId", paymentId);
-        holdMap.put("amount", String.valueOf(amount));
-
-        stringRedisTemplate.opsForHash().putAll(holdKey, holdMap);
-        stringRedisTemplate.expire(holdKey, HOLD_TTL);
-
-        // 6) meta 저장(원복용)
-        String metaKey = "holdmeta:" + holdId;
-        Map<String, String> metaMap = new HashMap<>();
-        metaMap.put("invKey", invKey);
-        metaMap.put("people", String.valueOf(people));
-        metaMap.put("paymentId", paymentId);
+        // 4) 재고 차감 + hold/meta 저장(TTL) + 만료 인덱스 등록 (Lua 1번, 원자적)
+        ReservationHoldStore.Decrement held = reservationHoldStore.create(
+                holdId, invKey, people, popupId, slotId, date.toString(),
+                merchantUid, paymentId, amount
+        );
 
-        stringRedisTemplate.opsForHash().putAll(metaKey, metaMap);
-        stringRedisTemplate.expire(metaKey, HOLD_META_TTL);
+        // 재고 키가 아직 없는 날짜(lazy 적재 대상)면 적재 후 1번 더 (매진이면 적재 없이 바로 실패)
+        if (held == ReservationHoldStore.Decrement.MISSING
+                && reservationInventoryService.materializeIfMissing(popupId, date, invKey)) {
+            held = reservationHoldStore.create(
+                    holdId, invKey, people, popupId, slotId, date.toString(),
+                    merchantUid, paymentId, amount
+            );
+        }
+        if (held != ReservationHoldStore.Decrement.OK) {
+            throw new IllegalStateException("NOT_ENOUGH_INVENTORY");
+        }
 
-        // 7) 만료 인덱스 등록
-        long expireAtMillis = System.currentTimeMillis() + HOLD_TTL.toMillis();
-        stringRedisTemplate.opsForZSet().add(HOLD_EXPIRY_ZSET, holdId, expireAtMillis);
+        // 5) DB 롤백 시 HOLD 해제 + 재고 원복 (롤백이 확실할 때만, 결과 불명은 cleanup 스케줄러가 처리)
+        releaseHoldOnRollback(holdId);
 
-        // 8) 결제 테이블 PENDING
+        // 6) 결제 테이블 PENDING
         reservationPaymentMapper.insertPending(
                 merchantUid,
                 paymentId,
@@ -225,7 +206,7 @@ public class UserReservationServiceImpl implements UserReservationService {
                 amount
         );
 
-        // 9) 응답
+        // 7) 응답
         Map<String, Object> resp = new HashMap<>();
         resp.put("reservationId", safeParseLongHoldId(holdId)); // UUID면 null
         resp.put("holdId", holdId);
@@ -233,7 +214,7 @@ public class UserReservationServiceImpl implements UserReservationService {
         resp.put("merchantUid", merchantUid);
         resp.put("paymentId", paymentId);
         resp.put("amount", amount);
-        resp.put("ttlSeconds", HOLD_TTL.getSeconds());
+        resp.put("ttlSeconds", ReservationHoldStore.HOLD_TTL.getSeconds());
 
         return resp;
     }
@@ -276,15 +257,43 @@ public class UserReservationServiceImpl implements UserReservationService {
         String invKey = buildInventoryKey(r.getPopId(), date, r.getPtsId());
 
         int people = (r.getUrUserCnt() == null ? 0 : r.getUrUserCnt());
-        if (people > 0) {
-            stringRedisTemplate.opsForValue().increment(invKey, people);
-        }
+        reservationHoldStore.restoreInventory(invKey, people);
+    }
+
+    private ReservationHoldStore.Decrement decreaseIfEnough(String invKey, int people) {
+        Long ok = stringRedisTemplate.execute(
+                DECR_IF_ENOUGH_SCRIPT,
+                Collections.singletonList(invKey),
+                String.valueOf(people)
+        );
+        return ReservationHoldStore.Decrement.of(ok);
+    }
+
+    private void releaseHoldOnRollback(String holdId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // 커밋 여부를 모르면(UNKNOWN) 해제하지 않음 → 만료 후 cleanup 스케줄러가 DB 행 기준으로 원복/소진 결정
+                if (status == STATUS_UNKNOWN) {
+                    log.warn("[ReservationHold] 트랜잭션 결과 불명, 만료 정리에 맡김. holdId={}", holdId);
+                    return;
+                }
+                if (status != STATUS_ROLLED_BACK) return;
+                try {
+                    long restored = reservationHoldStore.release(holdId);
+                    log.warn("[ReservationHold] 트랜잭션 롤백으로 HOLD 해제. holdId={}, restored={}", holdId, restored);
+                } catch (Exception e) {
+                    log.error("[ReservationHold] 롤백 보상 실패 (만료 스케줄러 대상 아님, 확인 필요). holdId={}", holdId, e);
+                }
+            }
+        });
     }
 
     private String buildInventoryKey(Long popupId, LocalDate date, Long slotId) {
         // ✅ 기존 포맷: yyyyMMdd
-        String ymd = date.toString().replace("-", "");
-        return "inv:" + popupId + ":" + ymd + ":" + slotId;
+        return ReservationInventoryService.invKey(popupId, date, slotId);
     }
 
     private int computeAmountFallback(Long popupId, int people) {
@@ -8,6 +8,7 @@ import com.popspot.popupplatform.dto.user.response.CurrentUserResponse;
 import com.popspot.popupplatform.global.exception.CustomException;
 import com.popspot.popupplatform.global.exception.code.UserErrorCode;
 import com.popspot.popupplatform.mapper.user.UserMapper;
+import com.popspot.popupplatform.service.chat.ChatSenderProfileService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -20,6 +21,7 @@ public class UserService {
 
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ChatSenderProfileService chatSenderProfileService;
 
     @Value("${aws.s3.default-profile.url}")
     private String defaultProfileUrl;
@@ -71,6 +73,7 @@ public class UserService {
         if (updated != 1) {
             throw new CustomException(UserErrorCode.USER_NOT_FOUND);
         }
+        chatSenderProfileService.evictAfterCommit(userId);
     }
 
     /**
@@ -158,6 +161,7 @@ public class UserService {
         if (updated != 1) {
             throw new CustomException(UserErrorCode.USER_NOT_FOUND);
         }
+        chatSenderProfileService.evictAfterCommit(userId);
     }
 
     @Transactional
@@ -172,6 +176,7 @@ public class UserService {
                 userId,
                 url
         );
+        chatSenderProfileService.evictAfterCommit(userId);
     }
 
     public void checkVaildPwd(Long userId, CheckValidPwdDto dto) {
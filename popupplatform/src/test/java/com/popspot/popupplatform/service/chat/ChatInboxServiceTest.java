@@ -0,0 +1,132 @@
+package com.popspot.popupplatform.service.chat;
+
+import com.popspot.popupplatform.dto.chat.response.ChatInboxRow;
+import com.popspot.popupplatform.dto.chat.response.ChatRoomSummaryResponse;
+import com.popspot.popupplatform.mapper.chat.ChatMessageMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatInboxServiceTest {
+
+    private static final Long USER_ID = 7L;
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+    @Mock
+    private ChatMessageMapper chatMessageMapper;
+
+    private ChatInboxService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ChatInboxService(stringRedisTemplate, chatMessageMapper);
+        lenient().when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(stringRedisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+    }
+
+    @Test
+    void 재구성_중_들어온_메시지의_방은_ready_전환_전에_다시_집계() {
+        when(valueOperations.get("chat:inbox:ready:" + USER_ID)).thenReturn(null);
+        when(valueOperations.setIfAbsent(eq("chat:inbox:ready:" + USER_ID), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        // 1차 집계: 방 1 unread 0 / 재집계: 방 1 unread 1 (집계 후 저장된 메시지)
+        when(chatMessageMapper.selectInboxRows(USER_ID, "GROUP", List.of(1L, 2L)))
+                .thenReturn(List.of(row(1L, 10L, BASE, 0)));
+        when(chatMessageMapper.selectInboxRows(USER_ID, "GROUP", List.of(1L)))
+                .thenReturn(List.of(row(1L, 11L, BASE.plusMinutes(1), 1)));
+        // 첫 번째 마무리: touched = 방 1, 두 번째: 비어 있음 → ready 전환
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of("GROUP:1"), List.of());
+
+        List<ChatRoomSummaryResponse> sorted = service.sort(USER_ID, new ArrayList<>(List.of(room(1L), room(2L))));
+
+        assertThat(sorted.get(0).getRoomId()).isEqualTo(1L);
+        assertThat(sorted.get(0).getUnreadCount()).isEqualTo(1);
+        assertThat(sorted.get(0).getLatestMessageTime()).isEqualTo(BASE.plusMinutes(1));
+        verify(hashOperations).put("chat:inbox:unread:" + USER_ID, "GROUP:1", "1");
+        verify(stringRedisTemplate, times(2)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void 다른_조회가_재구성_중이면_집계만_쓰고_인덱스에_쓰지_않음() {
+        when(valueOperations.get("chat:inbox:ready:" + USER_ID)).thenReturn("B:other");
+        when(valueOperations.setIfAbsent(eq("chat:inbox:ready:" + USER_ID), anyString(), any(Duration.class)))
+                .thenReturn(false);
+        when(chatMessageMapper.selectInboxRows(USER_ID, "GROUP", List.of(1L)))
+                .thenReturn(List.of(row(1L, 10L, BASE, 3)));
+
+        List<ChatRoomSummaryResponse> sorted = service.sort(USER_ID, new ArrayList<>(List.of(room(1L))));
+
+        assertThat(sorted.get(0).getUnreadCount()).isEqualTo(3);
+        verify(stringRedisTemplate, never()).delete(anyList());
+        verify(zSetOperations, never()).add(anyString(), anyString(), anyDouble());
+        verify(stringRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void 재구성_중_무효화되면_ready_로_전환하지_않음() {
+        when(valueOperations.get("chat:inbox:ready:" + USER_ID)).thenReturn(null);
+        when(valueOperations.setIfAbsent(eq("chat:inbox:ready:" + USER_ID), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        when(chatMessageMapper.selectInboxRows(USER_ID, "GROUP", List.of(1L)))
+                .thenReturn(List.of(row(1L, 10L, BASE, 0)));
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(null);
+
+        service.sort(USER_ID, new ArrayList<>(List.of(room(1L))));
+
+        verify(stringRedisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        verify(valueOperations, never()).set(eq("chat:inbox:ready:" + USER_ID), anyString(), any(Duration.class));
+    }
+
+    private ChatRoomSummaryResponse room(Long roomId) {
+        return ChatRoomSummaryResponse.builder()
+                .roomType("GROUP")
+                .roomId(roomId)
+                .createdAt(BASE.minusDays(1))
+                .build();
+    }
+
+    private ChatInboxRow row(Long roomId, Long lastMessageId, LocalDateTime lastMessageAt, int unread) {
+        ChatInboxRow r = new ChatInboxRow();
+        r.setRoomId(roomId);
+        r.setLastMessageId(lastMessageId);
+        r.setLastMessageAt(lastMessageAt);
+        r.setUnreadCount(unread);
+        return r;
+    }
+}
@@ -0,0 +1,111 @@
+package com.popspot.popupplatform.service.chat;
+
+import com.popspot.popupplatform.domain.chat.ChatReadWatermark;
+import com.popspot.popupplatform.mapper.chat.ChatParticipantMapper;
+import com.popspot.popupplatform.mapper.chat.PrivateChatParticipantMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatReadWatermarkIndexTest {
+
+    private static final Long ROOM_ID = 3L;
+    private static final Long BOT_ID = 20251212L;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
+    private ChatParticipantMapper chatParticipantMapper;
+    @Mock
+    private PrivateChatParticipantMapper privateChatParticipantMapper;
+
+    private ChatReadWatermarkIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ChatReadWatermarkIndex(stringRedisTemplate, chatParticipantMapper, privateChatParticipantMapper);
+        lenient().when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void 페이지_범위_아래_인원과_범위_안_워터마크로_안_읽은_수_계산() {
+        // 참여자 5명: 2명은 minId(100) 미만, 2명은 105 / 108, 1명은 전부 읽음
+        // 보낸 사람 1 의 워터마크 = 105, 보낸 사람 2 는 범위 아래(90)
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of(5L, 2L, 2L, "1", "105", "4", "108", "105", "90"));
+
+        ChatReadWatermarkIndex.Snapshot snapshot = index.snapshot("GROUP", ROOM_ID, 100, 110, List.of(1L, 2L, 1L));
+
+        assertThat(snapshot.memberCount()).isEqualTo(5);
+        // cmId 100: 아래 2명
+        assertThat(snapshot.unreadMembers(100, null)).isEqualTo(2);
+        // cmId 106: 아래 2명 + 105 → 3, 보낸 사람 1(105 < 106) 제외 → 2
+        assertThat(snapshot.unreadMembers(106, 1L)).isEqualTo(2);
+        // cmId 110: 아래 2명 + 105, 108 → 4, 보낸 사람 2(90) 제외 → 3
+        assertThat(snapshot.unreadMembers(110, 2L)).isEqualTo(3);
+    }
+
+    @Test
+    void 인덱스가_없으면_봇을_빼고_재구성() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(null, 2L);
+        when(privateChatParticipantMapper.selectReadWatermarks(ROOM_ID))
+                .thenReturn(List.of(watermark(7L, 50L), watermark(BOT_ID, 0L)));
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList((String) null));
+
+        ChatReadWatermarkIndex.Snapshot snapshot = index.snapshot("PRIVATE", ROOM_ID, 40, 60, List.of(BOT_ID));
+
+        assertThat(snapshot.memberCount()).isEqualTo(1);
+        // 봇이 보낸 55 는 7번만 안 읽음
+        assertThat(snapshot.unreadMembers(55, BOT_ID)).isEqualTo(1);
+        verify(valueOperations).multiGet(List.of(ChatReadService.userLastReadKey("PRIVATE", ROOM_ID, 7L)));
+    }
+
+    @Test
+    void 봇의_읽음은_인덱스에_반영하지_않음() {
+        index.advance("PRIVATE", ROOM_ID, BOT_ID, 99L);
+
+        verify(stringRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void 참여자가_없는_방도_센티널로_인덱스를_남김() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(null, 0L);
+        when(chatParticipantMapper.selectReadWatermarks(ROOM_ID)).thenReturn(List.of());
+
+        ChatReadWatermarkIndex.Snapshot snapshot = index.snapshot("GROUP", ROOM_ID, 1, 2, List.of());
+
+        assertThat(snapshot.memberCount()).isZero();
+        // 재구성 스크립트에 TTL 만 넘어가도 실행됨 (센티널 + EXPIRE)
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("chat:watermarks:v2:GROUP:" + ROOM_ID)),
+                eq("604800"));
+    }
+
+    private ChatReadWatermark watermark(Long userId, Long lastReadId) {
+        ChatReadWatermark w = new ChatReadWatermark();
+        w.setUserId(userId);
+        w.setLastReadId(lastReadId);
+        return w;
+    }
+}
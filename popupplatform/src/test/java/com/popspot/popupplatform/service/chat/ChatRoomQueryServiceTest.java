@@ -0,0 +1,91 @@
+package com.popspot.popupplatform.service.chat;
+
+import com.popspot.popupplatform.dto.chat.response.ChatRoomSummaryResponse;
+import com.popspot.popupplatform.mapper.chat.GroupChatRoomMapper;
+import com.popspot.popupplatform.mapper.chat.PrivateChatRoomMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatRoomQueryServiceTest {
+
+    private static final Long USER_ID = 7L;
+
+    @Mock
+    private GroupChatRoomMapper groupChatRoomMapper;
+    @Mock
+    private PrivateChatRoomMapper privateChatRoomMapper;
+    @Mock
+    private ChatInboxService chatInboxService;
+
+    private ChatRoomQueryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ChatRoomQueryService(groupChatRoomMapper, privateChatRoomMapper, chatInboxService);
+    }
+
+    @Test
+    void 인덱스_순서로_자른_방만_조회() {
+        // page 1, size 2 → 인덱스 0~3
+        when(chatInboxService.range(USER_ID, 0, 3))
+                .thenReturn(List.of("GROUP:5", "PRIVATE:9", "GROUP:3", "PRIVATE:1"));
+        when(chatInboxService.removeRooms(USER_ID, List.of())).thenReturn(true);
+        when(groupChatRoomMapper.findGroupRoomsForUserByIds(USER_ID, List.of(5L, 3L)))
+                .thenReturn(List.of(room("GROUP", 3L), room("GROUP", 5L)));
+        when(privateChatRoomMapper.findPrivateRoomsForUserByIds(USER_ID, List.of(9L, 1L)))
+                .thenReturn(List.of(room("PRIVATE", 1L), room("PRIVATE", 9L)));
+
+        List<ChatRoomSummaryResponse> page = service.getMyChatRooms(USER_ID, 1, 2);
+
+        assertThat(page).extracting(ChatRoomSummaryResponse::getRoomId).containsExactly(3L, 1L);
+        verify(chatInboxService).fill(USER_ID, page);
+        verify(groupChatRoomMapper, never()).findGroupRoomsForUser(any());
+    }
+
+    @Test
+    void 안_보이는_방은_건너뛰고_인덱스에서_제거한_뒤_다음_구간을_읽음() {
+        when(chatInboxService.range(USER_ID, 0, 1)).thenReturn(List.of("GROUP:5", "GROUP:4"));
+        when(groupChatRoomMapper.findGroupRoomsForUserByIds(USER_ID, List.of(5L, 4L)))
+                .thenReturn(List.of(room("GROUP", 5L)));
+        when(chatInboxService.removeRooms(USER_ID, List.of("GROUP:4"))).thenReturn(true);
+        // GROUP:4 가 제거되어 순위가 당겨졌으므로 1 부터
+        when(chatInboxService.range(USER_ID, 1, 1)).thenReturn(List.of("GROUP:3"));
+        when(groupChatRoomMapper.findGroupRoomsForUserByIds(USER_ID, List.of(3L)))
+                .thenReturn(List.of(room("GROUP", 3L)));
+        when(chatInboxService.removeRooms(USER_ID, List.of())).thenReturn(true);
+
+        List<ChatRoomSummaryResponse> page = service.getMyChatRooms(USER_ID, 0, 2);
+
+        assertThat(page).extracting(ChatRoomSummaryResponse::getRoomId).containsExactly(5L, 3L);
+    }
+
+    @Test
+    void 인덱스가_없으면_전체_조회_후_정렬() {
+        when(chatInboxService.range(USER_ID, 0, 9)).thenReturn(null);
+        List<ChatRoomSummaryResponse> rooms = List.of(room("GROUP", 1L));
+        when(groupChatRoomMapper.findGroupRoomsForUser(USER_ID)).thenReturn(rooms);
+        when(privateChatRoomMapper.findPrivateRoomsForUser(USER_ID)).thenReturn(List.of());
+        when(chatInboxService.sort(any(), any())).thenReturn(rooms);
+
+        List<ChatRoomSummaryResponse> page = service.getMyChatRooms(USER_ID, 0, 10);
+
+        assertThat(page).extracting(ChatRoomSummaryResponse::getRoomId).containsExactly(1L);
+        verify(chatInboxService, never()).fill(any(), any());
+    }
+
+    private ChatRoomSummaryResponse room(String roomType, Long roomId) {
+        return ChatRoomSummaryResponse.builder().roomType(roomType).roomId(roomId).build();
+    }
+}
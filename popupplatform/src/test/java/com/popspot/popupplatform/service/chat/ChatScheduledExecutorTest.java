@@ -0,0 +1,136 @@
+package com.popspot.popupplatform.service.chat;
+
+import com.popspot.popupplatform.domain.chat.ChatScheduledMessage;
+import com.popspot.popupplatform.dto.chat.request.ChatMessageRequest;
+import com.popspot.popupplatform.mapper.chat.ChatScheduledMessageMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatScheduledExecutorTest {
+
+    private static final String OWNER = "node-1";
+
+    @Mock
+    private ChatScheduledMessageMapper scheduledMapper;
+    @Mock
+    private ChatScheduledMessageService scheduledService;
+    @Mock
+    private ChatMessageService chatMessageService;
+
+    private ChatScheduledExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ChatScheduledExecutor(scheduledMapper, scheduledService, chatMessageService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(executor, "batchSize", 200);
+        ReflectionTestUtils.setField(executor, "leaseSeconds", 60);
+        ReflectionTestUtils.setField(executor, "maxAttempts", 5);
+        ReflectionTestUtils.setField(executor, "maxBackoffSeconds", 300);
+        ReflectionTestUtils.setField(executor, "dispatchThreads", 2);
+        ReflectionTestUtils.setField(executor, "ackTimeoutMillis", 1000L);
+        executor.init();
+
+        lenient().when(scheduledService.toChatMessage(any())).thenAnswer(inv -> {
+            ChatScheduledMessage s = inv.getArgument(0);
+            ChatMessageRequest req = new ChatMessageRequest();
+            req.setClientMessageKey("scheduled-" + s.getCsmId());
+            return req;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void 모두_저장되면_예약_시각_순서대로_SENT() {
+        when(chatMessageService.saveMessageDurably(any())).thenReturn(CompletableFuture.completedFuture(1L));
+
+        executor.dispatchRoom(OWNER, List.of(message(1L, 1), message(2L, 1), message(3L, 1)));
+
+        InOrder order = inOrder(scheduledMapper);
+        order.verify(scheduledMapper).markAsSent(1L, OWNER);
+        order.verify(scheduledMapper).markAsSent(2L, OWNER);
+        order.verify(scheduledMapper).markAsSent(3L, OWNER);
+        verify(scheduledMapper, never()).deferClaimed(anyString(), anyList(), anyInt(), anyInt());
+    }
+
+    @Test
+    void 중간_메시지가_실패하면_멈추고_뒤_메시지는_미룸() {
+        when(chatMessageService.saveMessageDurably(argThat(req -> req != null && "scheduled-2".equals(req.getClientMessageKey()))))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("db down")));
+        when(chatMessageService.saveMessageDurably(argThat(req -> req != null && "scheduled-1".equals(req.getClientMessageKey()))))
+                .thenReturn(CompletableFuture.completedFuture(1L));
+
+        executor.dispatchRoom(OWNER, List.of(message(1L, 1), message(2L, 2), message(3L, 1), message(4L, 1)));
+
+        verify(scheduledMapper).markAsSent(1L, OWNER);
+        verify(scheduledMapper).markAsFailed(eq(2L), eq(OWNER), anyString(), eq(5), eq(300));
+        verify(scheduledMapper).deferClaimed(OWNER, List.of(3L, 4L), 2, 300);
+        verify(scheduledMapper, never()).markAsSent(eq(3L), anyString());
+        verify(scheduledMapper, never()).markAsSent(eq(4L), anyString());
+        verify(chatMessageService, times(2)).saveMessageDurably(any());
+    }
+
+    @Test
+    void 최종_실패한_메시지는_기다리지_않고_다음_메시지_발송() {
+        when(chatMessageService.saveMessageDurably(argThat(req -> req != null && "scheduled-1".equals(req.getClientMessageKey()))))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("bad content")));
+        when(chatMessageService.saveMessageDurably(argThat(req -> req != null && "scheduled-2".equals(req.getClientMessageKey()))))
+                .thenReturn(CompletableFuture.completedFuture(2L));
+
+        executor.dispatchRoom(OWNER, List.of(message(1L, 5), message(2L, 1)));
+
+        verify(scheduledMapper).markAsFailed(eq(1L), eq(OWNER), anyString(), eq(5), eq(300));
+        verify(scheduledMapper).markAsSent(2L, OWNER);
+        verify(scheduledMapper, never()).deferClaimed(anyString(), anyList(), anyInt(), anyInt());
+    }
+
+    @Test
+    void 선점은_DB_시계만_사용() {
+        when(scheduledMapper.claimExecutableMessages(anyString(), eq(60), eq(200))).thenReturn(0);
+
+        executor.execute();
+
+        verify(scheduledMapper).claimExecutableMessages(anyString(), eq(60), eq(200));
+        verify(scheduledMapper, never()).findClaimedMessages(anyString());
+        verify(scheduledMapper, never()).markAsSent(anyLong(), anyString());
+    }
+
+    private ChatScheduledMessage message(long csmId, int attempts) {
+        ChatScheduledMessage s = new ChatScheduledMessage();
+        s.setCsmId(csmId);
+        s.setRoomType("GROUP");
+        s.setRoomId(1L);
+        s.setScheduledAt(LocalDateTime.now().minusSeconds(1));
+        s.setAttempts(attempts);
+        return s;
+    }
+}
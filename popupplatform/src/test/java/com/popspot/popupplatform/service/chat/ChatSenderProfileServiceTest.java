@@ -0,0 +1,73 @@
+package com.popspot.popupplatform.service.chat;
+
+import com.popspot.popupplatform.domain.chat.ChatSenderProfile;
+import com.popspot.popupplatform.mapper.chat.ChatUserMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatSenderProfileServiceTest {
+
+    private static final Long USER_ID = 7L;
+
+    @Mock
+    private ChatUserMapper chatUserMapper;
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private ChatSenderProfileService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ChatSenderProfileService(chatUserMapper, stringRedisTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "maxSize", 100);
+        ReflectionTestUtils.setField(service, "ttlMillis", 600_000L);
+        service.registerMetrics();
+    }
+
+    @Test
+    void 조회_중_무효화되면_조회한_값을_캐시하지_않음() {
+        // 첫 조회: 변경 전 값을 읽는 사이 무효화 도착 / 두 번째 조회: 변경 후 값
+        when(chatUserMapper.selectSenderProfiles(Set.of(USER_ID)))
+                .thenAnswer(inv -> {
+                    service.evict(USER_ID);
+                    return List.of(profile("old"));
+                })
+                .thenReturn(List.of(profile("new")));
+
+        assertThat(service.get(USER_ID).getNickname()).isEqualTo("old");
+        assertThat(service.get(USER_ID).getNickname()).isEqualTo("new");
+        verify(chatUserMapper, times(2)).selectSenderProfiles(Set.of(USER_ID));
+    }
+
+    @Test
+    void 무효화가_없으면_캐시에서_조회() {
+        when(chatUserMapper.selectSenderProfiles(Set.of(USER_ID))).thenReturn(List.of(profile("nick")));
+
+        service.get(USER_ID);
+        service.get(USER_ID);
+
+        verify(chatUserMapper, times(1)).selectSenderProfiles(Set.of(USER_ID));
+    }
+
+    private ChatSenderProfile profile(String nickname) {
+        ChatSenderProfile p = new ChatSenderProfile();
+        p.setUserId(USER_ID);
+        p.setNickname(nickname);
+        return p;
+    }
+}
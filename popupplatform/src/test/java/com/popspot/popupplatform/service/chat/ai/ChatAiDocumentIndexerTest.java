@@ -0,0 +1,131 @@
+package com.popspot.popupplatform.service.chat.ai;
+
+import com.popspot.popupplatform.domain.popup.PopupChangeLog;
+import com.popspot.popupplatform.mapper.popup.PopupChangeLogMapper;
+import com.popspot.popupplatform.mapper.popup.PopupMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatAiDocumentIndexerTest {
+
+    private static final String OWNER = "node-1";
+
+    @Mock
+    private PopupChangeLogMapper popupChangeLogMapper;
+    @Mock
+    private PopupMapper popupMapper;
+    @Mock
+    private AiChatDocumentService aiChatDocumentService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ChatAiDocumentIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        indexer = new ChatAiDocumentIndexer(popupChangeLogMapper, popupMapper, aiChatDocumentService,
+                transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(indexer, "enabled", true);
+        ReflectionTestUtils.setField(indexer, "batchSize", 500);
+        ReflectionTestUtils.setField(indexer, "debounceSeconds", 10L);
+        ReflectionTestUtils.setField(indexer, "chunkChars", 1000);
+        ReflectionTestUtils.setField(indexer, "maxBackoffSeconds", 300);
+        ReflectionTestUtils.setField(indexer, "leaseSeconds", 300);
+        ReflectionTestUtils.setField(indexer, "checkpointReady", true);
+        indexer.init();
+
+        lenient().when(popupMapper.selectPopupStoresForAiDocByIds(anyList())).thenReturn(List.of());
+    }
+
+    @Test
+    void 선점한_이력을_재색인하고_삭제() {
+        when(popupChangeLogMapper.claimReady(OWNER, 300, 10L, 500)).thenReturn(3);
+        when(popupChangeLogMapper.selectClaimed(OWNER))
+                .thenReturn(List.of(event(1L, 10L), event(2L, 20L), event(3L, 10L)));
+
+        indexer.indexBatch(OWNER);
+
+        verify(aiChatDocumentService).replacePopupDocuments(Set.of(10L, 20L), List.of());
+        verify(popupChangeLogMapper).deleteByIds(OWNER, List.of(1L, 2L, 3L));
+        verify(popupChangeLogMapper, never()).markFailed(anyString(), anyList(), anyString(), anyInt());
+    }
+
+    @Test
+    void 늦게_커밋된_낮은_pcl_id_도_다음_회차에_처리() {
+        // 1회차: pcl 5 만 커밋되어 있음 / 2회차: 그 사이 긴 트랜잭션의 pcl 3 이 커밋됨
+        when(popupChangeLogMapper.claimReady(OWNER, 300, 10L, 500)).thenReturn(1, 1);
+        when(popupChangeLogMapper.selectClaimed(OWNER))
+                .thenReturn(List.of(event(5L, 50L)), List.of(event(3L, 30L)));
+
+        indexer.indexBatch(OWNER);
+        indexer.indexBatch(OWNER);
+
+        verify(popupChangeLogMapper).deleteByIds(OWNER, List.of(5L));
+        verify(aiChatDocumentService).replacePopupDocuments(Set.of(30L), List.of());
+        verify(popupChangeLogMapper).deleteByIds(OWNER, List.of(3L));
+    }
+
+    @Test
+    void 재색인이_실패하면_삭제하지_않고_재시도_예약() {
+        when(popupChangeLogMapper.claimReady(OWNER, 300, 10L, 500)).thenReturn(2);
+        when(popupChangeLogMapper.selectClaimed(OWNER)).thenReturn(List.of(event(1L, 10L), event(2L, 20L)));
+        doThrow(new IllegalStateException("embedding down"))
+                .when(aiChatDocumentService).replacePopupDocuments(any(), anyList());
+
+        indexer.indexBatch(OWNER);
+
+        verify(popupChangeLogMapper).markFailed(OWNER, List.of(1L, 2L), "embedding down", 300);
+        verify(popupChangeLogMapper, never()).deleteByIds(anyString(), anyList());
+    }
+
+    @Test
+    void 다른_노드가_lease_를_잡고_있으면_선점하지_않음() {
+        when(popupChangeLogMapper.claimCheckpoint(eq("chat-ai-document"), anyString(), eq(300))).thenReturn(0);
+
+        indexer.index();
+
+        verify(popupChangeLogMapper, never()).claimReady(anyString(), anyInt(), anyLong(), anyInt());
+        verify(popupChangeLogMapper, never()).releaseCheckpoint(anyString(), anyString());
+    }
+
+    @Test
+    void 처리할_이력이_없어도_lease_를_반납() {
+        when(popupChangeLogMapper.claimCheckpoint(eq("chat-ai-document"), anyString(), eq(300))).thenReturn(1);
+        when(popupChangeLogMapper.claimReady(anyString(), eq(300), eq(10L), eq(500))).thenReturn(0);
+
+        indexer.index();
+
+        verify(popupChangeLogMapper, never()).selectClaimed(anyString());
+        verify(popupChangeLogMapper).releaseCheckpoint(eq("chat-ai-document"), anyString());
+    }
+
+    private PopupChangeLog event(long pclId, long popId) {
+        PopupChangeLog e = new PopupChangeLog();
+        e.setPclId(pclId);
+        e.setPopId(popId);
+        e.setAttempts(0);
+        return e;
+    }
+}
@@ -0,0 +1,105 @@
+package com.popspot.popupplatform.service.popup;
+
+import com.popspot.popupplatform.domain.popup.PopupGeoOutboxEvent;
+import com.popspot.popupplatform.domain.popup.PopupStore;
+import com.popspot.popupplatform.mapper.popup.PopupGeoOutboxMapper;
+import com.popspot.popupplatform.mapper.popup.PopupMapper;
+import com.popspot.popupplatform.mapper.postgres.PopupGeoMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PopupGeoOutboxRelayTest {
+
+    private static final String OWNER = "node-1";
+
+    @Mock
+    private PopupGeoOutboxMapper popupGeoOutboxMapper;
+    @Mock
+    private PopupMapper popupMapper;
+    @Mock
+    private PopupGeoMapper popupGeoMapper;
+    @Mock
+    private PopupNearbyTileService popupNearbyTileService;
+
+    private PopupGeoOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new PopupGeoOutboxRelay(popupGeoOutboxMapper, popupMapper, popupGeoMapper,
+                popupNearbyTileService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "batchSize", 500);
+        ReflectionTestUtils.setField(relay, "maxBackoffSeconds", 300);
+        ReflectionTestUtils.setField(relay, "alertAttempts", 10);
+        ReflectionTestUtils.setField(relay, "leaseSeconds", 60);
+        relay.registerMetrics();
+
+        // 요청한 pop_id 그대로 MySQL 에 있다고 가정
+        lenient().when(popupMapper.selectPopupStoresForGeoByIds(anyList())).thenAnswer(inv -> {
+            List<Long> ids = inv.getArgument(0);
+            return ids.stream().map(id -> PopupStore.builder().popId(id).build()).toList();
+        });
+    }
+
+    @Test
+    void 배치가_성공하면_선점한_이벤트를_모두_삭제() {
+        relay.relayBatch(OWNER, List.of(event(1L, 10L), event(2L, 20L), event(3L, 10L)));
+
+        verify(popupGeoOutboxMapper).deleteByIds(OWNER, List.of(1L, 3L, 2L));
+        verify(popupGeoOutboxMapper, never()).markFailed(anyString(), anyList(), anyString(), anyInt());
+    }
+
+    @Test
+    void 배치가_실패하면_pop_id_별로_나눠_실패한_이벤트만_재시도_예약() {
+        // pop 20 이 포함된 upsert 만 실패
+        doAnswer(inv -> {
+            List<PopupStore> popups = inv.getArgument(0);
+            if (popups.stream().anyMatch(p -> p.getPopId() == 20L)) {
+                throw new IllegalStateException("bad geometry");
+            }
+            return null;
+        }).when(popupGeoMapper).bulkUpsertPopupGeo(anyList());
+
+        relay.relayBatch(OWNER, List.of(event(1L, 10L), event(2L, 20L), event(3L, 30L), event(4L, 20L)));
+
+        verify(popupGeoOutboxMapper).deleteByIds(OWNER, List.of(1L));
+        verify(popupGeoOutboxMapper).deleteByIds(OWNER, List.of(3L));
+        verify(popupGeoOutboxMapper).markFailed(eq(OWNER), eq(List.of(2L, 4L)), eq("bad geometry"), eq(300));
+        verify(popupGeoOutboxMapper, never()).deleteByIds(eq(OWNER), eq(List.of(2L, 4L)));
+    }
+
+    @Test
+    void 선점한_행이_없으면_조회하지_않음() {
+        when(popupGeoOutboxMapper.claimReady(anyString(), eq(60), eq(500))).thenReturn(0);
+
+        relay.relay();
+
+        verify(popupGeoOutboxMapper, never()).selectClaimed(anyString());
+        verify(popupGeoMapper, never()).bulkUpsertPopupGeo(anyList());
+    }
+
+    private PopupGeoOutboxEvent event(long goId, long popId) {
+        PopupGeoOutboxEvent e = new PopupGeoOutboxEvent();
+        e.setGoId(goId);
+        e.setPopId(popId);
+        e.setAttempts(0);
+        return e;
+    }
+}
@@ -0,0 +1,99 @@
+package com.popspot.popupplatform.service.reservation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationHoldStoreTest {
+
+    private static final String HOLD_ID = "h1";
+    private static final String INV_KEY = "inv:10:20250101:1";
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private ReservationHoldStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ReservationHoldStore(stringRedisTemplate);
+    }
+
+    @Test
+    void HOLD_생성은_재고_hold_meta_만료인덱스_키와_인자를_한_스크립트로_전달() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
+
+        ReservationHoldStore.Decrement result =
+                store.create(HOLD_ID, INV_KEY, 3, 10L, 1L, "20250101", "merchant-1", "pay-1", 30000);
+
+        assertThat(result).isEqualTo(ReservationHoldStore.Decrement.OK);
+        verify(stringRedisTemplate).execute(any(RedisScript.class),
+                eq(List.of(INV_KEY, "hold:h1", "holdmeta:h1", "hold:expiry")),
+                eq("3"), eq("600"), eq("3600"), anyString(), eq(HOLD_ID),
+                eq("10"), eq("1"), eq("20250101"), eq("merchant-1"), eq("pay-1"), eq("30000"));
+    }
+
+    @Test
+    void 스크립트_결과를_차감_결과로_변환() {
+        assertThat(ReservationHoldStore.Decrement.of(1L)).isEqualTo(ReservationHoldStore.Decrement.OK);
+        assertThat(ReservationHoldStore.Decrement.of(0L)).isEqualTo(ReservationHoldStore.Decrement.SOLD_OUT);
+        assertThat(ReservationHoldStore.Decrement.of(-1L)).isEqualTo(ReservationHoldStore.Decrement.MISSING);
+        // 결과가 없으면 적재 재시도 대상이 아님
+        assertThat(ReservationHoldStore.Decrement.of(null)).isEqualTo(ReservationHoldStore.Decrement.SOLD_OUT);
+    }
+
+    @Test
+    void 해제는_원복_플래그_1_소진은_0() {
+        List<String> keys = List.of("holdmeta:h1", "hold:h1", "hold:expiry");
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(keys), eq(HOLD_ID), eq("1"))).thenReturn(3L);
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(keys), eq(HOLD_ID), eq("0"))).thenReturn(0L);
+
+        assertThat(store.release(HOLD_ID)).isEqualTo(3L);
+        store.consume(HOLD_ID);
+
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(keys), eq(HOLD_ID), eq("0"));
+    }
+
+    @Test
+    void 배치_정리는_holdId_와_동작을_쌍으로_전달() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(List.of("hold:expiry")), any(Object[].class)))
+                .thenReturn(2L);
+
+        long restored = store.settle(List.of("a"), List.of("b"), List.of("c"), 500L);
+
+        assertThat(restored).isEqualTo(2L);
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("hold:expiry")),
+                eq("500"), eq("a"), eq("R"), eq("b"), eq("C"), eq("c"), eq("L"));
+    }
+
+    @Test
+    void 정리할_holdId_가_없으면_스크립트를_실행하지_않음() {
+        assertThat(store.settle(List.of(), List.of(), List.of(), 500L)).isZero();
+
+        verify(stringRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void 재고_키가_없으면_원복하지_않았다고_반환() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(List.of(INV_KEY)), eq("2"))).thenReturn(0L);
+
+        assertThat(store.restoreInventory(INV_KEY, 2)).isFalse();
+        assertThat(store.restoreInventory(INV_KEY, 0)).isFalse();
+    }
+}
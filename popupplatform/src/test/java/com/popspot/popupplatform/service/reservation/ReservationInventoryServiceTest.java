@@ -0,0 +1,182 @@
+package com.popspot.popupplatform.service.reservation;
+
+import com.popspot.popupplatform.domain.popup.PopupStore;
+import com.popspot.popupplatform.domain.reservation.PopupBlock;
+import com.popspot.popupplatform.domain.reservation.PopupTimeSlot;
+import com.popspot.popupplatform.domain.reservation.SlotReservedCount;
+import com.popspot.popupplatform.dto.reservation.enums.DayOfWeekType;
+import com.popspot.popupplatform.mapper.popup.PopupMapper;
+import com.popspot.popupplatform.mapper.reservation.PopupBlockMapper;
+import com.popspot.popupplatform.mapper.reservation.PopupReservationMapper;
+import com.popspot.popupplatform.mapper.reservation.PopupTimeSlotMapper;
+import com.popspot.popupplatform.mapper.reservation.UserReservationMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationInventoryServiceTest {
+
+    private static final Long POP_ID = 10L;
+    private static final Long PTS_ID = 1L;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
+    private PopupMapper popupMapper;
+    @Mock
+    private PopupReservationMapper popupReservationMapper;
+    @Mock
+    private PopupTimeSlotMapper popupTimeSlotMapper;
+    @Mock
+    private PopupBlockMapper popupBlockMapper;
+    @Mock
+    private UserReservationMapper userReservationMapper;
+
+    private ReservationInventoryService service;
+
+    private final LocalDate today = LocalDate.now();
+
+    // 적재 스크립트에 넘어간 key → value
+    private final Map<String, String> seeded = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        service = new ReservationInventoryService(stringRedisTemplate, popupMapper, popupReservationMapper,
+                popupTimeSlotMapper, popupBlockMapper, userReservationMapper);
+        ReflectionTestUtils.setField(service, "eagerDays", 21);
+        ReflectionTestUtils.setField(service, "closedTtlSeconds", 600L);
+
+        lenient().when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenAnswer(inv -> {
+                    List<String> keys = inv.getArgument(1);
+                    Object[] args = inv.getArguments();
+                    // args[2] = expireAtSec, args[3..] = 값
+                    for (int i = 0; i < keys.size(); i++) {
+                        seeded.put(keys.get(i), String.valueOf(args[3 + i]));
+                    }
+                    return (long) keys.size();
+                });
+
+        // 팝업 기간 = 오늘 ~ +20일, 오늘과 같은 요일에 정원 10 슬롯 1개, +7일은 제외일
+        lenient().when(popupMapper.selectPopupDetail(POP_ID)).thenReturn(Optional.of(PopupStore.builder()
+                .popId(POP_ID)
+                .popStartDate(today.atStartOfDay())
+                .popEndDate(today.plusDays(20).atStartOfDay())
+                .build()));
+        lenient().when(popupTimeSlotMapper.findByPopId(POP_ID)).thenReturn(List.of(slot()));
+        lenient().when(popupBlockMapper.findByPopId(POP_ID)).thenReturn(List.of(block(today.plusDays(7))));
+        lenient().when(userReservationMapper.sumReservedByPopIdAndDateRange(eq(POP_ID), any(), any()))
+                .thenReturn(new ArrayList<>(List.of(reserved(today, 3))));
+    }
+
+    @Test
+    void 운영일만_정원에서_확정_인원을_뺀_값으로_적재() {
+        long created = service.seedInitial(POP_ID);
+
+        assertThat(created).isEqualTo(2);
+        assertThat(seeded).containsExactly(
+                Map.entry(ReservationInventoryService.invKey(POP_ID, today, PTS_ID), "7"),
+                Map.entry(ReservationInventoryService.invKey(POP_ID, today.plusDays(14), PTS_ID), "10")
+        );
+    }
+
+    @Test
+    void 제외일은_적재하지_않고_휴무_마커를_남김() {
+        LocalDate blocked = today.plusDays(7);
+
+        service.materializeDate(POP_ID, blocked);
+
+        assertThat(seeded).isEmpty();
+        verify(valueOperations).set(ReservationInventoryService.closedKey(POP_ID, blocked), "1", Duration.ofSeconds(600));
+    }
+
+    @Test
+    void 운영일은_휴무_마커를_남기지_않음() {
+        service.materializeDate(POP_ID, today.plusDays(14));
+
+        assertThat(seeded).containsOnlyKeys(ReservationInventoryService.invKey(POP_ID, today.plusDays(14), PTS_ID));
+        verify(valueOperations, never()).set(any(), any(), any(Duration.class));
+    }
+
+    @Test
+    void 휴무_마커가_있으면_DB_를_읽지_않고_false() {
+        LocalDate blocked = today.plusDays(7);
+        String invKey = ReservationInventoryService.invKey(POP_ID, blocked, PTS_ID);
+        when(stringRedisTemplate.hasKey(invKey)).thenReturn(false);
+        when(stringRedisTemplate.hasKey(ReservationInventoryService.closedKey(POP_ID, blocked))).thenReturn(true);
+
+        assertThat(service.materializeIfMissing(POP_ID, blocked, invKey)).isFalse();
+        verifyNoInteractions(popupMapper, popupTimeSlotMapper, popupBlockMapper, userReservationMapper);
+    }
+
+    @Test
+    void 키가_없는_운영일은_적재_후_true() {
+        LocalDate date = today.plusDays(14);
+        String invKey = ReservationInventoryService.invKey(POP_ID, date, PTS_ID);
+        when(stringRedisTemplate.hasKey(invKey)).thenReturn(false, true);
+        when(stringRedisTemplate.hasKey(ReservationInventoryService.closedKey(POP_ID, date))).thenReturn(false);
+
+        assertThat(service.materializeIfMissing(POP_ID, date, invKey)).isTrue();
+        assertThat(seeded).containsOnlyKeys(invKey);
+    }
+
+    @Test
+    void 지난_날짜는_적재하지_않음() {
+        service.materializeDate(POP_ID, today.minusDays(1));
+
+        verifyNoInteractions(popupMapper);
+        verify(valueOperations, never()).set(any(), any(), any(Duration.class));
+    }
+
+    private PopupTimeSlot slot() {
+        PopupTimeSlot s = new PopupTimeSlot();
+        s.setPtsId(PTS_ID);
+        s.setPopId(POP_ID);
+        s.setPtsDayOfWeek(DayOfWeekType.from(today.getDayOfWeek()));
+        s.setPtsCapacity(10);
+        return s;
+    }
+
+    private PopupBlock block(LocalDate date) {
+        PopupBlock b = new PopupBlock();
+        b.setPopId(POP_ID);
+        b.setPbDateTime(date.atStartOfDay());
+        return b;
+    }
+
+    private SlotReservedCount reserved(LocalDate date, int cnt) {
+        SlotReservedCount c = new SlotReservedCount();
+        c.setPtsId(PTS_ID);
+        c.setUrDate(date);
+        c.setReservedCnt(cnt);
+        return c;
+    }
+}
@@ -0,0 +1,133 @@
+package com.popspot.popupplatform.service.reservation;
+
+import com.popspot.popupplatform.mapper.popup.PopupMapper;
+import com.popspot.popupplatform.mapper.reservation.PopupTimeSlotMapper;
+import com.popspot.popupplatform.mapper.reservation.ReservationPaymentMapper;
+import com.popspot.popupplatform.mapper.reservation.UserReservationMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserReservationServiceImplTest {
+
+    private static final Long POP_ID = 10L;
+    private static final Long PTS_ID = 1L;
+    private static final Long USER_ID = 7L;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ReservationPaymentMapper reservationPaymentMapper;
+    @Mock
+    private PopupMapper popupMapper;
+    @Mock
+    private PopupTimeSlotMapper popupTimeSlotMapper;
+    @Mock
+    private PortOneApiClient portOneApiClient;
+    @Mock
+    private UserReservationMapper userReservationMapper;
+    @Mock
+    private ReservationHoldStore reservationHoldStore;
+    @Mock
+    private ReservationInventoryService reservationInventoryService;
+
+    private UserReservationServiceImpl service;
+
+    private final LocalDate date = LocalDate.now().plusDays(30);
+    private final String invKey = ReservationInventoryService.invKey(POP_ID, date, PTS_ID);
+
+    @BeforeEach
+    void setUp() {
+        service = new UserReservationServiceImpl(stringRedisTemplate, reservationPaymentMapper, popupMapper,
+                popupTimeSlotMapper, portOneApiClient, userReservationMapper, reservationHoldStore,
+                reservationInventoryService);
+    }
+
+    @Test
+    void 재고_키가_없으면_적재_후_HOLD_재시도() {
+        when(reservationHoldStore.create(anyString(), eq(invKey), eq(2), eq(POP_ID), eq(PTS_ID), anyString(),
+                anyString(), anyString(), anyInt()))
+                .thenReturn(ReservationHoldStore.Decrement.MISSING, ReservationHoldStore.Decrement.OK);
+        when(reservationInventoryService.materializeIfMissing(POP_ID, date, invKey)).thenReturn(true);
+
+        Map<String, Object> resp = service.createReservationHold(POP_ID, PTS_ID, date, 2, USER_ID);
+
+        assertThat(resp).containsKey("holdId");
+        verify(reservationHoldStore, times(2)).create(anyString(), eq(invKey), eq(2), eq(POP_ID), eq(PTS_ID),
+                anyString(), anyString(), anyString(), anyInt());
+        verify(reservationPaymentMapper).insertPending(anyString(), anyString(), eq(POP_ID), eq(PTS_ID), eq(USER_ID), anyInt());
+    }
+
+    @Test
+    void 매진이면_적재하지_않고_바로_실패() {
+        when(reservationHoldStore.create(anyString(), eq(invKey), eq(2), eq(POP_ID), eq(PTS_ID), anyString(),
+                anyString(), anyString(), anyInt()))
+                .thenReturn(ReservationHoldStore.Decrement.SOLD_OUT);
+
+        assertThatThrownBy(() -> service.createReservationHold(POP_ID, PTS_ID, date, 2, USER_ID))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("NOT_ENOUGH_INVENTORY");
+
+        verify(reservationInventoryService, never()).materializeIfMissing(any(), any(), any());
+        verify(reservationPaymentMapper, never()).insertPending(any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void 적재할_재고가_없는_날짜면_재시도하지_않고_실패() {
+        when(reservationHoldStore.create(anyString(), eq(invKey), eq(2), eq(POP_ID), eq(PTS_ID), anyString(),
+                anyString(), anyString(), anyInt()))
+                .thenReturn(ReservationHoldStore.Decrement.MISSING);
+        when(reservationInventoryService.materializeIfMissing(POP_ID, date, invKey)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.createReservationHold(POP_ID, PTS_ID, date, 2, USER_ID))
+                .hasMessage("NOT_ENOUGH_INVENTORY");
+
+        verify(reservationHoldStore, times(1)).create(anyString(), anyString(), anyInt(), anyLong(), anyLong(),
+                anyString(), anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    void 즉시_예약도_매진이면_적재하지_않음() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(List.of(invKey)), any(Object[].class)))
+                .thenReturn(0L);
+
+        assertThatThrownBy(() -> service.createReservationConfirmed(POP_ID, PTS_ID, date, 2, USER_ID))
+                .hasMessage("NOT_ENOUGH_INVENTORY");
+
+        verify(reservationInventoryService, never()).materializeIfMissing(any(), any(), any());
+    }
+
+    @Test
+    void 즉시_예약은_재고_키가_없을_때만_적재_후_재시도() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(List.of(invKey)), any(Object[].class)))
+                .thenReturn(-1L, 0L);
+        when(reservationInventoryService.materializeIfMissing(POP_ID, date, invKey)).thenReturn(true);
+
+        assertThatThrownBy(() -> service.createReservationConfirmed(POP_ID, PTS_ID, date, 2, USER_ID))
+                .hasMessage("NOT_ENOUGH_INVENTORY");
+
+        verify(stringRedisTemplate, times(2)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+}